@@ -39,4 +39,30 @@ public class OptimizerProperties {
   public static final String OPTIMIZER_MEMORY_STORAGE_SIZE = "memory-storage-size";
   public static final String MAX_INPUT_FILE_SIZE_PER_THREAD = "max-input-file-size-per-thread";
   public static final Long MAX_INPUT_FILE_SIZE_PER_THREAD_DEFAULT = 512 * 1024 * 1024L; // 512MB
+  public static final String STREAMING_PLANNING_ENABLED = "streaming-planning-enabled";
+  public static final boolean STREAMING_PLANNING_ENABLED_DEFAULT = false;
+
+  // Resource group autoscaling properties
+  public static final String AUTOSCALING_ENABLED = "autoscaling.enabled";
+  public static final boolean AUTOSCALING_ENABLED_DEFAULT = false;
+  public static final String AUTOSCALING_MIN_PARALLELISM = "autoscaling.min-parallelism";
+  public static final int AUTOSCALING_MIN_PARALLELISM_DEFAULT = 0;
+  public static final String AUTOSCALING_MAX_PARALLELISM = "autoscaling.max-parallelism";
+  public static final int AUTOSCALING_MAX_PARALLELISM_DEFAULT = 16;
+  public static final String AUTOSCALING_STEP_PARALLELISM = "autoscaling.step-parallelism";
+  public static final int AUTOSCALING_STEP_PARALLELISM_DEFAULT = 4;
+  public static final String AUTOSCALING_TARGET_BACKLOG_TIME = "autoscaling.target-backlog-time";
+  public static final long AUTOSCALING_TARGET_BACKLOG_TIME_DEFAULT = 10 * 60 * 1000L; // 10 min
+  public static final String AUTOSCALING_SCALE_OUT_COOLDOWN = "autoscaling.scale-out-cooldown";
+  public static final long AUTOSCALING_SCALE_OUT_COOLDOWN_DEFAULT = 2 * 60 * 1000L; // 2 min
+  public static final String AUTOSCALING_SCALE_IN_COOLDOWN = "autoscaling.scale-in-cooldown";
+  public static final long AUTOSCALING_SCALE_IN_COOLDOWN_DEFAULT = 15 * 60 * 1000L; // 15 min
+
+  // Resource group speculative execution properties
+  public static final String SPECULATION_ENABLED = "speculation.enabled";
+  public static final boolean SPECULATION_ENABLED_DEFAULT = false;
+  public static final String SPECULATION_MULTIPLIER = "speculation.multiplier";
+  public static final double SPECULATION_MULTIPLIER_DEFAULT = 1.5;
+  public static final String SPECULATION_MIN_RUNTIME = "speculation.min-runtime";
+  public static final long SPECULATION_MIN_RUNTIME_DEFAULT = 60 * 1000L; // 1 min
 }
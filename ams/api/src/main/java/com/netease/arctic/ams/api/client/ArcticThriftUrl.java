@@ -32,6 +32,9 @@ import javax.security.auth.login.LoginException;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -190,6 +193,62 @@ public class ArcticThriftUrl {
     return null;
   }
 
+  /**
+   * List the optimizing service urls of the members of an AMS cluster running in the sharding mode,
+   * e.g.: zookeeper://host:port/{cluster} to thrift://host1:port1/ and thrift://host2:port2/ .
+   *
+   * @param url - ams url of the optimizers
+   * @return the thrift urls of the members, or the url itself if it is not a zookeeper url or no
+   *     member is registered
+   */
+  public static List<String> parseOptimizingServiceMembers(String url) {
+    if (url == null || !url.startsWith(ZOOKEEPER_FLAG)) {
+      return Collections.singletonList(url);
+    }
+    String thriftUrl = url;
+    String query = "";
+    if (url.contains("?")) {
+      query = url.substring(url.indexOf("?"));
+      thriftUrl = url.substring(0, url.indexOf("?"));
+    }
+    Matcher m = PATTERN.matcher(thriftUrl);
+    if (!m.matches()) {
+      throw new RuntimeException(String.format("invalid ams url %s", url));
+    }
+    String zkServerAddress = m.group(1);
+    String cluster = m.group(2);
+    if (zkServerAddress.contains("/")) {
+      cluster = zkServerAddress.substring(zkServerAddress.indexOf("/") + 1);
+      zkServerAddress = zkServerAddress.substring(0, zkServerAddress.indexOf("/"));
+    }
+    try {
+      ZookeeperService zookeeperService = ZookeeperService.getInstance(zkServerAddress);
+      String membersPath = AmsHAProperties.getOptimizingServiceMembersPath(cluster);
+      List<String> memberUrls = new ArrayList<>();
+      if (zookeeperService.exist(membersPath)) {
+        for (String member : zookeeperService.getChildren(membersPath)) {
+          try {
+            AmsServerInfo serverInfo =
+                JSONObject.parseObject(
+                    zookeeperService.getData(membersPath + "/" + member), AmsServerInfo.class);
+            memberUrls.add(
+                String.format(
+                    THRIFT_URL_FORMAT,
+                    serverInfo.getHost(),
+                    serverInfo.getThriftBindPort(),
+                    "",
+                    query));
+          } catch (KeeperException.NoNodeException e) {
+            // the member has left the cluster
+          }
+        }
+      }
+      return memberUrls.isEmpty() ? Collections.singletonList(url) : memberUrls;
+    } catch (Exception e) {
+      throw new RuntimeException(String.format("invalid ams url %s", url), e);
+    }
+  }
+
   private static AmsServerInfo findAmsServerInfo(
       String serviceName, String zkServerAddress, String cluster) throws Exception {
     switch (serviceName) {
@@ -26,6 +26,7 @@ import org.apache.zookeeper.client.ZKClientConfig;
 import org.apache.zookeeper.data.Stat;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /** Provides ZooKeeper clients and operations. */
 public class ZookeeperService {
@@ -92,6 +93,10 @@ public class ZookeeperService {
     return new String(zkClient.getData().forPath(path), StandardCharsets.UTF_8);
   }
 
+  public List<String> getChildren(String path) throws Exception {
+    return zkClient.getChildren().forPath(path);
+  }
+
   public void delete(String path) throws Exception {
     zkClient.delete().forPath(path);
   }
@@ -25,6 +25,8 @@ public class AmsHAProperties {
   private static final String LEADER_PATH = "/leader";
   private static final String TABLE_SERVICE_MASTER_PATH = "/master";
   private static final String OPTIMIZING_SERVICE_MASTER_PATH = "/optimizing-service-master";
+  private static final String OPTIMIZING_SERVICE_MEMBERS_PATH = "/optimizing-service-members";
+  private static final String TABLE_LEASES_PATH = "/table-leases";
   private static final String NAMESPACE_DEFAULT = "default";
 
   private static String getBasePath(String namespace) {
@@ -42,6 +44,14 @@ public class AmsHAProperties {
     return getBasePath(namespace) + OPTIMIZING_SERVICE_MASTER_PATH;
   }
 
+  public static String getOptimizingServiceMembersPath(String namespace) {
+    return getBasePath(namespace) + OPTIMIZING_SERVICE_MEMBERS_PATH;
+  }
+
+  public static String getTableLeasesPath(String namespace) {
+    return getBasePath(namespace) + TABLE_LEASES_PATH;
+  }
+
   public static String getLeaderPath(String namespace) {
     return getBasePath(namespace) + LEADER_PATH;
   }
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Remember the cursors of the pages listed by cursor. The first page is requested with an empty
+ * cursor, and each page returns the cursor of the next one, so the pages reached can be revisited
+ * and the next page is known, while the listing is only iterated as far as the pages requested.
+ */
+export function useCursors() {
+  let cursors: string[] = ['']
+  return {
+    // the cursor to request the page with, undefined if the page is not reached yet
+    cursorOf(page: number): string | undefined {
+      return cursors[page - 1]
+    },
+    // the cursor of the page following the page loaded, none if it is the last page
+    setNext(page: number, nextCursor?: string) {
+      cursors = cursors.slice(0, page)
+      if (nextCursor) {
+        cursors.push(nextCursor)
+      }
+    },
+    reset() {
+      cursors = ['']
+    }
+  }
+}
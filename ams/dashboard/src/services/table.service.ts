@@ -99,10 +99,11 @@ export function getPartitionFiles(
     page: number
     pageSize: number
     token: string
+    cursor?: string
   }
 ) {
-  const { catalog, db, table, partition, specId, page, pageSize, token } = params
-  return request.get(`ams/v1/tables/catalogs/${catalog}/dbs/${db}/tables/${table}/partitions/${partition}/files`, { params: { specId, page, pageSize, token } })
+  const { catalog, db, table, partition, specId, page, pageSize, token, cursor } = params
+  return request.get(`ams/v1/tables/catalogs/${catalog}/dbs/${db}/tables/${table}/partitions/${partition}/files`, { params: { specId, page, pageSize, token, cursor } })
 }
 // get snapshots
 export function getSnapshots(
@@ -115,10 +116,11 @@ export function getSnapshots(
     token?: string
     ref: string
     operation: string
+    cursor?: string
   }
 ) {
-  const { catalog, db, table, page, pageSize, token, ref, operation } = params
-  return request.get(`ams/v1/tables/catalogs/${catalog}/dbs/${db}/tables/${table}/snapshots`, { params: { page, pageSize, token, ref, operation } })
+  const { catalog, db, table, page, pageSize, token, ref, operation, cursor } = params
+  return request.get(`ams/v1/tables/catalogs/${catalog}/dbs/${db}/tables/${table}/snapshots`, { params: { page, pageSize, token, ref, operation, cursor } })
 }
 
 // get Snapshot detail
@@ -21,6 +21,7 @@ package com.netease.arctic.optimizer.common;
 import com.netease.arctic.ams.api.ArcticException;
 import com.netease.arctic.ams.api.ErrorCodes;
 import com.netease.arctic.ams.api.OptimizingService;
+import com.netease.arctic.ams.api.client.ArcticThriftUrl;
 import com.netease.arctic.ams.api.client.OptimizingClientPools;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.thrift.TApplicationException;
@@ -29,6 +30,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -37,10 +40,14 @@ public class AbstractOptimizerOperator implements Serializable {
 
   // Call ams every 5 seconds by default
   private static long callAmsInterval = TimeUnit.SECONDS.toMillis(5);
+  // Refresh the members of ams every 30 seconds
+  private static final long REFRESH_AMS_MEMBERS_INTERVAL = TimeUnit.SECONDS.toMillis(30);
 
   private final OptimizerConfig config;
   private final AtomicReference<String> token = new AtomicReference<>();
   private boolean stopped = false;
+  private transient volatile List<String> amsUrls;
+  private transient volatile long amsUrlsRefreshTime;
 
   public AbstractOptimizerOperator(OptimizerConfig config) {
     Preconditions.checkNotNull(config);
@@ -48,13 +55,26 @@ public class AbstractOptimizerOperator implements Serializable {
   }
 
   protected <T> T callAms(AmsCallOperation<T> operation) throws TException {
+    return callAms(config.getAmsUrl(), operation, true);
+  }
+
+  /**
+   * Call the ams at the url.
+   *
+   * @param amsUrl the url of the ams, e.g.: one of the members of the ams cluster
+   * @param operation the operation to call
+   * @param retryLater whether to call again on errors, the call is not retried once the ams has
+   *     left the cluster
+   */
+  protected <T> T callAms(String amsUrl, AmsCallOperation<T> operation, boolean retryLater)
+      throws TException {
     while (isStarted()) {
       try {
-        return operation.call(OptimizingClientPools.getClient(config.getAmsUrl()));
+        return operation.call(OptimizingClientPools.getClient(amsUrl));
       } catch (Throwable t) {
         if (shouldReturnNull(t)) {
           return null;
-        } else if (shouldRetryLater(t)) {
+        } else if (retryLater && shouldRetryLater(t) && isAmsMember(amsUrl)) {
           LOG.error("Call ams got an error and will try again later", t);
           waitAShortTime();
         } else {
@@ -88,11 +108,25 @@ public class AbstractOptimizerOperator implements Serializable {
 
   protected <T> T callAuthenticatedAms(AmsAuthenticatedCallOperation<T> operation)
       throws TException {
+    return callAuthenticatedAms(config.getAmsUrl(), operation, true);
+  }
+
+  /**
+   * Call the ams at the url with the token of the optimizer.
+   *
+   * @param amsUrl the url of the ams, e.g.: one of the members of the ams cluster
+   * @param operation the operation to call
+   * @param retryLater whether to call again on errors, the call is not retried once the ams has
+   *     left the cluster
+   */
+  protected <T> T callAuthenticatedAms(
+      String amsUrl, AmsAuthenticatedCallOperation<T> operation, boolean retryLater)
+      throws TException {
     while (isStarted()) {
       if (tokenIsReady()) {
         String token = getToken();
         try {
-          return operation.call(OptimizingClientPools.getClient(config.getAmsUrl()), token);
+          return operation.call(OptimizingClientPools.getClient(amsUrl), token);
         } catch (Throwable t) {
           if (t instanceof ArcticException
               && ErrorCodes.PLUGIN_RETRY_AUTH_ERROR_CODE
@@ -104,7 +138,7 @@ public class AbstractOptimizerOperator implements Serializable {
             resetToken(token);
           } else if (shouldReturnNull(t)) {
             return null;
-          } else if (shouldRetryLater(t)) {
+          } else if (retryLater && shouldRetryLater(t) && isAmsMember(amsUrl)) {
             LOG.error("Call ams got an error and will try again later", t);
             waitAShortTime();
           } else {
@@ -119,6 +153,30 @@ public class AbstractOptimizerOperator implements Serializable {
     throw new IllegalStateException("Operator is stopped");
   }
 
+  /**
+   * Get the urls of the ams to call, which are the members of the ams cluster if the ams runs in
+   * the sharding mode, or the configured ams url otherwise.
+   */
+  protected List<String> getAmsUrls() {
+    long now = System.currentTimeMillis();
+    if (amsUrls == null || now - amsUrlsRefreshTime > REFRESH_AMS_MEMBERS_INTERVAL) {
+      try {
+        amsUrls = ArcticThriftUrl.parseOptimizingServiceMembers(config.getAmsUrl());
+      } catch (Throwable t) {
+        LOG.error("Failed to list the members of ams {}", config.getAmsUrl(), t);
+        if (amsUrls == null) {
+          amsUrls = Collections.singletonList(config.getAmsUrl());
+        }
+      }
+      amsUrlsRefreshTime = now;
+    }
+    return amsUrls;
+  }
+
+  private boolean isAmsMember(String amsUrl) {
+    return amsUrl.equals(config.getAmsUrl()) || getAmsUrls().contains(amsUrl);
+  }
+
   public static void setCallAmsInterval(long callAmsInterval) {
     AbstractOptimizerOperator.callAmsInterval = callAmsInterval;
   }
@@ -32,12 +32,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 
 public class OptimizerExecutor extends AbstractOptimizerOperator {
 
   private static final Logger LOG = LoggerFactory.getLogger(OptimizerExecutor.class);
 
   private final int threadId;
+  // the ams which the executing task is polled from
+  private String taskAmsUrl;
+  private int pollingRound;
 
   public OptimizerExecutor(OptimizerConfig config, int threadId) {
     super(config);
@@ -65,13 +69,27 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
   private OptimizingTask pollTask() {
     OptimizingTask task = null;
     while (isStarted()) {
-      try {
-        task = callAuthenticatedAms((client, token) -> client.pollTask(token, threadId));
-      } catch (TException exception) {
-        LOG.error("Optimizer executor[{}] polled task failed", threadId, exception);
+      // poll the members of the ams cluster in turn, each member only serves the tables it owns
+      List<String> amsUrls = getAmsUrls();
+      for (int i = 0; i < amsUrls.size() && task == null && isStarted(); i++) {
+        String amsUrl = amsUrls.get(Math.floorMod(pollingRound + i, amsUrls.size()));
+        try {
+          task =
+              callAuthenticatedAms(
+                  amsUrl, (client, token) -> client.pollTask(token, threadId), amsUrls.size() == 1);
+          taskAmsUrl = amsUrl;
+        } catch (TException | RuntimeException exception) {
+          LOG.error(
+              "Optimizer executor[{}] polled task from {} failed", threadId, amsUrl, exception);
+        }
       }
+      pollingRound++;
       if (task != null) {
-        LOG.info("Optimizer executor[{}] polled task[{}] from ams", threadId, task.getTaskId());
+        LOG.info(
+            "Optimizer executor[{}] polled task[{}] from ams {}",
+            threadId,
+            task.getTaskId(),
+            taskAmsUrl);
         break;
       } else {
         waitAShortTime();
@@ -83,10 +101,12 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
   private boolean ackTask(OptimizingTask task) {
     try {
       callAuthenticatedAms(
+          taskAmsUrl,
           (client, token) -> {
             client.ackTask(token, threadId, task.getTaskId());
             return null;
-          });
+          },
+          true);
       LOG.info("Optimizer executor[{}] acknowledged task[{}] to ams", threadId, task.getTaskId());
       return true;
     } catch (TException exception) {
@@ -106,10 +126,12 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
   protected void completeTask(OptimizingTaskResult optimizingTaskResult) {
     try {
       callAuthenticatedAms(
+          taskAmsUrl,
           (client, token) -> {
             client.completeTask(token, optimizingTaskResult);
             return null;
-          });
+          },
+          true);
       LOG.info(
           "Optimizer executor[{}] completed task[{}] to ams",
           threadId,
@@ -27,6 +27,7 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 
 public class OptimizerToucher extends AbstractOptimizerOperator {
@@ -104,20 +105,30 @@ public class OptimizerToucher extends AbstractOptimizerOperator {
   }
 
   private void touch() {
+    // touch all the members of the ams cluster, since the tasks may be polled from each of them
+    List<String> amsUrls = getAmsUrls();
+    for (String amsUrl : amsUrls) {
+      touch(amsUrl, amsUrls.size() == 1);
+    }
+  }
+
+  private void touch(String amsUrl, boolean retryLater) {
     try {
       callAms(
+          amsUrl,
           client -> {
             client.touch(getToken());
             return null;
-          });
-      LOG.debug("Optimizer[{}] touch ams", getToken());
-    } catch (TException e) {
+          },
+          retryLater);
+      LOG.debug("Optimizer[{}] touch ams {}", getToken(), amsUrl);
+    } catch (TException | RuntimeException e) {
       if (e instanceof ArcticException
           && ErrorCodes.PLUGIN_RETRY_AUTH_ERROR_CODE == ((ArcticException) e).getErrorCode()) {
         setToken(null);
-        LOG.error("Got authorization error from ams, try to register later", e);
+        LOG.error("Got authorization error from ams {}, try to register later", amsUrl, e);
       } else {
-        LOG.error("Touch ams failed", e);
+        LOG.error("Touch ams {} failed", amsUrl, e);
       }
     }
   }
@@ -57,6 +57,65 @@ public class ArcticManagementConf {
               "Sets the size of the worker pool. The worker pool limits the number of tasks concurrently processing "
                   + "manifests in the base table implementation across all concurrent planning or commit operations.");
 
+  public static final ConfigOption<Integer> PARTITION_STATS_CACHE_MAX_TABLES =
+      ConfigOptions.key("partition-stats.cache.max-tables")
+          .intType()
+          .defaultValue(256)
+          .withDescription(
+              "The max number of tables whose partition statistics are held in memory for the dashboard.");
+
+  public static final ConfigOption<Duration> PARTITION_STATS_CACHE_EXPIRE_AFTER_ACCESS =
+      ConfigOptions.key("partition-stats.cache.expire-after-access")
+          .durationType()
+          .defaultValue(Duration.ofHours(1))
+          .withDescription(
+              "The partition statistics of a table are evicted after not being accessed for this duration.");
+
+  public static final ConfigOption<Long> PAIMON_MANIFEST_CACHE_MAX_ENTRIES =
+      ConfigOptions.key("paimon-manifest.cache.max-entries")
+          .longType()
+          .defaultValue(100000L)
+          .withDescription(
+              "The max number of Paimon manifest entries held in memory for the dashboard.");
+
+  public static final ConfigOption<Duration> PAIMON_MANIFEST_CACHE_EXPIRE_AFTER_ACCESS =
+      ConfigOptions.key("paimon-manifest.cache.expire-after-access")
+          .durationType()
+          .defaultValue(Duration.ofHours(1))
+          .withDescription(
+              "The entries of a Paimon manifest file are evicted after not being accessed for this duration.");
+
+  public static final ConfigOption<Long> REST_CATALOG_METADATA_CACHE_MAX_WEIGHT =
+      ConfigOptions.key("rest-catalog.metadata-cache.max-weight")
+          .longType()
+          .defaultValue(100000L)
+          .withDescription(
+              "The max total weight of the parsed table metadata held in memory for the iceberg rest catalog, "
+                  + "a table metadata weighs the number of its snapshots, metadata log entries, schemas, "
+                  + "partition specs and sort orders.");
+
+  public static final ConfigOption<Duration> REST_CATALOG_METADATA_CACHE_EXPIRE_AFTER_ACCESS =
+      ConfigOptions.key("rest-catalog.metadata-cache.expire-after-access")
+          .durationType()
+          .defaultValue(Duration.ofHours(1))
+          .withDescription(
+              "A parsed table metadata file of the iceberg rest catalog is evicted after not being accessed for this duration.");
+
+  public static final ConfigOption<Long> LISTING_CACHE_MAX_ITEMS =
+      ConfigOptions.key("listing-cache.max-items")
+          .longType()
+          .defaultValue(100000L)
+          .withDescription(
+              "The max total number of the snapshots and files held in memory by the listings paged by cursor "
+                  + "in the dashboard.");
+
+  public static final ConfigOption<Duration> LISTING_CACHE_EXPIRE_AFTER_ACCESS =
+      ConfigOptions.key("listing-cache.expire-after-access")
+          .durationType()
+          .defaultValue(Duration.ofMinutes(1))
+          .withDescription(
+              "A listing of the dashboard is evicted after not being paged for this duration.");
+
   public static final ConfigOption<Long> REFRESH_EXTERNAL_CATALOGS_INTERVAL =
       ConfigOptions.key("refresh-external-catalogs.interval")
           .longType()
@@ -178,6 +237,20 @@ public class ArcticManagementConf {
           .defaultValue("")
           .withDescription("The Zookeeper address used for high availability.");
 
+  public static final ConfigOption<Boolean> HA_SHARDING_ENABLED =
+      ConfigOptions.key("ha.sharding.enabled")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether all the AMS of the cluster are active and split the ownership of the tables.");
+
+  public static final ConfigOption<Long> HA_SHARDING_SYNC_INTERVAL =
+      ConfigOptions.key("ha.sharding.sync-interval")
+          .longType()
+          .defaultValue(60000L)
+          .withDescription(
+              "Interval in milliseconds to sync the tables owned by the AMS and the resource groups in the sharding mode.");
+
   public static final ConfigOption<Integer> TABLE_SERVICE_THRIFT_BIND_PORT =
       ConfigOptions.key("thrift-server.table-service.bind-port")
           .intType()
@@ -202,6 +275,34 @@ public class ArcticManagementConf {
           .defaultValue(20)
           .withDescription("The number of worker threads for the Thrift server.");
 
+  public static final ConfigOption<Integer> THRIFT_TABLE_SERVICE_MAX_CONCURRENT_REQUESTS =
+      ConfigOptions.key("thrift-server.table-service.max-concurrent-requests")
+          .intType()
+          .defaultValue(0)
+          .withDescription(
+              "The max number of concurrent requests of the table service, the requests exceeding it are rejected, 0 means unlimited.");
+
+  public static final ConfigOption<Boolean> THRIFT_OPTIMIZING_SERVICE_ASYNC_ENABLED =
+      ConfigOptions.key("thrift-server.optimizing-service.async-enabled")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether to serve the optimizing service with the async processor, so polling tasks does not hold the worker threads.");
+
+  public static final ConfigOption<Integer> THRIFT_OPTIMIZING_SERVICE_WORKER_THREADS =
+      ConfigOptions.key("thrift-server.optimizing-service.worker-thread-count")
+          .intType()
+          .defaultValue(20)
+          .withDescription(
+              "The number of worker threads of the optimizing service when the async processor is enabled.");
+
+  public static final ConfigOption<Integer> THRIFT_OPTIMIZING_SERVICE_MAX_CONCURRENT_REQUESTS =
+      ConfigOptions.key("thrift-server.optimizing-service.max-concurrent-requests")
+          .intType()
+          .defaultValue(0)
+          .withDescription(
+              "The max number of concurrent requests of the optimizing service, the requests exceeding it are rejected, 0 means unlimited. The polls waiting for tasks are not counted when the service is async.");
+
   public static final ConfigOption<Integer> THRIFT_SELECTOR_THREADS =
       ConfigOptions.key("thrift-server.selector-thread-count")
           .intType()
@@ -312,6 +413,13 @@ public class ArcticManagementConf {
           .defaultValue(3000L)
           .withDescription("Optimizer polling task timeout.");
 
+  public static final ConfigOption<Long> OPTIMIZER_AUTOSCALING_INTERVAL =
+      ConfigOptions.key("optimizer.autoscaling-interval")
+          .longType()
+          .defaultValue(30000L)
+          .withDescription(
+              "Interval to scale the optimizers of the resource groups with autoscaling enabled.");
+
   /** config key prefix of terminal */
   public static final String TERMINAL_PREFIX = "terminal.";
 
@@ -333,6 +441,32 @@ public class ArcticManagementConf {
           .defaultValue(1000)
           .withDescription("limit of result-set");
 
+  public static final ConfigOption<Boolean> TERMINAL_RESULT_SPILL_ENABLED =
+      ConfigOptions.key("terminal.result.spill.enabled")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription("spill result rows exceeding the in-memory rows to local disk.");
+
+  public static final ConfigOption<Integer> TERMINAL_RESULT_SPILL_IN_MEMORY_ROWS =
+      ConfigOptions.key("terminal.result.spill.in-memory-rows")
+          .intType()
+          .defaultValue(1000)
+          .withDescription("max rows of a statement result kept in memory when spill is enabled.");
+
+  public static final ConfigOption<String> TERMINAL_RESULT_SPILL_DIR =
+      ConfigOptions.key("terminal.result.spill.dir")
+          .stringType()
+          .noDefaultValue()
+          .withDescription(
+              "local directory of result spill files, default is a sub directory of java.io.tmpdir.");
+
+  public static final ConfigOption<Integer> TERMINAL_RESULT_MAX_PAGE_SIZE =
+      ConfigOptions.key("terminal.result.max-page-size")
+          .intType()
+          .defaultValue(1000)
+          .withDescription(
+              "max rows of a statement result returned when the page size is not requested.");
+
   public static final ConfigOption<Boolean> TERMINAL_STOP_ON_ERROR =
       ConfigOptions.key("terminal.stop-on-error")
           .booleanType()
@@ -51,6 +51,7 @@ import io.javalin.http.HttpCode;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.iceberg.SystemProperties;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.thrift.TAsyncProcessor;
 import org.apache.thrift.TMultiplexedProcessor;
 import org.apache.thrift.TProcessor;
 import org.apache.thrift.protocol.TBinaryProtocol;
@@ -79,6 +80,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 
 public class ArcticServiceContainer {
@@ -94,6 +97,7 @@ public class ArcticServiceContainer {
   private Configurations serviceConfig;
   private TServer tableManagementServer;
   private TServer optimizingServiceServer;
+  private ScheduledExecutorService optimizingPollTimer;
   private Javalin httpServer;
 
   public ArcticServiceContainer() throws Exception {
@@ -133,7 +137,7 @@ public class ArcticServiceContainer {
     EventsManager.getInstance();
     MetricManager.getInstance();
 
-    tableService = new DefaultTableService(serviceConfig);
+    tableService = new DefaultTableService(serviceConfig, haContainer.getTableOwnership());
     optimizingService = new DefaultOptimizingService(serviceConfig, tableService);
 
     LOG.info("Setting up AMS table executors...");
@@ -173,6 +177,10 @@ public class ArcticServiceContainer {
     if (optimizingServiceServer != null) {
       optimizingServiceServer.stop();
     }
+    if (optimizingPollTimer != null) {
+      optimizingPollTimer.shutdownNow();
+      optimizingPollTimer = null;
+    }
     if (httpServer != null) {
       httpServer.stop();
     }
@@ -210,7 +218,7 @@ public class ArcticServiceContainer {
   private void initHttpService() {
     DashboardServer dashboardServer =
         new DashboardServer(serviceConfig, tableService, optimizingService, terminalManager);
-    RestCatalogService restCatalogService = new RestCatalogService(tableService);
+    RestCatalogService restCatalogService = new RestCatalogService(tableService, serviceConfig);
 
     httpServer =
         Javalin.create(
@@ -293,7 +301,10 @@ public class ArcticServiceContainer {
             ThriftServiceProxy.createProxy(
                 ArcticTableMetastore.Iface.class,
                 new TableManagementService(tableService),
-                ArcticRuntimeException::normalizeCompatibly));
+                ArcticRuntimeException::normalizeCompatibly,
+                ThriftServiceProxy.admission(
+                    serviceConfig.getInteger(
+                        ArcticManagementConf.THRIFT_TABLE_SERVICE_MAX_CONCURRENT_REQUESTS))));
     tableManagementServer =
         createThriftServer(
             tableManagementProcessor,
@@ -306,23 +317,57 @@ public class ArcticServiceContainer {
             queueSizePerSelector,
             maxMessageSize);
 
-    OptimizingService.Processor<OptimizingService.Iface> optimizingProcessor =
-        new OptimizingService.Processor<>(
-            ThriftServiceProxy.createProxy(
-                OptimizingService.Iface.class,
-                optimizingService,
-                ArcticRuntimeException::normalize));
-    optimizingServiceServer =
-        createThriftServer(
-            optimizingProcessor,
-            Constants.THRIFT_OPTIMIZING_SERVICE_NAME,
-            bindHost,
-            serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_SERVICE_THRIFT_BIND_PORT),
-            Executors.newCachedThreadPool(
-                getThriftThreadFactory(Constants.THRIFT_OPTIMIZING_SERVICE_NAME)),
-            selectorThreads,
-            queueSizePerSelector,
-            maxMessageSize);
+    Semaphore optimizingAdmission =
+        ThriftServiceProxy.admission(
+            serviceConfig.getInteger(
+                ArcticManagementConf.THRIFT_OPTIMIZING_SERVICE_MAX_CONCURRENT_REQUESTS));
+    if (serviceConfig.getBoolean(ArcticManagementConf.THRIFT_OPTIMIZING_SERVICE_ASYNC_ENABLED)) {
+      // the worker threads are only occupied by handling the requests, not waiting for the tasks
+      ExecutorService optimizingExecutor =
+          Executors.newFixedThreadPool(
+              serviceConfig.getInteger(
+                  ArcticManagementConf.THRIFT_OPTIMIZING_SERVICE_WORKER_THREADS),
+              getThriftThreadFactory(Constants.THRIFT_OPTIMIZING_SERVICE_NAME));
+      optimizingPollTimer =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("thrift-server-optimizing-poll-timer-%d")
+                  .build());
+      AsyncOptimizingService asyncOptimizingService =
+          new AsyncOptimizingService(
+              optimizingService, optimizingAdmission, optimizingPollTimer, optimizingExecutor);
+      optimizingServiceServer =
+          createThriftServer(
+              AsyncOptimizingService.processor(
+                  asyncOptimizingService, Constants.THRIFT_OPTIMIZING_SERVICE_NAME),
+              Constants.THRIFT_OPTIMIZING_SERVICE_NAME,
+              bindHost,
+              serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_SERVICE_THRIFT_BIND_PORT),
+              optimizingExecutor,
+              selectorThreads,
+              queueSizePerSelector,
+              maxMessageSize);
+    } else {
+      OptimizingService.Processor<OptimizingService.Iface> optimizingProcessor =
+          new OptimizingService.Processor<>(
+              ThriftServiceProxy.createProxy(
+                  OptimizingService.Iface.class,
+                  optimizingService,
+                  ArcticRuntimeException::normalize,
+                  optimizingAdmission));
+      optimizingServiceServer =
+          createThriftServer(
+              optimizingProcessor,
+              Constants.THRIFT_OPTIMIZING_SERVICE_NAME,
+              bindHost,
+              serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_SERVICE_THRIFT_BIND_PORT),
+              Executors.newCachedThreadPool(
+                  getThriftThreadFactory(Constants.THRIFT_OPTIMIZING_SERVICE_NAME)),
+              selectorThreads,
+              queueSizePerSelector,
+              maxMessageSize);
+    }
   }
 
   private TServer createThriftServer(
@@ -342,11 +387,18 @@ public class ArcticServiceContainer {
     final TProtocolFactory inputProtoFactory =
         new TBinaryProtocol.Factory(true, true, maxMessageSize, maxMessageSize);
     TTransportFactory transportFactory = new TFramedTransport.Factory();
-    TMultiplexedProcessor multiplexedProcessor = new TMultiplexedProcessor();
-    multiplexedProcessor.registerProcessor(processorName, processor);
+    TProcessor serverProcessor;
+    if (processor instanceof TAsyncProcessor) {
+      // there is no multiplexed async processor, it is registered with the service name by itself
+      serverProcessor = processor;
+    } else {
+      TMultiplexedProcessor multiplexedProcessor = new TMultiplexedProcessor();
+      multiplexedProcessor.registerProcessor(processorName, processor);
+      serverProcessor = multiplexedProcessor;
+    }
     TThreadedSelectorServer.Args args =
         new TThreadedSelectorServer.Args(serverTransport)
-            .processor(multiplexedProcessor)
+            .processor(serverProcessor)
             .transportFactory(transportFactory)
             .protocolFactory(protocolFactory)
             .inputProtocolFactory(inputProtoFactory)
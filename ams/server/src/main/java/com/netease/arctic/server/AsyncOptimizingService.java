@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server;
+
+import com.netease.arctic.ams.api.OptimizerRegisterInfo;
+import com.netease.arctic.ams.api.OptimizingService;
+import com.netease.arctic.ams.api.OptimizingTask;
+import com.netease.arctic.ams.api.OptimizingTaskId;
+import com.netease.arctic.ams.api.OptimizingTaskResult;
+import com.netease.arctic.server.exception.ArcticRuntimeException;
+import com.netease.arctic.server.utils.ThriftServiceProxy;
+import org.apache.thrift.AsyncProcessFunction;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TBaseAsyncProcessor;
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.apache.thrift.protocol.TMultiplexedProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The optimizing service served by the async processor of thrift. The requests are handled on the
+ * worker threads of the thrift server as the synchronous one, except that polling a task does not
+ * hold a worker thread while waiting for the task, the result is sent by the completion callback
+ * instead. So the optimizer threads polling are not bounded by the worker threads, and do not
+ * starve the other requests. For the same reason, a poll only holds an admission permit while it is
+ * handled, not while it is waiting for the task.
+ */
+public class AsyncOptimizingService implements OptimizingService.AsyncIface {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncOptimizingService.class);
+
+  private final DefaultOptimizingService optimizingService;
+  private final OptimizingService.Iface syncService;
+  private final Semaphore admission;
+  private final ScheduledExecutorService timer;
+  private final Executor executor;
+
+  /**
+   * Create the service delegating to the optimizing service.
+   *
+   * @param optimizingService the optimizing service
+   * @param admission the permits of the concurrent requests, null if not limited
+   * @param timer expires the polls waiting for the tasks
+   * @param executor completes the polls, e.g.: the worker threads of the thrift server
+   */
+  public AsyncOptimizingService(
+      DefaultOptimizingService optimizingService,
+      Semaphore admission,
+      ScheduledExecutorService timer,
+      Executor executor) {
+    this.optimizingService = optimizingService;
+    this.syncService =
+        ThriftServiceProxy.createProxy(
+            OptimizingService.Iface.class,
+            optimizingService,
+            ArcticRuntimeException::normalize,
+            admission);
+    this.admission = admission;
+    this.timer = timer;
+    this.executor = executor;
+  }
+
+  /**
+   * Create the async processor of the service registered with the service name, which is the same
+   * as the multiplexed processor for the clients of {@link TMultiplexedProtocol}.
+   */
+  public static TBaseAsyncProcessor<OptimizingService.AsyncIface> processor(
+      OptimizingService.AsyncIface service, String serviceName) {
+    Map<String, AsyncProcessFunction<OptimizingService.AsyncIface, ? extends TBase, ?>> processMap =
+        new HashMap<>();
+    new OptimizingService.AsyncProcessor<>(service)
+        .getProcessMapView()
+        .forEach(
+            (name, function) ->
+                processMap.put(serviceName + TMultiplexedProtocol.SEPARATOR + name, function));
+    return new TBaseAsyncProcessor<>(service, processMap);
+  }
+
+  @Override
+  public void ping(AsyncMethodCallback<Void> resultHandler) {
+    call(
+        resultHandler,
+        () -> {
+          syncService.ping();
+          return null;
+        });
+  }
+
+  @Override
+  public void touch(String authToken, AsyncMethodCallback<Void> resultHandler) {
+    call(
+        resultHandler,
+        () -> {
+          syncService.touch(authToken);
+          return null;
+        });
+  }
+
+  @Override
+  public void pollTask(
+      String authToken, int threadId, AsyncMethodCallback<OptimizingTask> resultHandler) {
+    if (admission != null && !admission.tryAcquire()) {
+      IllegalStateException exception =
+          ThriftServiceProxy.rejected(optimizingService.getClass().getSimpleName());
+      LOG.warn(exception.getMessage());
+      resultHandler.onError(ArcticRuntimeException.normalize(exception));
+      return;
+    }
+    CompletableFuture<OptimizingTask> poll;
+    try {
+      poll = optimizingService.pollTaskAsync(authToken, threadId, timer, executor);
+    } catch (Throwable throwable) {
+      onError(resultHandler, throwable);
+      return;
+    } finally {
+      // the permit is released before waiting, so the waiting polls never reject the others
+      release();
+    }
+    poll.whenComplete(
+        (task, throwable) -> {
+          if (throwable == null) {
+            resultHandler.onComplete(task);
+          } else {
+            onError(resultHandler, throwable);
+          }
+        });
+  }
+
+  @Override
+  public void ackTask(
+      String authToken,
+      int threadId,
+      OptimizingTaskId taskId,
+      AsyncMethodCallback<Void> resultHandler) {
+    call(
+        resultHandler,
+        () -> {
+          syncService.ackTask(authToken, threadId, taskId);
+          return null;
+        });
+  }
+
+  @Override
+  public void completeTask(
+      String authToken, OptimizingTaskResult taskResult, AsyncMethodCallback<Void> resultHandler) {
+    call(
+        resultHandler,
+        () -> {
+          syncService.completeTask(authToken, taskResult);
+          return null;
+        });
+  }
+
+  @Override
+  public void authenticate(
+      OptimizerRegisterInfo registerInfo, AsyncMethodCallback<String> resultHandler) {
+    call(resultHandler, () -> syncService.authenticate(registerInfo));
+  }
+
+  private <T> void call(AsyncMethodCallback<T> resultHandler, ThriftCall<T> call) {
+    T result;
+    try {
+      result = call.call();
+    } catch (Exception e) {
+      // the exception has been normalized by the proxy of the synchronous service
+      resultHandler.onError(e);
+      return;
+    }
+    resultHandler.onComplete(result);
+  }
+
+  private void onError(AsyncMethodCallback<?> resultHandler, Throwable throwable) {
+    Throwable cause =
+        throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+    LOG.error("Thrift service:AsyncOptimizingService.pollTask execute failed", cause);
+    resultHandler.onError(ArcticRuntimeException.normalize(cause));
+  }
+
+  private void release() {
+    if (admission != null) {
+      admission.release();
+    }
+  }
+
+  @FunctionalInterface
+  private interface ThriftCall<T> {
+    T call() throws Exception;
+  }
+}
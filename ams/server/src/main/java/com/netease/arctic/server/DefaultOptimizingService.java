@@ -29,6 +29,7 @@ import com.netease.arctic.ams.api.OptimizingTaskResult;
 import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
 import com.netease.arctic.ams.api.resource.Resource;
 import com.netease.arctic.ams.api.resource.ResourceGroup;
+import com.netease.arctic.ams.api.resource.ResourceType;
 import com.netease.arctic.server.exception.ForbiddenException;
 import com.netease.arctic.server.exception.ObjectNotExistsException;
 import com.netease.arctic.server.exception.PluginRetryAuthException;
@@ -39,10 +40,13 @@ import com.netease.arctic.server.optimizing.TaskRuntime;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.mapper.OptimizerMapper;
 import com.netease.arctic.server.persistence.mapper.ResourceMapper;
+import com.netease.arctic.server.persistence.mapper.TableMetaMapper;
+import com.netease.arctic.server.resource.OptimizerAutoscaler;
 import com.netease.arctic.server.resource.OptimizerInstance;
 import com.netease.arctic.server.resource.OptimizerManager;
 import com.netease.arctic.server.resource.OptimizerThread;
 import com.netease.arctic.server.resource.QuotaProvider;
+import com.netease.arctic.server.resource.ResourceContainers;
 import com.netease.arctic.server.table.DefaultTableService;
 import com.netease.arctic.server.table.RuntimeHandlerChain;
 import com.netease.arctic.server.table.ServerTableIdentifier;
@@ -52,6 +56,7 @@ import com.netease.arctic.server.table.TableRuntimeMeta;
 import com.netease.arctic.server.table.TableService;
 import com.netease.arctic.server.utils.Configurations;
 import com.netease.arctic.table.TableProperties;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
 import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -64,11 +69,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -92,6 +100,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
   private final long taskAckTimeout;
   private final int maxPlanningParallelism;
   private final long pollingTimeout;
+  private final boolean shardingEnabled;
   private final Map<String, OptimizingQueue> optimizingQueueByGroup = new ConcurrentHashMap<>();
   private final Map<String, OptimizingQueue> optimizingQueueByToken = new ConcurrentHashMap<>();
   private final Map<String, OptimizerInstance> authOptimizers = new ConcurrentHashMap<>();
@@ -99,6 +108,15 @@ public class DefaultOptimizingService extends StatedPersistentBase
   private final TableService tableService;
   private final RuntimeHandlerChain tableHandlerChain;
   private final Executor planExecutor;
+  private final long autoscalingInterval;
+  private final long resourceGroupSyncInterval;
+  private final OptimizerAutoscaler autoscaler = new OptimizerAutoscaler(new ContainerScaler());
+  private final ScheduledExecutorService autoscalingExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("optimizer-autoscaling-thread-%d")
+              .setDaemon(true)
+              .build());
 
   public DefaultOptimizingService(Configurations serviceConfig, DefaultTableService tableService) {
     this.optimizerTouchTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_HB_TIMEOUT);
@@ -106,6 +124,13 @@ public class DefaultOptimizingService extends StatedPersistentBase
     this.maxPlanningParallelism =
         serviceConfig.getInteger(ArcticManagementConf.OPTIMIZER_MAX_PLANNING_PARALLELISM);
     this.pollingTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_POLLING_TIMEOUT);
+    this.autoscalingInterval =
+        serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_AUTOSCALING_INTERVAL);
+    this.resourceGroupSyncInterval =
+        serviceConfig.getLong(ArcticManagementConf.HA_SHARDING_SYNC_INTERVAL);
+    this.shardingEnabled =
+        serviceConfig.getBoolean(ArcticManagementConf.HA_ENABLE)
+            && serviceConfig.getBoolean(ArcticManagementConf.HA_SHARDING_ENABLED);
     this.tableService = tableService;
     this.tableHandlerChain = new TableRuntimeHandlerImpl();
     this.planExecutor =
@@ -182,8 +207,35 @@ public class DefaultOptimizingService extends StatedPersistentBase
 
   private OptimizerInstance getAuthenticatedOptimizer(String authToken) {
     Preconditions.checkArgument(authToken != null, "authToken can not be null");
-    return Optional.ofNullable(authOptimizers.get(authToken))
-        .orElseThrow(() -> new PluginRetryAuthException("Optimizer has not been authenticated"));
+    OptimizerInstance optimizer = authOptimizers.get(authToken);
+    if (optimizer == null) {
+      optimizer =
+          loadOptimizer(authToken)
+              .orElseThrow(
+                  () -> new PluginRetryAuthException("Optimizer has not been authenticated"));
+    }
+    return optimizer;
+  }
+
+  /**
+   * Load the optimizer registered to another member of the AMS cluster in the sharding mode, since
+   * the optimizers poll the tasks from all the members.
+   */
+  private synchronized Optional<OptimizerInstance> loadOptimizer(String authToken) {
+    if (!shardingEnabled || authOptimizers.containsKey(authToken)) {
+      return Optional.ofNullable(authOptimizers.get(authToken));
+    }
+    Optional<OptimizerInstance> optimizer =
+        getAs(OptimizerMapper.class, OptimizerMapper::selectAll).stream()
+            .filter(instance -> authToken.equals(instance.getToken()))
+            .filter(instance -> loadQueueIfAbsent(instance.getGroupName()).isPresent())
+            .findFirst();
+    optimizer.ifPresent(
+        instance -> {
+          LOG.info("Load optimizer {} registered to another AMS", instance);
+          registerOptimizer(instance, false);
+        });
+    return optimizer;
   }
 
   @Override
@@ -192,7 +244,28 @@ public class DefaultOptimizingService extends StatedPersistentBase
     OptimizingQueue queue = getQueueByToken(authToken);
     return Optional.ofNullable(queue.pollTask(pollingTimeout))
         .map(task -> extractOptimizingTask(task, authToken, threadId, queue))
-        .orElse(null);
+        .orElseGet(() -> speculateOptimizingTask(authToken, threadId, queue));
+  }
+
+  /**
+   * Poll a task like {@link #pollTask(String, int)}, without blocking the calling thread while
+   * waiting for the task.
+   *
+   * @param timer expires the poll after the polling timeout
+   * @param executor schedules the task polled to the optimizer thread
+   */
+  public CompletableFuture<OptimizingTask> pollTaskAsync(
+      String authToken, int threadId, ScheduledExecutorService timer, Executor executor) {
+    LOG.debug("Optimizer {} (threadId {}) try polling task asynchronously", authToken, threadId);
+    OptimizingQueue queue = getQueueByToken(authToken);
+    return queue
+        .pollTaskAsync(pollingTimeout, timer)
+        .thenApplyAsync(
+            task ->
+                Optional.ofNullable(task)
+                    .map(t -> extractOptimizingTask(t, authToken, threadId, queue))
+                    .orElseGet(() -> speculateOptimizingTask(authToken, threadId, queue)),
+            executor);
   }
 
   private OptimizingTask extractOptimizingTask(
@@ -209,13 +282,22 @@ public class DefaultOptimizingService extends StatedPersistentBase
     }
   }
 
+  private OptimizingTask speculateOptimizingTask(
+      String authToken, int threadId, OptimizingQueue queue) {
+    OptimizerThread optimizerThread = getAuthenticatedOptimizer(authToken).getThread(threadId);
+    TaskRuntime task = queue.speculateTask(optimizerThread);
+    if (task == null) {
+      return null;
+    }
+    LOG.info("OptimizerThread {} speculatively polled task {}", optimizerThread, task.getTaskId());
+    return task.getOptimizingTask();
+  }
+
   @Override
   public void ackTask(String authToken, int threadId, OptimizingTaskId taskId) {
     LOG.info("Ack task {} by optimizer {} (threadId {})", taskId, authToken, threadId);
     OptimizingQueue queue = getQueueByToken(authToken);
-    Optional.ofNullable(queue.getTask(taskId))
-        .orElseThrow(() -> new TaskNotFoundException(taskId))
-        .ack(getAuthenticatedOptimizer(authToken).getThread(threadId));
+    getLeasedTask(queue, taskId).ack(getAuthenticatedOptimizer(authToken).getThread(threadId));
   }
 
   @Override
@@ -224,9 +306,22 @@ public class DefaultOptimizingService extends StatedPersistentBase
     OptimizingQueue queue = getQueueByToken(authToken);
     OptimizerThread thread =
         getAuthenticatedOptimizer(authToken).getThread(taskResult.getThreadId());
-    Optional.ofNullable(queue.getTask(taskResult.getTaskId()))
-        .orElseThrow(() -> new TaskNotFoundException(taskResult.getTaskId()))
-        .complete(thread, taskResult);
+    getLeasedTask(queue, taskResult.getTaskId()).complete(thread, taskResult);
+  }
+
+  /**
+   * Get the task of a table whose lease is held by this AMS, the tasks of the tables taken over by
+   * another member of the AMS cluster are rejected.
+   */
+  private TaskRuntime getLeasedTask(OptimizingQueue queue, OptimizingTaskId taskId) {
+    TaskRuntime task =
+        Optional.ofNullable(queue.getTask(taskId))
+            .orElseThrow(() -> new TaskNotFoundException(taskId));
+    if (!tableService.holdsLease(task.getTableId())) {
+      throw new ForbiddenException(
+          String.format("The lease of the table of task %s is not held by this AMS", taskId));
+    }
+    return task;
   }
 
   @Override
@@ -268,10 +363,42 @@ public class DefaultOptimizingService extends StatedPersistentBase
     return Optional.ofNullable(optimizingQueueByGroup.get(optimizerGroup));
   }
 
+  /**
+   * Load the optimizing queue of the resource group created by another member of the AMS cluster in
+   * the sharding mode.
+   */
+  private Optional<OptimizingQueue> loadQueueIfAbsent(String optimizerGroup) {
+    Optional<OptimizingQueue> queue = getOptionalQueueByGroup(optimizerGroup);
+    if (queue.isPresent() || !shardingEnabled) {
+      return queue;
+    }
+    return Optional.ofNullable(
+            getAs(ResourceMapper.class, mapper -> mapper.selectResourceGroup(optimizerGroup)))
+        .map(
+            resourceGroup ->
+                optimizingQueueByGroup.computeIfAbsent(
+                    optimizerGroup,
+                    groupName ->
+                        new OptimizingQueue(
+                            tableService,
+                            resourceGroup,
+                            this,
+                            planExecutor,
+                            new ArrayList<>(),
+                            maxPlanningParallelism)));
+  }
+
   private OptimizingQueue getQueueByToken(String token) {
     Preconditions.checkArgument(token != null, "optimizer token can not be null");
-    return Optional.ofNullable(optimizingQueueByToken.get(token))
-        .orElseThrow(() -> new PluginRetryAuthException("Optimizer has not been authenticated"));
+    OptimizingQueue queue = optimizingQueueByToken.get(token);
+    if (queue == null) {
+      queue =
+          loadOptimizer(token)
+              .map(optimizer -> optimizingQueueByToken.get(token))
+              .orElseThrow(
+                  () -> new PluginRetryAuthException("Optimizer has not been authenticated"));
+    }
+    return queue;
   }
 
   @Override
@@ -320,6 +447,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
       doAs(ResourceMapper.class, mapper -> mapper.deleteResourceGroup(groupName));
       OptimizingQueue optimizingQueue = optimizingQueueByGroup.remove(groupName);
       optimizingQueue.dispose();
+      autoscaler.removeGroup(groupName);
     } else {
       throw new RuntimeException(
           String.format(
@@ -336,6 +464,37 @@ public class DefaultOptimizingService extends StatedPersistentBase
     doAs(ResourceMapper.class, mapper -> mapper.updateResourceGroup(resourceGroup));
   }
 
+  /**
+   * Sync the resource groups created, updated or deleted by the other members of the AMS cluster in
+   * the sharding mode.
+   */
+  @VisibleForTesting
+  void syncResourceGroups() {
+    try {
+      Map<String, ResourceGroup> resourceGroups =
+          getAs(ResourceMapper.class, ResourceMapper::selectResourceGroups).stream()
+              .collect(Collectors.toMap(ResourceGroup::getName, group -> group));
+      resourceGroups.forEach(
+          (groupName, resourceGroup) -> {
+            OptimizingQueue queue = optimizingQueueByGroup.get(groupName);
+            if (queue == null) {
+              loadQueueIfAbsent(groupName);
+            } else {
+              queue.updateOptimizerGroup(resourceGroup);
+            }
+          });
+      for (String groupName : new ArrayList<>(optimizingQueueByGroup.keySet())) {
+        if (!resourceGroups.containsKey(groupName)) {
+          Optional.ofNullable(optimizingQueueByGroup.remove(groupName))
+              .ifPresent(OptimizingQueue::dispose);
+          LOG.info("Removed the optimizing queue of resource group {} deleted", groupName);
+        }
+      }
+    } catch (Throwable t) {
+      LOG.error("Failed to sync the resource groups", t);
+    }
+  }
+
   @Override
   public void createResource(Resource resource) {
     doAs(ResourceMapper.class, mapper -> mapper.insertResource(resource));
@@ -373,8 +532,53 @@ public class DefaultOptimizingService extends StatedPersistentBase
     return getAs(ResourceMapper.class, mapper -> mapper.selectResource(resourceId));
   }
 
+  /**
+   * Scale the optimizers of the resource groups with autoscaling enabled by their pending work. The
+   * groups of the external container are skipped since their optimizers are not started by AMS.
+   */
+  @VisibleForTesting
+  void autoscale() {
+    long now = System.currentTimeMillis();
+    for (OptimizingQueue queue : optimizingQueueByGroup.values()) {
+      ResourceGroup group = queue.getOptimizerGroup();
+      if (!OptimizerAutoscaler.isEnabled(group)
+          || ResourceContainers.EXTERNAL_CONTAINER_NAME.equals(group.getContainer())) {
+        continue;
+      }
+      try {
+        List<OptimizerInstance> optimizers = listOptimizers(group.getName());
+        Map<String, String> resourceIdByToken =
+            optimizers.stream()
+                .filter(optimizer -> optimizer.getResourceId() != null)
+                .collect(
+                    Collectors.toMap(
+                        OptimizerInstance::getToken, OptimizerInstance::getResourceId));
+        Set<String> busyResourceIds =
+            queue
+                .collectTasks(
+                    task ->
+                        task.getStatus() == TaskRuntime.Status.SCHEDULED
+                            || task.getStatus() == TaskRuntime.Status.ACKED)
+                .stream()
+                .map(task -> resourceIdByToken.get(task.getToken()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        autoscaler.scale(
+            group,
+            queue.collectBacklog(),
+            listResourcesByGroup(group.getName()),
+            optimizers,
+            busyResourceIds,
+            now);
+      } catch (Throwable t) {
+        LOG.error("Failed to scale the optimizers of group {}", group.getName(), t);
+      }
+    }
+  }
+
   @Override
   public void dispose() {
+    autoscalingExecutor.shutdownNow();
     optimizerKeeper.dispose();
     tableHandlerChain.dispose();
     optimizingQueueByGroup.clear();
@@ -400,6 +604,17 @@ public class DefaultOptimizingService extends StatedPersistentBase
         return false;
       }
     }
+    if (shardingEnabled) {
+      // the optimizers and the tables may be loaded by the other members of the AMS cluster
+      if (getAs(OptimizerMapper.class, OptimizerMapper::selectAll).stream()
+          .anyMatch(optimizer -> optimizer.getGroupName().equals(name))) {
+        return false;
+      }
+      if (getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas).stream()
+          .anyMatch(tableRuntimeMeta -> name.equals(tableRuntimeMeta.getOptimizerGroup()))) {
+        return false;
+      }
+    }
     for (ServerTableIdentifier identifier : tableService.listManagedTables()) {
       if (optimizingQueueByGroup.containsKey(name)
           && optimizingQueueByGroup.get(name).containsTable(identifier)) {
@@ -449,12 +664,39 @@ public class DefaultOptimizingService extends StatedPersistentBase
           .ifPresent(queue -> queue.releaseTable(tableRuntime));
     }
 
+    @Override
+    protected void handleTableAcquired(AmoroTable<?> table, TableRuntimeMeta tableRuntimeMeta) {
+      loadQueueIfAbsent(tableRuntimeMeta.getTableRuntime().getOptimizerGroup())
+          .ifPresent(queue -> queue.acquireTable(tableRuntimeMeta));
+    }
+
+    @Override
+    protected void handleTableReleased(TableRuntime tableRuntime) {
+      getOptionalQueueByGroup(tableRuntime.getOptimizerGroup())
+          .ifPresent(queue -> queue.unloadTable(tableRuntime));
+    }
+
     @Override
     protected void initHandler(List<TableRuntimeMeta> tableRuntimeMetaList) {
       LOG.info("OptimizerManagementService begin initializing");
       loadOptimizingQueues(tableRuntimeMetaList);
       optimizerKeeper.start();
       LOG.info("SuspendingDetector for Optimizer has been started.");
+      if (shardingEnabled) {
+        // each member only knows the backlog of the tables it owns
+        LOG.info("Optimizer autoscaling is disabled in the sharding mode");
+        autoscalingExecutor.scheduleWithFixedDelay(
+            DefaultOptimizingService.this::syncResourceGroups,
+            resourceGroupSyncInterval,
+            resourceGroupSyncInterval,
+            TimeUnit.MILLISECONDS);
+      } else {
+        autoscalingExecutor.scheduleWithFixedDelay(
+            DefaultOptimizingService.this::autoscale,
+            autoscalingInterval,
+            autoscalingInterval,
+            TimeUnit.MILLISECONDS);
+      }
       LOG.info("OptimizerManagementService initializing has completed");
     }
 
@@ -462,6 +704,31 @@ public class DefaultOptimizingService extends StatedPersistentBase
     protected void doDispose() {}
   }
 
+  private class ContainerScaler implements OptimizerAutoscaler.Scaler {
+
+    @Override
+    public void scaleOut(ResourceGroup group, int threadCount) {
+      Resource resource =
+          new Resource.Builder(group.getContainer(), group.getName(), ResourceType.OPTIMIZER)
+              .setProperties(group.getProperties())
+              .setThreadCount(threadCount)
+              .build();
+      ResourceContainers.get(resource.getContainerName()).requestResource(resource);
+      createResource(resource);
+    }
+
+    @Override
+    public void scaleIn(ResourceGroup group, Resource resource) {
+      listOptimizers(group.getName()).stream()
+          .filter(optimizer -> resource.getResourceId().equals(optimizer.getResourceId()))
+          .findFirst()
+          .ifPresent(optimizer -> resource.getProperties().putAll(optimizer.getProperties()));
+      ResourceContainers.get(resource.getContainerName()).releaseOptimizer(resource);
+      deleteResource(resource.getResourceId());
+      deleteOptimizer(group.getName(), resource.getResourceId());
+    }
+  }
+
   private class OptimizerKeepingTask implements Delayed {
 
     private final OptimizerInstance optimizerInstance;
@@ -541,6 +808,8 @@ public class DefaultOptimizingService extends StatedPersistentBase
                           .collectTasks(buildSuspendingPredication(token, isExpired))
                           .forEach(task -> retryTask(task, queue)));
           if (isExpired) {
+            Optional.ofNullable(keepingTask.getQueue())
+                .ifPresent(queue -> queue.releaseAttempts(token));
             LOG.info("Optimizer {} has been expired, unregister it", keepingTask.getOptimizer());
             unregisterOptimizer(token);
           } else {
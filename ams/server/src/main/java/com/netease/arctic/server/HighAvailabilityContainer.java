@@ -21,14 +21,19 @@ package com.netease.arctic.server;
 import com.alibaba.fastjson.JSONObject;
 import com.netease.arctic.ams.api.client.AmsServerInfo;
 import com.netease.arctic.ams.api.properties.AmsHAProperties;
+import com.netease.arctic.server.table.TableOwnership;
 import com.netease.arctic.server.utils.Configurations;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
 import org.apache.curator.framework.recipes.leader.LeaderLatch;
 import org.apache.curator.framework.recipes.leader.LeaderLatchListener;
+import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,8 +49,12 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
   private final CuratorFramework zkClient;
   private final String tableServiceMasterPath;
   private final String optimizingServiceMasterPath;
+  private final String optimizingServiceMembersPath;
+  private final String tableLeasesPath;
   private final AmsServerInfo tableServiceServerInfo;
   private final AmsServerInfo optimizingServiceServerInfo;
+  private final TableOwnership tableOwnership;
+  private CuratorCache membersCache;
   private transient CountDownLatch followerLath;
 
   public HighAvailabilityContainer(Configurations serviceConfig) throws Exception {
@@ -54,6 +63,8 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
       String haClusterName = serviceConfig.getString(ArcticManagementConf.HA_CLUSTER_NAME);
       tableServiceMasterPath = AmsHAProperties.getTableServiceMasterPath(haClusterName);
       optimizingServiceMasterPath = AmsHAProperties.getOptimizingServiceMasterPath(haClusterName);
+      optimizingServiceMembersPath = AmsHAProperties.getOptimizingServiceMembersPath(haClusterName);
+      tableLeasesPath = AmsHAProperties.getTableLeasesPath(haClusterName);
       ExponentialBackoffRetry retryPolicy = new ExponentialBackoffRetry(1000, 3, 5000);
       this.zkClient =
           CuratorFrameworkFactory.builder()
@@ -69,7 +80,6 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
       createPathIfNeeded(leaderPath);
       leaderLatch = new LeaderLatch(zkClient, leaderPath);
       leaderLatch.addListener(this);
-      leaderLatch.start();
       this.tableServiceServerInfo =
           buildServerInfo(
               serviceConfig.getString(ArcticManagementConf.SERVER_EXPOSE_HOST),
@@ -78,39 +88,144 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
           buildServerInfo(
               serviceConfig.getString(ArcticManagementConf.SERVER_EXPOSE_HOST),
               serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_SERVICE_THRIFT_BIND_PORT));
+      if (serviceConfig.getBoolean(ArcticManagementConf.HA_SHARDING_ENABLED)) {
+        createPathIfNeeded(optimizingServiceMembersPath);
+        createPathIfNeeded(tableLeasesPath);
+        this.tableOwnership =
+            TableOwnership.sharding(
+                optimizingServiceServerInfo.getHost()
+                    + ":"
+                    + optimizingServiceServerInfo.getThriftBindPort(),
+                new ZookeeperLeaseStore());
+        zkClient
+            .getConnectionStateListenable()
+            .addListener(
+                (client, newState) -> {
+                  if (newState == ConnectionState.LOST && followerLath != null) {
+                    // the member node is removed once the session expires
+                    followerLath.countDown();
+                  }
+                });
+      } else {
+        this.tableOwnership = TableOwnership.ownAll();
+      }
+      leaderLatch.start();
     } else {
       leaderLatch = null;
       zkClient = null;
       tableServiceMasterPath = null;
       optimizingServiceMasterPath = null;
+      optimizingServiceMembersPath = null;
+      tableLeasesPath = null;
       tableServiceServerInfo = null;
       optimizingServiceServerInfo = null;
+      tableOwnership = TableOwnership.ownAll();
       // block follower latch forever when ha is disabled
       followerLath = new CountDownLatch(1);
     }
   }
 
   public void waitLeaderShip() throws Exception {
+    if (tableOwnership.isSharding()) {
+      joinCluster();
+      return;
+    }
     LOG.info("Waiting to become the leader of AMS");
     if (leaderLatch != null) {
       leaderLatch.await();
       if (leaderLatch.hasLeadership()) {
-        zkClient
-            .setData()
-            .forPath(
-                tableServiceMasterPath,
-                JSONObject.toJSONString(tableServiceServerInfo).getBytes(StandardCharsets.UTF_8));
-        zkClient
-            .setData()
-            .forPath(
-                optimizingServiceMasterPath,
-                JSONObject.toJSONString(optimizingServiceServerInfo)
-                    .getBytes(StandardCharsets.UTF_8));
+        publishMasterPaths();
       }
     }
     LOG.info("Became the leader of AMS");
   }
 
+  /**
+   * Join the AMS cluster running in the sharding mode, all the members are active and own the
+   * tables by the consistent hash ring of the members, while the leader is still elected to publish
+   * the master addresses for the clients.
+   */
+  private void joinCluster() throws Exception {
+    LOG.info("Joining the AMS cluster as member {}", tableOwnership.getMember());
+    followerLath = new CountDownLatch(1);
+    // the leases of the last session are gone with it
+    tableOwnership.clearLeases();
+    String memberPath = optimizingServiceMembersPath + "/" + tableOwnership.getMember();
+    byte[] memberData =
+        JSONObject.toJSONString(optimizingServiceServerInfo).getBytes(StandardCharsets.UTF_8);
+    try {
+      zkClient.create().withMode(CreateMode.EPHEMERAL).forPath(memberPath, memberData);
+    } catch (KeeperException.NodeExistsException e) {
+      // the member node of the expired session has not been removed yet
+      zkClient.delete().forPath(memberPath);
+      zkClient.create().withMode(CreateMode.EPHEMERAL).forPath(memberPath, memberData);
+    }
+    if (membersCache == null) {
+      membersCache = CuratorCache.build(zkClient, optimizingServiceMembersPath);
+      membersCache
+          .listenable()
+          .addListener(
+              CuratorCacheListener.builder()
+                  .forAll((type, oldData, data) -> refreshMembers())
+                  .build());
+      membersCache.start();
+    }
+    refreshMembers();
+    LOG.info("Joined the AMS cluster with members {}", tableOwnership.getMembers());
+  }
+
+  private void refreshMembers() {
+    try {
+      tableOwnership.updateMembers(zkClient.getChildren().forPath(optimizingServiceMembersPath));
+    } catch (Exception e) {
+      LOG.error("Failed to refresh the members of the AMS cluster", e);
+    }
+  }
+
+  /**
+   * The table leases are ephemeral nodes under the table leases path, so the leases of a member are
+   * released once its session expires.
+   */
+  private class ZookeeperLeaseStore implements TableOwnership.LeaseStore {
+
+    @Override
+    public boolean tryAcquire(String key, String member) throws Exception {
+      String leasePath = tableLeasesPath + "/" + key;
+      try {
+        zkClient
+            .create()
+            .withMode(CreateMode.EPHEMERAL)
+            .forPath(leasePath, member.getBytes(StandardCharsets.UTF_8));
+        return true;
+      } catch (KeeperException.NodeExistsException e) {
+        return isHeldByThisSession(leasePath);
+      }
+    }
+
+    @Override
+    public void release(String key, String member) throws Exception {
+      String leasePath = tableLeasesPath + "/" + key;
+      if (isHeldByThisSession(leasePath)) {
+        try {
+          zkClient.delete().forPath(leasePath);
+        } catch (KeeperException.NoNodeException e) {
+          // released already
+        }
+      }
+    }
+
+    private boolean isHeldByThisSession(String leasePath) throws Exception {
+      Stat stat = zkClient.checkExists().forPath(leasePath);
+      return stat != null
+          && stat.getEphemeralOwner()
+              == zkClient.getZookeeperClient().getZooKeeper().getSessionId();
+    }
+  }
+
+  public TableOwnership getTableOwnership() {
+    return tableOwnership;
+  }
+
   public void waitFollowerShip() throws Exception {
     LOG.info("Waiting to become the follower of AMS");
     if (followerLath != null) {
@@ -122,8 +237,11 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
   public void close() {
     if (leaderLatch != null) {
       try {
-        this.zkClient.close();
         this.leaderLatch.close();
+        if (membersCache != null) {
+          membersCache.close();
+        }
+        this.zkClient.close();
       } catch (IOException e) {
         LOG.error("Close high availability services failed", e);
       }
@@ -136,7 +254,15 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
         "Table service server {} and optimizing service server {} got leadership",
         tableServiceServerInfo.toString(),
         optimizingServiceServerInfo.toString());
-    followerLath = new CountDownLatch(1);
+    if (tableOwnership.isSharding()) {
+      try {
+        publishMasterPaths();
+      } catch (Exception e) {
+        LOG.error("Failed to publish the master addresses", e);
+      }
+    } else {
+      followerLath = new CountDownLatch(1);
+    }
   }
 
   @Override
@@ -145,7 +271,22 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
         "Table service server {} and optimizing service server {} lost leadership",
         tableServiceServerInfo.toString(),
         optimizingServiceServerInfo.toString());
-    followerLath.countDown();
+    if (!tableOwnership.isSharding()) {
+      followerLath.countDown();
+    }
+  }
+
+  private void publishMasterPaths() throws Exception {
+    zkClient
+        .setData()
+        .forPath(
+            tableServiceMasterPath,
+            JSONObject.toJSONString(tableServiceServerInfo).getBytes(StandardCharsets.UTF_8));
+    zkClient
+        .setData()
+        .forPath(
+            optimizingServiceMasterPath,
+            JSONObject.toJSONString(optimizingServiceServerInfo).getBytes(StandardCharsets.UTF_8));
   }
 
   private AmsServerInfo buildServerInfo(String host, int port) {
@@ -29,8 +29,11 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.ams.api.events.IcebergReportEvent;
 import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
@@ -41,15 +44,19 @@ import com.netease.arctic.server.manager.EventsManager;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.table.ServerTableIdentifier;
 import com.netease.arctic.server.table.TableService;
+import com.netease.arctic.server.table.internal.IcebergInternalTableOperations;
 import com.netease.arctic.server.table.internal.InternalTableCreator;
 import com.netease.arctic.server.table.internal.InternalTableHandler;
+import com.netease.arctic.server.utils.Configurations;
 import com.netease.arctic.utils.CatalogUtil;
 import com.netease.arctic.utils.TablePropertyUtil;
 import io.javalin.apibuilder.EndpointGroup;
+import io.javalin.core.util.Header;
 import io.javalin.http.ContentType;
 import io.javalin.http.Context;
 import io.javalin.http.HttpCode;
 import io.javalin.plugin.json.JavalinJackson;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.iceberg.TableMetadata;
 import org.apache.iceberg.TableOperations;
 import org.apache.iceberg.catalog.Namespace;
@@ -77,6 +84,8 @@ import org.apache.iceberg.rest.responses.LoadTableResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -108,10 +117,26 @@ public class RestCatalogService extends PersistentBase {
 
   private final TableService tableService;
 
-  public RestCatalogService(TableService tableService) {
+  /**
+   * Parsed table metadata keyed by the metadata file location. A metadata file is never changed
+   * after written, so the cached metadata is valid as long as the location is current. The cache is
+   * bounded by the weight of the metadata, see {@link #weight(TableMetadata)}.
+   */
+  private final Cache<String, TableMetadata> metadataCache;
+
+  public RestCatalogService(TableService tableService, Configurations serviceConfig) {
     this.tableService = tableService;
     ObjectMapper objectMapper = jsonMapper();
     this.jsonMapper = new JavalinJackson(objectMapper);
+    this.metadataCache =
+        Caffeine.newBuilder()
+            .maximumWeight(
+                serviceConfig.getLong(ArcticManagementConf.REST_CATALOG_METADATA_CACHE_MAX_WEIGHT))
+            .<String, TableMetadata>weigher((location, metadata) -> weight(metadata))
+            .expireAfterAccess(
+                serviceConfig.get(
+                    ArcticManagementConf.REST_CATALOG_METADATA_CACHE_EXPIRE_AFTER_ACCESS))
+            .build();
   }
 
   public EndpointGroup endpoints() {
@@ -304,7 +329,23 @@ public class RestCatalogService extends PersistentBase {
         ctx,
         handler -> {
           TableOperations ops = handler.newTableOperator();
-          TableMetadata tableMetadata = ops.current();
+          String metadataLocation = null;
+          if (ops instanceof IcebergInternalTableOperations) {
+            metadataLocation = ((IcebergInternalTableOperations) ops).currentMetadataLocation();
+          }
+
+          TableMetadata tableMetadata;
+          if (StringUtils.isBlank(metadataLocation)) {
+            tableMetadata = ops.current();
+          } else {
+            String etag = etag(metadataLocation);
+            ctx.header(Header.ETAG, etag);
+            if (matchesETag(ctx.header(Header.IF_NONE_MATCH), etag)) {
+              ctx.status(HttpCode.NOT_MODIFIED);
+              return null;
+            }
+            tableMetadata = metadataCache.get(metadataLocation, location -> ops.current());
+          }
           if (tableMetadata == null) {
             throw new NoSuchTableException("failed to load table from metadata file.");
           }
@@ -330,7 +371,12 @@ public class RestCatalogService extends PersistentBase {
           TableMetadata newMetadata = builder.build();
 
           ops.commit(base, newMetadata);
+          metadataCache.invalidate(base.metadataFileLocation());
           TableMetadata current = ops.current();
+          if (current.metadataFileLocation() != null) {
+            metadataCache.put(current.metadataFileLocation(), current);
+            ctx.header(Header.ETAG, etag(current.metadataFileLocation()));
+          }
           return LoadTableResponse.builder().withTableMetadata(current).build();
         });
   }
@@ -397,7 +443,7 @@ public class RestCatalogService extends PersistentBase {
     RESTResponse r = handler.apply(internalCatalog);
     if (r != null) {
       jsonResponse(ctx, r);
-    } else {
+    } else if (ctx.status() != HttpCode.NOT_MODIFIED.getStatus()) {
       ctx.status(HttpCode.NO_CONTENT);
     }
   }
@@ -430,6 +476,35 @@ public class RestCatalogService extends PersistentBase {
         });
   }
 
+  /**
+   * The weight of a parsed table metadata in the metadata cache. The size of a metadata file mostly
+   * grows with its snapshots and metadata log, so the metadata is weighed by the number of them
+   * together with its schemas, partition specs and sort orders.
+   */
+  private static int weight(TableMetadata metadata) {
+    return 1
+        + metadata.snapshots().size()
+        + metadata.previousFiles().size()
+        + metadata.schemas().size()
+        + metadata.specs().size()
+        + metadata.sortOrders().size();
+  }
+
+  private static String etag(String metadataLocation) {
+    return "\""
+        + Hashing.sha256().hashString(metadataLocation, StandardCharsets.UTF_8).toString()
+        + "\"";
+  }
+
+  private static boolean matchesETag(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    return Arrays.stream(ifNoneMatch.split(","))
+        .map(String::trim)
+        .anyMatch(tag -> tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag));
+  }
+
   private InternalCatalog getCatalog(String catalog) {
     Preconditions.checkNotNull(catalog, "lack required path variables: catalog");
     ServerCatalog internalCatalog = tableService.getServerCatalog(catalog);
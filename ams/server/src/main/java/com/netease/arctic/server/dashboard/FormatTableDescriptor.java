@@ -29,6 +29,7 @@ import com.netease.arctic.server.dashboard.model.PartitionBaseInfo;
 import com.netease.arctic.server.dashboard.model.PartitionFileBaseInfo;
 import com.netease.arctic.server.dashboard.model.ServerTableMeta;
 import com.netease.arctic.server.dashboard.model.TagOrBranchInfo;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.util.Pair;
 
 import java.util.List;
@@ -46,6 +47,16 @@ public interface FormatTableDescriptor {
   List<AmoroSnapshotsOfTable> getSnapshots(
       AmoroTable<?> amoroTable, String ref, OperationType operationType);
 
+  /**
+   * Iterate the snapshot information of the {@link AmoroTable} in the descending order of the
+   * commit time, the snapshots are converted lazily so that paging does not pay for the snapshots
+   * not returned.
+   */
+  default CloseableIterable<AmoroSnapshotsOfTable> iterateSnapshots(
+      AmoroTable<?> amoroTable, String ref, OperationType operationType) {
+    return CloseableIterable.withNoopClose(getSnapshots(amoroTable, ref, operationType));
+  }
+
   /** Get the snapshot detail information of the {@link AmoroTable}. */
   List<PartitionFileBaseInfo> getSnapshotDetail(AmoroTable<?> amoroTable, long snapshotId);
 
@@ -59,6 +70,12 @@ public interface FormatTableDescriptor {
   List<PartitionFileBaseInfo> getTableFiles(
       AmoroTable<?> amoroTable, String partition, Integer specId);
 
+  /** Iterate the file information of the {@link AmoroTable} lazily. */
+  default CloseableIterable<PartitionFileBaseInfo> iterateTableFiles(
+      AmoroTable<?> amoroTable, String partition, Integer specId) {
+    return CloseableIterable.withNoopClose(getTableFiles(amoroTable, partition, specId));
+  }
+
   /** Get the paged optimizing process information of the {@link AmoroTable} and total size. */
   Pair<List<OptimizingProcessInfo>, Integer> getOptimizingProcessesInfo(
       AmoroTable<?> amoroTable, int limit, int offset);
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.dashboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.netease.arctic.server.dashboard.response.PageResult;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A short-lived cache of the listings paged by the dashboard, e.g.: the snapshots or the files of a
+ * table. A listing is iterated lazily and only as far as the pages requested, so a page costs the
+ * work of the items up to it instead of the whole listing, and the following pages continue the
+ * same iteration.
+ *
+ * <p>A listing is identified by its scope and the version of the data listed, e.g.: the current
+ * snapshot of the table. The cursor returned with a page pins the listing it was taken from, so
+ * paging through it is consistent even if the table is changed in the meantime. A cursor of an
+ * evicted listing is rejected instead of being applied to another listing. As the listing paged by
+ * cursor is not iterated to the end, the total of such a page is the number of items iterated so
+ * far, which is exact once the last page is reached.
+ *
+ * <p>The cache is bounded by the total number of items held by the listings. A page requested by
+ * offset is served by a single pass over a listing not cached, which keeps only the items of the
+ * page and counts the others for the exact total, so the first page of the cursor paging is
+ * requested with an empty cursor.
+ */
+public class ListingCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ListingCache.class);
+
+  private static final char VERSION_SEPARATOR = '@';
+  private static final char OFFSET_SEPARATOR = '#';
+
+  private final Cache<String, Listing<?>> listings;
+
+  public ListingCache(long maxItems, Duration expireAfterAccess) {
+    this.listings =
+        Caffeine.newBuilder()
+            .maximumWeight(maxItems)
+            .<String, Listing<?>>weigher((key, listing) -> Math.max(listing.size(), 1))
+            .expireAfterAccess(expireAfterAccess)
+            .<String, Listing<?>>removalListener(
+                (key, listing, cause) -> {
+                  if (listing != null) {
+                    listing.close();
+                  }
+                })
+            .build();
+  }
+
+  /**
+   * Get a page of the listing.
+   *
+   * @param scope identifies what is listed, e.g.: the table identifier with the listing arguments
+   * @param version the version of the data listed, e.g.: the current snapshot id of the table
+   * @param cursor the cursor returned with the previous page, empty for the first page, or null to
+   *     page by the offset without caching the listing
+   * @param offset the offset of the page, ignored if the cursor is given
+   * @param limit the max size of the page
+   * @param loader opens the listing of the version if it is not cached
+   * @return the page with the cursor of the next page, the cursor is null if it is the last page
+   * @throws IllegalArgumentException if the cursor is not of the scope or its listing is evicted
+   */
+  @SuppressWarnings("unchecked")
+  public <T> PageResult<T> page(
+      String scope,
+      String version,
+      String cursor,
+      int offset,
+      int limit,
+      Supplier<CloseableIterable<T>> loader) {
+    Preconditions.checkArgument(limit > 0, "Invalid limit %s", limit);
+    if (cursor == null) {
+      return pageByOffset(offset, limit, loader);
+    }
+    if (!cursor.isEmpty()) {
+      return pageByCursor(scope, cursor, limit);
+    }
+    String key = scope + VERSION_SEPARATOR + version;
+    while (true) {
+      Listing<T> listing = (Listing<T>) listings.get(key, k -> new Listing<>(loader.get()));
+      Page<T> page = listing.page(0, limit);
+      if (page == null) {
+        // the listing is closed by the eviction concurrently
+        listings.asMap().remove(key, listing);
+        continue;
+      }
+      reweigh(key, listing);
+      return toResult(key, 0, limit, page);
+    }
+  }
+
+  private static <T> PageResult<T> pageByOffset(
+      int offset, int limit, Supplier<CloseableIterable<T>> loader) {
+    Preconditions.checkArgument(offset >= 0, "Invalid offset %s", offset);
+    List<T> items = new ArrayList<>();
+    int total = 0;
+    try (CloseableIterable<T> iterable = loader.get()) {
+      for (T item : iterable) {
+        if (total >= offset && items.size() < limit) {
+          items.add(item);
+        }
+        total++;
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to close the listing", e);
+    }
+    return PageResult.of(items, total);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> PageResult<T> pageByCursor(String scope, String cursor, int limit) {
+    String decoded;
+    try {
+      decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor " + cursor, e);
+    }
+    int separator = decoded.lastIndexOf(OFFSET_SEPARATOR);
+    Preconditions.checkArgument(
+        separator > 0 && decoded.startsWith(scope + VERSION_SEPARATOR),
+        "Cursor %s is not of the listing %s",
+        cursor,
+        scope);
+    int offset;
+    try {
+      offset = Integer.parseInt(decoded.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor " + cursor, e);
+    }
+    Preconditions.checkArgument(offset >= 0, "Invalid cursor %s", cursor);
+    String key = decoded.substring(0, separator);
+    // the listing of an evicted cursor is not reloaded, as the data may have been changed since
+    Listing<T> listing = (Listing<T>) listings.getIfPresent(key);
+    Page<T> page = listing == null ? null : listing.page(offset, limit);
+    Preconditions.checkArgument(
+        page != null, "Cursor %s has expired, list from the first page again", cursor);
+    reweigh(key, listing);
+    return toResult(key, offset, limit, page);
+  }
+
+  /** The items of the listing grow as it is paged, put it again for its weight to be updated. */
+  private void reweigh(String key, Listing<?> listing) {
+    listings.asMap().replace(key, listing, listing);
+  }
+
+  private static <T> PageResult<T> toResult(String key, int offset, int limit, Page<T> page) {
+    PageResult<T> result = PageResult.of(page.items, page.total);
+    if (page.hasNext) {
+      result.setNextCursor(
+          Base64.getUrlEncoder()
+              .withoutPadding()
+              .encodeToString(
+                  (key + OFFSET_SEPARATOR + (offset + limit)).getBytes(StandardCharsets.UTF_8)));
+    }
+    return result;
+  }
+
+  /** Drop the cached listings, e.g.: on shutdown. */
+  public void invalidateAll() {
+    listings.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long cachedItems() {
+    listings.cleanUp();
+    return listings
+        .policy()
+        .eviction()
+        .map(eviction -> eviction.weightedSize().orElse(0))
+        .orElse(0L);
+  }
+
+  private static class Page<T> {
+    private final List<T> items;
+    private final int total;
+    private final boolean hasNext;
+
+    private Page(List<T> items, int total, boolean hasNext) {
+      this.items = items;
+      this.total = total;
+      this.hasNext = hasNext;
+    }
+  }
+
+  private static class Listing<T> {
+    private final CloseableIterable<T> iterable;
+    private final List<T> items = new ArrayList<>();
+    private Iterator<T> iterator;
+    private boolean exhausted = false;
+    private boolean closed = false;
+
+    private Listing(CloseableIterable<T> iterable) {
+      this.iterable = iterable;
+    }
+
+    private synchronized int size() {
+      return items.size();
+    }
+
+    /** Returns null if the listing is closed before reaching the page. */
+    private synchronized Page<T> page(int offset, int limit) {
+      // fetch one more item to know whether there is a next page
+      long required = (long) offset + limit + 1;
+      while (!exhausted && items.size() < required) {
+        if (closed) {
+          return null;
+        }
+        if (iterator == null) {
+          iterator = iterable.iterator();
+        }
+        if (iterator.hasNext()) {
+          items.add(iterator.next());
+        } else {
+          exhausted = true;
+          close();
+        }
+      }
+      int from = Math.min(offset, items.size());
+      int to = (int) Math.min((long) offset + limit, items.size());
+      return new Page<>(new ArrayList<>(items.subList(from, to)), items.size(), items.size() > to);
+    }
+
+    private synchronized void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        iterable.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close the listing", e);
+      }
+    }
+  }
+}
@@ -25,6 +25,7 @@ import com.netease.arctic.ams.api.CommitMetaProducer;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.data.DataFileType;
 import com.netease.arctic.data.FileNameRules;
+import com.netease.arctic.server.ArcticManagementConf;
 import com.netease.arctic.server.dashboard.component.reverser.DDLReverser;
 import com.netease.arctic.server.dashboard.component.reverser.IcebergTableMetaExtract;
 import com.netease.arctic.server.dashboard.model.AMSColumnInfo;
@@ -92,9 +93,21 @@ public class MixedAndIcebergTableDescriptor extends PersistentBase
   private static final Logger LOG = LoggerFactory.getLogger(MixedAndIcebergTableDescriptor.class);
 
   private final ExecutorService executorService;
+  private final PartitionStatsIndex partitionStatsIndex;
 
   public MixedAndIcebergTableDescriptor(ExecutorService executorService) {
+    this(
+        executorService,
+        new PartitionStatsIndex(
+            executorService,
+            ArcticManagementConf.PARTITION_STATS_CACHE_MAX_TABLES.defaultValue(),
+            ArcticManagementConf.PARTITION_STATS_CACHE_EXPIRE_AFTER_ACCESS.defaultValue()));
+  }
+
+  public MixedAndIcebergTableDescriptor(
+      ExecutorService executorService, PartitionStatsIndex partitionStatsIndex) {
     this.executorService = executorService;
+    this.partitionStatsIndex = partitionStatsIndex;
   }
 
   @Override
@@ -186,115 +199,114 @@ public class MixedAndIcebergTableDescriptor extends PersistentBase
   @Override
   public List<AmoroSnapshotsOfTable> getSnapshots(
       AmoroTable<?> amoroTable, String ref, OperationType operationType) {
-    ArcticTable arcticTable = getTable(amoroTable);
     List<AmoroSnapshotsOfTable> snapshotsOfTables = new ArrayList<>();
-    List<Pair<Table, Long>> tableAndSnapshotIdList = new ArrayList<>();
+    Iterables.addAll(snapshotsOfTables, iterateSnapshots(amoroTable, ref, operationType));
+    return snapshotsOfTables;
+  }
+
+  @Override
+  public CloseableIterable<AmoroSnapshotsOfTable> iterateSnapshots(
+      AmoroTable<?> amoroTable, String ref, OperationType operationType) {
+    ArcticTable arcticTable = getTable(amoroTable);
+    List<Iterable<Snapshot>> snapshotsOfStores = new ArrayList<>();
     if (arcticTable.isKeyedTable()) {
-      tableAndSnapshotIdList.add(
-          Pair.of(
-              arcticTable.asKeyedTable().changeTable(),
-              snapshotIdOfTableRef(arcticTable.asKeyedTable().changeTable(), ref)));
-      tableAndSnapshotIdList.add(
-          Pair.of(
-              arcticTable.asKeyedTable().baseTable(),
-              snapshotIdOfTableRef(arcticTable.asKeyedTable().baseTable(), ref)));
+      snapshotsOfStores.add(ancestorsOfRef(arcticTable.asKeyedTable().changeTable(), ref));
+      snapshotsOfStores.add(ancestorsOfRef(arcticTable.asKeyedTable().baseTable(), ref));
     } else {
-      tableAndSnapshotIdList.add(
-          Pair.of(
-              arcticTable.asUnkeyedTable(),
-              snapshotIdOfTableRef(arcticTable.asUnkeyedTable(), ref)));
+      snapshotsOfStores.add(ancestorsOfRef(arcticTable.asUnkeyedTable(), ref));
     }
-    tableAndSnapshotIdList.forEach(
-        tableAndSnapshotId -> collectSnapshots(snapshotsOfTables, tableAndSnapshotId));
-    return snapshotsOfTables.stream()
-        .filter(s -> validOperationType(s, operationType))
-        .sorted((o1, o2) -> Long.compare(o2.getCommitTime(), o1.getCommitTime()))
-        .collect(Collectors.toList());
+    // the ancestors are in the descending order of the commit time, merge them lazily so that only
+    // the snapshots iterated are converted
+    Iterable<Snapshot> snapshots =
+        Iterables.mergeSorted(
+            snapshotsOfStores, Comparator.comparingLong(Snapshot::timestampMillis).reversed());
+    return CloseableIterable.withNoopClose(
+        Iterables.transform(
+            Iterables.filter(
+                snapshots,
+                snapshot ->
+                    !snapshot
+                            .summary()
+                            .containsKey(
+                                com.netease.arctic.op.SnapshotSummary.TRANSACTION_BEGIN_SIGNATURE)
+                        && validOperationType(snapshot, operationType)),
+            this::toAmoroSnapshot));
   }
 
-  private boolean validOperationType(AmoroSnapshotsOfTable snapshot, OperationType operationType) {
+  private Iterable<Snapshot> ancestorsOfRef(Table table, String ref) {
+    Long snapshotId = snapshotIdOfTableRef(table, ref);
+    if (snapshotId == null) {
+      return Collections.emptyList();
+    }
+    return SnapshotUtil.ancestorsOf(snapshotId, table::snapshot);
+  }
+
+  private boolean validOperationType(Snapshot snapshot, OperationType operationType) {
+    String producer =
+        PropertyUtil.propertyAsString(
+            snapshot.summary(),
+            com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER,
+            com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER_DEFAULT);
     switch (operationType) {
       case ALL:
         return true;
       case OPTIMIZING:
-        return CommitMetaProducer.OPTIMIZE.name().equals(snapshot.getProducer());
+        return CommitMetaProducer.OPTIMIZE.name().equals(producer);
       case NON_OPTIMIZING:
-        return !CommitMetaProducer.OPTIMIZE.name().equals(snapshot.getProducer());
+        return !CommitMetaProducer.OPTIMIZE.name().equals(producer);
       default:
         throw new IllegalArgumentException(
             "invalid operation: " + operationType + ", only support all/optimizing/non-optimizing");
     }
   }
 
-  private void collectSnapshots(
-      List<AmoroSnapshotsOfTable> snapshotsOfTables, Pair<Table, Long> tableAndSnapshotId) {
-    Table table = tableAndSnapshotId.first();
-    Long snapshotId = tableAndSnapshotId.second();
-    if (snapshotId != null) {
-      SnapshotUtil.ancestorsOf(snapshotId, table::snapshot)
-          .forEach(
-              snapshot -> {
-                Map<String, String> summary = snapshot.summary();
-                if (summary.containsKey(
-                    com.netease.arctic.op.SnapshotSummary.TRANSACTION_BEGIN_SIGNATURE)) {
-                  return;
-                }
-                AmoroSnapshotsOfTable amoroSnapshotsOfTable = new AmoroSnapshotsOfTable();
-                amoroSnapshotsOfTable.setSnapshotId(String.valueOf(snapshot.snapshotId()));
-                int fileCount =
-                    PropertyUtil.propertyAsInt(summary, SnapshotSummary.TOTAL_DELETE_FILES_PROP, 0)
-                        + PropertyUtil.propertyAsInt(
-                            summary, SnapshotSummary.TOTAL_DATA_FILES_PROP, 0);
-                amoroSnapshotsOfTable.setFileCount(fileCount);
-                amoroSnapshotsOfTable.setFileSize(
-                    PropertyUtil.propertyAsLong(summary, SnapshotSummary.ADDED_FILE_SIZE_PROP, 0L)
-                        + PropertyUtil.propertyAsLong(
-                            summary, SnapshotSummary.REMOVED_FILE_SIZE_PROP, 0L));
-                long totalRecords =
-                    PropertyUtil.propertyAsLong(summary, SnapshotSummary.TOTAL_RECORDS_PROP, 0L);
-                amoroSnapshotsOfTable.setRecords(totalRecords);
-                amoroSnapshotsOfTable.setCommitTime(snapshot.timestampMillis());
-                amoroSnapshotsOfTable.setOperation(snapshot.operation());
-                amoroSnapshotsOfTable.setProducer(
-                    PropertyUtil.propertyAsString(
-                        summary,
-                        com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER,
-                        com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER_DEFAULT));
-
-                // normalize summary
-                Map<String, String> normalizeSummary =
-                    com.google.common.collect.Maps.newHashMap(summary);
-                normalizeSummary.computeIfPresent(
-                    SnapshotSummary.TOTAL_FILE_SIZE_PROP,
-                    (k, v) -> byteToXB(Long.parseLong(summary.get(k))));
-                normalizeSummary.computeIfPresent(
-                    SnapshotSummary.ADDED_FILE_SIZE_PROP,
-                    (k, v) -> byteToXB(Long.parseLong(summary.get(k))));
-                normalizeSummary.computeIfPresent(
-                    SnapshotSummary.REMOVED_FILE_SIZE_PROP,
-                    (k, v) -> byteToXB(Long.parseLong(summary.get(k))));
-                amoroSnapshotsOfTable.setSummary(normalizeSummary);
-
-                // Metric in chart
-                Map<String, String> recordsSummaryForChat = new HashMap<>();
-                recordsSummaryForChat.put("total-records", totalRecords + "");
-                recordsSummaryForChat.put(
-                    "eq-delete-records", summary.get(SnapshotSummary.TOTAL_EQ_DELETES_PROP));
-                recordsSummaryForChat.put(
-                    "pos-delete-records", summary.get(SnapshotSummary.TOTAL_POS_DELETES_PROP));
-                amoroSnapshotsOfTable.setRecordsSummaryForChart(recordsSummaryForChat);
-
-                Map<String, String> filesSummaryForChat = new HashMap<>();
-                filesSummaryForChat.put(
-                    "data-files", summary.get(SnapshotSummary.TOTAL_DATA_FILES_PROP));
-                filesSummaryForChat.put(
-                    "delete-files", summary.get(SnapshotSummary.TOTAL_DELETE_FILES_PROP));
-                filesSummaryForChat.put("total-files", fileCount + "");
-                amoroSnapshotsOfTable.setFilesSummaryForChart(filesSummaryForChat);
-
-                snapshotsOfTables.add(amoroSnapshotsOfTable);
-              });
-    }
+  private AmoroSnapshotsOfTable toAmoroSnapshot(Snapshot snapshot) {
+    Map<String, String> summary = snapshot.summary();
+    AmoroSnapshotsOfTable amoroSnapshotsOfTable = new AmoroSnapshotsOfTable();
+    amoroSnapshotsOfTable.setSnapshotId(String.valueOf(snapshot.snapshotId()));
+    int fileCount =
+        PropertyUtil.propertyAsInt(summary, SnapshotSummary.TOTAL_DELETE_FILES_PROP, 0)
+            + PropertyUtil.propertyAsInt(summary, SnapshotSummary.TOTAL_DATA_FILES_PROP, 0);
+    amoroSnapshotsOfTable.setFileCount(fileCount);
+    amoroSnapshotsOfTable.setFileSize(
+        PropertyUtil.propertyAsLong(summary, SnapshotSummary.ADDED_FILE_SIZE_PROP, 0L)
+            + PropertyUtil.propertyAsLong(summary, SnapshotSummary.REMOVED_FILE_SIZE_PROP, 0L));
+    long totalRecords =
+        PropertyUtil.propertyAsLong(summary, SnapshotSummary.TOTAL_RECORDS_PROP, 0L);
+    amoroSnapshotsOfTable.setRecords(totalRecords);
+    amoroSnapshotsOfTable.setCommitTime(snapshot.timestampMillis());
+    amoroSnapshotsOfTable.setOperation(snapshot.operation());
+    amoroSnapshotsOfTable.setProducer(
+        PropertyUtil.propertyAsString(
+            summary,
+            com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER,
+            com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER_DEFAULT));
+
+    // normalize summary
+    Map<String, String> normalizeSummary = com.google.common.collect.Maps.newHashMap(summary);
+    normalizeSummary.computeIfPresent(
+        SnapshotSummary.TOTAL_FILE_SIZE_PROP, (k, v) -> byteToXB(Long.parseLong(summary.get(k))));
+    normalizeSummary.computeIfPresent(
+        SnapshotSummary.ADDED_FILE_SIZE_PROP, (k, v) -> byteToXB(Long.parseLong(summary.get(k))));
+    normalizeSummary.computeIfPresent(
+        SnapshotSummary.REMOVED_FILE_SIZE_PROP, (k, v) -> byteToXB(Long.parseLong(summary.get(k))));
+    amoroSnapshotsOfTable.setSummary(normalizeSummary);
+
+    // Metric in chart
+    Map<String, String> recordsSummaryForChat = new HashMap<>();
+    recordsSummaryForChat.put("total-records", totalRecords + "");
+    recordsSummaryForChat.put(
+        "eq-delete-records", summary.get(SnapshotSummary.TOTAL_EQ_DELETES_PROP));
+    recordsSummaryForChat.put(
+        "pos-delete-records", summary.get(SnapshotSummary.TOTAL_POS_DELETES_PROP));
+    amoroSnapshotsOfTable.setRecordsSummaryForChart(recordsSummaryForChat);
+
+    Map<String, String> filesSummaryForChat = new HashMap<>();
+    filesSummaryForChat.put("data-files", summary.get(SnapshotSummary.TOTAL_DATA_FILES_PROP));
+    filesSummaryForChat.put("delete-files", summary.get(SnapshotSummary.TOTAL_DELETE_FILES_PROP));
+    filesSummaryForChat.put("total-files", fileCount + "");
+    amoroSnapshotsOfTable.setFilesSummaryForChart(filesSummaryForChat);
+    return amoroSnapshotsOfTable;
   }
 
   @Override
@@ -392,35 +404,21 @@ public class MixedAndIcebergTableDescriptor extends PersistentBase
     if (arcticTable.spec().isUnpartitioned()) {
       return new ArrayList<>();
     }
-    Map<String, PartitionBaseInfo> partitionBaseInfoHashMap = new HashMap<>();
-
-    CloseableIterable<PartitionFileBaseInfo> tableFiles =
-        getTableFilesInternal(amoroTable, null, null);
-    try {
-      for (PartitionFileBaseInfo fileInfo : tableFiles) {
-        if (!partitionBaseInfoHashMap.containsKey(fileInfo.getPartition())) {
-          PartitionBaseInfo partitionBaseInfo = new PartitionBaseInfo();
-          partitionBaseInfo.setPartition(fileInfo.getPartition());
-          partitionBaseInfo.setSpecId(fileInfo.getSpecId());
-          partitionBaseInfoHashMap.put(fileInfo.getPartition(), partitionBaseInfo);
-        }
-        PartitionBaseInfo partitionInfo = partitionBaseInfoHashMap.get(fileInfo.getPartition());
-        partitionInfo.setFileCount(partitionInfo.getFileCount() + 1);
-        partitionInfo.setFileSize(partitionInfo.getFileSize() + fileInfo.getFileSize());
-        partitionInfo.setLastCommitTime(
-            partitionInfo.getLastCommitTime() > fileInfo.getCommitTime()
-                ? partitionInfo.getLastCommitTime()
-                : fileInfo.getCommitTime());
-      }
-    } finally {
-      try {
-        tableFiles.close();
-      } catch (IOException e) {
-        LOG.warn("Failed to close the manifest reader.", e);
-      }
+    String key = amoroTable.id().toString();
+    if (arcticTable.isKeyedTable()) {
+      return PartitionStatsIndex.merge(
+          partitionStatsIndex.getPartitions(
+              key + "#change", arcticTable.asKeyedTable().changeTable()),
+          partitionStatsIndex.getPartitions(key + "#base", arcticTable.asKeyedTable().baseTable()));
+    } else {
+      return partitionStatsIndex.getPartitions(key, arcticTable.asUnkeyedTable());
     }
+  }
 
-    return new ArrayList<>(partitionBaseInfoHashMap.values());
+  @Override
+  public CloseableIterable<PartitionFileBaseInfo> iterateTableFiles(
+      AmoroTable<?> amoroTable, String partition, Integer specId) {
+    return getTableFilesInternal(amoroTable, partition, specId);
   }
 
   @Override
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.dashboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.paimon.AbstractFileStore;
+import org.apache.paimon.manifest.ManifestEntry;
+import org.apache.paimon.manifest.ManifestFile;
+import org.apache.paimon.manifest.ManifestFileMeta;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A shared cache of the entries of the Paimon manifest files read by the dashboard. A manifest file
+ * is never changed once written, so its entries are cached by its path and shared by all the
+ * requests and snapshots referring to it, instead of being read again on each request.
+ *
+ * <p>The cache is bounded by the total number of entries held, and the manifests are evicted after
+ * not being accessed for a while.
+ */
+public class PaimonManifestCache {
+
+  private final ExecutorService executorService;
+  private final Cache<String, List<ManifestEntry>> manifests;
+
+  public PaimonManifestCache(
+      ExecutorService executorService, long maxEntries, Duration expireAfterAccess) {
+    this.executorService = executorService;
+    this.manifests =
+        Caffeine.newBuilder()
+            .maximumWeight(maxEntries)
+            .<String, List<ManifestEntry>>weigher((path, entries) -> Math.max(entries.size(), 1))
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+  }
+
+  /**
+   * Read the entries of the manifest files one by one, for the callers already running on the
+   * executor.
+   *
+   * @param store the file store of the table
+   * @param manifestFiles the manifest files to read
+   * @return the entries of the manifest files in order
+   */
+  public List<ManifestEntry> read(
+      AbstractFileStore<?> store, List<ManifestFileMeta> manifestFiles) {
+    ManifestFile manifestFile = store.manifestFileFactory().create();
+    List<ManifestEntry> entries = new ArrayList<>();
+    for (ManifestFileMeta manifestFileMeta : manifestFiles) {
+      entries.addAll(read(store, manifestFile, manifestFileMeta));
+    }
+    return entries;
+  }
+
+  /**
+   * Read the entries of the manifest files, the manifests not cached are read in parallel on the
+   * executor.
+   *
+   * @param store the file store of the table
+   * @param manifestFiles the manifest files to read
+   * @return the entries of the manifest files in order
+   */
+  public List<ManifestEntry> readParallel(
+      AbstractFileStore<?> store, List<ManifestFileMeta> manifestFiles) {
+    if (manifestFiles.size() <= 1) {
+      return read(store, manifestFiles);
+    }
+    ManifestFile manifestFile = store.manifestFileFactory().create();
+    List<CompletableFuture<List<ManifestEntry>>> futures =
+        Lists.newArrayListWithCapacity(manifestFiles.size());
+    for (ManifestFileMeta manifestFileMeta : manifestFiles) {
+      List<ManifestEntry> cached = manifests.getIfPresent(path(store, manifestFileMeta));
+      futures.add(
+          cached != null
+              ? CompletableFuture.completedFuture(cached)
+              : CompletableFuture.supplyAsync(
+                  () -> read(store, manifestFile, manifestFileMeta), executorService));
+    }
+    List<ManifestEntry> entries = new ArrayList<>();
+    try {
+      for (CompletableFuture<List<ManifestEntry>> future : futures) {
+        entries.addAll(future.join());
+      }
+    } catch (CompletionException e) {
+      futures.forEach(f -> f.cancel(false));
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+    return entries;
+  }
+
+  /** Drop all the cached manifests. */
+  public void invalidateAll() {
+    manifests.invalidateAll();
+  }
+
+  private List<ManifestEntry> read(
+      AbstractFileStore<?> store, ManifestFile manifestFile, ManifestFileMeta manifestFileMeta) {
+    return manifests.get(
+        path(store, manifestFileMeta), path -> manifestFile.read(manifestFileMeta.fileName()));
+  }
+
+  private static String path(AbstractFileStore<?> store, ManifestFileMeta manifestFileMeta) {
+    return store.pathFactory().toManifestFilePath(manifestFileMeta.fileName()).toString();
+  }
+}
@@ -21,16 +21,20 @@ package com.netease.arctic.server.dashboard;
 import static com.netease.arctic.data.DataFileType.INSERT_FILE;
 import static org.apache.paimon.operation.FileStoreScan.Plan.groupByPartFiles;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.netease.arctic.AmoroTable;
 import com.netease.arctic.ams.api.CommitMetaProducer;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.server.ArcticManagementConf;
 import com.netease.arctic.server.dashboard.component.reverser.DDLReverser;
 import com.netease.arctic.server.dashboard.component.reverser.PaimonTableMetaExtract;
 import com.netease.arctic.server.dashboard.model.AMSColumnInfo;
 import com.netease.arctic.server.dashboard.model.AMSPartitionField;
 import com.netease.arctic.server.dashboard.model.AmoroSnapshotsOfTable;
 import com.netease.arctic.server.dashboard.model.DDLInfo;
+import com.netease.arctic.server.dashboard.model.FilesStatistics;
 import com.netease.arctic.server.dashboard.model.OperationType;
 import com.netease.arctic.server.dashboard.model.OptimizingProcessInfo;
 import com.netease.arctic.server.dashboard.model.OptimizingTaskInfo;
@@ -54,7 +58,6 @@ import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.manifest.FileKind;
 import org.apache.paimon.manifest.ManifestEntry;
-import org.apache.paimon.manifest.ManifestFile;
 import org.apache.paimon.manifest.ManifestFileMeta;
 import org.apache.paimon.manifest.ManifestList;
 import org.apache.paimon.table.DataTable;
@@ -63,6 +66,7 @@ import org.apache.paimon.utils.FileStorePathFactory;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -87,10 +91,31 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
 
   public static final String PAIMON_MAIN_BRANCH_NAME = "main";
 
+  private static final int MAX_COMPACTION_SUMMARIES = 10000;
+  private static final Duration COMPACTION_SUMMARIES_EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+
   private final ExecutorService executor;
+  private final PaimonManifestCache manifestCache;
+  /** The summaries of the compact snapshots, a snapshot never changes once committed. */
+  private final Cache<String, CompactionSummary> compactionSummaries;
 
   public PaimonTableDescriptor(ExecutorService executor) {
+    this(
+        executor,
+        new PaimonManifestCache(
+            executor,
+            ArcticManagementConf.PAIMON_MANIFEST_CACHE_MAX_ENTRIES.defaultValue(),
+            ArcticManagementConf.PAIMON_MANIFEST_CACHE_EXPIRE_AFTER_ACCESS.defaultValue()));
+  }
+
+  public PaimonTableDescriptor(ExecutorService executor, PaimonManifestCache manifestCache) {
     this.executor = executor;
+    this.manifestCache = manifestCache;
+    this.compactionSummaries =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_COMPACTION_SUMMARIES)
+            .expireAfterAccess(COMPACTION_SUMMARIES_EXPIRE_AFTER_ACCESS)
+            .build();
   }
 
   @Override
@@ -141,7 +166,7 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
     Snapshot snapshot = store.snapshotManager().latestSnapshot();
     if (snapshot != null) {
       AmoroSnapshotsOfTable snapshotsOfTable =
-          manifestListInfo(store, snapshot, (m, s) -> s.dataManifests(m));
+          manifestListInfo(store, snapshot, (m, s) -> s.dataManifests(m), true);
       long fileSize = snapshotsOfTable.getOriginalFileSize();
       String totalSize = AmsUtil.byteToXB(fileSize);
       int fileCount = snapshotsOfTable.getFileCount();
@@ -227,23 +252,18 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
     AbstractFileStore<?> store = (AbstractFileStore<?>) table.store();
     FileStorePathFactory fileStorePathFactory = store.pathFactory();
     ManifestList manifestList = store.manifestListFactory().create();
-    ManifestFile manifestFile = store.manifestFileFactory().create();
 
     List<ManifestFileMeta> manifestFileMetas = snapshot.deltaManifests(manifestList);
-    for (ManifestFileMeta manifestFileMeta : manifestFileMetas) {
-      manifestFileMeta.fileSize();
-      List<ManifestEntry> manifestEntries = manifestFile.read(manifestFileMeta.fileName());
-      for (ManifestEntry entry : manifestEntries) {
-        amsDataFileInfos.add(
-            new PartitionFileBaseInfo(
-                null,
-                DataFileType.BASE_FILE,
-                entry.file().creationTime().getMillisecond(),
-                partitionString(entry.partition(), entry.bucket(), fileStorePathFactory),
-                fullFilePath(store, entry),
-                entry.file().fileSize(),
-                entry.kind().name()));
-      }
+    for (ManifestEntry entry : manifestCache.readParallel(store, manifestFileMetas)) {
+      amsDataFileInfos.add(
+          new PartitionFileBaseInfo(
+              null,
+              DataFileType.BASE_FILE,
+              entry.file().creationTime().getMillisecond(),
+              partitionString(entry.partition(), entry.bucket(), fileStorePathFactory),
+              fullFilePath(store, entry),
+              entry.file().fileSize(),
+              entry.kind().name()));
     }
 
     return amsDataFileInfos;
@@ -262,7 +282,7 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
     FileStoreTable table = getTable(amoroTable);
     AbstractFileStore<?> store = (AbstractFileStore<?>) table.store();
     FileStorePathFactory fileStorePathFactory = store.pathFactory();
-    List<ManifestEntry> files = store.newScan().plan().files(FileKind.ADD);
+    List<ManifestEntry> files = liveFiles(store);
     Map<BinaryRow, Map<Integer, List<DataFileMeta>>> groupByPartFiles = groupByPartFiles(files);
 
     List<PartitionBaseInfo> partitionBaseInfoList = new ArrayList<>();
@@ -297,7 +317,6 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
     // Cache file add snapshot id
     Map<DataFileMeta, Long> fileSnapshotIdMap = new ConcurrentHashMap<>();
     ManifestList manifestList = store.manifestListFactory().create();
-    ManifestFile manifestFile = store.manifestFileFactory().create();
     Iterator<Snapshot> snapshots;
     try {
       snapshots = store.snapshotManager().snapshots();
@@ -312,12 +331,8 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
           CompletableFuture.runAsync(
               () -> {
                 List<ManifestFileMeta> deltaManifests = snapshot.deltaManifests(manifestList);
-                for (ManifestFileMeta manifestFileMeta : deltaManifests) {
-                  List<ManifestEntry> manifestEntries =
-                      manifestFile.read(manifestFileMeta.fileName());
-                  for (ManifestEntry manifestEntry : manifestEntries) {
-                    fileSnapshotIdMap.put(manifestEntry.file(), snapshot.id());
-                  }
+                for (ManifestEntry manifestEntry : manifestCache.read(store, deltaManifests)) {
+                  fileSnapshotIdMap.put(manifestEntry.file(), snapshot.id());
                 }
               },
               executor));
@@ -332,7 +347,7 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
     }
 
     FileStorePathFactory fileStorePathFactory = store.pathFactory();
-    List<ManifestEntry> files = store.newScan().plan().files(FileKind.ADD);
+    List<ManifestEntry> files = liveFiles(store);
     List<PartitionFileBaseInfo> partitionFileBases = new ArrayList<>();
     for (ManifestEntry manifestEntry : files) {
       String partitionSt =
@@ -372,67 +387,28 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
               .filter(s -> s.commitKind() == Snapshot.CommitKind.COMPACT)
               .collect(Collectors.toList());
       total = compactSnapshots.size();
-      processInfoList =
+      // summarize the compact snapshots of the page in parallel, each only once
+      List<CompletableFuture<OptimizingProcessInfo>> futures =
           compactSnapshots.stream()
               .sorted(Comparator.comparing(Snapshot::id).reversed())
               .skip(offset)
               .limit(limit)
               .map(
-                  s -> {
-                    OptimizingProcessInfo optimizingProcessInfo = new OptimizingProcessInfo();
-                    optimizingProcessInfo.setProcessId(s.id());
-                    optimizingProcessInfo.setCatalogName(tableIdentifier.getCatalog());
-                    optimizingProcessInfo.setDbName(tableIdentifier.getDatabase());
-                    optimizingProcessInfo.setTableName(tableIdentifier.getTableName());
-                    optimizingProcessInfo.setStatus(OptimizingProcess.Status.SUCCESS);
-                    optimizingProcessInfo.setFinishTime(s.timeMillis());
-                    FilesStatisticsBuilder inputBuilder = new FilesStatisticsBuilder();
-                    FilesStatisticsBuilder outputBuilder = new FilesStatisticsBuilder();
-                    ManifestFile manifestFile = store.manifestFileFactory().create();
-                    ManifestList manifestList = store.manifestListFactory().create();
-                    List<ManifestFileMeta> manifestFileMetas = s.deltaManifests(manifestList);
-                    boolean hasMaxLevels = false;
-                    long minCreateTime = Long.MAX_VALUE;
-                    long maxCreateTime = Long.MIN_VALUE;
-                    Set<Integer> buckets = new HashSet<>();
-                    for (ManifestFileMeta manifestFileMeta : manifestFileMetas) {
-                      List<ManifestEntry> compactManifestEntries =
-                          manifestFile.read(manifestFileMeta.fileName());
-                      for (ManifestEntry compactManifestEntry : compactManifestEntries) {
-                        if (compactManifestEntry.file().level() == maxLevel) {
-                          hasMaxLevels = true;
-                        }
-                        buckets.add(compactManifestEntry.bucket());
-                        if (compactManifestEntry.kind() == FileKind.DELETE) {
-                          inputBuilder.addFile(compactManifestEntry.file().fileSize());
-                        } else {
-                          minCreateTime =
-                              Math.min(
-                                  minCreateTime,
-                                  compactManifestEntry.file().creationTime().getMillisecond());
-                          maxCreateTime =
-                              Math.max(
-                                  maxCreateTime,
-                                  compactManifestEntry.file().creationTime().getMillisecond());
-                          outputBuilder.addFile(compactManifestEntry.file().fileSize());
-                        }
-                      }
-                    }
-                    if (isPrimaryTable && hasMaxLevels) {
-                      optimizingProcessInfo.setOptimizingType(OptimizingType.FULL);
-                    } else {
-                      optimizingProcessInfo.setOptimizingType(OptimizingType.MINOR);
-                    }
-                    optimizingProcessInfo.setSuccessTasks(buckets.size());
-                    optimizingProcessInfo.setTotalTasks(buckets.size());
-                    optimizingProcessInfo.setStartTime(minCreateTime);
-                    optimizingProcessInfo.setDuration(s.timeMillis() - minCreateTime);
-                    optimizingProcessInfo.setInputFiles(inputBuilder.build());
-                    optimizingProcessInfo.setOutputFiles(outputBuilder.build());
-                    optimizingProcessInfo.setSummary(Collections.emptyMap());
-                    return optimizingProcessInfo;
-                  })
+                  s ->
+                      CompletableFuture.supplyAsync(
+                          () ->
+                              compactionSummary(store, s, isPrimaryTable, maxLevel)
+                                  .toProcessInfo(tableIdentifier, s),
+                          executor))
               .collect(Collectors.toList());
+      for (CompletableFuture<OptimizingProcessInfo> future : futures) {
+        processInfoList.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -444,6 +420,56 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
     throw new UnsupportedOperationException();
   }
 
+  private CompactionSummary compactionSummary(
+      AbstractFileStore<?> store, Snapshot snapshot, boolean isPrimaryTable, int maxLevel) {
+    String key = store.pathFactory().root() + "@" + snapshot.id() + "@" + snapshot.timeMillis();
+    return compactionSummaries.get(
+        key,
+        k -> {
+          FilesStatisticsBuilder inputBuilder = new FilesStatisticsBuilder();
+          FilesStatisticsBuilder outputBuilder = new FilesStatisticsBuilder();
+          ManifestList manifestList = store.manifestListFactory().create();
+          List<ManifestFileMeta> manifestFileMetas = snapshot.deltaManifests(manifestList);
+          boolean hasMaxLevels = false;
+          long minCreateTime = Long.MAX_VALUE;
+          Set<Integer> buckets = new HashSet<>();
+          for (ManifestEntry compactManifestEntry : manifestCache.read(store, manifestFileMetas)) {
+            if (compactManifestEntry.file().level() == maxLevel) {
+              hasMaxLevels = true;
+            }
+            buckets.add(compactManifestEntry.bucket());
+            if (compactManifestEntry.kind() == FileKind.DELETE) {
+              inputBuilder.addFile(compactManifestEntry.file().fileSize());
+            } else {
+              minCreateTime =
+                  Math.min(
+                      minCreateTime, compactManifestEntry.file().creationTime().getMillisecond());
+              outputBuilder.addFile(compactManifestEntry.file().fileSize());
+            }
+          }
+          return new CompactionSummary(
+              isPrimaryTable && hasMaxLevels ? OptimizingType.FULL : OptimizingType.MINOR,
+              buckets.size(),
+              minCreateTime,
+              inputBuilder.build(),
+              outputBuilder.build());
+        });
+  }
+
+  /** The live files of the latest snapshot, merged from its data manifests. */
+  private List<ManifestEntry> liveFiles(AbstractFileStore<?> store) {
+    Snapshot snapshot = store.snapshotManager().latestSnapshot();
+    if (snapshot == null) {
+      return Collections.emptyList();
+    }
+    ManifestList manifestList = store.manifestListFactory().create();
+    List<ManifestEntry> entries =
+        manifestCache.readParallel(store, snapshot.dataManifests(manifestList));
+    return ManifestEntry.mergeEntries(entries).stream()
+        .filter(entry -> entry.kind() == FileKind.ADD)
+        .collect(Collectors.toList());
+  }
+
   @NotNull
   private AmoroSnapshotsOfTable getSnapshotsOfTable(AbstractFileStore<?> store, Snapshot snapshot) {
     Map<String, String> summary = new HashMap<>();
@@ -466,12 +492,12 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
 
     // file number
     AmoroSnapshotsOfTable deltaSnapshotsOfTable =
-        manifestListInfo(store, snapshot, (m, s) -> s.deltaManifests(m));
+        manifestListInfo(store, snapshot, (m, s) -> s.deltaManifests(m), false);
     int deltaFileCount = deltaSnapshotsOfTable.getFileCount();
     int dataFileCount =
-        manifestListInfo(store, snapshot, (m, s) -> s.dataManifests(m)).getFileCount();
+        manifestListInfo(store, snapshot, (m, s) -> s.dataManifests(m), false).getFileCount();
     int changeLogFileCount =
-        manifestListInfo(store, snapshot, (m, s) -> s.changelogManifests(m)).getFileCount();
+        manifestListInfo(store, snapshot, (m, s) -> s.changelogManifests(m), false).getFileCount();
     summary.put("delta-files", String.valueOf(deltaFileCount));
     summary.put("data-files", String.valueOf(dataFileCount));
     summary.put("changelogs", String.valueOf(changeLogFileCount));
@@ -520,22 +546,24 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
   private AmoroSnapshotsOfTable manifestListInfo(
       AbstractFileStore<?> store,
       Snapshot snapshot,
-      BiFunction<ManifestList, Snapshot, List<ManifestFileMeta>> biFunction) {
+      BiFunction<ManifestList, Snapshot, List<ManifestFileMeta>> biFunction,
+      boolean parallel) {
     ManifestList manifestList = store.manifestListFactory().create();
-    ManifestFile manifestFile = store.manifestFileFactory().create();
     List<ManifestFileMeta> manifestFileMetas = biFunction.apply(manifestList, snapshot);
+    // read in parallel only if not running on the executor already
+    List<ManifestEntry> manifestEntries =
+        parallel
+            ? manifestCache.readParallel(store, manifestFileMetas)
+            : manifestCache.read(store, manifestFileMetas);
     int fileCount = 0;
     long fileSize = 0;
-    for (ManifestFileMeta manifestFileMeta : manifestFileMetas) {
-      List<ManifestEntry> manifestEntries = manifestFile.read(manifestFileMeta.fileName());
-      for (ManifestEntry entry : manifestEntries) {
-        if (entry.kind() == FileKind.ADD) {
-          fileSize += entry.file().fileSize();
-          fileCount++;
-        } else {
-          fileSize -= entry.file().fileSize();
-          fileCount--;
-        }
+    for (ManifestEntry entry : manifestEntries) {
+      if (entry.kind() == FileKind.ADD) {
+        fileSize += entry.file().fileSize();
+        fileCount++;
+      } else {
+        fileSize -= entry.file().fileSize();
+        fileCount--;
       }
     }
     Long totalRecordCount = snapshot.totalRecordCount();
@@ -569,4 +597,44 @@ public class PaimonTableDescriptor implements FormatTableDescriptor {
   private FileStoreTable getTable(AmoroTable<?> amoroTable) {
     return (FileStoreTable) amoroTable.originalTable();
   }
+
+  private static class CompactionSummary {
+    private final OptimizingType optimizingType;
+    private final int buckets;
+    private final long minCreateTime;
+    private final FilesStatistics inputFiles;
+    private final FilesStatistics outputFiles;
+
+    private CompactionSummary(
+        OptimizingType optimizingType,
+        int buckets,
+        long minCreateTime,
+        FilesStatistics inputFiles,
+        FilesStatistics outputFiles) {
+      this.optimizingType = optimizingType;
+      this.buckets = buckets;
+      this.minCreateTime = minCreateTime;
+      this.inputFiles = inputFiles;
+      this.outputFiles = outputFiles;
+    }
+
+    private OptimizingProcessInfo toProcessInfo(TableIdentifier tableIdentifier, Snapshot s) {
+      OptimizingProcessInfo optimizingProcessInfo = new OptimizingProcessInfo();
+      optimizingProcessInfo.setProcessId(s.id());
+      optimizingProcessInfo.setCatalogName(tableIdentifier.getCatalog());
+      optimizingProcessInfo.setDbName(tableIdentifier.getDatabase());
+      optimizingProcessInfo.setTableName(tableIdentifier.getTableName());
+      optimizingProcessInfo.setStatus(OptimizingProcess.Status.SUCCESS);
+      optimizingProcessInfo.setFinishTime(s.timeMillis());
+      optimizingProcessInfo.setOptimizingType(optimizingType);
+      optimizingProcessInfo.setSuccessTasks(buckets);
+      optimizingProcessInfo.setTotalTasks(buckets);
+      optimizingProcessInfo.setStartTime(minCreateTime);
+      optimizingProcessInfo.setDuration(s.timeMillis() - minCreateTime);
+      optimizingProcessInfo.setInputFiles(inputFiles);
+      optimizingProcessInfo.setOutputFiles(outputFiles);
+      optimizingProcessInfo.setSummary(Collections.emptyMap());
+      return optimizingProcessInfo;
+    }
+  }
 }
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.dashboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netease.arctic.server.dashboard.model.PartitionBaseInfo;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.IcebergFindFiles;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.util.SnapshotUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An index of the partition statistics of the tables, including the file count, the file size and
+ * the last commit time of each partition. The statistics of a table are built with one scan of its
+ * live files, then maintained incrementally from the manifests written by the later snapshots, so
+ * listing the partitions does not read all the manifests of the table on each request.
+ *
+ * <p>The statistics are held in memory, and evicted by the number of tables and the idle time.
+ *
+ * <p>The index only holds the statistics as of the current snapshot. The file counts of the table
+ * summary and the snapshot charts are taken from the snapshot summaries instead, which already
+ * record the totals of every snapshot.
+ */
+public class PartitionStatsIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionStatsIndex.class);
+
+  private final ExecutorService executorService;
+  private final Cache<String, TablePartitionStats> tableStats;
+
+  public PartitionStatsIndex(
+      ExecutorService executorService, int maxTables, Duration expireAfterAccess) {
+    this.executorService = executorService;
+    this.tableStats =
+        Caffeine.newBuilder().maximumSize(maxTables).expireAfterAccess(expireAfterAccess).build();
+  }
+
+  /**
+   * Get the partition statistics of the table as of its current snapshot.
+   *
+   * @param key identifies the table in the index, e.g.: the table identifier with the store name
+   * @param table the table to get the statistics of
+   * @return the statistics of the partitions having live files
+   */
+  public List<PartitionBaseInfo> getPartitions(String key, Table table) {
+    TablePartitionStats stats = tableStats.get(key, k -> new TablePartitionStats());
+    synchronized (stats) {
+      stats.refresh(table, executorService);
+      return stats.copy();
+    }
+  }
+
+  /** Drop the statistics of the table, e.g.: the table is dropped. */
+  public void invalidate(String key) {
+    tableStats.invalidate(key);
+  }
+
+  @VisibleForTesting
+  Long indexedSnapshotId(String key) {
+    TablePartitionStats stats = tableStats.getIfPresent(key);
+    return stats == null ? null : stats.snapshotId;
+  }
+
+  /** Merge the statistics of the same partitions, e.g.: of the change store and the base store. */
+  public static List<PartitionBaseInfo> merge(
+      List<PartitionBaseInfo> left, List<PartitionBaseInfo> right) {
+    Map<String, PartitionBaseInfo> merged = new HashMap<>();
+    for (PartitionBaseInfo info : left) {
+      merged.put(info.getPartition(), info);
+    }
+    for (PartitionBaseInfo info : right) {
+      PartitionBaseInfo exist = merged.get(info.getPartition());
+      if (exist == null) {
+        merged.put(info.getPartition(), info);
+      } else {
+        exist.setFileCount(exist.getFileCount() + info.getFileCount());
+        exist.setFileSize(exist.getFileSize() + info.getFileSize());
+        exist.setLastCommitTime(Math.max(exist.getLastCommitTime(), info.getLastCommitTime()));
+      }
+    }
+    return new ArrayList<>(merged.values());
+  }
+
+  private static class TablePartitionStats {
+    /** The snapshot the statistics are as of, null if not built yet. */
+    private Long snapshotId;
+
+    private final Map<String, PartitionBaseInfo> partitions = new HashMap<>();
+
+    private void refresh(Table table, ExecutorService executorService) {
+      Snapshot current = table.currentSnapshot();
+      if (current == null) {
+        partitions.clear();
+        snapshotId = null;
+        return;
+      }
+      if (snapshotId != null && snapshotId == current.snapshotId()) {
+        return;
+      }
+
+      try {
+        if (snapshotId != null
+            && SnapshotUtil.isAncestorOf(table, current.snapshotId(), snapshotId)) {
+          List<Snapshot> newSnapshots =
+              Lists.newArrayList(
+                  SnapshotUtil.ancestorsBetween(current.snapshotId(), snapshotId, table::snapshot));
+          Collections.reverse(newSnapshots);
+          Map<Integer, Map<String, StructLike>> dirtyPartitions = new HashMap<>();
+          for (Snapshot snapshot : newSnapshots) {
+            apply(table, snapshot, dirtyPartitions);
+          }
+          refreshLastCommitTime(table, executorService, dirtyPartitions);
+          LOG.debug(
+              "Applied {} snapshots to the partition statistics of {}",
+              newSnapshots.size(),
+              table.name());
+        } else {
+          rebuild(table, executorService);
+          LOG.info(
+              "Rebuilt the partition statistics of {} with {} partitions",
+              table.name(),
+              partitions.size());
+        }
+        snapshotId = current.snapshotId();
+      } catch (RuntimeException e) {
+        // the statistics may be partially updated, build them from scratch next time
+        partitions.clear();
+        snapshotId = null;
+        throw e;
+      }
+    }
+
+    private void rebuild(Table table, ExecutorService executorService) {
+      partitions.clear();
+      Map<Integer, PartitionSpec> specs = table.specs();
+      try (CloseableIterable<IcebergFindFiles.IcebergManifestEntry> entries =
+          new IcebergFindFiles(table).ignoreDeleted().planWith(executorService).entries()) {
+        for (IcebergFindFiles.IcebergManifestEntry entry : entries) {
+          Snapshot snapshot = table.snapshot(entry.getSnapshotId());
+          add(specs, entry.getFile(), snapshot == null ? -1 : snapshot.timestampMillis());
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to close the manifest reader of " + table.name(), e);
+      }
+    }
+
+    private void apply(
+        Table table, Snapshot snapshot, Map<Integer, Map<String, StructLike>> dirtyPartitions) {
+      Map<Integer, PartitionSpec> specs = table.specs();
+      long commitTime = snapshot.timestampMillis();
+      snapshot.addedDataFiles(table.io()).forEach(file -> add(specs, file, commitTime));
+      snapshot.addedDeleteFiles(table.io()).forEach(file -> add(specs, file, commitTime));
+      snapshot.removedDataFiles(table.io()).forEach(file -> remove(specs, file, dirtyPartitions));
+      snapshot.removedDeleteFiles(table.io()).forEach(file -> remove(specs, file, dirtyPartitions));
+    }
+
+    /**
+     * The last commit time of a partition may belong to a removed file, so it is taken again from
+     * the live files of the partitions having files removed.
+     */
+    private void refreshLastCommitTime(
+        Table table,
+        ExecutorService executorService,
+        Map<Integer, Map<String, StructLike>> dirtyPartitions) {
+      dirtyPartitions.values().forEach(dirty -> dirty.keySet().retainAll(partitions.keySet()));
+      dirtyPartitions.values().removeIf(Map::isEmpty);
+      if (dirtyPartitions.isEmpty()) {
+        return;
+      }
+      Map<Integer, PartitionSpec> specs = table.specs();
+      IcebergFindFiles findFiles =
+          new IcebergFindFiles(table).ignoreDeleted().planWith(executorService);
+      dirtyPartitions.forEach(
+          (specId, dirty) ->
+              findFiles.inPartitions(specs.get(specId), Lists.newArrayList(dirty.values())));
+      Map<String, Long> lastCommitTimes = new HashMap<>();
+      try (CloseableIterable<IcebergFindFiles.IcebergManifestEntry> entries = findFiles.entries()) {
+        for (IcebergFindFiles.IcebergManifestEntry entry : entries) {
+          ContentFile<?> file = entry.getFile();
+          String partition = specs.get(file.specId()).partitionToPath(file.partition());
+          Snapshot snapshot = table.snapshot(entry.getSnapshotId());
+          long commitTime = snapshot == null ? -1 : snapshot.timestampMillis();
+          lastCommitTimes.merge(partition, commitTime, Math::max);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to close the manifest reader of " + table.name(), e);
+      }
+      dirtyPartitions.values().stream()
+          .flatMap(dirty -> dirty.keySet().stream())
+          .forEach(
+              partition ->
+                  partitions
+                      .get(partition)
+                      .setLastCommitTime(lastCommitTimes.getOrDefault(partition, -1L)));
+    }
+
+    private void add(Map<Integer, PartitionSpec> specs, ContentFile<?> file, long commitTime) {
+      String partition = specs.get(file.specId()).partitionToPath(file.partition());
+      PartitionBaseInfo info =
+          partitions.computeIfAbsent(
+              partition,
+              p -> {
+                PartitionBaseInfo newInfo = new PartitionBaseInfo();
+                newInfo.setPartition(p);
+                newInfo.setSpecId(file.specId());
+                return newInfo;
+              });
+      info.setFileCount(info.getFileCount() + 1);
+      info.setFileSize(info.getFileSize() + file.fileSizeInBytes());
+      info.setLastCommitTime(Math.max(info.getLastCommitTime(), commitTime));
+    }
+
+    private void remove(
+        Map<Integer, PartitionSpec> specs,
+        ContentFile<?> file,
+        Map<Integer, Map<String, StructLike>> dirtyPartitions) {
+      String partition = specs.get(file.specId()).partitionToPath(file.partition());
+      PartitionBaseInfo info = partitions.get(partition);
+      if (info == null) {
+        return;
+      }
+      info.setFileCount(info.getFileCount() - 1);
+      info.setFileSize(info.getFileSize() - file.fileSizeInBytes());
+      if (info.getFileCount() <= 0) {
+        partitions.remove(partition);
+      } else {
+        dirtyPartitions
+            .computeIfAbsent(file.specId(), id -> new HashMap<>())
+            .putIfAbsent(partition, file.partition());
+      }
+    }
+
+    private List<PartitionBaseInfo> copy() {
+      List<PartitionBaseInfo> result = new ArrayList<>(partitions.size());
+      for (PartitionBaseInfo info : partitions.values()) {
+        result.add(
+            new PartitionBaseInfo(
+                info.getPartition(),
+                info.getSpecId(),
+                info.getFileCount(),
+                info.getFileSize(),
+                info.getLastCommitTime()));
+      }
+      return result;
+    }
+  }
+}
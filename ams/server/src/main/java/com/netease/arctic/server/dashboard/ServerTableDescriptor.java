@@ -19,8 +19,10 @@
 package com.netease.arctic.server.dashboard;
 
 import com.netease.arctic.AmoroTable;
+import com.netease.arctic.TableSnapshot;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.ams.api.TableIdentifier;
+import com.netease.arctic.server.ArcticManagementConf;
 import com.netease.arctic.server.catalog.ServerCatalog;
 import com.netease.arctic.server.dashboard.model.AmoroSnapshotsOfTable;
 import com.netease.arctic.server.dashboard.model.DDLInfo;
@@ -31,6 +33,7 @@ import com.netease.arctic.server.dashboard.model.PartitionBaseInfo;
 import com.netease.arctic.server.dashboard.model.PartitionFileBaseInfo;
 import com.netease.arctic.server.dashboard.model.ServerTableMeta;
 import com.netease.arctic.server.dashboard.model.TagOrBranchInfo;
+import com.netease.arctic.server.dashboard.response.PageResult;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.table.TableService;
 import com.netease.arctic.server.utils.Configurations;
@@ -48,16 +51,34 @@ public class ServerTableDescriptor extends PersistentBase {
 
   private final TableService tableService;
 
+  private final ListingCache listingCache;
+
   public ServerTableDescriptor(TableService tableService, Configurations serviceConfig) {
     this.tableService = tableService;
+    this.listingCache =
+        new ListingCache(
+            serviceConfig.getLong(ArcticManagementConf.LISTING_CACHE_MAX_ITEMS),
+            serviceConfig.get(ArcticManagementConf.LISTING_CACHE_EXPIRE_AFTER_ACCESS));
 
     // All table formats will jointly reuse the work thread pool named iceberg-worker-pool-%d
     ExecutorService executorService = ThreadPools.getWorkerPool();
 
     FormatTableDescriptor[] formatTableDescriptors =
         new FormatTableDescriptor[] {
-          new MixedAndIcebergTableDescriptor(executorService),
-          new PaimonTableDescriptor(executorService)
+          new MixedAndIcebergTableDescriptor(
+              executorService,
+              new PartitionStatsIndex(
+                  executorService,
+                  serviceConfig.getInteger(ArcticManagementConf.PARTITION_STATS_CACHE_MAX_TABLES),
+                  serviceConfig.get(
+                      ArcticManagementConf.PARTITION_STATS_CACHE_EXPIRE_AFTER_ACCESS))),
+          new PaimonTableDescriptor(
+              executorService,
+              new PaimonManifestCache(
+                  executorService,
+                  serviceConfig.getLong(ArcticManagementConf.PAIMON_MANIFEST_CACHE_MAX_ENTRIES),
+                  serviceConfig.get(
+                      ArcticManagementConf.PAIMON_MANIFEST_CACHE_EXPIRE_AFTER_ACCESS)))
         };
     for (FormatTableDescriptor formatTableDescriptor : formatTableDescriptors) {
       for (TableFormat format : formatTableDescriptor.supportFormat()) {
@@ -79,6 +100,28 @@ public class ServerTableDescriptor extends PersistentBase {
     return formatTableDescriptor.getSnapshots(amoroTable, ref, operationType);
   }
 
+  /**
+   * Get a page of the snapshots, only the snapshots up to the page are iterated, and the following
+   * pages continue the iteration cached by the cursor returned.
+   */
+  public PageResult<AmoroSnapshotsOfTable> getSnapshots(
+      TableIdentifier tableIdentifier,
+      String ref,
+      OperationType operationType,
+      String cursor,
+      int offset,
+      int limit) {
+    AmoroTable<?> amoroTable = loadTable(tableIdentifier);
+    FormatTableDescriptor formatTableDescriptor = formatDescriptorMap.get(amoroTable.format());
+    return listingCache.page(
+        listingScope(tableIdentifier, "snapshots", ref, operationType),
+        listingVersion(amoroTable),
+        cursor,
+        offset,
+        limit,
+        () -> formatTableDescriptor.iterateSnapshots(amoroTable, ref, operationType));
+  }
+
   public List<PartitionFileBaseInfo> getSnapshotDetail(
       TableIdentifier tableIdentifier, long snapshotId) {
     AmoroTable<?> amoroTable = loadTable(tableIdentifier);
@@ -105,6 +148,28 @@ public class ServerTableDescriptor extends PersistentBase {
     return formatTableDescriptor.getTableFiles(amoroTable, partition, specId);
   }
 
+  /**
+   * Get a page of the files, only the files up to the page are iterated, and the following pages
+   * continue the iteration cached by the cursor returned.
+   */
+  public PageResult<PartitionFileBaseInfo> getTableFile(
+      TableIdentifier tableIdentifier,
+      String partition,
+      Integer specId,
+      String cursor,
+      int offset,
+      int limit) {
+    AmoroTable<?> amoroTable = loadTable(tableIdentifier);
+    FormatTableDescriptor formatTableDescriptor = formatDescriptorMap.get(amoroTable.format());
+    return listingCache.page(
+        listingScope(tableIdentifier, "files", partition, specId),
+        listingVersion(amoroTable),
+        cursor,
+        offset,
+        limit,
+        () -> formatTableDescriptor.iterateTableFiles(amoroTable, partition, specId));
+  }
+
   public List<TagOrBranchInfo> getTableTags(TableIdentifier tableIdentifier) {
     AmoroTable<?> amoroTable = loadTable(tableIdentifier);
     FormatTableDescriptor formatTableDescriptor = formatDescriptorMap.get(amoroTable.format());
@@ -131,6 +196,27 @@ public class ServerTableDescriptor extends PersistentBase {
     return formatTableDescriptor.getOptimizingTaskInfos(amoroTable, processId);
   }
 
+  private String listingScope(TableIdentifier tableIdentifier, String listing, Object... args) {
+    StringBuilder scope =
+        new StringBuilder()
+            .append(tableIdentifier.getCatalog())
+            .append('.')
+            .append(tableIdentifier.getDatabase())
+            .append('.')
+            .append(tableIdentifier.getTableName())
+            .append('/')
+            .append(listing);
+    for (Object arg : args) {
+      scope.append('/').append(arg);
+    }
+    return scope.toString();
+  }
+
+  private String listingVersion(AmoroTable<?> amoroTable) {
+    TableSnapshot snapshot = amoroTable.currentSnapshot();
+    return snapshot == null ? "empty" : snapshot.id();
+  }
+
   private AmoroTable<?> loadTable(TableIdentifier identifier) {
     ServerCatalog catalog = tableService.getServerCatalog(identifier.getCatalog());
     return catalog.loadTable(identifier.getDatabase(), identifier.getTableName());
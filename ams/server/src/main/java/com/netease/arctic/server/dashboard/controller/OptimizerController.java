@@ -21,6 +21,7 @@ package com.netease.arctic.server.dashboard.controller;
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Ordering;
 import com.netease.arctic.ams.api.resource.Resource;
 import com.netease.arctic.ams.api.resource.ResourceGroup;
 import com.netease.arctic.ams.api.resource.ResourceType;
@@ -33,7 +34,6 @@ import com.netease.arctic.server.dashboard.utils.OptimizingUtil;
 import com.netease.arctic.server.resource.ContainerMetadata;
 import com.netease.arctic.server.resource.OptimizerInstance;
 import com.netease.arctic.server.resource.ResourceContainers;
-import com.netease.arctic.server.table.ServerTableIdentifier;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableService;
 import io.javalin.http.Context;
@@ -65,31 +65,27 @@ public class OptimizerController {
     int offset = (page - 1) * pageSize;
 
     List<TableRuntime> tableRuntimes = new ArrayList<>();
-    List<ServerTableIdentifier> tables = tableService.listManagedTables();
-    for (ServerTableIdentifier identifier : tables) {
-      TableRuntime tableRuntime = tableService.getRuntime(identifier);
-      if (tableRuntime == null) {
-        continue;
-      }
+    for (TableRuntime tableRuntime : tableService.listRuntimes()) {
       if (ALL_GROUP.equals(optimizerGroup)
           || tableRuntime.getOptimizerGroup().equals(optimizerGroup)) {
         tableRuntimes.add(tableRuntime);
       }
     }
-    tableRuntimes.sort(
-        (o1, o2) -> {
-          // first we compare the status , and then we compare the start time when status are equal;
-          int statDiff = o1.getOptimizingStatus().compareTo(o2.getOptimizingStatus());
-          // status order is asc, startTime order is desc
-          if (statDiff == 0) {
-            long timeDiff = o1.getCurrentStatusStartTime() - o2.getCurrentStatusStartTime();
-            return timeDiff >= 0 ? (timeDiff == 0 ? 0 : -1) : 1;
-          } else {
-            return statDiff;
-          }
-        });
+    // status order is asc, startTime order is desc, only the tables up to the page are sorted
+    List<TableRuntime> topTableRuntimes =
+        Ordering.from(
+                Comparator.comparing(TableRuntime::getOptimizingStatus)
+                    .thenComparing(
+                        Comparator.comparingLong(TableRuntime::getCurrentStatusStartTime)
+                            .reversed()))
+            .leastOf(tableRuntimes, offset + pageSize);
     PageResult<TableOptimizingInfo> amsPageResult =
-        PageResult.of(tableRuntimes, offset, pageSize, OptimizingUtil::buildTableOptimizeInfo);
+        PageResult.of(
+            topTableRuntimes.stream()
+                .skip(offset)
+                .map(OptimizingUtil::buildTableOptimizeInfo)
+                .collect(Collectors.toList()),
+            tableRuntimes.size());
     ctx.json(OkResponse.of(amsPageResult));
   }
 
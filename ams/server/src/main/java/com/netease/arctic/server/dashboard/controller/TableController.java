@@ -339,15 +339,18 @@ public class TableController {
         ctx.queryParamAsClass("operation", String.class)
             .getOrDefault(OperationType.ALL.displayName());
     OperationType operationType = OperationType.of(operation);
+    // the cursor of the next page returned with the previous page, empty for the first page
+    String cursor = ctx.queryParam("cursor");
 
-    List<AmoroSnapshotsOfTable> snapshotsOfTables =
+    int offset = (page - 1) * pageSize;
+    PageResult<AmoroSnapshotsOfTable> pageResult =
         tableDescriptor.getSnapshots(
             TableIdentifier.of(catalog, database, tableName).buildTableIdentifier(),
             ref,
-            operationType);
-    int offset = (page - 1) * pageSize;
-    PageResult<AmoroSnapshotsOfTable> pageResult =
-        PageResult.of(snapshotsOfTables, offset, pageSize);
+            operationType,
+            cursor,
+            offset,
+            pageSize);
     ctx.json(OkResponse.of(pageResult));
   }
 
@@ -414,13 +417,17 @@ public class TableController {
     Integer specId = ctx.queryParamAsClass("specId", Integer.class).getOrDefault(0);
     Integer page = ctx.queryParamAsClass("page", Integer.class).getOrDefault(1);
     Integer pageSize = ctx.queryParamAsClass("pageSize", Integer.class).getOrDefault(20);
+    String cursor = ctx.queryParam("cursor");
 
-    List<PartitionFileBaseInfo> partitionFileBaseInfos =
-        tableDescriptor.getTableFile(
-            TableIdentifier.of(catalog, db, table).buildTableIdentifier(), partition, specId);
     int offset = (page - 1) * pageSize;
     PageResult<PartitionFileBaseInfo> amsPageResult =
-        PageResult.of(partitionFileBaseInfos, offset, pageSize);
+        tableDescriptor.getTableFile(
+            TableIdentifier.of(catalog, db, table).buildTableIdentifier(),
+            partition,
+            specId,
+            cursor,
+            offset,
+            pageSize);
     ctx.json(OkResponse.of(amsPageResult));
   }
 
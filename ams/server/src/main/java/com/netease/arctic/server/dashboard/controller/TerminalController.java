@@ -25,6 +25,7 @@ import com.netease.arctic.server.dashboard.model.SqlResult;
 import com.netease.arctic.server.dashboard.response.OkResponse;
 import com.netease.arctic.server.terminal.TerminalManager;
 import io.javalin.http.Context;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 
 import java.util.Arrays;
 import java.util.List;
@@ -77,10 +78,18 @@ public class TerminalController {
     ctx.json(OkResponse.of(terminalManager.getExecutionLog(sessionId)));
   }
 
-  /** Get execute result of some session */
+  /** Get execute result of some session, the first page is returned if page size is not given */
   public void getSqlResult(Context ctx) {
     String sessionId = ctx.pathParamAsClass("sessionId", String.class).get();
-    List<SqlResult> results = terminalManager.getExecutionResults(sessionId);
+    List<SqlResult> results;
+    if (ctx.queryParam("pageSize") == null) {
+      results = terminalManager.getExecutionResults(sessionId);
+    } else {
+      Integer pageSize = ctx.queryParamAsClass("pageSize", Integer.class).get();
+      Integer page = ctx.queryParamAsClass("page", Integer.class).getOrDefault(1);
+      Preconditions.checkArgument(page > 0 && pageSize > 0, "page and pageSize must be positive");
+      results = terminalManager.getExecutionResults(sessionId, (page - 1) * pageSize, pageSize);
+    }
     ctx.json(OkResponse.of(results));
   }
 
@@ -26,6 +26,7 @@ public class SqlResult {
   private String status = SqlStatus.CREATED.name();
   private List<String> columns;
   private List<List<String>> rowData;
+  private int rowCount;
 
   public String getId() {
     return id;
@@ -51,6 +52,14 @@ public class SqlResult {
     this.rowData = rowData;
   }
 
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public void setRowCount(int rowCount) {
+    this.rowCount = rowCount;
+  }
+
   public String getStatus() {
     return status;
   }
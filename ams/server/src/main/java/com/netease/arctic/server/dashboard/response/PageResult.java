@@ -29,6 +29,7 @@ public class PageResult<R> {
   private static final PageResult<?> EMPTY = new PageResult<>(0);
   private List<R> list;
   private int total;
+  private String nextCursor;
 
   private PageResult(List<R> list, int total) {
     this.list = list;
@@ -48,6 +49,15 @@ public class PageResult<R> {
     this.total = total;
   }
 
+  /** The cursor to get the next page with, null if it is the last page or not paged by cursor. */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
   public static PageResult<?> empty() {
     return EMPTY;
   }
@@ -95,55 +95,56 @@ public class KeyedTableCommit extends UnKeyedTableCommit {
     Set<DeleteFile> addedDeleteFiles = Sets.newHashSet();
     Set<DeleteFile> removedDeleteFiles = Sets.newHashSet();
 
-    StructLikeMap<Long> partitionOptimizedSequence =
-        ArcticTableUtil.readOptimizedSequence(table.asKeyedTable());
-
-    for (TaskRuntime taskRuntime : tasks) {
-      RewriteFilesInput input = taskRuntime.getInput();
-      StructLike partition = partition(input);
-
-      // Check if the partition version has expired
-      if (fileInPartitionNeedSkip(
-          partition, partitionOptimizedSequence, fromSequenceOfPartitions)) {
-        toSequenceOfPartitions.remove(partition);
-        continue;
-      }
-      // Only base data file need to remove
-      if (input.rewrittenDataFiles() != null) {
-        Arrays.stream(input.rewrittenDataFiles())
-            .map(s -> (PrimaryKeyedFile) s)
-            .filter(s -> s.type() == DataFileType.BASE_FILE)
-            .forEach(removedDataFiles::add);
-      }
-
-      // Only position delete need to remove
-      if (input.rewrittenDeleteFiles() != null) {
-        Arrays.stream(input.rewrittenDeleteFiles())
-            .filter(ContentFiles::isDeleteFile)
-            .map(ContentFiles::asDeleteFile)
-            .forEach(removedDeleteFiles::add);
-      }
-
-      RewriteFilesOutput output = taskRuntime.getOutput();
-      if (CollectionUtils.isNotEmpty(hiveNewDataFiles)) {
-        addedDataFiles.addAll(hiveNewDataFiles);
-      } else if (output.getDataFiles() != null) {
-        Collections.addAll(addedDataFiles, output.getDataFiles());
+    // the files have been moved to hive locations, any failure from now on cleans them up
+    try {
+      StructLikeMap<Long> partitionOptimizedSequence =
+          ArcticTableUtil.readOptimizedSequence(table.asKeyedTable());
+
+      for (TaskRuntime taskRuntime : tasks) {
+        RewriteFilesInput input = taskRuntime.getInput();
+        StructLike partition = partition(input);
+
+        // Check if the partition version has expired
+        if (fileInPartitionNeedSkip(
+            partition, partitionOptimizedSequence, fromSequenceOfPartitions)) {
+          toSequenceOfPartitions.remove(partition);
+          continue;
+        }
+        // Only base data file need to remove
+        if (input.rewrittenDataFiles() != null) {
+          Arrays.stream(input.rewrittenDataFiles())
+              .map(s -> (PrimaryKeyedFile) s)
+              .filter(s -> s.type() == DataFileType.BASE_FILE)
+              .forEach(removedDataFiles::add);
+        }
+
+        // Only position delete need to remove
+        if (input.rewrittenDeleteFiles() != null) {
+          Arrays.stream(input.rewrittenDeleteFiles())
+              .filter(ContentFiles::isDeleteFile)
+              .map(ContentFiles::asDeleteFile)
+              .forEach(removedDeleteFiles::add);
+        }
+
+        RewriteFilesOutput output = taskRuntime.getOutput();
+        if (CollectionUtils.isNotEmpty(hiveNewDataFiles)) {
+          addedDataFiles.addAll(hiveNewDataFiles);
+        } else if (output.getDataFiles() != null) {
+          Collections.addAll(addedDataFiles, output.getDataFiles());
+        }
+
+        if (output.getDeleteFiles() != null) {
+          Collections.addAll(addedDeleteFiles, output.getDeleteFiles());
+        }
       }
 
-      if (output.getDeleteFiles() != null) {
-        Collections.addAll(addedDeleteFiles, output.getDeleteFiles());
-      }
-    }
-
-    try {
       executeCommit(addedDataFiles, removedDataFiles, addedDeleteFiles, removedDeleteFiles);
     } catch (Exception e) {
       // Only failures to clean files will trigger a retry
       LOG.warn("Optimize commit table {} failed, give up commit.", table.id(), e);
 
       if (needMoveFile2Hive()) {
-        correctHiveData(addedDataFiles, addedDeleteFiles);
+        correctHiveData(hiveNewDataFiles, addedDataFiles, addedDeleteFiles);
       }
       throw new OptimizingCommitException("unexpected commit error ", e);
     }
@@ -18,6 +18,7 @@
 
 package com.netease.arctic.server.optimizing;
 
+import static com.netease.arctic.ams.api.metrics.MetricDefine.defineCounter;
 import static com.netease.arctic.ams.api.metrics.MetricDefine.defineGauge;
 import static com.netease.arctic.server.optimizing.OptimizingStatus.PENDING;
 import static com.netease.arctic.server.optimizing.OptimizingStatus.PLANNING;
@@ -25,6 +26,7 @@ import static com.netease.arctic.server.optimizing.TaskRuntime.Status.ACKED;
 import static com.netease.arctic.server.optimizing.TaskRuntime.Status.PLANNED;
 import static com.netease.arctic.server.optimizing.TaskRuntime.Status.SCHEDULED;
 
+import com.netease.arctic.ams.api.metrics.Counter;
 import com.netease.arctic.ams.api.metrics.Gauge;
 import com.netease.arctic.ams.api.metrics.Metric;
 import com.netease.arctic.ams.api.metrics.MetricDefine;
@@ -90,11 +92,26 @@ public class OptimizerGroupMetrics {
           .withTags(GROUP_TAG)
           .build();
 
+  public static final MetricDefine OPTIMIZER_GROUP_SPECULATIVE_TASKS =
+      defineCounter("optimizer_group_speculative_tasks")
+          .withDescription("Number of speculative attempts of straggler tasks in optimizer group")
+          .withTags(GROUP_TAG)
+          .build();
+
+  public static final MetricDefine OPTIMIZER_GROUP_SPECULATION_WASTED_TIME =
+      defineCounter("optimizer_group_speculation_wasted_time_mills")
+          .withDescription(
+              "Time in milliseconds run by the abandoned attempts of tasks in optimizer group")
+          .withTags(GROUP_TAG)
+          .build();
+
   private final String groupName;
   private final MetricRegistry registry;
   private final OptimizingQueue optimizingQueue;
   private final List<MetricKey> registeredMetricKeys = Lists.newArrayList();
   private final Map<String, OptimizerInstance> optimizerInstances = new ConcurrentHashMap<>();
+  private final Counter speculativeTasks = new Counter();
+  private final Counter speculationWastedTime = new Counter();
 
   public OptimizerGroupMetrics(
       String groupName, MetricRegistry registry, OptimizingQueue optimizingQueue) {
@@ -169,6 +186,16 @@ public class OptimizerGroupMetrics {
                 optimizerInstances.values().stream()
                     .mapToLong(OptimizerInstance::getThreadCount)
                     .sum());
+    registerMetric(registry, OPTIMIZER_GROUP_SPECULATIVE_TASKS, speculativeTasks);
+    registerMetric(registry, OPTIMIZER_GROUP_SPECULATION_WASTED_TIME, speculationWastedTime);
+  }
+
+  public void speculationLaunched() {
+    speculativeTasks.inc();
+  }
+
+  public void speculationWasted(long wastedTime) {
+    speculationWastedTime.inc(wastedTime);
   }
 
   public void unregister() {
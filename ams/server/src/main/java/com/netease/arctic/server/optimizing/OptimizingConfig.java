@@ -79,6 +79,12 @@ public class OptimizingConfig {
   // self-optimizing.full.rewrite-all-files
   private boolean fullRewriteAllFiles;
 
+  // self-optimizing.commit.partition-batch-size
+  private int commitPartitionBatchSize;
+
+  // self-optimizing.max-concurrent-processes
+  private int maxConcurrentProcesses;
+
   // base.file-index.hash-bucket
   private int baseHashBucket;
 
@@ -245,6 +251,24 @@ public class OptimizingConfig {
     return this;
   }
 
+  public int getCommitPartitionBatchSize() {
+    return commitPartitionBatchSize;
+  }
+
+  public OptimizingConfig setCommitPartitionBatchSize(int commitPartitionBatchSize) {
+    this.commitPartitionBatchSize = commitPartitionBatchSize;
+    return this;
+  }
+
+  public int getMaxConcurrentProcesses() {
+    return maxConcurrentProcesses;
+  }
+
+  public OptimizingConfig setMaxConcurrentProcesses(int maxConcurrentProcesses) {
+    this.maxConcurrentProcesses = maxConcurrentProcesses;
+    return this;
+  }
+
   public int getBaseHashBucket() {
     return baseHashBucket;
   }
@@ -292,6 +316,8 @@ public class OptimizingConfig {
         && Double.compare(that.majorDuplicateRatio, majorDuplicateRatio) == 0
         && fullTriggerInterval == that.fullTriggerInterval
         && fullRewriteAllFiles == that.fullRewriteAllFiles
+        && commitPartitionBatchSize == that.commitPartitionBatchSize
+        && maxConcurrentProcesses == that.maxConcurrentProcesses
         && baseHashBucket == that.baseHashBucket
         && baseRefreshInterval == that.baseRefreshInterval
         && hiveRefreshInterval == that.hiveRefreshInterval
@@ -317,6 +343,8 @@ public class OptimizingConfig {
         majorDuplicateRatio,
         fullTriggerInterval,
         fullRewriteAllFiles,
+        commitPartitionBatchSize,
+        maxConcurrentProcesses,
         baseHashBucket,
         baseRefreshInterval,
         hiveRefreshInterval);
@@ -340,6 +368,8 @@ public class OptimizingConfig {
         .add("majorDuplicateRatio", majorDuplicateRatio)
         .add("fullTriggerInterval", fullTriggerInterval)
         .add("fullRewriteAllFiles", fullRewriteAllFiles)
+        .add("commitPartitionBatchSize", commitPartitionBatchSize)
+        .add("maxConcurrentProcesses", maxConcurrentProcesses)
         .add("baseHashBucket", baseHashBucket)
         .add("baseRefreshInterval", baseRefreshInterval)
         .add("hiveRefreshInterval", hiveRefreshInterval)
@@ -423,6 +453,16 @@ public class OptimizingConfig {
                 properties,
                 TableProperties.SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES,
                 TableProperties.SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES_DEFAULT))
+        .setCommitPartitionBatchSize(
+            CompatiblePropertyUtil.propertyAsInt(
+                properties,
+                TableProperties.SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE,
+                TableProperties.SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE_DEFAULT))
+        .setMaxConcurrentProcesses(
+            CompatiblePropertyUtil.propertyAsInt(
+                properties,
+                TableProperties.SELF_OPTIMIZING_MAX_CONCURRENT_PROCESSES,
+                TableProperties.SELF_OPTIMIZING_MAX_CONCURRENT_PROCESSES_DEFAULT))
         .setBaseHashBucket(
             CompatiblePropertyUtil.propertyAsInt(
                 properties,
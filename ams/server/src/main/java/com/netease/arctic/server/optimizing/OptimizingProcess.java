@@ -18,6 +18,8 @@
 
 package com.netease.arctic.server.optimizing;
 
+import java.util.Set;
+
 public interface OptimizingProcess {
 
   long getProcessId();
@@ -42,8 +44,20 @@ public interface OptimizingProcess {
 
   void commit();
 
+  /**
+   * Commit the partitions whose tasks are all finished while the other partitions are still
+   * running, if the table commits partitions in batches.
+   */
+  void commitFinishedPartitions();
+
   MetricsSummary getSummary();
 
+  /** Get the partitions optimized by the process, which are not planned by other processes. */
+  Set<String> getPartitions();
+
+  /** Whether all the tasks of the process are finished and the process is waiting to commit. */
+  boolean isPrepared();
+
   enum Status {
     RUNNING,
     CLOSED,
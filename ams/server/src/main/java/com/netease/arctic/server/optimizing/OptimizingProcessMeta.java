@@ -18,6 +18,7 @@
 
 package com.netease.arctic.server.optimizing;
 
+import java.util.List;
 import java.util.Map;
 
 /** Meta of optimizing process. */
@@ -38,6 +39,7 @@ public class OptimizingProcessMeta {
   private MetricsSummary summary;
   private Map<String, Long> fromSequence;
   private Map<String, Long> toSequence;
+  private List<String> committedPartitions;
 
   public OptimizingProcessMeta() {}
 
@@ -160,4 +162,12 @@ public class OptimizingProcessMeta {
   public void setToSequence(Map<String, Long> toSequence) {
     this.toSequence = toSequence;
   }
+
+  public List<String> getCommittedPartitions() {
+    return committedPartitions;
+  }
+
+  public void setCommittedPartitions(List<String> committedPartitions) {
+    this.committedPartitions = committedPartitions;
+  }
 }
@@ -23,6 +23,7 @@ import com.netease.arctic.ams.api.OptimizerProperties;
 import com.netease.arctic.ams.api.OptimizingTaskId;
 import com.netease.arctic.ams.api.resource.ResourceGroup;
 import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.exception.OptimizingClosedException;
 import com.netease.arctic.server.manager.MetricManager;
@@ -31,18 +32,22 @@ import com.netease.arctic.server.optimizing.plan.TaskDescriptor;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.persistence.TaskFilesPersistence;
 import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
+import com.netease.arctic.server.resource.OptimizerAutoscaler;
 import com.netease.arctic.server.resource.OptimizerInstance;
+import com.netease.arctic.server.resource.OptimizerThread;
 import com.netease.arctic.server.resource.QuotaProvider;
 import com.netease.arctic.server.table.ServerTableIdentifier;
 import com.netease.arctic.server.table.TableManager;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableRuntimeMeta;
 import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.UnkeyedTable;
 import com.netease.arctic.utils.ArcticDataFiles;
 import com.netease.arctic.utils.CompatiblePropertyUtil;
 import com.netease.arctic.utils.ExceptionUtil;
 import com.netease.arctic.utils.TablePropertyUtil;
 import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
@@ -52,7 +57,12 @@ import org.apache.iceberg.util.StructLikeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -61,14 +71,17 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class OptimizingQueue extends PersistentBase {
 
@@ -84,6 +97,10 @@ public class OptimizingQueue extends PersistentBase {
   private final Set<ServerTableIdentifier> planningTables = new HashSet<>();
   private final Lock scheduleLock = new ReentrantLock();
   private final Condition planningCompleted = scheduleLock.newCondition();
+  // The asynchronous polls waiting for the tasks, guarded by the schedule lock
+  private final Set<PollWaiter> pollWaiters = new LinkedHashSet<>();
+  // the speculated tasks, kept until the results of their abandoned attempts are reported
+  private final Map<OptimizingTaskId, TaskRuntime> speculatedTasks = new ConcurrentHashMap<>();
   private final int maxPlanningParallelism;
   private final OptimizerGroupMetrics metrics;
   private ResourceGroup optimizerGroup;
@@ -111,9 +128,11 @@ public class OptimizingQueue extends PersistentBase {
 
   private void initTableRuntime(TableRuntimeMeta tableRuntimeMeta) {
     TableRuntime tableRuntime = tableRuntimeMeta.getTableRuntime();
+    List<TableOptimizingProcess> concurrentProcesses = Collections.emptyList();
     if (tableRuntime.getOptimizingStatus().isProcessing()
         && tableRuntimeMeta.getOptimizingProcessId() != 0) {
       tableRuntime.recover(new TableOptimizingProcess(tableRuntimeMeta));
+      concurrentProcesses = recoverConcurrentProcesses(tableRuntime);
     }
 
     if (tableRuntime.isOptimizingEnabled()) {
@@ -121,17 +140,44 @@ public class OptimizingQueue extends PersistentBase {
           System.currentTimeMillis() - ArcticServiceConstants.QUOTA_LOOK_BACK_TIME);
       if (!tableRuntime.getOptimizingStatus().isProcessing()) {
         scheduler.addTable(tableRuntime);
-      } else if (tableRuntime.getOptimizingStatus() != OptimizingStatus.COMMITTING) {
-        tableQueue.offer(new TableOptimizingProcess(tableRuntimeMeta));
+      } else {
+        if (tableRuntime.getOptimizingStatus() != OptimizingStatus.COMMITTING) {
+          tableQueue.offer(new TableOptimizingProcess(tableRuntimeMeta));
+        }
+        if (tableRuntime.getOptimizingConfig().getMaxConcurrentProcesses() > 1) {
+          // the other partitions could be planned while the processes are running
+          scheduler.addTable(tableRuntime);
+        }
       }
+      concurrentProcesses.stream()
+          .filter(process -> !process.isPrepared())
+          .forEach(tableQueue::offer);
     } else {
-      OptimizingProcess process = tableRuntime.getOptimizingProcess();
-      if (process != null) {
-        process.close();
-      }
+      tableRuntime.closeProcesses();
     }
   }
 
+  private List<TableOptimizingProcess> recoverConcurrentProcesses(TableRuntime tableRuntime) {
+    if (tableRuntime.getOptimizingProcess() == null) {
+      return Collections.emptyList();
+    }
+    return getAs(
+            OptimizingMapper.class,
+            mapper ->
+                mapper.selectOptimizingProcessesAfter(
+                    tableRuntime.getTableIdentifier().getId(),
+                    tableRuntime.getOptimizingProcess().getProcessId(),
+                    OptimizingProcess.Status.RUNNING))
+        .stream()
+        .map(processMeta -> new TableOptimizingProcess(tableRuntime, processMeta))
+        .filter(process -> !process.isClosed())
+        .collect(Collectors.toList());
+  }
+
+  public ResourceGroup getOptimizerGroup() {
+    return optimizerGroup;
+  }
+
   public String getContainerName() {
     return optimizerGroup.getContainer();
   }
@@ -156,6 +202,36 @@ public class OptimizingQueue extends PersistentBase {
         tableRuntime.getTableIdentifier());
   }
 
+  /**
+   * Load the table moved from another member of the AMS cluster, and recover its optimizing process
+   * from the persistence.
+   */
+  public void acquireTable(TableRuntimeMeta tableRuntimeMeta) {
+    initTableRuntime(tableRuntimeMeta);
+    LOG.info(
+        "Bind queue {} success with acquired table {}",
+        optimizerGroup.getName(),
+        tableRuntimeMeta.getTableRuntime().getTableIdentifier());
+  }
+
+  /**
+   * Unload the table moved to another member of the AMS cluster. Unlike releasing the table, its
+   * optimizing process is only removed from this queue and is kept in the persistence, so that the
+   * new owner could recover it.
+   */
+  public void unloadTable(TableRuntime tableRuntime) {
+    scheduler.removeTable(tableRuntime);
+    for (OptimizingProcess process : tableRuntime.getOptimizingProcesses()) {
+      tableQueue.removeIf(p -> p.getProcessId() == process.getProcessId());
+      retryTaskQueue.removeIf(
+          taskRuntime -> taskRuntime.getTaskId().getProcessId() == process.getProcessId());
+    }
+    LOG.info(
+        "Unload queue {} with table {}",
+        optimizerGroup.getName(),
+        tableRuntime.getTableIdentifier());
+  }
+
   public boolean containsTable(ServerTableIdentifier identifier) {
     return scheduler.getTableRuntime(identifier) != null;
   }
@@ -175,6 +251,75 @@ public class OptimizingQueue extends PersistentBase {
     return task;
   }
 
+  /**
+   * Poll a task without blocking the calling thread while waiting for the task.
+   *
+   * @param maxWaitTime the max time to wait for the task
+   * @param timer expires the poll if no task is available until the max wait time
+   * @return the future of the task polled, completed with null if no task is available
+   */
+  public CompletableFuture<TaskRuntime> pollTaskAsync(
+      long maxWaitTime, ScheduledExecutorService timer) {
+    PollWaiter waiter = new PollWaiter(calculateDeadline(maxWaitTime));
+    if (parkIfNoTask(waiter) && waiter.deadline != Long.MAX_VALUE) {
+      timer.schedule(
+          () -> expire(waiter),
+          waiter.deadline - System.currentTimeMillis(),
+          TimeUnit.MILLISECONDS);
+    }
+    return waiter.future;
+  }
+
+  /** Complete the poll with a task, or park it until the planning completed, return if parked. */
+  private boolean parkIfNoTask(PollWaiter waiter) {
+    TaskRuntime task = fetchTask();
+    if (task == null) {
+      scheduleLock.lock();
+      try {
+        long currentTime = System.currentTimeMillis();
+        scheduleTableIfNecessary(currentTime);
+        // fetch again as the planning may be completed before locking
+        task = fetchTask();
+        if (task == null && waiter.deadline > currentTime) {
+          pollWaiters.add(waiter);
+          return true;
+        }
+      } finally {
+        scheduleLock.unlock();
+      }
+    }
+    waiter.future.complete(task);
+    return false;
+  }
+
+  private void expire(PollWaiter waiter) {
+    scheduleLock.lock();
+    try {
+      if (!pollWaiters.remove(waiter)) {
+        // the poll is being woken up, and it will not be parked again after the deadline
+        return;
+      }
+    } finally {
+      scheduleLock.unlock();
+    }
+    waiter.future.complete(null);
+  }
+
+  private void wakeUpPollWaiters() {
+    List<PollWaiter> waiters;
+    scheduleLock.lock();
+    try {
+      if (pollWaiters.isEmpty()) {
+        return;
+      }
+      waiters = Lists.newArrayList(pollWaiters);
+      pollWaiters.clear();
+    } finally {
+      scheduleLock.unlock();
+    }
+    waiters.forEach(this::parkIfNoTask);
+  }
+
   private long calculateDeadline(long maxWaitTime) {
     long deadline = System.currentTimeMillis() + maxWaitTime;
     return deadline <= 0 ? Long.MAX_VALUE : deadline;
@@ -196,11 +341,23 @@ public class OptimizingQueue extends PersistentBase {
   }
 
   private TaskRuntime fetchTask() {
-    return Optional.ofNullable(retryTaskQueue.poll()).orElse(fetchScheduledTask());
+    return Optional.ofNullable(pollRetryTask()).orElse(fetchScheduledTask());
+  }
+
+  private TaskRuntime pollRetryTask() {
+    for (TaskRuntime taskRuntime : retryTaskQueue) {
+      if (tableManager.holdsLease(taskRuntime.getTableId()) && retryTaskQueue.remove(taskRuntime)) {
+        return taskRuntime;
+      }
+    }
+    return null;
   }
 
   private TaskRuntime fetchScheduledTask() {
+    // the tasks of the tables whose lease is lost are left to the new owner
     return tableQueue.stream()
+        .filter(
+            process -> tableManager.holdsLease(process.tableRuntime.getTableIdentifier().getId()))
         .map(TableOptimizingProcess::poll)
         .filter(Objects::nonNull)
         .findFirst()
@@ -210,7 +367,10 @@ public class OptimizingQueue extends PersistentBase {
   private void scheduleTableIfNecessary(long startTime) {
     if (planningTables.size() < maxPlanningParallelism) {
       Set<ServerTableIdentifier> skipTables = new HashSet<>(planningTables);
-      Optional.ofNullable(scheduler.scheduleTable(skipTables))
+      Optional.ofNullable(
+              scheduler.scheduleTable(
+                  skipTables,
+                  tableRuntime -> tableManager.isOwned(tableRuntime.getTableIdentifier())))
           .ifPresent(tableRuntime -> triggerAsyncPlanning(tableRuntime, skipTables, startTime));
     }
   }
@@ -230,7 +390,12 @@ public class OptimizingQueue extends PersistentBase {
               try {
                 tableRuntime.setLastPlanTime(currentTime);
                 planningTables.remove(tableRuntime.getTableIdentifier());
-                if (process != null) {
+                if (process != null && !tableManager.contains(tableRuntime.getTableIdentifier())) {
+                  LOG.info(
+                      "Table {} has been released while planning, skip its optimizing process {}",
+                      tableRuntime.getTableIdentifier(),
+                      process.getProcessId());
+                } else if (process != null) {
                   tableQueue.offer(process);
                   LOG.info(
                       "Completed planning on table {} with {} tasks with a total cost of {} ms, skipping tables {}",
@@ -248,11 +413,16 @@ public class OptimizingQueue extends PersistentBase {
               } finally {
                 scheduleLock.unlock();
               }
+              wakeUpPollWaiters();
             });
   }
 
   private TableOptimizingProcess planInternal(TableRuntime tableRuntime) {
-    tableRuntime.beginPlanning();
+    // the table with running processes is planned on the partitions they are not optimizing
+    boolean concurrent = tableRuntime.getOptimizingStatus().isProcessing();
+    if (!concurrent) {
+      tableRuntime.beginPlanning();
+    }
     try {
       AmoroTable<?> table = tableManager.loadTable(tableRuntime.getTableIdentifier());
       OptimizingPlanner planner =
@@ -260,7 +430,8 @@ public class OptimizingQueue extends PersistentBase {
               tableRuntime.refresh(table),
               (ArcticTable) table.originalTable(),
               getAvailableCore(),
-              maxInputSizePerThread());
+              maxInputSizePerThread(),
+              streamingPlanningEnabled());
       if (planner.isNecessary()) {
         return new TableOptimizingProcess(planner);
       } else {
@@ -268,7 +439,9 @@ public class OptimizingQueue extends PersistentBase {
         return null;
       }
     } catch (Throwable throwable) {
-      tableRuntime.planFailed();
+      if (!concurrent) {
+        tableRuntime.planFailed();
+      }
       LOG.error("Planning table {} failed", tableRuntime.getTableIdentifier(), throwable);
       throw throwable;
     }
@@ -279,7 +452,41 @@ public class OptimizingQueue extends PersistentBase {
         .filter(p -> p.getProcessId() == taskId.getProcessId())
         .findFirst()
         .map(p -> p.getTaskMap().get(taskId))
-        .orElse(null);
+        .orElseGet(() -> speculatedTasks.get(taskId));
+  }
+
+  /**
+   * Schedule a duplicate attempt of the straggler task to the idle thread of another optimizer. A
+   * task is a straggler once it runs longer than the multiple of the median cost of the finished
+   * tasks in its process, and the first successful attempt of the task wins.
+   *
+   * @return the task speculated, or null if there is no straggler
+   */
+  public TaskRuntime speculateTask(OptimizerThread thread) {
+    speculatedTasks
+        .values()
+        .removeIf(task -> !task.isSpeculating() && !task.hasAbandonedAttempts());
+    if (!speculationEnabled()) {
+      return null;
+    }
+    long currentTime = System.currentTimeMillis();
+    for (TableOptimizingProcess process : tableQueue) {
+      if (!tableManager.holdsLease(process.tableRuntime.getTableIdentifier().getId())) {
+        continue;
+      }
+      TaskRuntime straggler = process.findStraggler(currentTime, thread.getToken());
+      if (straggler != null && straggler.scheduleSpeculation(thread)) {
+        speculatedTasks.put(straggler.getTaskId(), straggler);
+        metrics.speculationLaunched();
+        return straggler;
+      }
+    }
+    return null;
+  }
+
+  /** Release the attempts run by the expired optimizer. */
+  public void releaseAttempts(String optimizerToken) {
+    speculatedTasks.values().forEach(task -> task.releaseAttempts(optimizerToken));
   }
 
   public List<TaskRuntime> collectTasks() {
@@ -295,9 +502,71 @@ public class OptimizingQueue extends PersistentBase {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Collect the pending work of the queue for the autoscaling of the optimizers, a table waiting
+   * for planning counts as one pending task.
+   */
+  public OptimizerAutoscaler.Backlog collectBacklog() {
+    int executingTasks = 0;
+    int pendingTasks = 0;
+    int demandThreads = 0;
+    long totalCostTime = 0;
+    int finishedTasks = 0;
+    for (TableOptimizingProcess process : tableQueue) {
+      int tableExecuting = 0;
+      int tablePending = 0;
+      for (TaskRuntime task : process.getTaskMap().values()) {
+        switch (task.getStatus()) {
+          case PLANNED:
+          case SCHEDULED:
+            tablePending++;
+            break;
+          case ACKED:
+            tableExecuting++;
+            break;
+          case SUCCESS:
+            totalCostTime += task.getCostTime();
+            finishedTasks++;
+            break;
+          default:
+        }
+      }
+      executingTasks += tableExecuting;
+      pendingTasks += tablePending;
+      demandThreads += quotaBoundedThreads(process.tableRuntime, tableExecuting + tablePending);
+    }
+    for (TableRuntime tableRuntime : scheduler.getTableRuntimeMap().values()) {
+      if (tableRuntime.getOptimizingStatus() == OptimizingStatus.PENDING) {
+        pendingTasks++;
+        demandThreads++;
+      }
+    }
+    return new OptimizerAutoscaler.Backlog(
+        executingTasks,
+        pendingTasks + retryTaskQueue.size(),
+        demandThreads + retryTaskQueue.size(),
+        finishedTasks == 0 ? 0 : totalCostTime / finishedTasks);
+  }
+
+  /** The table over its quota is scheduled after the others, so it only counts its quota. */
+  private int quotaBoundedThreads(TableRuntime tableRuntime, int threads) {
+    if (tableRuntime.calculateQuotaOccupy() < 1) {
+      return threads;
+    }
+    int quotaThreads = (int) Math.max(1, Math.ceil(tableRuntime.getTargetQuota()));
+    return Math.min(threads, quotaThreads);
+  }
+
   public void retryTask(TaskRuntime taskRuntime) {
+    if (taskRuntime.promoteSpeculation()) {
+      LOG.info(
+          "The speculative attempt of task {} goes on in place of the suspended one",
+          taskRuntime.getTaskId());
+      return;
+    }
     taskRuntime.reset();
     retryTaskQueue.offer(taskRuntime);
+    wakeUpPollWaiters();
   }
 
   public void updateOptimizerGroup(ResourceGroup optimizerGroup) {
@@ -332,6 +601,34 @@ public class OptimizingQueue extends PersistentBase {
         OptimizerProperties.MAX_INPUT_FILE_SIZE_PER_THREAD_DEFAULT);
   }
 
+  private boolean speculationEnabled() {
+    return CompatiblePropertyUtil.propertyAsBoolean(
+        optimizerGroup.getProperties(),
+        OptimizerProperties.SPECULATION_ENABLED,
+        OptimizerProperties.SPECULATION_ENABLED_DEFAULT);
+  }
+
+  private double speculationMultiplier() {
+    return CompatiblePropertyUtil.propertyAsDouble(
+        optimizerGroup.getProperties(),
+        OptimizerProperties.SPECULATION_MULTIPLIER,
+        OptimizerProperties.SPECULATION_MULTIPLIER_DEFAULT);
+  }
+
+  private long speculationMinRuntime() {
+    return CompatiblePropertyUtil.propertyAsLong(
+        optimizerGroup.getProperties(),
+        OptimizerProperties.SPECULATION_MIN_RUNTIME,
+        OptimizerProperties.SPECULATION_MIN_RUNTIME_DEFAULT);
+  }
+
+  private boolean streamingPlanningEnabled() {
+    return CompatiblePropertyUtil.propertyAsBoolean(
+        optimizerGroup.getProperties(),
+        OptimizerProperties.STREAMING_PLANNING_ENABLED,
+        OptimizerProperties.STREAMING_PLANNING_ENABLED_DEFAULT);
+  }
+
   @VisibleForTesting
   SchedulingPolicy getSchedulingPolicy() {
     return scheduler;
@@ -347,12 +644,18 @@ public class OptimizingQueue extends PersistentBase {
     private final Map<OptimizingTaskId, TaskRuntime> taskMap = Maps.newHashMap();
     private final Queue<TaskRuntime> taskQueue = new LinkedList<>();
     private final Lock lock = new ReentrantLock();
+    // serializes the table commits of the process, which are made without holding the lock
+    private final Lock commitLock = new ReentrantLock();
     private volatile Status status = OptimizingProcess.Status.RUNNING;
     private volatile String failedReason;
     private long endTime = ArcticServiceConstants.INVALID_TIME;
     private Map<String, Long> fromSequence = Maps.newHashMap();
     private Map<String, Long> toSequence = Maps.newHashMap();
+    // partitions committed in batches before all tasks are finished, persisted with the process
+    private final Set<String> committedPartitions = new HashSet<>();
     private boolean hasCommitted = false;
+    private Set<String> partitions;
+    private volatile boolean prepared = false;
 
     public TaskRuntime poll() {
       lock.lock();
@@ -371,6 +674,7 @@ public class OptimizingQueue extends PersistentBase {
       targetSnapshotId = planner.getTargetSnapshotId();
       targetChangeSnapshotId = planner.getTargetChangeSnapshotId();
       loadTaskRuntimes(planner.planTasks());
+      partitions = collectPartitions();
       fromSequence = planner.getFromSequence();
       toSequence = planner.getToSequence();
       beginAndPersistProcess();
@@ -389,12 +693,41 @@ public class OptimizingQueue extends PersistentBase {
       if (tableRuntimeMeta.getToSequence() != null) {
         toSequence = tableRuntimeMeta.getToSequence();
       }
+      if (tableRuntimeMeta.getCommittedPartitions() != null) {
+        committedPartitions.addAll(tableRuntimeMeta.getCommittedPartitions());
+      }
       loadTaskRuntimes(this);
+      partitions = collectPartitions();
+      prepared = allTasksPrepared();
       if (this.status != OptimizingProcess.Status.CLOSED) {
         tableRuntimeMeta.getTableRuntime().recover(this);
       }
     }
 
+    public TableOptimizingProcess(TableRuntime tableRuntime, OptimizingProcessMeta processMeta) {
+      processId = processMeta.getProcessId();
+      this.tableRuntime = tableRuntime;
+      optimizingType = processMeta.getOptimizingType();
+      targetSnapshotId = processMeta.getTargetSnapshotId();
+      targetChangeSnapshotId = processMeta.getTargetChangeSnapshotId();
+      planTime = processMeta.getPlanTime();
+      if (processMeta.getFromSequence() != null) {
+        fromSequence = processMeta.getFromSequence();
+      }
+      if (processMeta.getToSequence() != null) {
+        toSequence = processMeta.getToSequence();
+      }
+      if (processMeta.getCommittedPartitions() != null) {
+        committedPartitions.addAll(processMeta.getCommittedPartitions());
+      }
+      loadTaskRuntimes(this);
+      partitions = collectPartitions();
+      prepared = allTasksPrepared();
+      if (this.status != OptimizingProcess.Status.CLOSED) {
+        tableRuntime.recoverConcurrentProcess(this);
+      }
+    }
+
     @Override
     public long getProcessId() {
       return processId;
@@ -441,10 +774,9 @@ public class OptimizingQueue extends PersistentBase {
         }
         if (taskRuntime.getStatus() == TaskRuntime.Status.SUCCESS) {
           // the lock of TableOptimizingProcess makes it thread-safe
-          if (allTasksPrepared()
-              && tableRuntime.getOptimizingStatus().isProcessing()
-              && tableRuntime.getOptimizingStatus() != OptimizingStatus.COMMITTING) {
-            tableRuntime.beginCommitting();
+          if (allTasksPrepared()) {
+            prepared = true;
+            tableRuntime.beginCommitting(this);
             clearProcess(this);
           }
         } else if (taskRuntime.getStatus() == TaskRuntime.Status.FAILED) {
@@ -470,6 +802,65 @@ public class OptimizingQueue extends PersistentBase {
       return status == OptimizingProcess.Status.CLOSED;
     }
 
+    @Override
+    public void abandonAttempt(TaskRuntime taskRuntime, long wastedTime) {
+      LOG.info(
+          "{} abandon an attempt of task {} which has run for {} ms",
+          tableRuntime.getTableIdentifier(),
+          taskRuntime.getTaskId(),
+          wastedTime);
+      metrics.speculationWasted(wastedTime);
+    }
+
+    @Override
+    public void discardOutput(TaskRuntime taskRuntime, RewriteFilesOutput output) {
+      ArcticTable table =
+          (ArcticTable) tableManager.loadTable(tableRuntime.getTableIdentifier()).originalTable();
+      Stream.of(output.getDataFiles(), output.getDeleteFiles())
+          .filter(Objects::nonNull)
+          .flatMap(Arrays::stream)
+          .map(file -> file.path().toString())
+          .forEach(
+              path -> {
+                try {
+                  table.io().deleteFile(path);
+                } catch (Exception e) {
+                  LOG.warn(
+                      "{} failed to delete file {} of the abandoned attempt of task {}",
+                      tableRuntime.getTableIdentifier(),
+                      path,
+                      taskRuntime.getTaskId(),
+                      e);
+                }
+              });
+    }
+
+    /**
+     * Find the running task which has run longer than the multiple of the median cost of the
+     * finished tasks, the median is only used once at least half of the tasks are finished.
+     */
+    private TaskRuntime findStraggler(long currentTime, String optimizerToken) {
+      List<Long> costTimes =
+          taskMap.values().stream()
+              .filter(task -> task.getStatus() == TaskRuntime.Status.SUCCESS)
+              .map(TaskRuntime::getCostTime)
+              .sorted()
+              .collect(Collectors.toList());
+      if (costTimes.isEmpty() || costTimes.size() * 2 < taskMap.size()) {
+        return null;
+      }
+      long threshold =
+          Math.max(
+              (long) (costTimes.get(costTimes.size() / 2) * speculationMultiplier()),
+              speculationMinRuntime());
+      return taskMap.values().stream()
+          .filter(task -> task.getStatus() == TaskRuntime.Status.ACKED)
+          .filter(task -> !task.isSpeculating() && !optimizerToken.equals(task.getToken()))
+          .filter(task -> currentTime - task.getStartTime() > threshold)
+          .min(Comparator.comparingLong(TaskRuntime::getStartTime))
+          .orElse(null);
+    }
+
     @Override
     public long getPlanTime() {
       return planTime;
@@ -498,6 +889,20 @@ public class OptimizingQueue extends PersistentBase {
       return failedReason;
     }
 
+    @Override
+    public Set<String> getPartitions() {
+      return partitions;
+    }
+
+    @Override
+    public boolean isPrepared() {
+      return prepared;
+    }
+
+    private Set<String> collectPartitions() {
+      return taskMap.values().stream().map(TaskRuntime::getPartition).collect(Collectors.toSet());
+    }
+
     private Map<OptimizingTaskId, TaskRuntime> getTaskMap() {
       return taskMap;
     }
@@ -535,6 +940,7 @@ public class OptimizingQueue extends PersistentBase {
           taskMap.size(),
           taskMap.values());
 
+      commitLock.lock();
       lock.lock();
       try {
         if (hasCommitted) {
@@ -542,7 +948,13 @@ public class OptimizingQueue extends PersistentBase {
           throw new IllegalStateException("repeat commit, and last error " + failedReason);
         }
         hasCommitted = true;
-        buildCommit().commit();
+        List<TaskRuntime> tasks =
+            taskMap.values().stream()
+                .filter(task -> !committedPartitions.contains(task.getPartition()))
+                .collect(Collectors.toList());
+        ArcticTable table =
+            (ArcticTable) tableManager.loadTable(tableRuntime.getTableIdentifier()).originalTable();
+        buildCommit(table, tasks, partition -> !committedPartitions.contains(partition)).commit();
         status = Status.SUCCESS;
         endTime = System.currentTimeMillis();
         persistProcessCompleted(true);
@@ -555,6 +967,7 @@ public class OptimizingQueue extends PersistentBase {
       } finally {
         clearProcess(this);
         lock.unlock();
+        commitLock.unlock();
       }
     }
 
@@ -563,27 +976,124 @@ public class OptimizingQueue extends PersistentBase {
       return new MetricsSummary(taskMap.values());
     }
 
-    private UnKeyedTableCommit buildCommit() {
-      ArcticTable table =
-          (ArcticTable) tableManager.loadTable(tableRuntime.getTableIdentifier()).originalTable();
+    @Override
+    public void commitFinishedPartitions() {
+      int batchSize = tableRuntime.getOptimizingConfig().getCommitPartitionBatchSize();
+      if (batchSize <= 0) {
+        return;
+      }
+
+      commitLock.lock();
+      try {
+        Map<String, List<TaskRuntime>> finishedPartitions = collectFinishedPartitions(batchSize);
+        if (finishedPartitions.isEmpty()) {
+          return;
+        }
+        List<TaskRuntime> tasks =
+            finishedPartitions.values().stream().flatMap(List::stream).collect(Collectors.toList());
+        // the table is loaded again for every batch, so that each batch is validated against the
+        // latest snapshot including the batches committed before
+        ArcticTable table =
+            (ArcticTable) tableManager.loadTable(tableRuntime.getTableIdentifier()).originalTable();
+        LOG.info(
+            "{} commit {} finished partitions with {} tasks on snapshot {}",
+            tableRuntime.getTableIdentifier(),
+            finishedPartitions.size(),
+            tasks.size(),
+            currentSnapshotId(table));
+        // the table commit is made without holding the lock, so that the results of the running
+        // tasks are still accepted meanwhile
+        buildCommit(table, tasks, finishedPartitions::containsKey).commit();
+
+        lock.lock();
+        try {
+          committedPartitions.addAll(finishedPartitions.keySet());
+          persistCommittedPartitions();
+          tasks.forEach(TaskRuntime::releaseFiles);
+        } finally {
+          lock.unlock();
+        }
+      } catch (Exception e) {
+        LOG.warn("{} Commit finished partitions failed ", tableRuntime.getTableIdentifier(), e);
+        lock.lock();
+        try {
+          if (status == Status.RUNNING) {
+            status = Status.FAILED;
+            failedReason = ExceptionUtil.getErrorMessage(e, 4000);
+            endTime = System.currentTimeMillis();
+            persistProcessCompleted(false);
+            clearProcess(this);
+          }
+        } finally {
+          lock.unlock();
+        }
+      } finally {
+        commitLock.unlock();
+      }
+    }
+
+    /**
+     * Collect the partitions whose tasks are all finished, the last finished partitions are left to
+     * the final commit of the process.
+     */
+    private Map<String, List<TaskRuntime>> collectFinishedPartitions(int batchSize) {
+      lock.lock();
+      try {
+        if (hasCommitted || status != Status.RUNNING) {
+          return Collections.emptyMap();
+        }
+        Map<String, List<TaskRuntime>> partitionTasks =
+            taskMap.values().stream()
+                .filter(task -> !committedPartitions.contains(task.getPartition()))
+                .collect(Collectors.groupingBy(TaskRuntime::getPartition));
+        Map<String, List<TaskRuntime>> finishedPartitions = Maps.newHashMap();
+        partitionTasks.forEach(
+            (partition, tasks) -> {
+              if (tasks.stream().allMatch(t -> t.getStatus() == TaskRuntime.Status.SUCCESS)) {
+                finishedPartitions.put(partition, tasks);
+              }
+            });
+        if (finishedPartitions.size() < batchSize
+            || finishedPartitions.size() == partitionTasks.size()) {
+          return Collections.emptyMap();
+        }
+        return finishedPartitions;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private long currentSnapshotId(ArcticTable table) {
+      UnkeyedTable baseTable =
+          table.isKeyedTable() ? table.asKeyedTable().baseTable() : table.asUnkeyedTable();
+      return Optional.ofNullable(baseTable.currentSnapshot())
+          .map(Snapshot::snapshotId)
+          .orElse(ArcticServiceConstants.INVALID_SNAPSHOT_ID);
+    }
+
+    private UnKeyedTableCommit buildCommit(
+        ArcticTable table, Collection<TaskRuntime> tasks, Predicate<String> partitionFilter) {
       if (table.isUnkeyedTable()) {
-        return new UnKeyedTableCommit(targetSnapshotId, table, taskMap.values());
+        return new UnKeyedTableCommit(targetSnapshotId, table, tasks);
       } else {
         return new KeyedTableCommit(
             table,
-            taskMap.values(),
+            tasks,
             targetSnapshotId,
-            convertPartitionSequence(table, fromSequence),
-            convertPartitionSequence(table, toSequence));
+            convertPartitionSequence(table, fromSequence, partitionFilter),
+            convertPartitionSequence(table, toSequence, partitionFilter));
       }
     }
 
     private StructLikeMap<Long> convertPartitionSequence(
-        ArcticTable table, Map<String, Long> partitionSequence) {
+        ArcticTable table, Map<String, Long> partitionSequence, Predicate<String> partitionFilter) {
       PartitionSpec spec = table.spec();
       StructLikeMap<Long> results = StructLikeMap.create(spec.partitionType());
       partitionSequence.forEach(
           (partition, sequence) -> {
+            if (!partitionFilter.test(partition)) {
+              return;
+            }
             if (spec.isUnpartitioned()) {
               results.put(TablePropertyUtil.EMPTY_STRUCT, sequence);
             } else {
@@ -619,6 +1129,16 @@ public class OptimizingQueue extends PersistentBase {
           () -> tableRuntime.beginProcess(this));
     }
 
+    private void persistCommittedPartitions() {
+      doAs(
+          OptimizingMapper.class,
+          mapper ->
+              mapper.updateCommittedPartitions(
+                  tableRuntime.getTableIdentifier().getId(),
+                  processId,
+                  Lists.newArrayList(committedPartitions)));
+    }
+
     private void persistProcessCompleted(boolean success) {
       if (!success) {
         doAsTransaction(
@@ -634,7 +1154,7 @@ public class OptimizingQueue extends PersistentBase {
                             endTime,
                             getSummary(),
                             getFailedReason())),
-            () -> tableRuntime.completeProcess(false));
+            () -> tableRuntime.completeProcess(this, false));
       } else {
         doAsTransaction(
             () ->
@@ -648,7 +1168,7 @@ public class OptimizingQueue extends PersistentBase {
                             endTime,
                             getSummary(),
                             getFailedReason())),
-            () -> tableRuntime.completeProcess(true));
+            () -> tableRuntime.completeProcess(this, true));
       }
     }
 
@@ -698,4 +1218,13 @@ public class OptimizingQueue extends PersistentBase {
       }
     }
   }
+
+  private static class PollWaiter {
+    private final long deadline;
+    private final CompletableFuture<TaskRuntime> future = new CompletableFuture<>();
+
+    private PollWaiter(long deadline) {
+      this.deadline = deadline;
+    }
+  }
 }
@@ -32,6 +32,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 public class SchedulingPolicy {
 
@@ -75,12 +76,14 @@ public class SchedulingPolicy {
     return policyName;
   }
 
-  public TableRuntime scheduleTable(Set<ServerTableIdentifier> skipSet) {
+  public TableRuntime scheduleTable(
+      Set<ServerTableIdentifier> skipSet, Predicate<TableRuntime> schedulable) {
     tableLock.lock();
     try {
       fillSkipSet(skipSet);
       return tableRuntimeMap.values().stream()
           .filter(tableRuntime -> !skipSet.contains(tableRuntime.getTableIdentifier()))
+          .filter(schedulable)
           .min(tableSorter)
           .orElse(null);
     } finally {
@@ -110,6 +113,10 @@ public class SchedulingPolicy {
   }
 
   private boolean isTablePending(TableRuntime tableRuntime) {
+    if (tableRuntime.isConcurrentPlanningAllowed()) {
+      // the partitions not optimized by the running processes are pending
+      return tableRuntime.getPendingInput() != null;
+    }
     return tableRuntime.getOptimizingStatus() == OptimizingStatus.PENDING
         && (tableRuntime.getLastOptimizedSnapshotId() != tableRuntime.getCurrentSnapshotId()
             || tableRuntime.getLastOptimizedChangeSnapshotId()
@@ -40,6 +40,7 @@ import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TaskRuntime extends StatedPersistentBase {
   private long tableId;
@@ -59,6 +60,10 @@ public class TaskRuntime extends StatedPersistentBase {
   @StateField private RewriteFilesOutput output;
   @StateField private MetricsSummary summary;
   private Map<String, String> properties;
+  // the duplicate attempt of the straggler task running on another optimizer, not persisted
+  private volatile Attempt speculativeAttempt;
+  // the attempts losing to the others, whose files are cleaned once their results are reported
+  private final Set<String> abandonedAttempts = ConcurrentHashMap.newKeySet();
 
   private TaskRuntime() {}
 
@@ -75,7 +80,30 @@ public class TaskRuntime extends StatedPersistentBase {
   public void complete(OptimizerThread thread, OptimizingTaskResult result) {
     invokeConsisitency(
         () -> {
-          validThread(thread);
+          if (abandonedAttempts.remove(attemptKey(thread.getToken(), thread.getThreadId()))) {
+            // the task has been completed by another attempt
+            discardOutput(result);
+            return;
+          }
+          if (speculativeAttempt != null && speculativeAttempt.isRunBy(thread)) {
+            if (result.getErrorMessage() != null) {
+              abandonSpeculation(false);
+              return;
+            }
+            // the first successful attempt wins, and the result of the original one is discarded
+            takeOverBySpeculation(true);
+          } else {
+            validThread(thread);
+            if (speculativeAttempt != null) {
+              if (result.getErrorMessage() != null) {
+                // the speculative attempt goes on in place of the failed one
+                takeOverBySpeculation(false);
+                persistTaskRuntime(this);
+                return;
+              }
+              abandonSpeculation(true);
+            }
+          }
           if (result.getErrorMessage() != null) {
             statusMachine.accept(Status.FAILED);
             failReason = result.getErrorMessage();
@@ -110,6 +138,9 @@ public class TaskRuntime extends StatedPersistentBase {
     invokeConsisitency(
         () -> {
           statusMachine.accept(Status.PLANNED);
+          if (speculativeAttempt != null) {
+            abandonSpeculation(true);
+          }
           startTime = ArcticServiceConstants.INVALID_TIME;
           endTime = ArcticServiceConstants.INVALID_TIME;
           token = null;
@@ -136,6 +167,10 @@ public class TaskRuntime extends StatedPersistentBase {
   public void ack(OptimizerThread thread) {
     invokeConsisitency(
         () -> {
+          if (speculativeAttempt != null && speculativeAttempt.isRunBy(thread)) {
+            // the status of the task is kept by the original attempt
+            return;
+          }
           validThread(thread);
           statusMachine.accept(Status.ACKED);
           persistTaskRuntime(this);
@@ -146,6 +181,9 @@ public class TaskRuntime extends StatedPersistentBase {
     invokeConsisitency(
         () -> {
           if (statusMachine.tryAccepting(Status.CANCELED)) {
+            if (speculativeAttempt != null) {
+              abandonSpeculation(true);
+            }
             endTime = System.currentTimeMillis();
             if (startTime != ArcticServiceConstants.INVALID_TIME) {
               costTime += endTime - startTime;
@@ -155,6 +193,91 @@ public class TaskRuntime extends StatedPersistentBase {
         });
   }
 
+  /**
+   * Run a duplicate attempt of the running task on the thread of another optimizer.
+   *
+   * @return false if the task is not running on another optimizer or it is being speculated
+   */
+  public boolean scheduleSpeculation(OptimizerThread thread) {
+    return invokeConsisitency(
+        () -> {
+          if (status != Status.ACKED
+              || speculativeAttempt != null
+              || owner.isClosed()
+              || thread.getToken().equals(token)) {
+            return false;
+          }
+          speculativeAttempt =
+              new Attempt(thread.getToken(), thread.getThreadId(), System.currentTimeMillis());
+          return true;
+        });
+  }
+
+  /**
+   * Let the speculative attempt go on in place of the suspended original attempt.
+   *
+   * @return false if the task is not being speculated
+   */
+  boolean promoteSpeculation() {
+    return invokeConsisitency(
+        () -> {
+          if (speculativeAttempt == null || status != Status.ACKED) {
+            return false;
+          }
+          takeOverBySpeculation(true);
+          persistTaskRuntime(this);
+          return true;
+        });
+  }
+
+  /** Forget the attempts run by the expired optimizer, whose results will never be reported. */
+  void releaseAttempts(String optimizerToken) {
+    invokeInStateLock(
+        () -> {
+          abandonedAttempts.removeIf(key -> key.startsWith(optimizerToken + ":"));
+          if (speculativeAttempt != null && speculativeAttempt.token.equals(optimizerToken)) {
+            abandonSpeculation(false);
+          }
+        });
+  }
+
+  private void takeOverBySpeculation(boolean originalRunning) {
+    long currentTime = System.currentTimeMillis();
+    if (originalRunning) {
+      abandonedAttempts.add(attemptKey(token, threadId));
+    }
+    owner.abandonAttempt(this, currentTime - startTime);
+    token = speculativeAttempt.token;
+    threadId = speculativeAttempt.threadId;
+    speculativeAttempt = null;
+  }
+
+  private void abandonSpeculation(boolean speculationRunning) {
+    if (speculationRunning) {
+      abandonedAttempts.add(attemptKey(speculativeAttempt.token, speculativeAttempt.threadId));
+    }
+    owner.abandonAttempt(this, System.currentTimeMillis() - speculativeAttempt.startTime);
+    speculativeAttempt = null;
+  }
+
+  private void discardOutput(OptimizingTaskResult result) {
+    if (result.getErrorMessage() == null && result.getTaskOutput() != null) {
+      owner.discardOutput(this, TaskFilesPersistence.loadTaskOutput(result.getTaskOutput()));
+    }
+  }
+
+  private static String attemptKey(String token, int threadId) {
+    return token + ":" + threadId;
+  }
+
+  public boolean isSpeculating() {
+    return speculativeAttempt != null;
+  }
+
+  boolean hasAbandonedAttempts() {
+    return !abandonedAttempts.isEmpty();
+  }
+
   public TaskRuntime claimOwnership(TaskOwner owner) {
     this.owner = owner;
     return this;
@@ -173,6 +296,12 @@ public class TaskRuntime extends StatedPersistentBase {
     this.input = input;
   }
 
+  /** Release the input and output files after they are committed, the summary is kept. */
+  void releaseFiles() {
+    this.input = null;
+    this.output = null;
+  }
+
   public RewriteFilesInput getInput() {
     return input;
   }
@@ -428,9 +557,31 @@ public class TaskRuntime extends StatedPersistentBase {
     }
   }
 
+  private static class Attempt {
+    private final String token;
+    private final int threadId;
+    private final long startTime;
+
+    private Attempt(String token, int threadId, long startTime) {
+      this.token = token;
+      this.threadId = threadId;
+      this.startTime = startTime;
+    }
+
+    private boolean isRunBy(OptimizerThread thread) {
+      return token.equals(thread.getToken()) && threadId == thread.getThreadId();
+    }
+  }
+
   public interface TaskOwner {
     void acceptResult(TaskRuntime taskRuntime);
 
+    /** Account the time wasted by the attempt of the task losing to another one. */
+    void abandonAttempt(TaskRuntime taskRuntime, long wastedTime);
+
+    /** Clean the files written by the attempt of the task losing to another one. */
+    void discardOutput(TaskRuntime taskRuntime, RewriteFilesOutput output);
+
     boolean isClosed();
   }
 }
@@ -42,6 +42,8 @@ import com.netease.arctic.utils.ContentFiles;
 import com.netease.arctic.utils.TableFileUtil;
 import com.netease.arctic.utils.TablePropertyUtil;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.hadoop.hive.metastore.Warehouse;
+import org.apache.hadoop.hive.metastore.api.MetaException;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.iceberg.ContentFile;
@@ -52,9 +54,13 @@ import org.apache.iceberg.RowDelta;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.Transaction;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.PropertyUtil;
 import org.apache.iceberg.util.SnapshotUtil;
 import org.apache.iceberg.util.StructLikeMap;
+import org.apache.iceberg.util.Tasks;
+import org.apache.iceberg.util.ThreadPools;
 import org.glassfish.jersey.internal.guava.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +71,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -89,91 +96,151 @@ public class UnKeyedTableCommit {
       return null;
     }
 
-    HMSClientPool hiveClient = ((SupportHive) table).getHMSClient();
-    Map<String, String> partitionPathMap = new HashMap<>();
-    Types.StructType partitionSchema =
-        table.isUnkeyedTable()
-            ? table.asUnkeyedTable().spec().partitionType()
-            : table.asKeyedTable().baseTable().spec().partitionType();
-
-    List<DataFile> newTargetFiles = new ArrayList<>();
+    // collect the target files and the max transaction id of each partition
+    Map<String, List<DataFile>> partitionFiles = new LinkedHashMap<>();
+    Map<String, Long> partitionMaxTransactionIds = new HashMap<>();
     for (TaskRuntime taskRuntime : tasks) {
       RewriteFilesOutput output = taskRuntime.getOutput();
       DataFile[] dataFiles = output.getDataFiles();
-      if (dataFiles == null) {
+      if (dataFiles == null || dataFiles.length == 0) {
         continue;
       }
 
-      List<DataFile> targetFiles =
-          Arrays.stream(output.getDataFiles()).collect(Collectors.toList());
-
       long maxTransactionId =
-          targetFiles.stream()
+          Arrays.stream(dataFiles)
               .mapToLong(dataFile -> FileNameRules.parseTransactionId(dataFile.path().toString()))
               .max()
               .orElse(0L);
-
-      for (DataFile targetFile : targetFiles) {
-        String partitionPath =
-            partitionPathMap.computeIfAbsent(
-                taskRuntime.getPartition(),
-                key -> getPartitionPath(hiveClient, maxTransactionId, targetFile, partitionSchema));
-
-        DataFile finalDataFile = moveTargetFiles(targetFile, partitionPath);
-        newTargetFiles.add(finalDataFile);
-      }
+      partitionFiles
+          .computeIfAbsent(taskRuntime.getPartition(), key -> new ArrayList<>())
+          .addAll(Arrays.asList(dataFiles));
+      partitionMaxTransactionIds.merge(taskRuntime.getPartition(), maxTransactionId, Math::max);
     }
+
+    Map<String, String> partitionPathMap =
+        getPartitionPaths(partitionFiles, partitionMaxTransactionIds);
+    List<DataFile> newTargetFiles = new ArrayList<>();
+    List<String> hiveLocations = new ArrayList<>();
+    partitionFiles.forEach(
+        (partition, files) -> {
+          newTargetFiles.addAll(files);
+          files.forEach(file -> hiveLocations.add(partitionPathMap.get(partition)));
+        });
+    moveTargetFiles(newTargetFiles, hiveLocations);
     return newTargetFiles;
   }
 
-  private String getPartitionPath(
-      HMSClientPool hiveClient,
-      long maxTransactionId,
-      DataFile targetFile,
-      Types.StructType partitionSchema) {
+  /**
+   * Get the locations to move the files of the partitions to. The existing hive partitions are
+   * fetched with batched calls to the metastore, instead of one call per partition.
+   */
+  private Map<String, String> getPartitionPaths(
+      Map<String, List<DataFile>> partitionFiles, Map<String, Long> partitionMaxTransactionIds) {
+    Map<String, String> partitionPathMap = new HashMap<>();
+    if (partitionFiles.isEmpty()) {
+      return partitionPathMap;
+    }
+
     // get iceberg partition path
-    String icebergPartitionLocation = getIcebergPartitionLocation(targetFile.partition());
-    if (icebergPartitionLocation != null) {
-      return icebergPartitionLocation;
+    UnkeyedTable baseTable =
+        table.isKeyedTable() ? table.asKeyedTable().baseTable() : table.asUnkeyedTable();
+    StructLikeMap<Map<String, String>> partitionProperty = baseTable.partitionProperty();
+    partitionFiles.forEach(
+        (partition, files) -> {
+          String icebergPartitionLocation =
+              getIcebergPartitionLocation(partitionProperty, files.get(0).partition());
+          if (icebergPartitionLocation != null) {
+            partitionPathMap.put(partition, icebergPartitionLocation);
+          }
+        });
+    if (partitionPathMap.size() == partitionFiles.size()) {
+      return partitionPathMap;
     }
+
     // get hive partition path
+    HMSClientPool hiveClient = ((SupportHive) table).getHMSClient();
+    Table hiveTable;
+    try {
+      hiveTable =
+          hiveClient.run(
+              client -> client.getTable(table.id().getDatabase(), table.id().getTableName()));
+    } catch (Exception e) {
+      LOG.error("Get hive table failed", e);
+      throw new RuntimeException("Get hive table failed", e);
+    }
     if (table.spec().isUnpartitioned()) {
+      partitionFiles
+          .keySet()
+          .forEach(
+              partition ->
+                  partitionPathMap.putIfAbsent(partition, hiveTable.getSd().getLocation()));
+      return partitionPathMap;
+    }
+
+    Types.StructType partitionSchema = table.spec().partitionType();
+    Map<String, List<String>> partitionValues = new HashMap<>();
+    Map<String, String> partitionNames = new HashMap<>();
+    for (Map.Entry<String, List<DataFile>> entry : partitionFiles.entrySet()) {
+      if (partitionPathMap.containsKey(entry.getKey())) {
+        continue;
+      }
+      List<String> values =
+          HivePartitionUtil.partitionValuesAsList(
+              entry.getValue().get(0).partition(), partitionSchema);
+      partitionValues.put(entry.getKey(), values);
       try {
-        Table hiveTable =
-            ((SupportHive) table)
-                .getHMSClient()
-                .run(
-                    client -> client.getTable(table.id().getDatabase(), table.id().getTableName()));
-        return hiveTable.getSd().getLocation();
-      } catch (Exception e) {
-        LOG.error("Get hive table failed", e);
-        throw new RuntimeException("Get hive table failed", e);
+        partitionNames.put(
+            entry.getKey(), Warehouse.makePartName(hiveTable.getPartitionKeys(), values));
+      } catch (MetaException e) {
+        throw new RuntimeException("Failed to make hive partition name of " + values, e);
       }
-    } else {
-      List<String> partitionValues =
-          HivePartitionUtil.partitionValuesAsList(targetFile.partition(), partitionSchema);
-      String hiveSubdirectory =
-          table.isKeyedTable()
-              ? HiveTableUtil.newHiveSubdirectory(maxTransactionId)
-              : HiveTableUtil.newHiveSubdirectory();
-
-      Partition p = HivePartitionUtil.getPartition(hiveClient, table, partitionValues);
-      if (p == null) {
-        return HiveTableUtil.newHiveDataLocation(
-            ((SupportHive) table).hiveLocation(),
-            table.spec(),
-            targetFile.partition(),
-            hiveSubdirectory);
-      } else {
-        return p.getSd().getLocation();
+    }
+
+    Map<List<String>, Partition> hivePartitions = new HashMap<>();
+    int pageSize =
+        PropertyUtil.propertyAsInt(
+            table.properties(),
+            HiveTableProperties.SYNC_HIVE_PARTITION_PAGE_SIZE,
+            HiveTableProperties.SYNC_HIVE_PARTITION_PAGE_SIZE_DEFAULT);
+    for (List<String> page :
+        Lists.partition(Lists.newArrayList(new HashSet<>(partitionNames.values())), pageSize)) {
+      try {
+        hiveClient
+            .run(
+                client ->
+                    client.getPartitionsByNames(
+                        table.id().getDatabase(), table.id().getTableName(), page))
+            .forEach(partition -> hivePartitions.put(partition.getValues(), partition));
+      } catch (Exception e) {
+        LOG.error("Get hive partitions failed", e);
+        throw new RuntimeException("Get hive partitions failed", e);
       }
     }
+
+    partitionValues.forEach(
+        (partition, values) -> {
+          Partition hivePartition = hivePartitions.get(values);
+          if (hivePartition != null) {
+            partitionPathMap.put(partition, hivePartition.getSd().getLocation());
+          } else {
+            String hiveSubdirectory =
+                table.isKeyedTable()
+                    ? HiveTableUtil.newHiveSubdirectory(partitionMaxTransactionIds.get(partition))
+                    : HiveTableUtil.newHiveSubdirectory();
+            partitionPathMap.put(
+                partition,
+                HiveTableUtil.newHiveDataLocation(
+                    ((SupportHive) table).hiveLocation(),
+                    table.spec(),
+                    partitionFiles.get(partition).get(0).partition(),
+                    hiveSubdirectory));
+          }
+        });
+    return partitionPathMap;
   }
 
-  private String getIcebergPartitionLocation(StructLike partitionData) {
-    UnkeyedTable baseTable =
-        table.isKeyedTable() ? table.asKeyedTable().baseTable() : table.asUnkeyedTable();
-    StructLikeMap<Map<String, String>> partitionProperty = baseTable.partitionProperty();
+  private String getIcebergPartitionLocation(
+      StructLikeMap<Map<String, String>> partitionProperty, StructLike partitionData) {
     Map<String, String> property =
         partitionProperty.get(
             table.spec().isUnpartitioned() ? TablePropertyUtil.EMPTY_STRUCT : partitionData);
@@ -192,27 +259,28 @@ public class UnKeyedTableCommit {
     Set<DataFile> removedDataFiles = Sets.newHashSet();
     Set<DeleteFile> addedDeleteFiles = Sets.newHashSet();
     Set<DeleteFile> removedDeleteFiles = Sets.newHashSet();
-    for (TaskRuntime task : tasks) {
-      if (CollectionUtils.isNotEmpty(hiveNewDataFiles)) {
-        addedDataFiles.addAll(hiveNewDataFiles);
-      } else if (task.getOutput().getDataFiles() != null) {
-        addedDataFiles.addAll(Arrays.asList(task.getOutput().getDataFiles()));
-      }
-      if (task.getOutput().getDeleteFiles() != null) {
-        addedDeleteFiles.addAll(Arrays.asList(task.getOutput().getDeleteFiles()));
-      }
-      if (task.getInput().rewrittenDataFiles() != null) {
-        removedDataFiles.addAll(Arrays.asList(task.getInput().rewrittenDataFiles()));
-      }
-      if (task.getInput().rewrittenDeleteFiles() != null) {
-        removedDeleteFiles.addAll(
-            Arrays.stream(task.getInput().rewrittenDeleteFiles())
-                .map(ContentFiles::asDeleteFile)
-                .collect(Collectors.toSet()));
+    // the files have been moved to hive locations, any failure from now on cleans them up
+    try {
+      for (TaskRuntime task : tasks) {
+        if (CollectionUtils.isNotEmpty(hiveNewDataFiles)) {
+          addedDataFiles.addAll(hiveNewDataFiles);
+        } else if (task.getOutput().getDataFiles() != null) {
+          addedDataFiles.addAll(Arrays.asList(task.getOutput().getDataFiles()));
+        }
+        if (task.getOutput().getDeleteFiles() != null) {
+          addedDeleteFiles.addAll(Arrays.asList(task.getOutput().getDeleteFiles()));
+        }
+        if (task.getInput().rewrittenDataFiles() != null) {
+          removedDataFiles.addAll(Arrays.asList(task.getInput().rewrittenDataFiles()));
+        }
+        if (task.getInput().rewrittenDeleteFiles() != null) {
+          removedDeleteFiles.addAll(
+              Arrays.stream(task.getInput().rewrittenDeleteFiles())
+                  .map(ContentFiles::asDeleteFile)
+                  .collect(Collectors.toSet()));
+        }
       }
-    }
 
-    try {
       Transaction transaction = table.asUnkeyedTable().newTransaction();
       if (removedDeleteFiles.isEmpty() && !addedDeleteFiles.isEmpty()) {
         /* In order to avoid the validation in
@@ -229,7 +297,7 @@ public class UnKeyedTableCommit {
       transaction.commitTransaction();
     } catch (Exception e) {
       if (needMoveFile2Hive()) {
-        correctHiveData(addedDataFiles, addedDeleteFiles);
+        correctHiveData(hiveNewDataFiles, addedDataFiles, addedDeleteFiles);
       }
       LOG.warn("Optimize commit table {} failed, give up commit.", table.id(), e);
       throw new OptimizingCommitException("unexpected commit error ", e);
@@ -290,8 +358,18 @@ public class UnKeyedTableCommit {
         .getMoveFile2HiveLocation();
   }
 
-  protected void correctHiveData(Set<DataFile> addedDataFiles, Set<DeleteFile> addedDeleteFiles)
+  /**
+   * Delete the uncommitted files after the commit fails, including all the files moved to hive
+   * locations, even if the commit fails before they are collected.
+   */
+  protected void correctHiveData(
+      List<DataFile> hiveNewDataFiles,
+      Set<DataFile> addedDataFiles,
+      Set<DeleteFile> addedDeleteFiles)
       throws OptimizingCommitException {
+    if (hiveNewDataFiles != null) {
+      addedDataFiles.addAll(hiveNewDataFiles);
+    }
     try {
       UnkeyedTable baseArcticTable;
       if (table.isKeyedTable()) {
@@ -328,11 +406,12 @@ public class UnKeyedTableCommit {
     }
   }
 
-  private DataFile moveTargetFiles(DataFile targetFile, String hiveLocation) {
-    String oldFilePath = targetFile.path().toString();
-    String newFilePath = TableFileUtil.getNewFilePath(hiveLocation, oldFilePath);
-
-    if (!table.io().exists(newFilePath)) {
+  /**
+   * Move the target files to the hive locations concurrently. If any file fails to move, the files
+   * already moved are moved back, so the files are left as they were before.
+   */
+  private void moveTargetFiles(List<DataFile> targetFiles, List<String> hiveLocations) {
+    for (String hiveLocation : new HashSet<>(hiveLocations)) {
       if (!table.io().exists(hiveLocation)) {
         LOG.debug(
             "{} hive location {} does not exist and need to mkdir before rename",
@@ -340,13 +419,59 @@ public class UnKeyedTableCommit {
             hiveLocation);
         table.io().asFileSystemIO().makeDirectories(hiveLocation);
       }
-      table.io().asFileSystemIO().rename(oldFilePath, newFilePath);
-      LOG.debug("{} move file from {} to {}", table.id(), oldFilePath, newFilePath);
     }
 
-    // org.apache.iceberg.BaseFile.set
-    ((StructLike) targetFile).set(1, newFilePath);
-    return targetFile;
+    String[] originalPaths = new String[targetFiles.size()];
+    boolean[] renamed = new boolean[targetFiles.size()];
+    try {
+      Tasks.range(targetFiles.size())
+          .executeWith(ThreadPools.getWorkerPool())
+          .stopOnFailure()
+          .throwFailureWhenFinished()
+          .run(
+              i -> {
+                DataFile targetFile = targetFiles.get(i);
+                String oldFilePath = targetFile.path().toString();
+                String newFilePath =
+                    TableFileUtil.getNewFilePath(hiveLocations.get(i), oldFilePath);
+                if (!table.io().exists(newFilePath)) {
+                  table.io().asFileSystemIO().rename(oldFilePath, newFilePath);
+                  renamed[i] = true;
+                  LOG.debug("{} move file from {} to {}", table.id(), oldFilePath, newFilePath);
+                }
+                originalPaths[i] = oldFilePath;
+                // org.apache.iceberg.BaseFile.set
+                ((StructLike) targetFile).set(1, newFilePath);
+              });
+    } catch (RuntimeException e) {
+      LOG.warn("{} failed to move files to hive location, move them back", table.id(), e);
+      Tasks.range(targetFiles.size())
+          .executeWith(ThreadPools.getWorkerPool())
+          .suppressFailureWhenFinished()
+          .onFailure(
+              (i, exc) ->
+                  LOG.warn(
+                      "{} failed to move file {} back to {}",
+                      table.id(),
+                      targetFiles.get(i).path(),
+                      originalPaths[i],
+                      exc))
+          .run(
+              i -> {
+                if (originalPaths[i] == null) {
+                  return;
+                }
+                DataFile targetFile = targetFiles.get(i);
+                if (renamed[i]) {
+                  table
+                      .io()
+                      .asFileSystemIO()
+                      .rename(targetFile.path().toString(), originalPaths[i]);
+                }
+                ((StructLike) targetFile).set(1, originalPaths[i]);
+              });
+      throw e;
+    }
   }
 
   private static Set<String> getCommittedDataFilesFromSnapshotId(
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.SnapshotUpdate;
+import org.apache.iceberg.exceptions.CommitFailedException;
+import org.apache.iceberg.exceptions.ValidationException;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Remove files from a table by committing them in bounded batches.
+ *
+ * <p>Every batch is committed separately, so the committed batches are kept as the progress if the
+ * removal stops halfway, and the next run only finds the files left. A batch failing the
+ * validation, usually because some of its files are changed by a concurrent writer, is split and
+ * retried so the other files are still removed. A batch failing to commit after the retries of
+ * Iceberg stops the removal, as the table is too busy to commit more.
+ */
+class BatchedFileRemoval<F extends ContentFile<?>> {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchedFileRemoval.class);
+
+  static final int MAX_FILES_PER_COMMIT = 3000;
+  /** The max number of failed validations of a removal before giving up the files left. */
+  static final int MAX_CONFLICTS = 16;
+
+  private final String tableName;
+  private final Function<List<F>, SnapshotUpdate<?>> removeFiles;
+  private final int maxFilesPerCommit;
+
+  private int total = 0;
+  private int committed = 0;
+  private int conflicts = 0;
+  private boolean aborted = false;
+
+  /** @param removeFiles build the uncommitted snapshot update removing a batch of files */
+  BatchedFileRemoval(String tableName, Function<List<F>, SnapshotUpdate<?>> removeFiles) {
+    this(tableName, removeFiles, MAX_FILES_PER_COMMIT);
+  }
+
+  BatchedFileRemoval(
+      String tableName, Function<List<F>, SnapshotUpdate<?>> removeFiles, int maxFilesPerCommit) {
+    Preconditions.checkArgument(maxFilesPerCommit > 0, "Max files per commit should be positive");
+    this.tableName = tableName;
+    this.removeFiles = removeFiles;
+    this.maxFilesPerCommit = maxFilesPerCommit;
+  }
+
+  /**
+   * Remove the files batch by batch.
+   *
+   * @return the number of the files removed
+   */
+  int remove(Collection<F> files) {
+    total += files.size();
+    for (List<F> batch : Lists.partition(Lists.newArrayList(files), maxFilesPerCommit)) {
+      if (aborted) {
+        break;
+      }
+      int committedBefore = committed;
+      commit(batch);
+      LOG.info(
+          "{} removed {} files, {}/{} files in total",
+          tableName,
+          committed - committedBefore,
+          committed,
+          total);
+    }
+    return committed;
+  }
+
+  private void commit(List<F> batch) {
+    if (aborted) {
+      return;
+    }
+    try {
+      removeFiles.apply(batch).commit();
+      committed += batch.size();
+    } catch (ValidationException e) {
+      conflicts++;
+      if (conflicts > MAX_CONFLICTS) {
+        LOG.warn(
+            "{} stops removing files after {} conflicts, the files left will be removed in the next run",
+            tableName,
+            conflicts,
+            e);
+        aborted = true;
+      } else if (batch.size() == 1) {
+        LOG.warn("{} skips removing file {} on a conflict", tableName, batch.get(0).path(), e);
+      } else {
+        LOG.warn(
+            "{} failed to remove {} files on a conflict, retry in smaller batches: {}",
+            tableName,
+            batch.size(),
+            e.getMessage());
+        int half = batch.size() / 2;
+        commit(batch.subList(0, half));
+        commit(batch.subList(half, batch.size()));
+      }
+    } catch (CommitFailedException e) {
+      LOG.warn(
+          "{} stops removing files as it failed to commit, the files left will be removed in the next run",
+          tableName,
+          e);
+      aborted = true;
+    }
+  }
+
+  /** Whether all the files are removed, without any file skipped or left. */
+  boolean allRemoved() {
+    return committed == total;
+  }
+}
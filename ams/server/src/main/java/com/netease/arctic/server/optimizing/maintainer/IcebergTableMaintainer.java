@@ -47,7 +47,6 @@ import org.apache.iceberg.SnapshotSummary;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.Table;
 import org.apache.iceberg.TableScan;
-import org.apache.iceberg.exceptions.ValidationException;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.expressions.Literal;
@@ -67,6 +66,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -216,7 +216,8 @@ public class IcebergTableMaintainer implements TableMaintainer {
       DataExpirationConfig expirationConfig =
           tableRuntime.getTableConfiguration().getExpiringDataConfig();
       Types.NestedField field = table.schema().findField(expirationConfig.getExpirationField());
-      if (!expirationConfig.isValid(field, table.name())) {
+      if (!expirationConfig.isValid(field, table.name())
+          || RowLevelExpiration.expiredByOptimizing(tableRuntime)) {
         return;
       }
 
@@ -385,19 +386,18 @@ public class IcebergTableMaintainer implements TableMaintainer {
     if (danglingDeleteFiles.isEmpty()) {
       return 0;
     }
-    RewriteFiles rewriteFiles = table.newRewrite();
-    rewriteFiles.rewriteFiles(
-        Collections.emptySet(),
-        danglingDeleteFiles,
-        Collections.emptySet(),
-        Collections.emptySet());
-    try {
-      rewriteFiles.commit();
-    } catch (ValidationException e) {
-      LOG.warn("Iceberg RewriteFiles commit failed on clear danglingDeleteFiles, but ignore", e);
-      return 0;
-    }
-    return danglingDeleteFiles.size();
+    return new BatchedFileRemoval<DeleteFile>(
+            table.name(),
+            batch -> {
+              RewriteFiles rewriteFiles = table.newRewrite();
+              rewriteFiles.rewriteFiles(
+                  Collections.emptySet(),
+                  Sets.newHashSet(batch),
+                  Collections.emptySet(),
+                  Collections.emptySet());
+              return rewriteFiles;
+            })
+        .remove(danglingDeleteFiles);
   }
 
   /**
@@ -704,20 +704,34 @@ public class IcebergTableMaintainer implements TableMaintainer {
       return;
     }
     // expire data files
-    DeleteFiles delete = table.newDelete();
-    dataFiles.forEach(delete::deleteFile);
-    delete.set(
-        com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER,
-        CommitMetaProducer.DATA_EXPIRATION.name());
-    delete.commit();
-    // expire delete files
-    if (!deleteFiles.isEmpty()) {
-      RewriteFiles rewriteFiles = table.newRewrite().validateFromSnapshot(snapshotId);
-      deleteFiles.forEach(rewriteFiles::deleteFile);
-      rewriteFiles.set(
-          com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER,
-          CommitMetaProducer.DATA_EXPIRATION.name());
-      rewriteFiles.commit();
+    BatchedFileRemoval<DataFile> dataRemoval =
+        new BatchedFileRemoval<>(
+            table.name(),
+            batch -> {
+              DeleteFiles delete = table.newDelete();
+              batch.forEach(delete::deleteFile);
+              delete.set(
+                  com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER,
+                  CommitMetaProducer.DATA_EXPIRATION.name());
+              return delete;
+            });
+    int expiredDataFileCnt = dataRemoval.remove(dataFiles);
+    // expire delete files, only if all the data files are expired, otherwise the rows deleted in
+    // the data files left would come back
+    int expiredDeleteFileCnt = 0;
+    if (!deleteFiles.isEmpty() && dataRemoval.allRemoved()) {
+      BatchedFileRemoval<DeleteFile> deleteRemoval =
+          new BatchedFileRemoval<>(
+              table.name(),
+              batch -> {
+                RewriteFiles rewriteFiles = table.newRewrite().validateFromSnapshot(snapshotId);
+                batch.forEach(rewriteFiles::deleteFile);
+                rewriteFiles.set(
+                    com.netease.arctic.op.SnapshotSummary.SNAPSHOT_PRODUCER,
+                    CommitMetaProducer.DATA_EXPIRATION.name());
+                return rewriteFiles;
+              });
+      expiredDeleteFileCnt = deleteRemoval.remove(deleteFiles);
     }
 
     // TODO: persistent table expiration record. Contains some meta information such as table_id,
@@ -727,13 +741,20 @@ public class IcebergTableMaintainer implements TableMaintainer {
     //  sequenceNumber) and expireTimestamp...
 
     LOG.info(
-        "Expired {} files older than {}, {} data files[{}] and {} delete files[{}]",
+        "Expired {} files older than {}, {}/{} data files and {}/{} delete files",
         table.name(),
         expireTimestamp,
+        expiredDataFileCnt,
         dataFiles.size(),
-        dataFiles.stream().map(ContentFile::path).collect(Collectors.joining(",")),
-        deleteFiles.size(),
-        deleteFiles.stream().map(ContentFile::path).collect(Collectors.joining(",")));
+        expiredDeleteFileCnt,
+        deleteFiles.size());
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+          "Expired {} data files[{}] and delete files[{}]",
+          table.name(),
+          dataFiles.stream().map(ContentFile::path).collect(Collectors.joining(",")),
+          deleteFiles.stream().map(ContentFile::path).collect(Collectors.joining(",")));
+    }
   }
 
   public static class ExpireFiles {
@@ -840,6 +861,7 @@ public class IcebergTableMaintainer implements TableMaintainer {
             && partitionFreshness.get(contentFile.partition()).expiredDataFileCount
                 == partitionFreshness.get(contentFile.partition()).totalDataFileCount;
       case FILE:
+      case ROW:
         if (!contentFile.content().equals(FileContent.DATA)) {
           long seqUpperBound =
               partitionFreshness.getOrDefault(
@@ -863,36 +885,48 @@ public class IcebergTableMaintainer implements TableMaintainer {
       Types.NestedField field,
       DateTimeFormatter formatter,
       String numberDateFormatter) {
+    Long upperBound =
+        boundToEpochMillis(contentFile.upperBounds(), field, formatter, numberDateFormatter);
+    return Literal.of(upperBound == null ? Long.MAX_VALUE : upperBound);
+  }
+
+  /**
+   * Convert the lower or upper bound of the expiration field to the UTC timestamp in milliseconds.
+   *
+   * @return null if the bound is missing or the field can not be converted
+   */
+  static Long boundToEpochMillis(
+      Map<Integer, ByteBuffer> bounds,
+      Types.NestedField field,
+      DateTimeFormatter formatter,
+      String numberDateFormatter) {
     Type type = field.type();
-    Object upperBound =
-        Conversions.fromByteBuffer(type, contentFile.upperBounds().get(field.fieldId()));
-    Literal<Long> literal = Literal.of(Long.MAX_VALUE);
-    if (null == upperBound) {
-      return literal;
-    } else if (upperBound instanceof Long) {
+    Object bound =
+        bounds == null ? null : Conversions.fromByteBuffer(type, bounds.get(field.fieldId()));
+    if (null == bound) {
+      return null;
+    } else if (bound instanceof Long) {
       switch (type.typeId()) {
         case TIMESTAMP:
           // nanosecond -> millisecond
-          literal = Literal.of((Long) upperBound / 1000);
-          break;
+          return (Long) bound / 1000;
         default:
           if (numberDateFormatter.equals(EXPIRE_TIMESTAMP_MS)) {
-            literal = Literal.of((Long) upperBound);
+            return (Long) bound;
           } else if (numberDateFormatter.equals(EXPIRE_TIMESTAMP_S)) {
             // second -> millisecond
-            literal = Literal.of((Long) upperBound * 1000);
+            return (Long) bound * 1000;
           }
+          return null;
       }
     } else if (type.typeId().equals(Type.TypeID.STRING)) {
-      literal =
-          Literal.of(
-              LocalDate.parse(upperBound.toString(), formatter)
-                  .atStartOfDay()
-                  .atZone(getDefaultZoneId(field))
-                  .toInstant()
-                  .toEpochMilli());
-    }
-    return literal;
+      return LocalDate.parse(bound.toString(), formatter)
+          .atStartOfDay()
+          .atZone(getDefaultZoneId(field))
+          .toInstant()
+          .toEpochMilli();
+    }
+    return null;
   }
 
   public Table getTable() {
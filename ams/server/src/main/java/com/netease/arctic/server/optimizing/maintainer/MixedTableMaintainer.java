@@ -149,7 +149,8 @@ public class MixedTableMaintainer implements TableMaintainer {
           tableRuntime.getTableConfiguration().getExpiringDataConfig();
       Types.NestedField field =
           arcticTable.schema().findField(expirationConfig.getExpirationField());
-      if (!expirationConfig.isValid(field, arcticTable.name())) {
+      if (!expirationConfig.isValid(field, arcticTable.name())
+          || RowLevelExpiration.expiredByOptimizing(tableRuntime)) {
         return;
       }
 
@@ -304,8 +305,6 @@ public class MixedTableMaintainer implements TableMaintainer {
 
   public class ChangeTableMaintainer extends IcebergTableMaintainer {
 
-    private static final int DATA_FILE_LIST_SPLIT = 3000;
-
     private final UnkeyedTable unkeyedTable;
 
     public ChangeTableMaintainer(UnkeyedTable unkeyedTable) {
@@ -445,24 +444,14 @@ public class MixedTableMaintainer implements TableMaintainer {
         return;
       }
       try {
-        for (int startIndex = 0;
-            startIndex < changeFiles.size();
-            startIndex += DATA_FILE_LIST_SPLIT) {
-          int end = Math.min(startIndex + DATA_FILE_LIST_SPLIT, changeFiles.size());
-          List<DataFile> tableFiles = changeFiles.subList(startIndex, end);
-          LOG.info("{} delete {} change files", unkeyedTable.name(), tableFiles.size());
-          if (!tableFiles.isEmpty()) {
-            DeleteFiles changeDelete = unkeyedTable.newDelete();
-            tableFiles.forEach(changeDelete::deleteFile);
-            changeDelete.commit();
-          }
-          LOG.info(
-              "{} change committed, delete {} files, complete {}/{}",
-              unkeyedTable.name(),
-              tableFiles.size(),
-              end,
-              changeFiles.size());
-        }
+        new BatchedFileRemoval<DataFile>(
+                unkeyedTable.name(),
+                batch -> {
+                  DeleteFiles changeDelete = unkeyedTable.newDelete();
+                  batch.forEach(changeDelete::deleteFile);
+                  return changeDelete;
+                })
+            .remove(changeFiles);
       } catch (Throwable t) {
         LOG.error(unkeyedTable.name() + " failed to delete change files, ignore", t);
       }
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.netease.arctic.server.table.DataExpirationConfig;
+import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.ExpressionParser;
+import org.apache.iceberg.types.Types;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Data expiration at the `ROW` level. The data files containing expired rows are rewritten by
+ * self-optimizing, which filters out the expired rows while rewriting, so the files containing both
+ * expired and live rows are not retained until all of their rows expire.
+ */
+public class RowLevelExpiration {
+  private static final Logger LOG = LoggerFactory.getLogger(RowLevelExpiration.class);
+
+  private final Types.NestedField field;
+  private final DataExpirationConfig expirationConfig;
+  private final DateTimeFormatter formatter;
+  private final long expireTimestamp;
+  private final Expression expiredRowsFilter;
+
+  private RowLevelExpiration(
+      Types.NestedField field,
+      DataExpirationConfig expirationConfig,
+      long expireTimestamp,
+      Expression expiredRowsFilter) {
+    this.field = field;
+    this.expirationConfig = expirationConfig;
+    this.formatter =
+        DateTimeFormatter.ofPattern(expirationConfig.getDateTimePattern(), Locale.getDefault());
+    this.expireTimestamp = expireTimestamp;
+    this.expiredRowsFilter = expiredRowsFilter;
+  }
+
+  /**
+   * Create the row level expiration of the table.
+   *
+   * @return null if the table does not expire data at the `ROW` level or there is no data to expire
+   */
+  @Nullable
+  public static RowLevelExpiration of(ArcticTable table, DataExpirationConfig expirationConfig) {
+    if (expirationConfig.getExpirationLevel() != DataExpirationConfig.ExpireLevel.ROW) {
+      return null;
+    }
+    Types.NestedField field = table.schema().findField(expirationConfig.getExpirationField());
+    if (!expirationConfig.isValid(field, table.name())) {
+      return null;
+    }
+    Instant instant = expireBaseOnRule(table, expirationConfig, field);
+    if (instant.equals(Instant.MIN)) {
+      return null;
+    }
+
+    long expireTimestamp = instant.minusMillis(expirationConfig.getRetentionTime()).toEpochMilli();
+    Expression filter =
+        IcebergTableMaintainer.getDataExpression(table.schema(), expirationConfig, expireTimestamp);
+    if (filter.op() == Expression.Operation.TRUE) {
+      // the field can not be compared with the expire timestamp
+      return null;
+    }
+    return new RowLevelExpiration(field, expirationConfig, expireTimestamp, filter);
+  }
+
+  /**
+   * Whether the expired data of the table is removed by self-optimizing instead of deleting the
+   * expired files by the table maintainer.
+   */
+  public static boolean expiredByOptimizing(TableRuntime tableRuntime) {
+    return tableRuntime.getTableConfiguration().getExpiringDataConfig().getExpirationLevel()
+            == DataExpirationConfig.ExpireLevel.ROW
+        && tableRuntime.getOptimizingConfig().isEnabled();
+  }
+
+  private static Instant expireBaseOnRule(
+      ArcticTable table, DataExpirationConfig expirationConfig, Types.NestedField field) {
+    if (table.isKeyedTable()) {
+      Instant changeInstant =
+          new IcebergTableMaintainer(table.asKeyedTable().changeTable())
+              .expireBaseOnRule(expirationConfig, field);
+      Instant baseInstant =
+          new IcebergTableMaintainer(table.asKeyedTable().baseTable())
+              .expireBaseOnRule(expirationConfig, field);
+      return changeInstant.compareTo(baseInstant) >= 0 ? changeInstant : baseInstant;
+    }
+    return new IcebergTableMaintainer(table.asUnkeyedTable())
+        .expireBaseOnRule(expirationConfig, field);
+  }
+
+  /** The filter of the expired rows serialized as JSON, they are filtered out while rewriting. */
+  public String expiredRowsFilterAsJson() {
+    return ExpressionParser.toJson(expiredRowsFilter);
+  }
+
+  /**
+   * Whether the file should be rewritten to filter out the expired rows, which happens when the
+   * estimated ratio of the expired rows exceeds `data-expire.row-ratio`, so the file straddling the
+   * expiration boundary is not rewritten again every time the boundary moves forward a little.
+   */
+  public boolean shouldExpireRows(ContentFile<?> file) {
+    return expiredRatio(file) > expirationConfig.getExpiredRowRatio();
+  }
+
+  /**
+   * Estimate the ratio of the expired rows in the file, assuming the values of the expiration field
+   * are distributed evenly between the lower bound and the upper bound.
+   *
+   * @return 0 if the file has no column stats of the expiration field
+   */
+  public double expiredRatio(ContentFile<?> file) {
+    Long lowerBound;
+    Long upperBound;
+    try {
+      lowerBound = toEpochMillis(file, true);
+      upperBound = toEpochMillis(file, false);
+    } catch (DateTimeParseException e) {
+      LOG.debug("Failed to parse the bounds of {} in file {}", field.name(), file.path(), e);
+      return 0;
+    }
+    if (lowerBound == null || upperBound == null || lowerBound > expireTimestamp) {
+      return 0;
+    }
+    if (upperBound <= expireTimestamp) {
+      return 1;
+    }
+    return (double) (expireTimestamp - lowerBound + 1) / (upperBound - lowerBound + 1);
+  }
+
+  private Long toEpochMillis(ContentFile<?> file, boolean lower) {
+    return IcebergTableMaintainer.boundToEpochMillis(
+        lower ? file.lowerBounds() : file.upperBounds(),
+        field,
+        formatter,
+        expirationConfig.getNumberDateFormat());
+  }
+}
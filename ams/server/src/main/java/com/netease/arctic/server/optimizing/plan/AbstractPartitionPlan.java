@@ -22,6 +22,7 @@ import com.netease.arctic.optimizing.OptimizingInputProperties;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.server.optimizing.OptimizingConfig;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.maintainer.RowLevelExpiration;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.utils.ArcticTableUtil;
@@ -29,6 +30,7 @@ import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
@@ -37,23 +39,31 @@ import org.apache.iceberg.util.Pair;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public abstract class AbstractPartitionPlan implements PartitionEvaluator {
 
+  /** The max number of the open bins of each kind of files when splitting in the streaming mode. */
+  private static final int MAX_STREAMING_OPEN_BINS = 16;
+
   protected final Pair<Integer, StructLike> partition;
   protected final OptimizingConfig config;
   protected final TableRuntime tableRuntime;
   private CommonPartitionEvaluator evaluator;
   private TaskSplitter taskSplitter;
+  private StreamingTaskSplitter streamingTaskSplitter;
   protected ArcticTable tableObject;
   private Long fromSequence = null;
   private Long toSequence = null;
   protected final long planTime;
+  protected RowLevelExpiration rowLevelExpiration;
 
   protected final Map<DataFile, List<ContentFile<?>>> rewriteDataFiles = Maps.newHashMap();
 
@@ -91,11 +101,24 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
 
   protected CommonPartitionEvaluator evaluator() {
     if (evaluator == null) {
-      evaluator = buildEvaluator();
+      evaluator = buildEvaluator().withRowLevelExpiration(rowLevelExpiration);
     }
     return evaluator;
   }
 
+  /**
+   * Rewrite the data files containing enough expired rows, and filter out the expired rows while
+   * executing the tasks.
+   *
+   * @param rowLevelExpiration the row level expiration of the table, null if it is not enabled
+   */
+  public AbstractPartitionPlan withRowLevelExpiration(RowLevelExpiration rowLevelExpiration) {
+    Preconditions.checkState(
+        evaluator == null, "Files have been added to the plan of %s", partition);
+    this.rowLevelExpiration = rowLevelExpiration;
+    return this;
+  }
+
   protected CommonPartitionEvaluator buildEvaluator() {
     return new CommonPartitionEvaluator(tableRuntime, partition, planTime);
   }
@@ -120,11 +143,11 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
     boolean added = evaluator().addFile(dataFile, deletes);
     if (added) {
       if (evaluator().fileShouldRewrite(dataFile, deletes)) {
-        rewriteDataFiles.put(dataFile, deletes);
+        added = collectFile(rewriteDataFiles, dataFile, deletes);
       } else if (evaluator().isUndersizedSegmentFile(dataFile)) {
-        undersizedSegmentFiles.put(dataFile, deletes);
+        added = collectFile(undersizedSegmentFiles, dataFile, deletes);
       } else if (evaluator().segmentShouldRewritePos(dataFile, deletes)) {
-        rewritePosDataFiles.put(dataFile, deletes);
+        added = collectFile(rewritePosDataFiles, dataFile, deletes);
       } else {
         added = false;
       }
@@ -135,6 +158,30 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
     return added;
   }
 
+  private boolean collectFile(
+      Map<DataFile, List<ContentFile<?>>> files, DataFile dataFile, List<ContentFile<?>> deletes) {
+    if (streamingTaskSplitter == null) {
+      files.put(dataFile, deletes);
+      return true;
+    }
+    return streamingTaskSplitter.addFile(files, dataFile, deletes);
+  }
+
+  /**
+   * Split the files into tasks while they are added, instead of holding all the files of the
+   * partition until {@link #splitTasks(int)}. Only the plans split by bin-packing support it.
+   *
+   * @param inputLimit the limit of the input size shared by the plans of the table, no more files
+   *     are added once it is reached
+   */
+  public void streaming(InputLimit inputLimit) {
+    Preconditions.checkState(
+        rewriteDataFiles.isEmpty() && rewritePosDataFiles.isEmpty(),
+        "Files have been added to the plan of %s",
+        partition);
+    this.streamingTaskSplitter = new StreamingTaskSplitter(inputLimit);
+  }
+
   /** If the Data file is not added, it's Delete files should not be removed from iceberg */
   protected void reservedDeleteFiles(List<ContentFile<?>> deletes) {
     deletes.stream().map(delete -> delete.path().toString()).forEach(reservedDeleteFiles::add);
@@ -142,12 +189,26 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
 
   public List<TaskDescriptor> splitTasks(int targetTaskCount) {
     if (taskSplitter == null) {
-      taskSplitter = buildTaskSplitter();
+      taskSplitter = streamingTaskSplitter != null ? streamingTaskSplitter : buildTaskSplitter();
     }
     beforeSplit();
-    return filterSplitTasks(taskSplitter.splitTasks(targetTaskCount)).stream()
-        .map(task -> task.buildTask(buildTaskProperties()))
-        .collect(Collectors.toList());
+    List<TaskDescriptor> tasks =
+        filterSplitTasks(taskSplitter.splitTasks(targetTaskCount)).stream()
+            .map(task -> task.buildTask(taskProperties()))
+            .collect(Collectors.toList());
+    if (streamingTaskSplitter != null) {
+      // the delete files are only needed to build the tasks
+      reservedDeleteFiles.clear();
+    }
+    return tasks;
+  }
+
+  private OptimizingInputProperties taskProperties() {
+    OptimizingInputProperties properties = buildTaskProperties();
+    if (rowLevelExpiration != null) {
+      properties.setExpiredRowsFilter(rowLevelExpiration.expiredRowsFilterAsJson());
+    }
+    return properties;
   }
 
   protected void beforeSplit() {}
@@ -237,7 +298,11 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
       DataFile rewriteDataFile = dataFile.get();
       List<ContentFile<?>> deletes = new ArrayList<>(splitTask.getDeleteFiles());
       if (evaluator().segmentShouldRewritePos(rewriteDataFile, deletes)) {
-        rewritePosDataFiles.put(rewriteDataFile, deletes);
+        if (streamingTaskSplitter != null) {
+          streamingTaskSplitter.rewriteBins.add(new FileTask(rewriteDataFile, deletes, false));
+        } else {
+          rewritePosDataFiles.put(rewriteDataFile, deletes);
+        }
       } else {
         reservedDeleteFiles(deletes);
       }
@@ -364,27 +429,160 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
 
       List<SplitTask> results = Lists.newArrayListWithCapacity(packed.size());
       for (List<FileTask> fileTasks : packed) {
-        Set<DataFile> rewriteDataFiles = Sets.newHashSet();
-        Set<DataFile> rewritePosDataFiles = Sets.newHashSet();
-        Set<ContentFile<?>> deleteFiles = Sets.newHashSet();
-
-        fileTasks.stream()
-            .filter(FileTask::isRewriteDataFile)
-            .forEach(
-                f -> {
-                  rewriteDataFiles.add(f.getFile());
-                  deleteFiles.addAll(f.getDeleteFiles());
-                });
-        fileTasks.stream()
-            .filter(FileTask::isRewritePosDataFile)
-            .forEach(
-                f -> {
-                  rewritePosDataFiles.add(f.getFile());
-                  deleteFiles.addAll(f.getDeleteFiles());
-                });
-        results.add(new SplitTask(rewriteDataFiles, rewritePosDataFiles, deleteFiles));
+        results.add(buildSplitTask(fileTasks));
+      }
+      return results;
+    }
+  }
+
+  protected SplitTask buildSplitTask(List<FileTask> fileTasks) {
+    Set<DataFile> rewriteDataFiles = Sets.newHashSet();
+    Set<DataFile> rewritePosDataFiles = Sets.newHashSet();
+    Set<ContentFile<?>> deleteFiles = Sets.newHashSet();
+
+    fileTasks.stream()
+        .filter(FileTask::isRewriteDataFile)
+        .forEach(
+            f -> {
+              rewriteDataFiles.add(f.getFile());
+              deleteFiles.addAll(f.getDeleteFiles());
+            });
+    fileTasks.stream()
+        .filter(FileTask::isRewritePosDataFile)
+        .forEach(
+            f -> {
+              rewritePosDataFiles.add(f.getFile());
+              deleteFiles.addAll(f.getDeleteFiles());
+            });
+    return new SplitTask(rewriteDataFiles, rewritePosDataFiles, deleteFiles);
+  }
+
+  /** The limit of the input size of the tasks planned in the streaming mode. */
+  public static class InputLimit {
+    private final long maxInputSize;
+    private long inputSize = 0;
+
+    public InputLimit(long maxInputSize) {
+      this.maxInputSize = maxInputSize;
+    }
+
+    private boolean acquire(long size) {
+      if (inputSize >= maxInputSize) {
+        return false;
+      }
+      inputSize += size;
+      return true;
+    }
+
+    public long getInputSize() {
+      return inputSize;
+    }
+  }
+
+  /**
+   * Split the files into tasks while they are added. The files are packed into a bounded number of
+   * open bins, a bin is sealed into a task once it is full or the open bins are exhausted, so only
+   * the files of the open bins and the sealed tasks are held instead of all the files of the
+   * partition.
+   *
+   * <p>The tasks are built after all the files are added, as the delete files can only be removed
+   * if all the data files related are rewritten.
+   */
+  protected class StreamingTaskSplitter implements TaskSplitter {
+    private final InputLimit inputLimit;
+    private final List<SplitTask> sealedTasks = Lists.newArrayList();
+    private final StreamingBinPacker undersizedSegmentBins =
+        new StreamingBinPacker(this::sealUndersizedSegmentBin);
+    private final StreamingBinPacker rewriteBins =
+        new StreamingBinPacker(fileTasks -> sealedTasks.add(buildSplitTask(fileTasks)));
+
+    private StreamingTaskSplitter(InputLimit inputLimit) {
+      this.inputLimit = inputLimit;
+    }
+
+    private boolean addFile(
+        Map<DataFile, List<ContentFile<?>>> files,
+        DataFile dataFile,
+        List<ContentFile<?>> deletes) {
+      if (!inputLimit.acquire(dataFile.fileSizeInBytes())) {
+        return false;
+      }
+      if (files == undersizedSegmentFiles) {
+        undersizedSegmentBins.add(new FileTask(dataFile, deletes, true));
+      } else {
+        rewriteBins.add(new FileTask(dataFile, deletes, files == rewriteDataFiles));
+      }
+      return true;
+    }
+
+    private void sealUndersizedSegmentBin(List<FileTask> fileTasks) {
+      SplitTask splitTask = buildSplitTask(fileTasks);
+      if (splitTask.getRewriteDataFiles().size() > 1) {
+        sealedTasks.add(splitTask);
+      } else {
+        disposeUndersizedSegmentFile(splitTask);
       }
+    }
+
+    @Override
+    public List<SplitTask> splitTasks(int targetTaskCount) {
+      undersizedSegmentBins.flush();
+      rewriteBins.flush();
+      List<SplitTask> results = Lists.newArrayList(sealedTasks);
+      sealedTasks.clear();
       return results;
     }
   }
+
+  private class StreamingBinPacker {
+    private final long targetSize = Math.max(config.getTargetSize(), config.getMaxTaskSize());
+    private final Consumer<List<FileTask>> sealer;
+    private final List<Bin> openBins = Lists.newArrayList();
+
+    private StreamingBinPacker(Consumer<List<FileTask>> sealer) {
+      this.sealer = sealer;
+    }
+
+    private void add(FileTask fileTask) {
+      long size = fileTask.getFile().fileSizeInBytes();
+      Bin bin = openBins.stream().filter(b -> b.canAdd(size)).findFirst().orElse(null);
+      if (bin == null) {
+        if (openBins.size() >= MAX_STREAMING_OPEN_BINS) {
+          Bin largest = Collections.max(openBins, Comparator.comparingLong(b -> b.size));
+          seal(largest);
+        }
+        bin = new Bin();
+        openBins.add(bin);
+      }
+      bin.add(fileTask, size);
+      if (bin.size >= targetSize) {
+        seal(bin);
+      }
+    }
+
+    private void seal(Bin bin) {
+      openBins.remove(bin);
+      sealer.accept(bin.fileTasks);
+    }
+
+    private void flush() {
+      while (!openBins.isEmpty()) {
+        seal(openBins.get(0));
+      }
+    }
+
+    private class Bin {
+      private final List<FileTask> fileTasks = Lists.newArrayList();
+      private long size = 0;
+
+      private boolean canAdd(long fileSize) {
+        return size + fileSize <= targetSize;
+      }
+
+      private void add(FileTask fileTask, long fileSize) {
+        fileTasks.add(fileTask);
+        size += fileSize;
+      }
+    }
+  }
 }
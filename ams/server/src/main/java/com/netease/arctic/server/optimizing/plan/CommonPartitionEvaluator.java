@@ -20,6 +20,7 @@ package com.netease.arctic.server.optimizing.plan;
 
 import com.netease.arctic.server.optimizing.OptimizingConfig;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.maintainer.RowLevelExpiration;
 import com.netease.arctic.server.table.TableRuntime;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
@@ -70,6 +71,10 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
   protected int posDeleteFileCount = 0;
   protected long posDeleteFileSize = 0L;
 
+  // files rewritten to filter out the expired rows
+  protected int expiringFileCount = 0;
+  protected RowLevelExpiration rowLevelExpiration;
+
   private long cost = -1;
   private Boolean necessary = null;
   private OptimizingType optimizingType = null;
@@ -94,6 +99,16 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
                 > config.getFullTriggerInterval();
   }
 
+  /**
+   * Rewrite the data files containing enough expired rows to filter out the expired rows.
+   *
+   * @param rowLevelExpiration the row level expiration of the table, null if it is not enabled
+   */
+  public CommonPartitionEvaluator withRowLevelExpiration(RowLevelExpiration rowLevelExpiration) {
+    this.rowLevelExpiration = rowLevelExpiration;
+    return this;
+  }
+
   @Override
   public Pair<Integer, StructLike> getPartition() {
     return partition;
@@ -132,6 +147,9 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
   private boolean addFragmentFile(DataFile dataFile, List<ContentFile<?>> deletes) {
     fragmentFileSize += dataFile.fileSizeInBytes();
     fragmentFileCount++;
+    if (fileShouldExpireRows(dataFile)) {
+      expiringFileCount++;
+    }
 
     for (ContentFile<?> delete : deletes) {
       addDelete(delete);
@@ -149,6 +167,9 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
     if (fileShouldRewrite(dataFile, deletes)) {
       rewriteSegmentFileSize += dataFile.fileSizeInBytes();
       rewriteSegmentFileCount++;
+      if (fileShouldExpireRows(dataFile)) {
+        expiringFileCount++;
+      }
       return true;
     }
 
@@ -169,6 +190,9 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
     if (fileShouldRewrite(dataFile, deletes)) {
       rewriteSegmentFileSize += dataFile.fileSizeInBytes();
       rewriteSegmentFileCount++;
+      if (fileShouldExpireRows(dataFile)) {
+        expiringFileCount++;
+      }
       for (ContentFile<?> delete : deletes) {
         addDelete(delete);
       }
@@ -195,7 +219,15 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
     return !deleteFiles.isEmpty() || isFragmentFile(dataFile) || isUndersizedSegmentFile(dataFile);
   }
 
+  /** Whether the data file should be rewritten to filter out the expired rows. */
+  public boolean fileShouldExpireRows(DataFile dataFile) {
+    return rowLevelExpiration != null && rowLevelExpiration.shouldExpireRows(dataFile);
+  }
+
   public boolean fileShouldRewrite(DataFile dataFile, List<ContentFile<?>> deletes) {
+    if (fileShouldExpireRows(dataFile)) {
+      return true;
+    }
     if (isFullOptimizing()) {
       return fileShouldFullOptimizing(dataFile, deletes);
     }
@@ -313,7 +345,7 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
   }
 
   public boolean isMajorNecessary() {
-    return enoughContent() || rewriteSegmentFileCount > 0;
+    return enoughContent() || rewriteSegmentFileCount > 0 || expiringFileCount > 0;
   }
 
   public boolean isMinorNecessary() {
@@ -340,7 +372,8 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
         || fragmentFileCount >= 2
         || undersizedSegmentFileCount >= 2
         || rewriteSegmentFileCount > 0
-        || rewritePosSegmentFileCount > 0;
+        || rewritePosSegmentFileCount > 0
+        || expiringFileCount > 0;
   }
 
   protected String name() {
@@ -422,6 +455,7 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
         .add("lastFullOptimizeTime", tableRuntime.getLastFullOptimizingTime())
         .add("lastFullOptimizeTime", tableRuntime.getLastFullOptimizingTime())
         .add("fragmentFileCount", fragmentFileCount)
+        .add("expiringFileCount", expiringFileCount)
         .add("fragmentFileSize", fragmentFileSize)
         .add("rewriteSegmentFileCount", rewriteSegmentFileCount)
         .add("rewriteSegmentFileSize", rewriteSegmentFileSize)
@@ -60,6 +60,8 @@ public class IcebergPartitionPlan extends AbstractPartitionPlan {
         splitTask.getRewriteDataFiles().size() == 1
             && splitTask.getRewritePosDataFiles().size() == 0
             && splitTask.getDeleteFiles().size() == 0;
-    return !only1DataFile;
+    // a single data file is still rewritten to filter out its expired rows
+    return !only1DataFile
+        || splitTask.getRewriteDataFiles().stream().anyMatch(evaluator()::fileShouldExpireRows);
   }
 }
@@ -174,7 +174,7 @@ public class MixedHivePartitionPlan extends MixedIcebergPartitionPlan {
       if (!reachFullInterval() && !reachHiveRefreshInterval()) {
         return false;
       }
-      return fragmentFileCount > getBaseSplitCount() || hasNewHiveData();
+      return fragmentFileCount > getBaseSplitCount() || hasNewHiveData() || expiringFileCount > 0;
     }
 
     @Override
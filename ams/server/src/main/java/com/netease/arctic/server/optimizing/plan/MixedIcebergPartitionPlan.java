@@ -217,7 +217,10 @@ public class MixedIcebergPartitionPlan extends AbstractPartitionPlan {
       if (!reachFullInterval()) {
         return false;
       }
-      return anyDeleteExist() || fragmentFileCount > getBaseSplitCount() || hasChangeFiles;
+      return anyDeleteExist()
+          || fragmentFileCount > getBaseSplitCount()
+          || hasChangeFiles
+          || expiringFileCount > 0;
     }
 
     @Override
@@ -21,10 +21,12 @@ package com.netease.arctic.server.optimizing.plan;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.hive.table.SupportHive;
+import com.netease.arctic.server.optimizing.maintainer.RowLevelExpiration;
 import com.netease.arctic.server.optimizing.scan.IcebergTableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.KeyedTableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.UnkeyedTableFileScanHelper;
+import com.netease.arctic.server.table.DataExpirationConfig;
 import com.netease.arctic.server.table.KeyedTableSnapshot;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableSnapshot;
@@ -57,6 +59,7 @@ public class OptimizingEvaluator {
   protected final ArcticTable arcticTable;
   protected final TableRuntime tableRuntime;
   protected final TableSnapshot currentSnapshot;
+  protected final RowLevelExpiration rowLevelExpiration;
   protected boolean isInitialized = false;
 
   protected Map<String, PartitionEvaluator> partitionPlanMap = Maps.newHashMap();
@@ -65,6 +68,8 @@ public class OptimizingEvaluator {
     this.tableRuntime = tableRuntime;
     this.arcticTable = table;
     this.currentSnapshot = IcebergTableUtil.getSnapshot(table, tableRuntime);
+    this.rowLevelExpiration =
+        RowLevelExpiration.of(table, DataExpirationConfig.parse(table.properties()));
   }
 
   public ArcticTable getArcticTable() {
@@ -77,23 +82,12 @@ public class OptimizingEvaluator {
 
   protected void initEvaluator() {
     long startTime = System.currentTimeMillis();
-    TableFileScanHelper tableFileScanHelper;
-    if (TableFormat.ICEBERG == arcticTable.format()) {
-      tableFileScanHelper =
-          new IcebergTableFileScanHelper(
-              arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
-    } else {
-      if (arcticTable.isUnkeyedTable()) {
-        tableFileScanHelper =
-            new UnkeyedTableFileScanHelper(
-                arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
-      } else {
-        tableFileScanHelper =
-            new KeyedTableFileScanHelper(
-                arcticTable.asKeyedTable(), ((KeyedTableSnapshot) currentSnapshot));
-      }
-    }
+    TableFileScanHelper tableFileScanHelper = buildTableFileScanHelper();
     tableFileScanHelper.withPartitionFilter(getPartitionFilter());
+    if (rowLevelExpiration != null) {
+      // the bounds of the expiration field are needed to find the files containing expired rows
+      tableFileScanHelper.includeColumnStats();
+    }
     initPartitionPlans(tableFileScanHelper);
     isInitialized = true;
     LOG.info(
@@ -103,6 +97,21 @@ public class OptimizingEvaluator {
         System.currentTimeMillis() - startTime);
   }
 
+  protected TableFileScanHelper buildTableFileScanHelper() {
+    if (TableFormat.ICEBERG == arcticTable.format()) {
+      return new IcebergTableFileScanHelper(
+          arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
+    } else {
+      if (arcticTable.isUnkeyedTable()) {
+        return new UnkeyedTableFileScanHelper(
+            arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
+      } else {
+        return new KeyedTableFileScanHelper(
+            arcticTable.asKeyedTable(), ((KeyedTableSnapshot) currentSnapshot));
+      }
+    }
+  }
+
   protected Expression getPartitionFilter() {
     return Expressions.alwaysTrue();
   }
@@ -110,6 +119,8 @@ public class OptimizingEvaluator {
   private void initPartitionPlans(TableFileScanHelper tableFileScanHelper) {
     long startTime = System.currentTimeMillis();
     long count = 0;
+    // the partitions optimized by the running processes are left to them
+    Set<String> optimizingPartitions = tableRuntime.getOptimizingPartitions();
     try (CloseableIterable<TableFileScanHelper.FileScanResult> results =
         tableFileScanHelper.scan()) {
       for (TableFileScanHelper.FileScanResult fileScanResult : results) {
@@ -118,6 +129,9 @@ public class OptimizingEvaluator {
                 arcticTable, fileScanResult.file().specId());
         StructLike partition = fileScanResult.file().partition();
         String partitionPath = partitionSpec.partitionToPath(partition);
+        if (optimizingPartitions.contains(partitionPath)) {
+          continue;
+        }
         PartitionEvaluator evaluator =
             partitionPlanMap.computeIfAbsent(
                 partitionPath,
@@ -141,6 +155,10 @@ public class OptimizingEvaluator {
   }
 
   protected PartitionEvaluator buildEvaluator(Pair<Integer, StructLike> partition) {
+    return buildCommonEvaluator(partition).withRowLevelExpiration(rowLevelExpiration);
+  }
+
+  private CommonPartitionEvaluator buildCommonEvaluator(Pair<Integer, StructLike> partition) {
     if (TableFormat.ICEBERG == arcticTable.format()) {
       return new CommonPartitionEvaluator(tableRuntime, partition, System.currentTimeMillis());
     } else {
@@ -22,20 +22,26 @@ import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.hive.table.SupportHive;
 import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
 import com.netease.arctic.server.table.KeyedTableSnapshot;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.utils.ArcticTableUtil;
 import com.netease.arctic.utils.ExpressionUtil;
+import org.apache.iceberg.DataFile;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -57,12 +63,28 @@ public class OptimizingPlanner extends OptimizingEvaluator {
 
   private List<AbstractPartitionPlan> actualPartitionPlans;
   private final long maxInputSizePerThread;
+  private final boolean streamingPlanning;
 
   public OptimizingPlanner(
       TableRuntime tableRuntime,
       ArcticTable table,
       double availableCore,
       long maxInputSizePerThread) {
+    this(tableRuntime, table, availableCore, maxInputSizePerThread, false);
+  }
+
+  /**
+   * @param streamingPlanning whether to plan in the streaming mode, in which the partitions are
+   *     evaluated with the statistics only, and the files of the selected partitions are split into
+   *     tasks while they are scanned until the input size reaches the limit. It is ignored for the
+   *     keyed tables and the hive tables, whose files can not be split in streaming.
+   */
+  public OptimizingPlanner(
+      TableRuntime tableRuntime,
+      ArcticTable table,
+      double availableCore,
+      long maxInputSizePerThread,
+      boolean streamingPlanning) {
     super(tableRuntime, table);
     this.partitionFilter =
         tableRuntime.getPendingInput() == null
@@ -79,11 +101,21 @@ public class OptimizingPlanner extends OptimizingEvaluator {
     this.processId = Math.max(tableRuntime.getNewestProcessId() + 1, planTime);
     this.partitionPlannerFactory = new PartitionPlannerFactory(arcticTable, tableRuntime, planTime);
     this.maxInputSizePerThread = maxInputSizePerThread;
+    this.streamingPlanning = streamingPlanning && partitionPlannerFactory.supportStreaming();
   }
 
   @Override
   protected PartitionEvaluator buildEvaluator(Pair<Integer, StructLike> partition) {
-    return partitionPlannerFactory.buildPartitionPlanner(partition);
+    if (streamingPlanning) {
+      // the files are not held while evaluating, they are scanned again after evaluating
+      return super.buildEvaluator(partition);
+    }
+    return buildPartitionPlan(partition);
+  }
+
+  private AbstractPartitionPlan buildPartitionPlan(Pair<Integer, StructLike> partition) {
+    return ((AbstractPartitionPlan) partitionPlannerFactory.buildPartitionPlanner(partition))
+        .withRowLevelExpiration(rowLevelExpiration);
   }
 
   public Map<String, Long> getFromSequence() {
@@ -91,13 +123,7 @@ public class OptimizingPlanner extends OptimizingEvaluator {
         .filter(p -> p.getFromSequence() != null)
         .collect(
             Collectors.toMap(
-                partitionPlan -> {
-                  Pair<Integer, StructLike> partition = partitionPlan.getPartition();
-                  PartitionSpec spec =
-                      ArcticTableUtil.getArcticTablePartitionSpecById(
-                          arcticTable, partition.first());
-                  return spec.partitionToPath(partition.second());
-                },
+                partitionPlan -> partitionPath(partitionPlan.getPartition()),
                 AbstractPartitionPlan::getFromSequence));
   }
 
@@ -106,13 +132,7 @@ public class OptimizingPlanner extends OptimizingEvaluator {
         .filter(p -> p.getToSequence() != null)
         .collect(
             Collectors.toMap(
-                partitionPlan -> {
-                  Pair<Integer, StructLike> partition = partitionPlan.getPartition();
-                  PartitionSpec spec =
-                      ArcticTableUtil.getArcticTablePartitionSpecById(
-                          arcticTable, partition.first());
-                  return spec.partitionToPath(partition.second());
-                },
+                partitionPlan -> partitionPath(partitionPlan.getPartition()),
                 AbstractPartitionPlan::getToSequence));
   }
 
@@ -161,18 +181,25 @@ public class OptimizingPlanner extends OptimizingEvaluator {
     double maxInputSize = maxInputSizePerThread * availableCore;
     actualPartitionPlans = Lists.newArrayList();
     long actualInputSize = 0;
-    for (PartitionEvaluator evaluator : evaluators) {
-      actualPartitionPlans.add((AbstractPartitionPlan) evaluator);
-      actualInputSize += evaluator.getCost();
-      if (actualInputSize > maxInputSize) {
-        break;
+    List<TaskDescriptor> tasks = Lists.newArrayList();
+    if (streamingPlanning) {
+      AbstractPartitionPlan.InputLimit inputLimit =
+          new AbstractPartitionPlan.InputLimit((long) maxInputSize);
+      tasks.addAll(planTasksInStreaming(evaluators, inputLimit));
+      actualInputSize = inputLimit.getInputSize();
+    } else {
+      for (PartitionEvaluator evaluator : evaluators) {
+        actualPartitionPlans.add((AbstractPartitionPlan) evaluator);
+        actualInputSize += evaluator.getCost();
+        if (actualInputSize > maxInputSize) {
+          break;
+        }
       }
-    }
 
-    double avgThreadCost = actualInputSize / availableCore;
-    List<TaskDescriptor> tasks = Lists.newArrayList();
-    for (AbstractPartitionPlan partitionPlan : actualPartitionPlans) {
-      tasks.addAll(partitionPlan.splitTasks((int) (actualInputSize / avgThreadCost)));
+      double avgThreadCost = actualInputSize / availableCore;
+      for (AbstractPartitionPlan partitionPlan : actualPartitionPlans) {
+        tasks.addAll(partitionPlan.splitTasks((int) (actualInputSize / avgThreadCost)));
+      }
     }
     if (!tasks.isEmpty()) {
       if (evaluators.stream()
@@ -198,6 +225,70 @@ public class OptimizingPlanner extends OptimizingEvaluator {
     return cacheAndReturnTasks(tasks);
   }
 
+  /**
+   * Select the partitions by the evaluated weight, then scan the files of the selected partitions
+   * again and split them into tasks while scanning, so only the files of the planned tasks are
+   * held.
+   */
+  private List<TaskDescriptor> planTasksInStreaming(
+      List<PartitionEvaluator> evaluators, AbstractPartitionPlan.InputLimit inputLimit) {
+    Map<String, AbstractPartitionPlan> partitionPlans = Maps.newHashMap();
+    Expression selectedPartitionFilter = Expressions.alwaysFalse();
+    long selectedCost = 0;
+    for (PartitionEvaluator evaluator : evaluators) {
+      Pair<Integer, StructLike> partition = evaluator.getPartition();
+      AbstractPartitionPlan partitionPlan = buildPartitionPlan(partition);
+      partitionPlan.streaming(inputLimit);
+      partitionPlans.put(partitionPath(partition), partitionPlan);
+      actualPartitionPlans.add(partitionPlan);
+      selectedPartitionFilter =
+          Expressions.or(
+              selectedPartitionFilter,
+              ExpressionUtil.convertPartitionDataToDataFilter(
+                  arcticTable, partition.first(), partition.second()));
+      selectedCost += evaluator.getCost();
+      if (selectedCost > maxInputSizePerThread * availableCore) {
+        break;
+      }
+    }
+
+    TableFileScanHelper tableFileScanHelper = buildTableFileScanHelper();
+    if (rowLevelExpiration != null) {
+      tableFileScanHelper.includeColumnStats();
+    }
+    if (actualPartitionPlans.size() < evaluators.size()) {
+      tableFileScanHelper.withPartitionFilter(
+          Expressions.and(getPartitionFilter(), selectedPartitionFilter));
+    } else {
+      tableFileScanHelper.withPartitionFilter(getPartitionFilter());
+    }
+    try (CloseableIterable<TableFileScanHelper.FileScanResult> results =
+        tableFileScanHelper.scan()) {
+      for (TableFileScanHelper.FileScanResult fileScanResult : results) {
+        DataFile file = fileScanResult.file();
+        AbstractPartitionPlan partitionPlan =
+            partitionPlans.get(partitionPath(Pair.of(file.specId(), file.partition())));
+        if (partitionPlan != null) {
+          partitionPlan.addFile(file, fileScanResult.deleteFiles());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    List<TaskDescriptor> tasks = Lists.newArrayList();
+    for (AbstractPartitionPlan partitionPlan : actualPartitionPlans) {
+      tasks.addAll(partitionPlan.splitTasks((int) availableCore));
+    }
+    return tasks;
+  }
+
+  private String partitionPath(Pair<Integer, StructLike> partition) {
+    PartitionSpec spec =
+        ArcticTableUtil.getArcticTablePartitionSpecById(arcticTable, partition.first());
+    return spec.partitionToPath(partition.second());
+  }
+
   private List<TaskDescriptor> cacheAndReturnTasks(List<TaskDescriptor> tasks) {
     this.tasks = tasks;
     return this.tasks;
@@ -233,6 +324,12 @@ public class OptimizingPlanner extends OptimizingEvaluator {
       }
     }
 
+    /** Whether the partition plans can split the files into tasks in the streaming mode. */
+    public boolean supportStreaming() {
+      return TableFormat.ICEBERG == arcticTable.format()
+          || (arcticTable.isUnkeyedTable() && hiveLocation == null);
+    }
+
     public PartitionEvaluator buildPartitionPlanner(Pair<Integer, StructLike> partition) {
       if (TableFormat.ICEBERG == arcticTable.format()) {
         return new IcebergPartitionPlan(tableRuntime, arcticTable, partition, planTime);
@@ -21,6 +21,7 @@ package com.netease.arctic.server.optimizing.scan;
 import com.netease.arctic.server.ArcticServiceConstants;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.io.CloseableIterable;
@@ -29,6 +30,7 @@ import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 public class IcebergTableFileScanHelper implements TableFileScanHelper {
   private final Table table;
   private Expression partitionFilter = Expressions.alwaysTrue();
+  private boolean includeColumnStats = false;
   private final long snapshotId;
 
   public IcebergTableFileScanHelper(Table table, long snapshotId) {
@@ -41,9 +43,11 @@ public class IcebergTableFileScanHelper implements TableFileScanHelper {
     if (snapshotId == ArcticServiceConstants.INVALID_SNAPSHOT_ID) {
       return CloseableIterable.empty();
     }
-    return CloseableIterable.transform(
-        table.newScan().useSnapshot(snapshotId).filter(partitionFilter).planFiles(),
-        this::buildFileScanResult);
+    TableScan scan = table.newScan().useSnapshot(snapshotId).filter(partitionFilter);
+    if (includeColumnStats) {
+      scan = scan.includeColumnStats();
+    }
+    return CloseableIterable.transform(scan.planFiles(), this::buildFileScanResult);
   }
 
   protected FileScanResult buildFileScanResult(FileScanTask fileScanTask) {
@@ -55,4 +59,10 @@ public class IcebergTableFileScanHelper implements TableFileScanHelper {
     this.partitionFilter = partitionFilter;
     return this;
   }
+
+  @Override
+  public TableFileScanHelper includeColumnStats() {
+    this.includeColumnStats = true;
+    return this;
+  }
 }
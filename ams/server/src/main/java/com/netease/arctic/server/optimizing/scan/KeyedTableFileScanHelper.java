@@ -37,6 +37,7 @@ import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.SnapshotSummary;
+import org.apache.iceberg.TableScan;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.io.CloseableIterable;
@@ -67,6 +68,7 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
   private final long changeSnapshotId;
   private final long baseSnapshotId;
   private Expression partitionFilter = Expressions.alwaysTrue();
+  private boolean includeColumnStats = false;
 
   public KeyedTableFileScanHelper(KeyedTable arcticTable, KeyedTableSnapshot snapshot) {
     this.arcticTable = arcticTable;
@@ -201,9 +203,13 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
 
     CloseableIterable<FileScanResult> baseScanResult = CloseableIterable.empty();
     if (baseSnapshotId != ArcticServiceConstants.INVALID_SNAPSHOT_ID) {
+      TableScan baseScan = baseTable.newScan().filter(partitionFilter).useSnapshot(baseSnapshotId);
+      if (includeColumnStats) {
+        baseScan = baseScan.includeColumnStats();
+      }
       baseScanResult =
           CloseableIterable.transform(
-              baseTable.newScan().filter(partitionFilter).useSnapshot(baseSnapshotId).planFiles(),
+              baseScan.planFiles(),
               fileScanTask -> {
                 DataFile dataFile = wrapBaseFile(fileScanTask.file());
                 List<ContentFile<?>> deleteFiles = new ArrayList<>(fileScanTask.deletes());
@@ -223,6 +229,13 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
     return this;
   }
 
+  /** Only the column stats of the base files are loaded, the change files are always small. */
+  @Override
+  public KeyedTableFileScanHelper includeColumnStats() {
+    this.includeColumnStats = true;
+    return this;
+  }
+
   private DataFile wrapChangeFile(DataFile dataFile) {
     return DefaultKeyedFile.parseChange(dataFile);
   }
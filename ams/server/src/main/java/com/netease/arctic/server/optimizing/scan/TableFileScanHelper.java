@@ -47,4 +47,7 @@ public interface TableFileScanHelper {
   CloseableIterable<FileScanResult> scan();
 
   TableFileScanHelper withPartitionFilter(Expression partitionFilter);
+
+  /** Load the column stats of the data files, which are dropped by default to save memory. */
+  TableFileScanHelper includeColumnStats();
 }
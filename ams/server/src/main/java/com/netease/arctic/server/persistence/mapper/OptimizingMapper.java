@@ -26,6 +26,7 @@ import com.netease.arctic.server.optimizing.OptimizingTaskMeta;
 import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.optimizing.TaskRuntime;
 import com.netease.arctic.server.persistence.converter.JsonObjectConverter;
+import com.netease.arctic.server.persistence.converter.List2StringConverter;
 import com.netease.arctic.server.persistence.converter.Long2TsConverter;
 import com.netease.arctic.server.persistence.converter.Map2StringConverter;
 import com.netease.arctic.server.persistence.converter.MapLong2StringConverter;
@@ -87,10 +88,20 @@ public interface OptimizingMapper {
       @Param("summary") MetricsSummary summary,
       @Param("failedReason") String failedReason);
 
+  @Update(
+      "UPDATE table_optimizing_process SET committed_partitions = #{committedPartitions,"
+          + " typeHandler=com.netease.arctic.server.persistence.converter.List2StringConverter}"
+          + " WHERE table_id = #{tableId} AND process_id = #{processId}")
+  void updateCommittedPartitions(
+      @Param("tableId") long tableId,
+      @Param("processId") long processId,
+      @Param("committedPartitions") List<String> committedPartitions);
+
   @Select(
       "SELECT a.process_id, a.table_id, a.catalog_name, a.db_name, a.table_name, a.target_snapshot_id,"
           + " a.target_change_snapshot_id, a.status, a.optimizing_type, a.plan_time, a.end_time,"
-          + " a.fail_reason, a.summary, a.from_sequence, a.to_sequence FROM table_optimizing_process a"
+          + " a.fail_reason, a.summary, a.from_sequence, a.to_sequence, a.committed_partitions"
+          + " FROM table_optimizing_process a"
           + " INNER JOIN table_identifier b ON a.table_id = b.table_id"
           + " WHERE a.catalog_name = #{catalogName} AND a.db_name = #{dbName} AND a.table_name = #{tableName}"
           + " AND b.catalog_name = #{catalogName} AND b.db_name = #{dbName} AND b.table_name = #{tableName}"
@@ -116,13 +127,49 @@ public interface OptimizingMapper {
     @Result(
         property = "toSequence",
         column = "to_sequence",
-        typeHandler = MapLong2StringConverter.class)
+        typeHandler = MapLong2StringConverter.class),
+    @Result(
+        property = "committedPartitions",
+        column = "committed_partitions",
+        typeHandler = List2StringConverter.class)
   })
   List<OptimizingProcessMeta> selectOptimizingProcesses(
       @Param("catalogName") String catalogName,
       @Param("dbName") String dbName,
       @Param("tableName") String tableName);
 
+  @Select(
+      "SELECT process_id, table_id, target_snapshot_id, target_change_snapshot_id, status,"
+          + " optimizing_type, plan_time, from_sequence, to_sequence, committed_partitions"
+          + " FROM table_optimizing_process"
+          + " WHERE table_id = #{tableId} AND status = #{status} AND process_id > #{processId}"
+          + " ORDER BY process_id")
+  @Results({
+    @Result(property = "processId", column = "process_id"),
+    @Result(property = "tableId", column = "table_id"),
+    @Result(property = "targetSnapshotId", column = "target_snapshot_id"),
+    @Result(property = "targetChangeSnapshotId", column = "target_change_snapshot_id"),
+    @Result(property = "status", column = "status"),
+    @Result(property = "optimizingType", column = "optimizing_type"),
+    @Result(property = "planTime", column = "plan_time", typeHandler = Long2TsConverter.class),
+    @Result(
+        property = "fromSequence",
+        column = "from_sequence",
+        typeHandler = MapLong2StringConverter.class),
+    @Result(
+        property = "toSequence",
+        column = "to_sequence",
+        typeHandler = MapLong2StringConverter.class),
+    @Result(
+        property = "committedPartitions",
+        column = "committed_partitions",
+        typeHandler = List2StringConverter.class)
+  })
+  List<OptimizingProcessMeta> selectOptimizingProcessesAfter(
+      @Param("tableId") long tableId,
+      @Param("processId") long processId,
+      @Param("status") OptimizingProcess.Status status);
+
   /** Optimizing TaskRuntime operation below */
   @Insert({
     "<script>",
@@ -19,6 +19,7 @@
 package com.netease.arctic.server.persistence.mapper;
 
 import com.netease.arctic.server.persistence.converter.JsonObjectConverter;
+import com.netease.arctic.server.persistence.converter.List2StringConverter;
 import com.netease.arctic.server.persistence.converter.Long2TsConverter;
 import com.netease.arctic.server.persistence.converter.Map2StringConverter;
 import com.netease.arctic.server.persistence.converter.MapLong2StringConverter;
@@ -368,7 +369,8 @@ public interface TableMetaMapper {
           + " a.last_major_optimizing_time, a.last_minor_optimizing_time, a.last_full_optimizing_time, a.optimizing_status,"
           + " a.optimizing_status_start_time, a.optimizing_process_id,"
           + " a.optimizer_group, a.table_config, a.pending_input, b.optimizing_type, b.target_snapshot_id,"
-          + " b.target_change_snapshot_id, b.plan_time, b.from_sequence, b.to_sequence FROM table_runtime a"
+          + " b.target_change_snapshot_id, b.plan_time, b.from_sequence, b.to_sequence, b.committed_partitions"
+          + " FROM table_runtime a"
           + " INNER JOIN table_identifier i ON a.table_id = i.table_id "
           + " LEFT JOIN table_optimizing_process b ON a.optimizing_process_id = b.process_id")
   @Results({
@@ -421,7 +423,11 @@ public interface TableMetaMapper {
     @Result(
         property = "toSequence",
         column = "to_sequence",
-        typeHandler = MapLong2StringConverter.class)
+        typeHandler = MapLong2StringConverter.class),
+    @Result(
+        property = "committedPartitions",
+        column = "committed_partitions",
+        typeHandler = List2StringConverter.class)
   })
   List<TableRuntimeMeta> selectTableRuntimeMetas();
 }
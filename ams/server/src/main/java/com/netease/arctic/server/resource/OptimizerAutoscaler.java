@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.resource;
+
+import com.netease.arctic.ams.api.OptimizerProperties;
+import com.netease.arctic.ams.api.resource.Resource;
+import com.netease.arctic.ams.api.resource.ResourceGroup;
+import com.netease.arctic.utils.CompatiblePropertyUtil;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scales the optimizers of the resource groups by the pending work of their optimizing queues.
+ *
+ * <p>The desired parallelism of a group is the threads executing tasks, plus the threads to clear
+ * the pending tasks within the target backlog time by the average task cost, where the tables over
+ * their quota only count the threads of their quota, bounded by the min and max parallelism of the
+ * group. The optimizers are requested as soon as the desired parallelism exceeds the current one
+ * after the scale-out cooldown, while the idle optimizers are released only after the desired
+ * parallelism has stayed lower for the scale-in cooldown, so that the short dips of the backlog do
+ * not release the optimizers requested for the peaks.
+ */
+public class OptimizerAutoscaler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OptimizerAutoscaler.class);
+
+  private final Scaler scaler;
+  private final Map<String, GroupState> groupStates = new ConcurrentHashMap<>();
+
+  public OptimizerAutoscaler(Scaler scaler) {
+    this.scaler = scaler;
+  }
+
+  /** Requests and releases the optimizers of the containers. */
+  public interface Scaler {
+
+    /** Request an optimizer of the thread count for the group. */
+    void scaleOut(ResourceGroup group, int threadCount);
+
+    /** Release the optimizer of the resource. */
+    void scaleIn(ResourceGroup group, Resource resource);
+  }
+
+  /** The pending work of an optimizing queue. */
+  public static class Backlog {
+    private final int executingTasks;
+    private final int pendingTasks;
+    private final int demandThreads;
+    private final long avgTaskCostTime;
+
+    /**
+     * Create the backlog.
+     *
+     * @param executingTasks the number of tasks being executed
+     * @param pendingTasks the number of tasks waiting for the optimizer threads, including the
+     *     tables waiting for planning
+     * @param demandThreads the number of threads the executing and pending tasks could occupy, the
+     *     tables over their quota only count the threads of their quota
+     * @param avgTaskCostTime the average cost time of the tasks finished, 0 if unknown
+     */
+    public Backlog(int executingTasks, int pendingTasks, int demandThreads, long avgTaskCostTime) {
+      this.executingTasks = executingTasks;
+      this.pendingTasks = pendingTasks;
+      this.demandThreads = demandThreads;
+      this.avgTaskCostTime = avgTaskCostTime;
+    }
+
+    public int getExecutingTasks() {
+      return executingTasks;
+    }
+
+    public int getPendingTasks() {
+      return pendingTasks;
+    }
+
+    public int getDemandThreads() {
+      return demandThreads;
+    }
+
+    public long getAvgTaskCostTime() {
+      return avgTaskCostTime;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("executingTasks", executingTasks)
+          .add("pendingTasks", pendingTasks)
+          .add("demandThreads", demandThreads)
+          .add("avgTaskCostTime", avgTaskCostTime)
+          .toString();
+    }
+  }
+
+  public static boolean isEnabled(ResourceGroup group) {
+    return CompatiblePropertyUtil.propertyAsBoolean(
+        group.getProperties(),
+        OptimizerProperties.AUTOSCALING_ENABLED,
+        OptimizerProperties.AUTOSCALING_ENABLED_DEFAULT);
+  }
+
+  /**
+   * Scale the optimizers of the group once.
+   *
+   * @param group the resource group
+   * @param backlog the pending work of the group
+   * @param resources the resources of the group requested from the container
+   * @param optimizers the optimizers registered of the group
+   * @param busyResourceIds the resources whose optimizers are executing tasks
+   * @param now the current time
+   */
+  public void scale(
+      ResourceGroup group,
+      Backlog backlog,
+      List<Resource> resources,
+      List<OptimizerInstance> optimizers,
+      Set<String> busyResourceIds,
+      long now) {
+    AutoscalingConfig config = new AutoscalingConfig(group.getProperties());
+    GroupState state = groupStates.computeIfAbsent(group.getName(), name -> new GroupState());
+    int current = currentParallelism(resources, optimizers);
+    int desired = desiredParallelism(backlog, config);
+
+    if (desired > current) {
+      state.belowSince = -1;
+      if (now - state.lastScaleOutTime < config.scaleOutCooldown) {
+        return;
+      }
+      LOG.info(
+          "Scale out optimizer group {} from parallelism {} to {} for {}",
+          group.getName(),
+          current,
+          desired,
+          backlog);
+      for (int gap = desired - current; gap > 0; gap -= config.stepParallelism) {
+        scaler.scaleOut(group, Math.min(gap, config.stepParallelism));
+      }
+      state.lastScaleOutTime = now;
+    } else if (desired < current) {
+      if (state.belowSince < 0) {
+        state.belowSince = now;
+      }
+      if (now - state.belowSince < config.scaleInCooldown
+          || now - state.lastScaleOutTime < config.scaleInCooldown) {
+        return;
+      }
+      // release the largest idle optimizer not to go below the desired parallelism
+      Optional<Resource> idleResource =
+          resources.stream()
+              .filter(resource -> !busyResourceIds.contains(resource.getResourceId()))
+              .filter(resource -> current - resource.getThreadCount() >= desired)
+              .max(Comparator.comparingInt(Resource::getThreadCount));
+      idleResource.ifPresent(
+          resource -> {
+            LOG.info(
+                "Scale in optimizer group {} from parallelism {} to {} for {}, release resource {}",
+                group.getName(),
+                current,
+                current - resource.getThreadCount(),
+                backlog,
+                resource.getResourceId());
+            scaler.scaleIn(group, resource);
+            // wait another cooldown before releasing the next one
+            state.belowSince = now;
+          });
+    } else {
+      state.belowSince = -1;
+    }
+  }
+
+  /** Drop the state of the group, e.g.: the group is deleted. */
+  public void removeGroup(String groupName) {
+    groupStates.remove(groupName);
+  }
+
+  @VisibleForTesting
+  static int desiredParallelism(Backlog backlog, AutoscalingConfig config) {
+    int queued = Math.max(0, backlog.demandThreads - backlog.executingTasks);
+    int drainThreads = queued;
+    if (backlog.avgTaskCostTime > 0) {
+      drainThreads =
+          (int)
+              Math.ceil(
+                  (double) backlog.pendingTasks
+                      * backlog.avgTaskCostTime
+                      / config.targetBacklogTime);
+    }
+    int desired = backlog.executingTasks + Math.min(queued, drainThreads);
+    return Math.max(config.minParallelism, Math.min(config.maxParallelism, desired));
+  }
+
+  private static int currentParallelism(
+      List<Resource> resources, List<OptimizerInstance> optimizers) {
+    Set<String> resourceIds = new HashSet<>();
+    int parallelism = 0;
+    for (Resource resource : resources) {
+      resourceIds.add(resource.getResourceId());
+      parallelism += resource.getThreadCount();
+    }
+    // the optimizers started externally are not requested from the container
+    for (OptimizerInstance optimizer : optimizers) {
+      if (optimizer.getResourceId() == null || !resourceIds.contains(optimizer.getResourceId())) {
+        parallelism += optimizer.getThreadCount();
+      }
+    }
+    return parallelism;
+  }
+
+  @VisibleForTesting
+  static class AutoscalingConfig {
+    private final int minParallelism;
+    private final int maxParallelism;
+    private final int stepParallelism;
+    private final long targetBacklogTime;
+    private final long scaleOutCooldown;
+    private final long scaleInCooldown;
+
+    AutoscalingConfig(Map<String, String> properties) {
+      this.minParallelism =
+          CompatiblePropertyUtil.propertyAsInt(
+              properties,
+              OptimizerProperties.AUTOSCALING_MIN_PARALLELISM,
+              OptimizerProperties.AUTOSCALING_MIN_PARALLELISM_DEFAULT);
+      this.maxParallelism =
+          Math.max(
+              minParallelism,
+              CompatiblePropertyUtil.propertyAsInt(
+                  properties,
+                  OptimizerProperties.AUTOSCALING_MAX_PARALLELISM,
+                  OptimizerProperties.AUTOSCALING_MAX_PARALLELISM_DEFAULT));
+      this.stepParallelism =
+          Math.max(
+              1,
+              CompatiblePropertyUtil.propertyAsInt(
+                  properties,
+                  OptimizerProperties.AUTOSCALING_STEP_PARALLELISM,
+                  OptimizerProperties.AUTOSCALING_STEP_PARALLELISM_DEFAULT));
+      this.targetBacklogTime =
+          Math.max(
+              1,
+              CompatiblePropertyUtil.propertyAsLong(
+                  properties,
+                  OptimizerProperties.AUTOSCALING_TARGET_BACKLOG_TIME,
+                  OptimizerProperties.AUTOSCALING_TARGET_BACKLOG_TIME_DEFAULT));
+      this.scaleOutCooldown =
+          CompatiblePropertyUtil.propertyAsLong(
+              properties,
+              OptimizerProperties.AUTOSCALING_SCALE_OUT_COOLDOWN,
+              OptimizerProperties.AUTOSCALING_SCALE_OUT_COOLDOWN_DEFAULT);
+      this.scaleInCooldown =
+          CompatiblePropertyUtil.propertyAsLong(
+              properties,
+              OptimizerProperties.AUTOSCALING_SCALE_IN_COOLDOWN,
+              OptimizerProperties.AUTOSCALING_SCALE_IN_COOLDOWN_DEFAULT);
+    }
+  }
+
+  private static class GroupState {
+    private long lastScaleOutTime = Long.MIN_VALUE / 2;
+    private long belowSince = -1;
+  }
+}
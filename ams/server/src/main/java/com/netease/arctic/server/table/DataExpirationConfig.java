@@ -53,11 +53,14 @@ public class DataExpirationConfig {
   private String numberDateFormat;
   // data-expire.base-on-rule
   private BaseOnRule baseOnRule;
+  // data-expire.row-ratio
+  private double expiredRowRatio = TableProperties.DATA_EXPIRATION_ROW_RATIO_DEFAULT;
 
   @VisibleForTesting
   public enum ExpireLevel {
     PARTITION,
-    FILE;
+    FILE,
+    ROW;
 
     public static ExpireLevel fromString(String level) {
       Preconditions.checkArgument(null != level, "Invalid level type: null");
@@ -158,6 +161,11 @@ public class DataExpirationConfig {
                 properties,
                 TableProperties.DATA_EXPIRATION_BASE_ON_RULE,
                 TableProperties.DATA_EXPIRATION_BASE_ON_RULE_DEFAULT));
+    expiredRowRatio =
+        CompatiblePropertyUtil.propertyAsDouble(
+            properties,
+            TableProperties.DATA_EXPIRATION_ROW_RATIO,
+            TableProperties.DATA_EXPIRATION_ROW_RATIO_DEFAULT);
   }
 
   public static DataExpirationConfig parse(Map<String, String> properties) {
@@ -196,7 +204,12 @@ public class DataExpirationConfig {
                     CompatiblePropertyUtil.propertyAsString(
                         properties,
                         TableProperties.DATA_EXPIRATION_BASE_ON_RULE,
-                        TableProperties.DATA_EXPIRATION_BASE_ON_RULE_DEFAULT)));
+                        TableProperties.DATA_EXPIRATION_BASE_ON_RULE_DEFAULT)))
+            .setExpiredRowRatio(
+                CompatiblePropertyUtil.propertyAsDouble(
+                    properties,
+                    TableProperties.DATA_EXPIRATION_ROW_RATIO,
+                    TableProperties.DATA_EXPIRATION_ROW_RATIO_DEFAULT));
     String retention =
         CompatiblePropertyUtil.propertyAsString(
             properties, TableProperties.DATA_EXPIRATION_RETENTION_TIME, null);
@@ -270,6 +283,15 @@ public class DataExpirationConfig {
     return this;
   }
 
+  public double getExpiredRowRatio() {
+    return expiredRowRatio;
+  }
+
+  public DataExpirationConfig setExpiredRowRatio(double expiredRowRatio) {
+    this.expiredRowRatio = expiredRowRatio;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -285,7 +307,8 @@ public class DataExpirationConfig {
         && expirationLevel == config.expirationLevel
         && Objects.equal(dateTimePattern, config.dateTimePattern)
         && Objects.equal(numberDateFormat, config.numberDateFormat)
-        && baseOnRule == config.baseOnRule;
+        && baseOnRule == config.baseOnRule
+        && Double.compare(expiredRowRatio, config.expiredRowRatio) == 0;
   }
 
   @Override
@@ -297,7 +320,8 @@ public class DataExpirationConfig {
         retentionTime,
         dateTimePattern,
         numberDateFormat,
-        baseOnRule);
+        baseOnRule,
+        expiredRowRatio);
   }
 
   public boolean isValid(Types.NestedField field, String name) {
@@ -53,6 +53,7 @@ import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -94,12 +95,22 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
 
   private final CompletableFuture<Boolean> initialized = new CompletableFuture<>();
   private final Configurations serverConfiguration;
+  private final TableOwnership tableOwnership;
+  private final long ownedTablesSyncInterval;
+  private final Runnable ownershipChangedListener = () -> submitSyncOwnedTables();
 
   public DefaultTableService(Configurations configuration) {
+    this(configuration, TableOwnership.ownAll());
+  }
+
+  public DefaultTableService(Configurations configuration, TableOwnership tableOwnership) {
     this.externalCatalogRefreshingInterval =
         configuration.getLong(ArcticManagementConf.REFRESH_EXTERNAL_CATALOGS_INTERVAL);
     this.blockerTimeout = configuration.getLong(ArcticManagementConf.BLOCKER_TIMEOUT);
+    this.ownedTablesSyncInterval =
+        configuration.getLong(ArcticManagementConf.HA_SHARDING_SYNC_INTERVAL);
     this.serverConfiguration = configuration;
+    this.tableOwnership = tableOwnership;
   }
 
   @Override
@@ -205,6 +216,7 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
               }
               tableRuntime.dispose();
             });
+    tableOwnership.releaseLease(serverTableIdentifier);
   }
 
   @Override
@@ -352,11 +364,21 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     List<CatalogMeta> catalogMetas = getAs(CatalogMetaMapper.class, CatalogMetaMapper::getCatalogs);
     catalogMetas.forEach(this::initServerCatalog);
 
+    // only the tables owned by this AMS are loaded, the others are loaded by their owners, and the
+    // tables whose lease is still held by their former owners are acquired later
     List<TableRuntimeMeta> tableRuntimeMetaList =
-        getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas);
+        getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas).stream()
+            .filter(
+                tableRuntimeMeta -> {
+                  ServerTableIdentifier tableIdentifier =
+                      tableRuntimeMeta.constructTableRuntime(this).getTableIdentifier();
+                  return tableOwnership.isOwned(tableIdentifier)
+                      && tableOwnership.acquireLease(tableIdentifier);
+                })
+            .collect(Collectors.toList());
     tableRuntimeMetaList.forEach(
         tableRuntimeMeta -> {
-          TableRuntime tableRuntime = tableRuntimeMeta.constructTableRuntime(this);
+          TableRuntime tableRuntime = tableRuntimeMeta.getTableRuntime();
           tableRuntimeMap.put(tableRuntime.getTableIdentifier(), tableRuntime);
           tableRuntime.registerMetric(MetricManager.getInstance().getGlobalRegistry());
         });
@@ -384,6 +406,11 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     }
     tableExplorerScheduler.scheduleAtFixedRate(
         this::exploreExternalCatalog, 0, externalCatalogRefreshingInterval, TimeUnit.MILLISECONDS);
+    if (tableOwnership.isSharding()) {
+      tableOwnership.addListener(ownershipChangedListener);
+      tableExplorerScheduler.scheduleAtFixedRate(
+          this::syncOwnedTables, 0, ownedTablesSyncInterval, TimeUnit.MILLISECONDS);
+    }
     initialized.complete(true);
   }
 
@@ -430,13 +457,31 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     return tableRuntimeMap.get(tableIdentifier);
   }
 
+  @Override
+  public List<TableRuntime> listRuntimes() {
+    checkStarted();
+    return new ArrayList<>(tableRuntimeMap.values());
+  }
+
   @Override
   public boolean contains(ServerTableIdentifier tableIdentifier) {
     checkStarted();
     return tableRuntimeMap.containsKey(tableIdentifier);
   }
 
+  @Override
+  public boolean isOwned(ServerTableIdentifier tableIdentifier) {
+    return tableOwnership.isOwned(tableIdentifier)
+        && tableOwnership.holdsLease(tableIdentifier.getId());
+  }
+
+  @Override
+  public boolean holdsLease(long tableId) {
+    return tableOwnership.holdsLease(tableId);
+  }
+
   public void dispose() {
+    tableOwnership.removeListener(ownershipChangedListener);
     tableExplorerScheduler.shutdown();
     if (tableExplorerExecutors != null) {
       tableExplorerExecutors.shutdown();
@@ -446,11 +491,120 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     }
   }
 
+  private void submitSyncOwnedTables() {
+    try {
+      tableExplorerScheduler.execute(this::syncOwnedTables);
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Table service has been disposed, skip syncing the owned tables");
+    }
+  }
+
+  /**
+   * Sync the tables owned by this AMS in the sharding mode: load the runtimes of the tables moved
+   * to this AMS from the persistence once their leases are taken, and release the tables moved to
+   * the other members after their optimizing processes are drained, or dropped by the other
+   * members.
+   */
+  @VisibleForTesting
+  void syncOwnedTables() {
+    try {
+      Set<ServerTableIdentifier> existedTables = Sets.newHashSet();
+      Set<ServerTableIdentifier> ownedTables = Sets.newHashSet();
+      for (TableRuntimeMeta tableRuntimeMeta :
+          getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas)) {
+        ServerTableIdentifier tableIdentifier =
+            tableRuntimeMeta.constructTableRuntime(this).getTableIdentifier();
+        existedTables.add(tableIdentifier);
+        if (tableOwnership.isOwned(tableIdentifier)) {
+          ownedTables.add(tableIdentifier);
+          if (!tableRuntimeMap.containsKey(tableIdentifier)
+              && tableOwnership.acquireLease(tableIdentifier)) {
+            acquireTable(tableRuntimeMeta);
+          }
+        }
+      }
+      for (TableRuntime tableRuntime : tableRuntimeMap.values()) {
+        ServerTableIdentifier tableIdentifier = tableRuntime.getTableIdentifier();
+        if (existedTables.contains(tableIdentifier)) {
+          if (!ownedTables.contains(tableIdentifier) && isDrained(tableRuntime)) {
+            releaseTable(tableRuntime);
+          }
+        } else if (!isTableExisted(tableIdentifier)) {
+          // the table may be created after listing the tables
+          removeTable(tableRuntime);
+        }
+      }
+    } catch (Throwable t) {
+      LOG.error("Failed to sync the tables owned by {}", tableOwnership.getMember(), t);
+    }
+  }
+
+  private void acquireTable(TableRuntimeMeta tableRuntimeMeta) {
+    TableRuntime tableRuntime = tableRuntimeMeta.getTableRuntime();
+    ServerTableIdentifier tableIdentifier = tableRuntime.getTableIdentifier();
+    try {
+      AmoroTable<?> table = loadTable(tableIdentifier);
+      if (tableRuntimeMap.putIfAbsent(tableIdentifier, tableRuntime) == null) {
+        tableRuntime.registerMetric(MetricManager.getInstance().getGlobalRegistry());
+        if (headHandler != null) {
+          headHandler.fireTableAcquired(table, tableRuntimeMeta);
+        }
+        LOG.info("Acquired table {}", tableIdentifier);
+      }
+    } catch (Throwable t) {
+      tableOwnership.releaseLease(tableIdentifier);
+      LOG.error("Failed to acquire table {}, try again later", tableIdentifier, t);
+    }
+  }
+
+  /**
+   * Whether no optimizing process of the table is planning or running, the table moved away is kept
+   * until then without planning new processes, so the new owner never runs the same process.
+   */
+  private boolean isDrained(TableRuntime tableRuntime) {
+    return !tableRuntime.getOptimizingStatus().isProcessing()
+        && tableRuntime.getOptimizingStatus() != OptimizingStatus.PLANNING
+        && tableRuntime.getConcurrentProcesses().isEmpty();
+  }
+
+  private void releaseTable(TableRuntime tableRuntime) {
+    if (tableRuntimeMap.remove(tableRuntime.getTableIdentifier(), tableRuntime)) {
+      if (headHandler != null) {
+        headHandler.fireTableReleased(tableRuntime);
+      }
+      tableRuntime.unregisterMetric();
+      tableOwnership.releaseLease(tableRuntime.getTableIdentifier());
+      LOG.info("Released table {}", tableRuntime.getTableIdentifier());
+    }
+  }
+
+  private void removeTable(TableRuntime tableRuntime) {
+    if (tableRuntimeMap.remove(tableRuntime.getTableIdentifier(), tableRuntime)) {
+      if (headHandler != null) {
+        headHandler.fireTableRemoved(tableRuntime);
+      }
+      tableRuntime.dispose();
+      tableOwnership.releaseLease(tableRuntime.getTableIdentifier());
+      LOG.info("Removed table {} dropped by another AMS", tableRuntime.getTableIdentifier());
+    }
+  }
+
+  private boolean isTableExisted(ServerTableIdentifier tableIdentifier) {
+    ServerTableIdentifier currentIdentifier =
+        getServerTableIdentifier(tableIdentifier.getIdentifier());
+    return currentIdentifier != null
+        && Objects.equal(currentIdentifier.getId(), tableIdentifier.getId());
+  }
+
   @VisibleForTesting
   void exploreExternalCatalog() {
     long start = System.currentTimeMillis();
     LOG.info("Syncing external catalogs: {}", String.join(",", externalCatalogMap.keySet()));
     for (ExternalCatalog externalCatalog : externalCatalogMap.values()) {
+      if (!tableOwnership.isCatalogOwned(externalCatalog.name())) {
+        // the external catalog is explored by another member of the AMS cluster
+        continue;
+      }
       try {
         final List<CompletableFuture<Set<TableIdentity>>> tableIdentifiersFutures =
             Lists.newArrayList();
@@ -642,6 +796,11 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
       }
     }
     TableRuntime tableRuntime = new TableRuntime(serverTableIdentifier, this, table.properties());
+    if (!tableOwnership.isOwned(serverTableIdentifier)
+        || !tableOwnership.acquireLease(serverTableIdentifier)) {
+      // the persisted runtime would be loaded by the owner of the table
+      return false;
+    }
     tableRuntimeMap.put(serverTableIdentifier, tableRuntime);
     tableRuntime.registerMetric(MetricManager.getInstance().getGlobalRegistry());
     if (headHandler != null) {
@@ -657,6 +816,7 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
             tableIdentity.getDatabase(), tableIdentity.getTableName());
     if (tableIdentifier != null) {
       tableRuntimeMap.remove(tableIdentifier);
+      tableOwnership.releaseLease(tableIdentifier);
     }
   }
 
@@ -676,6 +836,7 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
               }
               tableRuntime.dispose();
             });
+    tableOwnership.releaseLease(tableIdentifier);
   }
 
   private static class TableIdentity {
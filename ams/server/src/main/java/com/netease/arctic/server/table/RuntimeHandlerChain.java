@@ -116,6 +116,38 @@ public abstract class RuntimeHandlerChain {
     }
   }
 
+  /**
+   * Fire the table moved to this AMS from another member of the cluster, with the runtime of the
+   * table loaded from the persistence.
+   */
+  public final void fireTableAcquired(AmoroTable<?> table, TableRuntimeMeta tableRuntimeMeta) {
+    if (!initialized) {
+      return;
+    }
+
+    if (formatSupported(tableRuntimeMeta.getTableRuntime().getFormat())) {
+      doSilently(() -> handleTableAcquired(table, tableRuntimeMeta));
+    }
+    if (next != null) {
+      next.fireTableAcquired(table, tableRuntimeMeta);
+    }
+  }
+
+  /** Fire the table moved from this AMS to another member of the cluster. */
+  public final void fireTableReleased(TableRuntime tableRuntime) {
+    if (!initialized) {
+      return;
+    }
+
+    if (next != null) {
+      next.fireTableReleased(tableRuntime);
+    }
+
+    if (formatSupported(tableRuntime.getFormat())) {
+      doSilently(() -> handleTableReleased(tableRuntime));
+    }
+  }
+
   public final void dispose() {
     if (next != null) {
       next.dispose();
@@ -146,6 +178,14 @@ public abstract class RuntimeHandlerChain {
 
   protected abstract void handleTableRemoved(TableRuntime tableRuntime);
 
+  protected void handleTableAcquired(AmoroTable<?> table, TableRuntimeMeta tableRuntimeMeta) {
+    handleTableAdded(table, tableRuntimeMeta.getTableRuntime());
+  }
+
+  protected void handleTableReleased(TableRuntime tableRuntime) {
+    handleTableRemoved(tableRuntime);
+  }
+
   protected abstract void initHandler(List<TableRuntimeMeta> tableRuntimeMetaList);
 
   protected abstract void doDispose();
@@ -20,6 +20,8 @@ package com.netease.arctic.server.table;
 
 import com.netease.arctic.AmoroTable;
 
+import java.util.List;
+
 public interface TableManager extends TableRuntimeHandler {
 
   /**
@@ -32,7 +34,25 @@ public interface TableManager extends TableRuntimeHandler {
 
   TableRuntime getRuntime(ServerTableIdentifier tableIdentifier);
 
+  /**
+   * List the runtimes of the managed tables held in memory, without loading the tables from the
+   * database.
+   *
+   * @return {@link TableRuntime} list
+   */
+  List<TableRuntime> listRuntimes();
+
   default boolean contains(ServerTableIdentifier tableIdentifier) {
     return getRuntime(tableIdentifier) != null;
   }
+
+  /** Whether the optimizing processes of the table could be planned by this AMS. */
+  default boolean isOwned(ServerTableIdentifier tableIdentifier) {
+    return true;
+  }
+
+  /** Whether the optimizing tasks of the table could be polled from and completed on this AMS. */
+  default boolean holdsLease(long tableId) {
+    return true;
+  }
 }
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.netease.arctic.server.utils.ConsistentHashRing;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The ownership of the managed tables of this AMS. In the sharding mode, the tables are split among
+ * the members of the AMS cluster by a consistent hash ring over the table ids, and a member only
+ * runs the table executors, the optimizing planning and the commits of the tables it owns.
+ * Otherwise, this AMS owns all the tables.
+ *
+ * <p>As the members may see different hash rings for a while, a member also takes the lease of a
+ * table before loading it, and keeps the lease until the optimizing process of the table is drained
+ * after the table is moved away. The lease is held by one member at most.
+ */
+public class TableOwnership {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TableOwnership.class);
+
+  private static final int VIRTUAL_NODES = 128;
+
+  private final String member;
+  private final LeaseStore leaseStore;
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+  private final Set<Long> leasedTables = ConcurrentHashMap.newKeySet();
+  private volatile ConsistentHashRing ring;
+
+  private TableOwnership(String member, LeaseStore leaseStore) {
+    this.member = member;
+    this.leaseStore = leaseStore;
+    this.ring = new ConsistentHashRing(Collections.emptyList(), VIRTUAL_NODES);
+  }
+
+  /** The ownership of an AMS owning all the tables. */
+  public static TableOwnership ownAll() {
+    return new TableOwnership(null, null);
+  }
+
+  /** The ownership of a member of the AMS cluster running in the sharding mode. */
+  public static TableOwnership sharding(String member, LeaseStore leaseStore) {
+    Preconditions.checkNotNull(member, "member can not be null");
+    Preconditions.checkNotNull(leaseStore, "lease store can not be null");
+    return new TableOwnership(member, leaseStore);
+  }
+
+  public boolean isSharding() {
+    return member != null;
+  }
+
+  public String getMember() {
+    return member;
+  }
+
+  public Set<String> getMembers() {
+    return ring.getNodes();
+  }
+
+  public boolean isOwned(ServerTableIdentifier tableIdentifier) {
+    return isOwned("table/" + tableIdentifier.getId());
+  }
+
+  /** Whether the external catalog is explored by this AMS. */
+  public boolean isCatalogOwned(String catalogName) {
+    return isOwned("catalog/" + catalogName);
+  }
+
+  private boolean isOwned(String key) {
+    return !isSharding() || member.equals(ring.getNode(key));
+  }
+
+  /**
+   * Take the lease of the table before loading it.
+   *
+   * @return true if this AMS holds the lease, false if it is still held by another member
+   */
+  public boolean acquireLease(ServerTableIdentifier tableIdentifier) {
+    if (holdsLease(tableIdentifier.getId())) {
+      return true;
+    }
+    try {
+      if (leaseStore.tryAcquire(String.valueOf(tableIdentifier.getId()), member)) {
+        leasedTables.add(tableIdentifier.getId());
+        return true;
+      }
+    } catch (Exception e) {
+      LOG.warn("Failed to acquire the lease of table {}", tableIdentifier, e);
+    }
+    return false;
+  }
+
+  /** Release the lease of the table after it is unloaded and its optimizing process is drained. */
+  public void releaseLease(ServerTableIdentifier tableIdentifier) {
+    if (!isSharding() || !leasedTables.remove(tableIdentifier.getId())) {
+      return;
+    }
+    try {
+      leaseStore.release(String.valueOf(tableIdentifier.getId()), member);
+    } catch (Exception e) {
+      // the lease is removed once the session of this AMS expires
+      LOG.warn("Failed to release the lease of table {}", tableIdentifier, e);
+    }
+  }
+
+  /** Whether the optimizing tasks of the table could be polled from and completed on this AMS. */
+  public boolean holdsLease(long tableId) {
+    return !isSharding() || leasedTables.contains(tableId);
+  }
+
+  /** Forget the leases, which are lost together with the session of this AMS. */
+  public void clearLeases() {
+    leasedTables.clear();
+  }
+
+  /**
+   * Update the members of the AMS cluster, and notify the listeners if the members changed, since
+   * the tables may be moved to the other members.
+   */
+  public void updateMembers(Collection<String> members) {
+    Set<String> newMembers = ImmutableSet.copyOf(members);
+    synchronized (this) {
+      if (newMembers.equals(ring.getNodes())) {
+        return;
+      }
+      ring = new ConsistentHashRing(newMembers, VIRTUAL_NODES);
+    }
+    LOG.info("Members of the AMS cluster changed to {}", newMembers);
+    listeners.forEach(Runnable::run);
+  }
+
+  public void addListener(Runnable listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(Runnable listener) {
+    listeners.remove(listener);
+  }
+
+  /** The store of the table leases shared by the members of the AMS cluster. */
+  public interface LeaseStore {
+
+    /**
+     * Take the lease if it is not held by any member.
+     *
+     * @return true if the lease is held by the member
+     */
+    boolean tryAcquire(String key, String member) throws Exception;
+
+    /** Release the lease if it is held by the member. */
+    void release(String key, String member) throws Exception;
+  }
+}
@@ -56,6 +56,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -90,7 +93,15 @@ public class TableRuntime extends StatedPersistentBase {
   @StateField private volatile TableConfiguration tableConfiguration;
   @StateField private volatile long processId;
   @StateField private volatile OptimizingEvaluator.PendingInput pendingInput;
+  // the planned process whose snapshots are recorded as the last optimized ones
+  @StateField private volatile long lastOptimizedProcessId;
+  // the processes running along with the optimizing process on the disjoint partitions, which are
+  // ordered by the planning, the optimizing process is always older than them
+  private final ConcurrentNavigableMap<Long, OptimizingProcess> concurrentProcesses =
+      new ConcurrentSkipListMap<>();
   private volatile long lastPlanTime;
+  // the concurrent processes are only planned for unkeyed tables, unknown until refreshed
+  private volatile boolean unkeyedTable;
   private final TableMetrics metrics;
   private final ReentrantLock blockerLock = new ReentrantLock();
 
@@ -145,15 +156,28 @@ public class TableRuntime extends StatedPersistentBase {
     this.optimizingProcess = optimizingProcess;
   }
 
+  /** Recover the process running along with the optimizing process on the disjoint partitions. */
+  public void recoverConcurrentProcess(OptimizingProcess concurrentProcess) {
+    if (optimizingProcess == null || concurrentProcess.getProcessId() <= processId) {
+      throw new IllegalStateException("Table runtime and concurrent processing are not matched!");
+    }
+    concurrentProcesses.put(concurrentProcess.getProcessId(), concurrentProcess);
+  }
+
   public void registerMetric(MetricRegistry metricRegistry) {
     this.metrics.register(metricRegistry);
   }
 
+  /** Unregister the metrics of the table moved to another AMS, keeping its persisted runtime. */
+  public void unregisterMetric() {
+    this.metrics.unregister();
+  }
+
   public void dispose() {
     invokeInStateLock(
         () -> {
           doAsTransaction(
-              () -> Optional.ofNullable(optimizingProcess).ifPresent(OptimizingProcess::close),
+              this::closeProcesses,
               () ->
                   doAs(
                       TableMetaMapper.class,
@@ -185,6 +209,13 @@ public class TableRuntime extends StatedPersistentBase {
   public void beginProcess(OptimizingProcess optimizingProcess) {
     invokeConsisitency(
         () -> {
+          if (this.optimizingProcess != null) {
+            // planned on the partitions not optimized by the running processes
+            this.pendingInput = null;
+            persistUpdatingRuntime();
+            concurrentProcesses.put(optimizingProcess.getProcessId(), optimizingProcess);
+            return;
+          }
           OptimizingStatus originalStatus = optimizingStatus;
           this.optimizingProcess = optimizingProcess;
           this.processId = optimizingProcess.getProcessId();
@@ -205,6 +236,25 @@ public class TableRuntime extends StatedPersistentBase {
         });
   }
 
+  /**
+   * Commit the process once all its tasks are finished. The process running along with the
+   * optimizing process is committed by the commit executor without changing the status of the
+   * table.
+   */
+  public void beginCommitting(OptimizingProcess process) {
+    invokeConsisitency(
+        () -> {
+          if (isOptimizingProcess(process)) {
+            if (optimizingStatus.isProcessing()
+                && optimizingStatus != OptimizingStatus.COMMITTING) {
+              beginCommitting();
+            }
+          } else if (concurrentProcesses.containsKey(process.getProcessId())) {
+            tableHandler.handleTableChanged(this, optimizingStatus);
+          }
+        });
+  }
+
   public void setPendingInput(OptimizingEvaluator.PendingInput pendingInput) {
     invokeConsisitency(
         () -> {
@@ -267,27 +317,76 @@ public class TableRuntime extends StatedPersistentBase {
   }
 
   public void completeProcess(boolean success) {
+    completeProcess(optimizingProcess, success);
+  }
+
+  /**
+   * Complete the process. Once the optimizing process is completed, the oldest concurrent process
+   * takes it over, so the snapshot of the optimizing process is always the oldest one in use.
+   */
+  public void completeProcess(OptimizingProcess process, boolean success) {
     invokeConsisitency(
         () -> {
+          boolean concurrent = process != null && !isOptimizingProcess(process);
+          if (concurrent && !concurrentProcesses.containsKey(process.getProcessId())) {
+            return;
+          }
           OptimizingStatus originalStatus = optimizingStatus;
           if (success) {
-            lastOptimizedSnapshotId = optimizingProcess.getTargetSnapshotId();
-            lastOptimizedChangeSnapshotId = optimizingProcess.getTargetChangeSnapshotId();
-            if (optimizingProcess.getOptimizingType() == OptimizingType.MINOR) {
-              lastMinorOptimizingTime = optimizingProcess.getPlanTime();
-            } else if (optimizingProcess.getOptimizingType() == OptimizingType.MAJOR) {
-              lastMajorOptimizingTime = optimizingProcess.getPlanTime();
-            } else if (optimizingProcess.getOptimizingType() == OptimizingType.FULL) {
-              lastFullOptimizingTime = optimizingProcess.getPlanTime();
+            recordOptimized(process);
+          }
+          Map.Entry<Long, OptimizingProcess> next = null;
+          if (!concurrent) {
+            next = concurrentProcesses.firstEntry();
+            if (next == null) {
+              updateOptimizingStatus(OptimizingStatus.IDLE);
+              optimizingProcess = null;
+            } else {
+              optimizingProcess = next.getValue();
+              processId = next.getKey();
+              updateOptimizingStatus(
+                  optimizingProcess.isPrepared()
+                      ? OptimizingStatus.COMMITTING
+                      : optimizingProcess.getOptimizingType().getStatus());
             }
           }
-          updateOptimizingStatus(OptimizingStatus.IDLE);
-          optimizingProcess = null;
           persistUpdatingRuntime();
+          if (concurrent) {
+            concurrentProcesses.remove(process.getProcessId());
+          } else if (next != null) {
+            concurrentProcesses.remove(next.getKey());
+          }
           tableHandler.handleTableChanged(this, originalStatus);
         });
   }
 
+  private void recordOptimized(OptimizingProcess process) {
+    // the concurrent processes may complete out of the planning order, so the snapshots are only
+    // recorded for the latest planned process
+    if (process.getProcessId() > lastOptimizedProcessId) {
+      lastOptimizedProcessId = process.getProcessId();
+      lastOptimizedSnapshotId = process.getTargetSnapshotId();
+      lastOptimizedChangeSnapshotId = process.getTargetChangeSnapshotId();
+    }
+    if (process.getOptimizingType() == OptimizingType.MINOR) {
+      lastMinorOptimizingTime = Math.max(lastMinorOptimizingTime, process.getPlanTime());
+    } else if (process.getOptimizingType() == OptimizingType.MAJOR) {
+      lastMajorOptimizingTime = Math.max(lastMajorOptimizingTime, process.getPlanTime());
+    } else if (process.getOptimizingType() == OptimizingType.FULL) {
+      lastFullOptimizingTime = Math.max(lastFullOptimizingTime, process.getPlanTime());
+    }
+  }
+
+  private boolean isOptimizingProcess(OptimizingProcess process) {
+    return optimizingProcess != null && optimizingProcess.getProcessId() == process.getProcessId();
+  }
+
+  /** Close all the optimizing processes of the table, the concurrent processes first. */
+  public void closeProcesses() {
+    concurrentProcesses.descendingMap().values().forEach(OptimizingProcess::close);
+    Optional.ofNullable(optimizingProcess).ifPresent(OptimizingProcess::close);
+  }
+
   private void updateOptimizingStatus(OptimizingStatus status) {
     this.optimizingStatus = status;
     this.currentStatusStartTime = System.currentTimeMillis();
@@ -296,6 +395,7 @@ public class TableRuntime extends StatedPersistentBase {
 
   private boolean refreshSnapshots(AmoroTable<?> amoroTable) {
     ArcticTable table = (ArcticTable) amoroTable.originalTable();
+    unkeyedTable = table.isUnkeyedTable();
     if (table.isKeyedTable()) {
       long lastSnapshotId = currentSnapshotId;
       long changeSnapshotId = currentChangeSnapshotId;
@@ -334,9 +434,7 @@ public class TableRuntime extends StatedPersistentBase {
     }
     if (!Objects.equals(
         this.optimizerGroup, newTableConfig.getOptimizingConfig().getOptimizerGroup())) {
-      if (optimizingProcess != null) {
-        optimizingProcess.close();
-      }
+      closeProcesses();
       this.optimizerGroup = newTableConfig.getOptimizingConfig().getOptimizerGroup();
     }
     this.tableConfiguration = newTableConfig;
@@ -362,6 +460,37 @@ public class TableRuntime extends StatedPersistentBase {
     return optimizingProcess;
   }
 
+  /** Get the processes running along with the optimizing process, in the order of planning. */
+  public List<OptimizingProcess> getConcurrentProcesses() {
+    return new ArrayList<>(concurrentProcesses.values());
+  }
+
+  /** Get the optimizing process and the concurrent processes of the table. */
+  public List<OptimizingProcess> getOptimizingProcesses() {
+    List<OptimizingProcess> processes = new ArrayList<>();
+    Optional.ofNullable(optimizingProcess).ifPresent(processes::add);
+    processes.addAll(concurrentProcesses.values());
+    return processes;
+  }
+
+  /** Get the partitions locked by the running processes, which can not be planned again. */
+  public Set<String> getOptimizingPartitions() {
+    return getOptimizingProcesses().stream()
+        .flatMap(process -> process.getPartitions().stream())
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Whether another process could be planned on the partitions not optimized by the running
+   * processes, which is only allowed for unkeyed tables.
+   */
+  public boolean isConcurrentPlanningAllowed() {
+    return unkeyedTable
+        && optimizingStatus.isProcessing()
+        && optimizingProcess != null
+        && concurrentProcesses.size() + 1 < getOptimizingConfig().getMaxConcurrentProcesses();
+  }
+
   public long getCurrentSnapshotId() {
     return currentSnapshotId;
   }
@@ -439,7 +568,7 @@ public class TableRuntime extends StatedPersistentBase {
   }
 
   public long getNewestProcessId() {
-    return processId;
+    return concurrentProcesses.isEmpty() ? processId : concurrentProcesses.lastKey();
   }
 
   public long getLastPlanTime() {
@@ -474,10 +603,11 @@ public class TableRuntime extends StatedPersistentBase {
         taskQuotas.stream()
             .mapToLong(taskQuota -> taskQuota.getQuotaTime(calculatingStartTime))
             .sum();
-    return optimizingProcess == null
-        ? finishedTaskQuotaTime
-        : finishedTaskQuotaTime
-            + optimizingProcess.getRunningQuotaTime(calculatingStartTime, calculatingEndTime);
+    return finishedTaskQuotaTime
+        + getOptimizingProcesses().stream()
+            .mapToLong(
+                process -> process.getRunningQuotaTime(calculatingStartTime, calculatingEndTime))
+            .sum();
   }
 
   public double calculateQuotaOccupy() {
@@ -24,6 +24,7 @@ import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.optimizing.plan.OptimizingEvaluator;
 
+import java.util.List;
 import java.util.Map;
 
 public class TableRuntimeMeta {
@@ -55,6 +56,7 @@ public class TableRuntimeMeta {
   private String summary;
   private Map<String, Long> fromSequence;
   private Map<String, Long> toSequence;
+  private List<String> committedPartitions;
 
   private TableRuntime tableRuntime;
 
@@ -242,6 +244,14 @@ public class TableRuntimeMeta {
     this.toSequence = toSequence;
   }
 
+  public List<String> getCommittedPartitions() {
+    return committedPartitions;
+  }
+
+  public void setCommittedPartitions(List<String> committedPartitions) {
+    this.committedPartitions = committedPartitions;
+  }
+
   public void setTableStatus(OptimizingStatus tableStatus) {
     this.tableStatus = tableStatus;
   }
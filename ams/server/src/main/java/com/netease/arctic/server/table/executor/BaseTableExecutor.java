@@ -85,7 +85,11 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
       }
     } finally {
       scheduledTables.remove(tableRuntime.getTableIdentifier());
-      scheduleIfNecessary(tableRuntime, getNextExecutingTime(tableRuntime));
+      // the runtime is replaced once the table is moved to another AMS and back
+      TableRuntime currentRuntime = tableManager.getRuntime(tableRuntime.getTableIdentifier());
+      if (currentRuntime != null) {
+        scheduleIfNecessary(currentRuntime, getNextExecutingTime(currentRuntime));
+      }
     }
   }
 
@@ -109,7 +113,8 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
   }
 
   private boolean isExecutable(TableRuntime tableRuntime) {
-    return tableManager.contains(tableRuntime.getTableIdentifier()) && enabled(tableRuntime);
+    return tableManager.getRuntime(tableRuntime.getTableIdentifier()) == tableRuntime
+        && enabled(tableRuntime);
   }
 
   @Override
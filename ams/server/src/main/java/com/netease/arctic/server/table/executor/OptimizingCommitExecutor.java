@@ -19,9 +19,11 @@
 package com.netease.arctic.server.table.executor;
 
 import com.netease.arctic.AmoroTable;
+import com.netease.arctic.server.optimizing.OptimizingProcess;
 import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.table.TableManager;
 import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.server.table.TableRuntimeMeta;
 
 import java.util.Optional;
 
@@ -29,28 +31,55 @@ public class OptimizingCommitExecutor extends BaseTableExecutor {
 
   private static final long INTERVAL = 60 * 1000L; // 1min
 
+  // the interval to check finished partitions of the tables committing partitions in batches
+  private static final long PARTITION_COMMIT_INTERVAL = 10 * 1000L; // 10s
+
   public OptimizingCommitExecutor(TableManager tableRuntimes, int poolSize) {
     super(tableRuntimes, poolSize);
   }
 
   @Override
   protected long getNextExecutingTime(TableRuntime tableRuntime) {
-    return INTERVAL;
+    return tableRuntime.getOptimizingStatus() == OptimizingStatus.COMMITTING
+        ? INTERVAL
+        : PARTITION_COMMIT_INTERVAL;
   }
 
   @Override
   protected boolean enabled(TableRuntime tableRuntime) {
-    return tableRuntime.getOptimizingStatus() == OptimizingStatus.COMMITTING;
+    return tableRuntime.getOptimizingStatus() == OptimizingStatus.COMMITTING
+        || (tableRuntime.getOptimizingStatus().isProcessing()
+            && tableRuntime.getOptimizingConfig().getCommitPartitionBatchSize() > 0)
+        || tableRuntime.getConcurrentProcesses().stream().anyMatch(OptimizingProcess::isPrepared);
   }
 
   @Override
   protected void execute(TableRuntime tableRuntime) {
-    Optional.ofNullable(tableRuntime.getOptimizingProcess())
-        .orElseThrow(
-            () ->
-                new IllegalStateException(
-                    "OptimizingProcess is null while committing:" + tableRuntime))
-        .commit();
+    // the optimizing process is committed first, and the concurrent process taking over it is
+    // committed at once if it is prepared. The other prepared concurrent processes are committed
+    // without waiting for the older ones, so the processes are not committed in the planning order.
+    // It is safe as the processes optimize disjoint partitions, and the last optimized snapshots
+    // are only recorded for the latest planned process.
+    OptimizingProcess committedProcess = null;
+    while (tableRuntime.getOptimizingStatus() == OptimizingStatus.COMMITTING
+        && tableRuntime.getOptimizingProcess() != committedProcess) {
+      committedProcess =
+          Optional.ofNullable(tableRuntime.getOptimizingProcess())
+              .orElseThrow(
+                  () ->
+                      new IllegalStateException(
+                          "OptimizingProcess is null while committing:" + tableRuntime));
+      committedProcess.commit();
+    }
+    for (OptimizingProcess process : tableRuntime.getOptimizingProcesses()) {
+      if (process.isPrepared()) {
+        if (process != tableRuntime.getOptimizingProcess()) {
+          process.commit();
+        }
+      } else {
+        process.commitFinishedPartitions();
+      }
+    }
   }
 
   @Override
@@ -61,6 +90,12 @@ public class OptimizingCommitExecutor extends BaseTableExecutor {
   @Override
   public void handleTableAdded(AmoroTable<?> table, TableRuntime tableRuntime) {}
 
+  @Override
+  protected void handleTableAcquired(AmoroTable<?> table, TableRuntimeMeta tableRuntimeMeta) {
+    // continue committing the process recovered from the former owner of the table
+    scheduleIfNecessary(tableRuntimeMeta.getTableRuntime(), getStartDelay());
+  }
+
   protected long getStartDelay() {
     return 0;
   }
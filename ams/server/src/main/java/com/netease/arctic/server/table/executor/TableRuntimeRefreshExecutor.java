@@ -47,7 +47,9 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
   }
 
   private void tryEvaluatingPendingInput(TableRuntime tableRuntime, ArcticTable table) {
-    if (tableRuntime.isOptimizingEnabled() && !tableRuntime.getOptimizingStatus().isProcessing()) {
+    if (tableRuntime.isOptimizingEnabled()
+        && (!tableRuntime.getOptimizingStatus().isProcessing()
+            || tableRuntime.isConcurrentPlanningAllowed())) {
       OptimizingEvaluator evaluator = new OptimizingEvaluator(tableRuntime, table);
       if (evaluator.isNecessary()) {
         OptimizingEvaluator.PendingInput pendingInput = evaluator.getPendingInput();
@@ -65,11 +67,9 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
     // After disabling self-optimizing, close the currently running optimizing process.
     if (originalConfig.getOptimizingConfig().isEnabled()
         && !tableRuntime.getTableConfiguration().getOptimizingConfig().isEnabled()) {
-      OptimizingProcess optimizingProcess = tableRuntime.getOptimizingProcess();
-      if (optimizingProcess != null
-          && optimizingProcess.getStatus() == OptimizingProcess.Status.RUNNING) {
-        optimizingProcess.close();
-      }
+      tableRuntime.getOptimizingProcesses().stream()
+          .filter(process -> process.getStatus() == OptimizingProcess.Status.RUNNING)
+          .forEach(OptimizingProcess::close);
     }
   }
 
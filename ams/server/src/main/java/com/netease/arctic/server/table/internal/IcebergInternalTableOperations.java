@@ -69,6 +69,21 @@ public class IcebergInternalTableOperations extends PersistentBase implements Ta
 
   @Override
   public TableMetadata refresh() {
+    String metadataFileLocation = currentMetadataLocation();
+    if (StringUtils.isBlank(metadataFileLocation)) {
+      return null;
+    }
+    this.current = TableMetadataParser.read(io, metadataFileLocation);
+    return this.current;
+  }
+
+  /**
+   * The location of the current metadata file recorded in AMS, which is got without reading the
+   * metadata file.
+   *
+   * @return metadata file location, or null if the table doesn't exist.
+   */
+  public String currentMetadataLocation() {
     if (this.tableMetadata == null) {
       this.tableMetadata =
           getAs(
@@ -77,12 +92,7 @@ public class IcebergInternalTableOperations extends PersistentBase implements Ta
     if (this.tableMetadata == null) {
       return null;
     }
-    String metadataFileLocation = tableMetadataLocation(this.tableMetadata);
-    if (StringUtils.isBlank(metadataFileLocation)) {
-      return null;
-    }
-    this.current = TableMetadataParser.read(io, metadataFileLocation);
-    return this.current;
+    return tableMetadataLocation(this.tableMetadata);
   }
 
   protected String tableMetadataLocation(com.netease.arctic.server.table.TableMetadata tableMeta) {
@@ -52,4 +52,9 @@ public class ExecutionResult {
   public synchronized List<StatementResult> getResults() {
     return Lists.newArrayList(results);
   }
+
+  /** release rows of all statement results. */
+  public synchronized void release() {
+    results.forEach(StatementResult::release);
+  }
 }
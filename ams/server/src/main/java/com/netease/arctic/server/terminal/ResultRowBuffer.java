@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.terminal;
+
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows of a statement result. The first {@code inMemoryRows} rows are kept in memory, the rest are
+ * spilled to a local file when a spill directory is given, so that they can be read page by page
+ * without holding the whole result in memory.
+ */
+public class ResultRowBuffer {
+  private static final Logger LOG = LoggerFactory.getLogger(ResultRowBuffer.class);
+
+  private static final int NULL_VALUE = -1;
+
+  private final int inMemoryRows;
+  private final File spillDir;
+  private final List<List<String>> memoryRows = Lists.newArrayList();
+
+  private File spillFile;
+  private DataOutputStream spillOutput;
+  private long spillPosition = 0;
+  private long[] spillOffsets = new long[16];
+  private int spilledRows = 0;
+  private boolean closed = false;
+
+  /**
+   * @param inMemoryRows - max rows kept in memory
+   * @param spillDir - directory of spill files, all rows are kept in memory if it is null
+   */
+  public ResultRowBuffer(int inMemoryRows, File spillDir) {
+    Preconditions.checkArgument(inMemoryRows >= 0, "in-memory rows must not be negative");
+    this.inMemoryRows = inMemoryRows;
+    this.spillDir = spillDir;
+  }
+
+  public synchronized void append(List<String> row) {
+    Preconditions.checkState(!closed, "result buffer is closed");
+    if (spillDir == null || memoryRows.size() < inMemoryRows) {
+      memoryRows.add(row);
+      return;
+    }
+    try {
+      spill(row);
+    } catch (IOException e) {
+      throw new UncheckedIOException("failed to spill result rows to " + spillFile, e);
+    }
+  }
+
+  public synchronized int size() {
+    return memoryRows.size() + spilledRows;
+  }
+
+  /** @return all rows of the buffer */
+  public List<List<String>> rows() {
+    return rows(0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * read rows of the buffer, spilled rows are re-read from the spill file.
+   *
+   * @param offset - index of the first row to read
+   * @param limit - max rows to read
+   * @return rows in [offset, offset + limit), empty if the buffer is closed
+   */
+  public synchronized List<List<String>> rows(int offset, int limit) {
+    Preconditions.checkArgument(offset >= 0 && limit >= 0, "offset and limit must not be negative");
+    if (closed) {
+      return Lists.newArrayList();
+    }
+    int end = (int) Math.min((long) offset + limit, size());
+    List<List<String>> rows = Lists.newArrayList();
+    for (int i = offset; i < Math.min(end, memoryRows.size()); i++) {
+      rows.add(memoryRows.get(i));
+    }
+    int spillStart = Math.max(offset - memoryRows.size(), 0);
+    int spillEnd = end - memoryRows.size();
+    if (spillStart < spillEnd) {
+      try {
+        readSpilled(spillStart, spillEnd, rows);
+      } catch (IOException e) {
+        throw new UncheckedIOException("failed to read result rows from " + spillFile, e);
+      }
+    }
+    return rows;
+  }
+
+  /** release the memory rows and delete the spill file. */
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    memoryRows.clear();
+    spilledRows = 0;
+    if (spillOutput != null) {
+      try {
+        spillOutput.close();
+      } catch (IOException e) {
+        // ignore
+      }
+    }
+    if (spillFile != null && !spillFile.delete()) {
+      LOG.warn("failed to delete result spill file {}", spillFile);
+    }
+  }
+
+  private void spill(List<String> row) throws IOException {
+    if (spillOutput == null) {
+      if (!spillDir.exists() && !spillDir.mkdirs() && !spillDir.exists()) {
+        throw new IOException("failed to create result spill directory " + spillDir);
+      }
+      spillFile = File.createTempFile("result-", ".spill", spillDir);
+      spillFile.deleteOnExit();
+      spillOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile)));
+    }
+    if (spilledRows == spillOffsets.length) {
+      spillOffsets = Arrays.copyOf(spillOffsets, spillOffsets.length * 2);
+    }
+    spillOffsets[spilledRows++] = spillPosition;
+    spillOutput.writeInt(row.size());
+    spillPosition += Integer.BYTES;
+    for (String value : row) {
+      if (value == null) {
+        spillOutput.writeInt(NULL_VALUE);
+        spillPosition += Integer.BYTES;
+      } else {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        spillOutput.writeInt(bytes.length);
+        spillOutput.write(bytes);
+        spillPosition += Integer.BYTES + bytes.length;
+      }
+    }
+  }
+
+  private void readSpilled(int start, int end, List<List<String>> rows) throws IOException {
+    spillOutput.flush();
+    try (RandomAccessFile input = new RandomAccessFile(spillFile, "r")) {
+      input.seek(spillOffsets[start]);
+      for (int i = start; i < end; i++) {
+        int columns = input.readInt();
+        List<String> row = Lists.newArrayListWithCapacity(columns);
+        for (int c = 0; c < columns; c++) {
+          int length = input.readInt();
+          if (length == NULL_VALUE) {
+            row.add(null);
+          } else {
+            byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            row.add(new String(bytes, StandardCharsets.UTF_8));
+          }
+        }
+        rows.add(row);
+      }
+    }
+  }
+}
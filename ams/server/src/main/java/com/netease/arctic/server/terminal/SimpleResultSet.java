@@ -28,8 +28,12 @@ public class SimpleResultSet implements TerminalSession.ResultSet {
   Object[] current;
 
   public SimpleResultSet(List<String> columns, List<Object[]> rows) {
+    this(columns, rows.iterator());
+  }
+
+  public SimpleResultSet(List<String> columns, Iterator<Object[]> rows) {
     this.columns = columns;
-    it = rows.iterator();
+    it = rows;
   }
 
   @Override
@@ -29,19 +29,33 @@ public class StatementResult {
   private boolean success;
   private String logs;
   private final List<String> columns;
-  private final List<Object[]> datas = Lists.newArrayList();
+  private final ResultRowBuffer datas;
   private final boolean empty;
 
   public StatementResult(String statement, int lineNumber, List<String> columns) {
+    this(statement, lineNumber, columns, new ResultRowBuffer(0, null));
+  }
+
+  public StatementResult(
+      String statement, int lineNumber, List<String> columns, ResultRowBuffer datas) {
     this.statement = statement;
     this.lineNumber = lineNumber;
     this.columns = columns;
+    this.datas = datas;
     this.success = true;
     this.empty = false;
   }
 
   public void appendRow(Object[] row) {
-    this.datas.add(row);
+    List<String> rowStringList = Lists.newArrayListWithCapacity(row.length);
+    for (Object o : row) {
+      if (o == null) {
+        rowStringList.add("null");
+      } else {
+        rowStringList.add(o.toString());
+      }
+    }
+    this.datas.append(rowStringList);
   }
 
   public void withExceptionLog(String log) {
@@ -69,24 +83,26 @@ public class StatementResult {
     return columns;
   }
 
-  public List<Object[]> getDatas() {
-    return datas;
+  public int getRowCount() {
+    return datas.size();
   }
 
   public List<List<String>> getDataAsStringList() {
-    List<List<String>> results = Lists.newArrayList();
-    for (Object[] row : datas) {
-      List<String> rowStringList = Lists.newArrayList();
-      for (Object o : row) {
-        if (o == null) {
-          rowStringList.add("null");
-        } else {
-          rowStringList.add(o.toString());
-        }
-      }
-      results.add(rowStringList);
-    }
-    return results;
+    return datas.rows();
+  }
+
+  /**
+   * @param offset - index of the first row
+   * @param limit - max rows to return
+   * @return a page of result rows
+   */
+  public List<List<String>> getDataAsStringList(int offset, int limit) {
+    return datas.rows(offset, limit);
+  }
+
+  /** release rows held by this result. */
+  public void release() {
+    datas.close();
   }
 
   public boolean isEmpty() {
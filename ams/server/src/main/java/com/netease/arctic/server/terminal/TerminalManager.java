@@ -43,6 +43,7 @@ import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -64,6 +65,9 @@ public class TerminalManager {
   private final TableService tableService;
   private final TerminalSessionFactory sessionFactory;
   private final int resultLimits;
+  private final int resultInMemoryRows;
+  private final int resultMaxPageSize;
+  private final File resultSpillDir;
   private final boolean stopOnError;
 
   private final int sessionTimeout;
@@ -86,6 +90,18 @@ public class TerminalManager {
     this.serviceConfig = conf;
     this.tableService = tableService;
     this.resultLimits = conf.getInteger(ArcticManagementConf.TERMINAL_RESULT_LIMIT);
+    if (conf.getBoolean(ArcticManagementConf.TERMINAL_RESULT_SPILL_ENABLED)) {
+      this.resultInMemoryRows =
+          conf.getInteger(ArcticManagementConf.TERMINAL_RESULT_SPILL_IN_MEMORY_ROWS);
+      this.resultSpillDir =
+          new File(
+              conf.getOptional(ArcticManagementConf.TERMINAL_RESULT_SPILL_DIR)
+                  .orElse(System.getProperty("java.io.tmpdir") + "/arctic-terminal"));
+    } else {
+      this.resultInMemoryRows = 0;
+      this.resultSpillDir = null;
+    }
+    this.resultMaxPageSize = conf.getInteger(ArcticManagementConf.TERMINAL_RESULT_MAX_PAGE_SIZE);
     this.stopOnError = conf.getBoolean(ArcticManagementConf.TERMINAL_STOP_ON_ERROR);
     this.sessionTimeout = conf.getInteger(ArcticManagementConf.TERMINAL_SESSION_TIMEOUT);
     this.sessionFactory = loadTerminalSessionFactory(conf);
@@ -126,7 +142,13 @@ public class TerminalManager {
           sessionId,
           id ->
               new TerminalSessionContext(
-                  id, metaStore, executionPool, sessionFactory, configuration));
+                  id,
+                  metaStore,
+                  executionPool,
+                  sessionFactory,
+                  configuration,
+                  resultInMemoryRows,
+                  resultSpillDir));
 
       context = sessionMap.get(sessionId);
     }
@@ -154,8 +176,20 @@ public class TerminalManager {
     return new LogInfo(sessionContext.getStatus().name(), sessionContext.getLogs());
   }
 
-  /** Get execution result. */
+  /** Get execution result, at most terminal.result.max-page-size rows of each statement. */
   public List<SqlResult> getExecutionResults(String sessionId) {
+    return getExecutionResults(sessionId, 0, resultMaxPageSize);
+  }
+
+  /**
+   * Get a page of execution result, rows spilled to local disk are re-read.
+   *
+   * @param sessionId - session id
+   * @param offset - index of the first row of each statement result
+   * @param limit - max rows of each statement result
+   * @return results of statements
+   */
+  public List<SqlResult> getExecutionResults(String sessionId, int offset, int limit) {
     if (sessionId == null) {
       return Lists.newArrayList();
     }
@@ -172,7 +206,8 @@ public class TerminalManager {
               SqlResult sql = new SqlResult();
               sql.setId("line:" + statement.getLineNumber() + " - " + statement.getStatement());
               sql.setColumns(statement.getColumns());
-              sql.setRowData(statement.getDataAsStringList());
+              sql.setRowData(statement.getDataAsStringList(offset, limit));
+              sql.setRowCount(statement.getRowCount());
               sql.setStatus(
                   statement.isSuccess()
                       ? ExecutionStatus.Finished.name()
@@ -61,6 +61,18 @@ public interface TerminalSession {
    */
   ResultSet executeStatement(String catalog, String statement);
 
+  /**
+   * execute a statement and return result set with at most fetchLimit rows. Implementations should
+   * push the limit down and fetch rows incrementally instead of materializing the whole result.
+   *
+   * @param statement single statement.
+   * @param fetchLimit max rows to fetch, no limit if it is not positive.
+   * @return result set
+   */
+  default ResultSet executeStatement(String catalog, String statement, int fetchLimit) {
+    return executeStatement(catalog, statement);
+  }
+
   /** @return - return logs during execution and clean logs */
   List<String> logs();
 
@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.LineNumberReader;
 import java.io.PrintStream;
@@ -49,6 +50,8 @@ public class TerminalSessionContext {
   private final TerminalSessionFactory factory;
   private final Configurations sessionConfiguration;
   private volatile TerminalSession session;
+  private final int resultInMemoryRows;
+  private final File resultSpillDir;
 
   private volatile long lastExecutionTime = System.currentTimeMillis();
 
@@ -60,11 +63,29 @@ public class TerminalSessionContext {
       ThreadPoolExecutor executor,
       TerminalSessionFactory factory,
       Configurations sessionConfiguration) {
+    this(sessionId, metaStore, executor, factory, sessionConfiguration, 0, null);
+  }
+
+  /**
+   * @param resultInMemoryRows - max rows of a statement result kept in memory
+   * @param resultSpillDir - directory to spill result rows exceeding resultInMemoryRows, all rows
+   *     are kept in memory if it is null
+   */
+  public TerminalSessionContext(
+      String sessionId,
+      TableMetaStore metaStore,
+      ThreadPoolExecutor executor,
+      TerminalSessionFactory factory,
+      Configurations sessionConfiguration,
+      int resultInMemoryRows,
+      File resultSpillDir) {
     this.sessionId = sessionId;
     this.metaStore = metaStore;
     this.threadPool = executor;
     this.factory = factory;
     this.sessionConfiguration = sessionConfiguration;
+    this.resultInMemoryRows = resultInMemoryRows;
+    this.resultSpillDir = resultSpillDir;
   }
 
   public String getSessionId() {
@@ -95,7 +116,12 @@ public class TerminalSessionContext {
     CompletableFuture.supplyAsync(task, threadPool)
         .whenComplete((s, e) -> status.compareAndSet(ExecutionStatus.Running, s))
         .thenApply(s -> lastExecutionTime = System.currentTimeMillis());
+    // swap the task before releasing the results, so the readers never see released results
+    ExecutionTask lastTask = this.task;
     this.task = task;
+    if (lastTask != null) {
+      lastTask.executionResult.release();
+    }
 
     String poolInfo =
         "new sql script submit, current thread pool state. [Active: "
@@ -114,6 +140,10 @@ public class TerminalSessionContext {
   }
 
   public void release() {
+    ExecutionTask task = this.task;
+    if (task != null) {
+      task.executionResult.release();
+    }
     if (this.session != null) {
       this.session.release();
     }
@@ -278,7 +308,7 @@ public class TerminalSessionContext {
       TerminalSession.ResultSet rs = null;
       long begin = System.currentTimeMillis();
       try {
-        rs = session.executeStatement(catalog, statement);
+        rs = session.executeStatement(catalog, statement, fetchLimits);
         executionResult.appendLogs(session.logs());
       } catch (Throwable t) {
         executionResult.appendLogs(session.logs());
@@ -298,7 +328,7 @@ public class TerminalSessionContext {
         executionResult.appendResult(sr);
         executionResult.appendLog(
             "statement execute down, fetch rows:"
-                + sr.getDatas().size()
+                + sr.getRowCount()
                 + ", execution cost: "
                 + cost
                 + "ms");
@@ -308,7 +338,12 @@ public class TerminalSessionContext {
 
     StatementResult fetchResults(TerminalSession.ResultSet rs, String statement, int lineNo) {
       long count = 0;
-      StatementResult sr = new StatementResult(statement, lineNo, rs.columns());
+      StatementResult sr =
+          new StatementResult(
+              statement,
+              lineNo,
+              rs.columns(),
+              new ResultRowBuffer(resultInMemoryRows, resultSpillDir));
       try {
         while (rs.next()) {
           sr.appendRow(rs.rowData());
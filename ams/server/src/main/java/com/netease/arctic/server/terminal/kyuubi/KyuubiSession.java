@@ -20,6 +20,7 @@ package com.netease.arctic.server.terminal.kyuubi;
 
 import com.netease.arctic.server.terminal.JDBCResultSet;
 import com.netease.arctic.server.terminal.TerminalSession;
+import com.netease.arctic.server.terminal.TerminalSessionFactory;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 
 import java.sql.Connection;
@@ -35,11 +36,22 @@ public class KyuubiSession implements TerminalSession {
 
   private volatile String currentCatalog;
   Map<String, String> sessionConf;
+  private final int fetchSize;
 
   public KyuubiSession(Connection connection, List<String> logs, Map<String, String> sessionConf) {
+    this(
+        connection,
+        logs,
+        sessionConf,
+        TerminalSessionFactory.SessionConfigOptions.FETCH_SIZE.defaultValue());
+  }
+
+  public KyuubiSession(
+      Connection connection, List<String> logs, Map<String, String> sessionConf, int fetchSize) {
     this.logs.addAll(logs);
     this.connection = connection;
     this.sessionConf = sessionConf;
+    this.fetchSize = fetchSize;
   }
 
   @Override
@@ -49,6 +61,11 @@ public class KyuubiSession implements TerminalSession {
 
   @Override
   public ResultSet executeStatement(String catalog, String statement) {
+    return executeStatement(catalog, statement, -1);
+  }
+
+  @Override
+  public ResultSet executeStatement(String catalog, String statement, int fetchLimit) {
     if (currentCatalog == null || !currentCatalog.equalsIgnoreCase(catalog)) {
       String useCatalog;
       if (TerminalSession.canUseSparkSessionCatalog(sessionConf, catalog)) {
@@ -77,6 +94,13 @@ public class KyuubiSession implements TerminalSession {
     Statement sts = null;
     try {
       sts = connection.createStatement();
+      if (fetchLimit > 0) {
+        // rows beyond the limit are dropped by the server, and the rest are fetched in batches
+        sts.setMaxRows(fetchLimit);
+        sts.setFetchSize(Math.min(fetchLimit, fetchSize));
+      } else {
+        sts.setFetchSize(fetchSize);
+      }
       boolean withRs = sts.execute(statement);
       if (withRs) {
         rs = sts.getResultSet();
@@ -20,6 +20,7 @@ package com.netease.arctic.server.terminal.local;
 
 import com.netease.arctic.server.terminal.SimpleResultSet;
 import com.netease.arctic.server.terminal.TerminalSession;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterators;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
@@ -27,9 +28,9 @@ import org.apache.spark.sql.SparkSession;
 import scala.collection.JavaConverters;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class LocalTerminalSession implements TerminalSession {
 
@@ -59,6 +60,11 @@ public class LocalTerminalSession implements TerminalSession {
 
   @Override
   public ResultSet executeStatement(String catalog, String statement) {
+    return executeStatement(catalog, statement, -1);
+  }
+
+  @Override
+  public ResultSet executeStatement(String catalog, String statement, int fetchLimit) {
     if (currentCatalog == null || !currentCatalog.equalsIgnoreCase(catalog)) {
       if (TerminalSession.canUseSparkSessionCatalog(sessionConfigs, catalog)) {
         session.sql("use `spark_catalog`");
@@ -76,10 +82,14 @@ public class LocalTerminalSession implements TerminalSession {
     }
 
     Dataset<Row> ds = session.sql(statement);
-    List<Object[]> rows =
-        ds.collectAsList().stream()
-            .map(r -> JavaConverters.seqAsJavaList(r.toSeq()).toArray(new Object[0]))
-            .collect(Collectors.toList());
+    if (fetchLimit > 0) {
+      ds = ds.limit(fetchLimit);
+    }
+    // fetch rows partition by partition instead of collecting the whole result to the driver
+    Iterator<Object[]> rows =
+        Iterators.transform(
+            ds.toLocalIterator(),
+            r -> JavaConverters.seqAsJavaList(r.toSeq()).toArray(new Object[0]));
 
     return new SimpleResultSet(Arrays.asList(ds.columns()), rows);
   }
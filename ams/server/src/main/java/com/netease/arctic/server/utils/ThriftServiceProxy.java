@@ -26,6 +26,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 
 public class ThriftServiceProxy<S> implements InvocationHandler {
@@ -33,10 +34,13 @@ public class ThriftServiceProxy<S> implements InvocationHandler {
 
   private final S service;
   private final Function<Throwable, Throwable> exceptionTransfer;
+  private final Semaphore admission;
 
-  private ThriftServiceProxy(S service, Function<Throwable, Throwable> exceptionTransfer) {
+  private ThriftServiceProxy(
+      S service, Function<Throwable, Throwable> exceptionTransfer, Semaphore admission) {
     this.service = service;
     this.exceptionTransfer = exceptionTransfer;
+    this.admission = admission;
   }
 
   @SuppressWarnings("unchecked")
@@ -46,11 +50,46 @@ public class ThriftServiceProxy<S> implements InvocationHandler {
         Proxy.newProxyInstance(
             ThriftServiceProxy.class.getClassLoader(),
             new Class<?>[] {serviceClazz},
-            new ThriftServiceProxy<>(service, exceptionTransfer));
+            new ThriftServiceProxy<>(service, exceptionTransfer, null));
+  }
+
+  /**
+   * Create the proxy of the service with an admission limit, the requests exceeding the limit are
+   * rejected immediately instead of waiting for the worker threads of the thrift server.
+   *
+   * @param admission the permits of the concurrent requests, null if not limited
+   */
+  @SuppressWarnings("unchecked")
+  public static <S> S createProxy(
+      Class<S> serviceClazz,
+      S service,
+      Function<Throwable, Throwable> exceptionTransfer,
+      Semaphore admission) {
+    return (S)
+        Proxy.newProxyInstance(
+            ThriftServiceProxy.class.getClassLoader(),
+            new Class<?>[] {serviceClazz},
+            new ThriftServiceProxy<>(service, exceptionTransfer, admission));
+  }
+
+  /** Create the permits of the concurrent requests, null if not limited. */
+  public static Semaphore admission(int maxConcurrentRequests) {
+    return maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests) : null;
+  }
+
+  public static IllegalStateException rejected(String service) {
+    return new IllegalStateException(
+        String.format(
+            "Thrift service:%s rejected the request, too many concurrent requests", service));
   }
 
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (admission != null && !admission.tryAcquire()) {
+      IllegalStateException exception = rejected(service.getClass().getSimpleName());
+      LOG.warn(exception.getMessage());
+      throw exceptionTransfer != null ? exceptionTransfer.apply(exception) : exception;
+    }
     Object result;
     try {
       result = method.invoke(service, args);
@@ -66,6 +105,10 @@ public class ThriftServiceProxy<S> implements InvocationHandler {
       } else {
         throw exception;
       }
+    } finally {
+      if (admission != null) {
+        admission.release();
+      }
     }
     return result;
   }
@@ -139,6 +139,7 @@ CREATE TABLE table_optimizing_process (
     summary             CLOB(64m),
     from_sequence       CLOB(64m),
     to_sequence         CLOB(64m),
+    committed_partitions CLOB(64m),
     CONSTRAINT table_optimizing_process_pk PRIMARY KEY (process_id)
 );
 
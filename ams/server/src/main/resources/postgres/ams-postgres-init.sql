@@ -230,6 +230,7 @@ CREATE TABLE table_optimizing_process
     summary TEXT,
     from_sequence TEXT,
     to_sequence TEXT,
+    committed_partitions TEXT,
     PRIMARY KEY (process_id)
 );
 CREATE INDEX process_index ON table_optimizing_process (table_id, plan_time);
@@ -251,6 +252,7 @@ COMMENT ON COLUMN table_optimizing_process.rewrite_input IS 'Rewrite input files
 COMMENT ON COLUMN table_optimizing_process.summary IS 'Summary of optimizing tasks';
 COMMENT ON COLUMN table_optimizing_process.from_sequence IS 'From or min sequence of each partition';
 COMMENT ON COLUMN table_optimizing_process.to_sequence IS 'To or max sequence of each partition';
+COMMENT ON COLUMN table_optimizing_process.committed_partitions IS 'Partitions committed before the process is finished';
 
 CREATE TABLE task_runtime
 (
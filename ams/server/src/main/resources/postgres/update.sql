@@ -14,4 +14,7 @@
 -- limitations under the License.
 
 -- If you have any changes to the AMS database, please record them in this file.
--- We will confirm the corresponding version of these upgrade scripts when releasing.
\ No newline at end of file
+-- We will confirm the corresponding version of these upgrade scripts when releasing.
+
+ALTER TABLE table_optimizing_process ADD COLUMN committed_partitions TEXT;
+COMMENT ON COLUMN table_optimizing_process.committed_partitions IS 'Partitions committed before the process is finished';
@@ -0,0 +1,448 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server;
+
+import com.google.common.collect.Maps;
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.ArcticException;
+import com.netease.arctic.ams.api.Constants;
+import com.netease.arctic.ams.api.OptimizerProperties;
+import com.netease.arctic.ams.api.OptimizerRegisterInfo;
+import com.netease.arctic.ams.api.OptimizingService;
+import com.netease.arctic.ams.api.OptimizingTask;
+import com.netease.arctic.ams.api.OptimizingTaskResult;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.io.MixedDataTestHelpers;
+import com.netease.arctic.optimizing.RewriteFilesOutput;
+import com.netease.arctic.optimizing.TableOptimizing;
+import com.netease.arctic.server.optimizing.OptimizingStatus;
+import com.netease.arctic.server.optimizing.TaskRuntime;
+import com.netease.arctic.server.table.AMSTableTestBase;
+import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.server.table.executor.TableRuntimeRefreshExecutor;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.UnkeyedTable;
+import com.netease.arctic.utils.SerializationUtil;
+import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TException;
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMultiplexedProtocol;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TNonblockingServerSocket;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@RunWith(Parameterized.class)
+public class TestAsyncOptimizingService extends AMSTableTestBase {
+
+  private static final int WORKER_THREADS = 2;
+  private static final int MAX_CONCURRENT_REQUESTS = 4;
+  private static final int OPTIMIZER_THREADS = 64;
+  private static final int LOAD_TEST_POLLS = 5000;
+  private static final int LOAD_TEST_CLIENTS = 16;
+  private static final long POLLING_TIMEOUT =
+      ArcticManagementConf.OPTIMIZER_POLLING_TIMEOUT.defaultValue();
+
+  private final Semaphore admission = new Semaphore(MAX_CONCURRENT_REQUESTS);
+  private ExecutorService workers;
+  private ScheduledExecutorService pollTimer;
+  private AsyncOptimizingService service;
+  private TServer server;
+  private int port;
+
+  @Parameterized.Parameters(name = "{0}, {1}")
+  public static Object[] parameters() {
+    return new Object[][] {
+      {new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, true)}
+    };
+  }
+
+  public TestAsyncOptimizingService(
+      CatalogTestHelper catalogTestHelper, TableTestHelper tableTestHelper) {
+    super(catalogTestHelper, tableTestHelper, false);
+  }
+
+  @Before
+  public void prepare() throws Exception {
+    createDatabase();
+    createTable();
+    initTableWithFiles();
+    TableRuntimeRefresher refresher = new TableRuntimeRefresher();
+    refresher.refreshPending();
+    refresher.dispose();
+    startServer();
+  }
+
+  @After
+  public void clear() {
+    server.stop();
+    workers.shutdownNow();
+    pollTimer.shutdownNow();
+    try {
+      optimizingService()
+          .listOptimizers()
+          .forEach(
+              optimizer ->
+                  optimizingService()
+                      .deleteOptimizer(optimizer.getGroupName(), optimizer.getResourceId()));
+      dropTable();
+      dropDatabase();
+    } catch (Exception e) {
+      // ignore
+    }
+  }
+
+  @Test
+  public void testConcurrentPolls() throws Exception {
+    String token = connect().authenticate(buildRegisterInfo());
+    ExecutorService optimizerThreads = Executors.newFixedThreadPool(OPTIMIZER_THREADS + 1);
+    try {
+      // the waiting polls do not hold the permits, so the optimizer keeps touching
+      OptimizingService.Iface client = connect();
+      AtomicBoolean polling = new AtomicBoolean(true);
+      Future<Integer> touches =
+          optimizerThreads.submit(
+              () -> {
+                int touched = 0;
+                while (polling.get()) {
+                  client.touch(token);
+                  touched++;
+                  Thread.sleep(50);
+                }
+                return touched;
+              });
+
+      // all the optimizer threads poll concurrently, more than the requests admitted
+      List<Future<OptimizingTask>> polls = new ArrayList<>();
+      for (int i = 0; i < OPTIMIZER_THREADS; i++) {
+        int threadId = i;
+        polls.add(optimizerThreads.submit(() -> pollTask(connect(), token, threadId)));
+      }
+      List<OptimizingTask> tasks = new ArrayList<>();
+      for (Future<OptimizingTask> poll : polls) {
+        tasks.add(poll.get(30, TimeUnit.SECONDS));
+      }
+      polling.set(false);
+      Assert.assertTrue(touches.get(30, TimeUnit.SECONDS) > 0);
+      List<OptimizingTask> polledTasks =
+          tasks.stream().filter(Objects::nonNull).collect(Collectors.toList());
+      List<TaskRuntime> plannedTasks =
+          optimizingService().listTasks(defaultResourceGroup().getName());
+      Assert.assertFalse(plannedTasks.isEmpty());
+      Assert.assertEquals(plannedTasks.size(), polledTasks.size());
+      Assert.assertEquals(
+          polledTasks.size(),
+          polledTasks.stream().map(OptimizingTask::getTaskId).distinct().count());
+
+      // the polled tasks are acked and completed through the same endpoint
+      for (int threadId = 0; threadId < OPTIMIZER_THREADS; threadId++) {
+        OptimizingTask task = tasks.get(threadId);
+        if (task != null) {
+          client.ackTask(token, threadId, task.getTaskId());
+          client.completeTask(token, buildOptimizingTaskResult(task, threadId));
+        }
+      }
+      plannedTasks.forEach(
+          task -> Assert.assertEquals(TaskRuntime.Status.SUCCESS, task.getStatus()));
+      Assert.assertEquals(
+          OptimizingStatus.COMMITTING,
+          tableService().getRuntime(serverTableIdentifier()).getOptimizingStatus());
+      Assert.assertEquals(MAX_CONCURRENT_REQUESTS, admission.availablePermits());
+    } finally {
+      optimizerThreads.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testThousandsOfConcurrentPolls() throws Exception {
+    OptimizingService.Iface client = connect();
+    String token = client.authenticate(buildRegisterInfo(LOAD_TEST_POLLS));
+    ScheduledExecutorService touching = Executors.newSingleThreadScheduledExecutor();
+    ExecutorService clients = Executors.newFixedThreadPool(LOAD_TEST_CLIENTS);
+    try {
+      touching.scheduleWithFixedDelay(
+          () -> {
+            try {
+              client.touch(token);
+            } catch (TException e) {
+              // retry in the next round
+            }
+          },
+          0,
+          100,
+          TimeUnit.MILLISECONDS);
+
+      // thousands of optimizer threads poll through the admission concurrently, a poll rejected
+      // while the others are handled is retried as the optimizer does
+      long start = System.currentTimeMillis();
+      List<Future<CompletableFuture<OptimizingTask>>> submits = new ArrayList<>();
+      for (int i = 0; i < LOAD_TEST_POLLS; i++) {
+        int threadId = i;
+        submits.add(clients.submit(() -> pollUntilAdmitted(token, threadId)));
+      }
+      List<CompletableFuture<OptimizingTask>> polls = new ArrayList<>();
+      for (Future<CompletableFuture<OptimizingTask>> submit : submits) {
+        polls.add(submit.get(POLLING_TIMEOUT, TimeUnit.MILLISECONDS));
+      }
+      // the waiting polls hold no permit
+      Assert.assertEquals(MAX_CONCURRENT_REQUESTS, admission.availablePermits());
+
+      // all the polls complete within the polling timeout after they are sent
+      CompletableFuture.allOf(polls.toArray(new CompletableFuture[0]))
+          .get(POLLING_TIMEOUT * 2, TimeUnit.MILLISECONDS);
+      Assert.assertTrue(System.currentTimeMillis() - start < POLLING_TIMEOUT * 2);
+      List<OptimizingTask> polledTasks =
+          polls.stream()
+              .map(CompletableFuture::join)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toList());
+      Assert.assertEquals(
+          optimizingService().listTasks(defaultResourceGroup().getName()).size(),
+          polledTasks.size());
+      Assert.assertEquals(
+          polledTasks.size(),
+          polledTasks.stream().map(OptimizingTask::getTaskId).distinct().count());
+      Assert.assertEquals(MAX_CONCURRENT_REQUESTS, admission.availablePermits());
+    } finally {
+      clients.shutdownNow();
+      touching.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testRejectOverAdmission() throws Exception {
+    OptimizingService.Iface client = connect();
+    String token = client.authenticate(buildRegisterInfo());
+
+    // the requests handled concurrently take all the permits
+    admission.acquire(MAX_CONCURRENT_REQUESTS);
+    try {
+      assertRejected(() -> client.touch(token));
+      assertRejected(() -> client.pollTask(token, 0));
+    } finally {
+      admission.release(MAX_CONCURRENT_REQUESTS);
+    }
+
+    // keep the optimizer alive while waiting for the task planned
+    OptimizingService.Iface toucher = connect();
+    ScheduledExecutorService touching = Executors.newSingleThreadScheduledExecutor();
+    try {
+      touching.scheduleWithFixedDelay(
+          () -> {
+            try {
+              toucher.touch(token);
+            } catch (TException e) {
+              // retry in the next round
+            }
+          },
+          0,
+          100,
+          TimeUnit.MILLISECONDS);
+      OptimizingTask task = pollTask(client, token, 0);
+      Assert.assertNotNull(task);
+      client.ackTask(token, 0, task.getTaskId());
+      client.completeTask(token, buildOptimizingTaskResult(task, 0));
+    } finally {
+      touching.shutdownNow();
+    }
+    Assert.assertEquals(MAX_CONCURRENT_REQUESTS, admission.availablePermits());
+  }
+
+  /** Poll the task, null if there is no task before the polling timeout. */
+  private static OptimizingTask pollTask(OptimizingService.Iface client, String token, int threadId)
+      throws TException {
+    try {
+      return client.pollTask(token, threadId);
+    } catch (TApplicationException e) {
+      if (e.getType() == TApplicationException.MISSING_RESULT) {
+        return null;
+      }
+      throw e;
+    }
+  }
+
+  /** Poll the task through the async service, retry the poll until it is admitted. */
+  private CompletableFuture<OptimizingTask> pollUntilAdmitted(String token, int threadId) {
+    while (true) {
+      CompletableFuture<OptimizingTask> poll = new CompletableFuture<>();
+      service.pollTask(
+          token,
+          threadId,
+          new AsyncMethodCallback<OptimizingTask>() {
+            @Override
+            public void onComplete(OptimizingTask task) {
+              poll.complete(task);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+              poll.completeExceptionally(exception);
+            }
+          });
+      if (!isRejected(poll)) {
+        return poll;
+      }
+      Thread.yield();
+    }
+  }
+
+  /** The rejection of the admission is sent before the poll returns. */
+  private static boolean isRejected(CompletableFuture<OptimizingTask> poll) {
+    try {
+      poll.getNow(null);
+      return false;
+    } catch (CompletionException e) {
+      return e.getCause() instanceof ArcticException
+          && e.getCause().getMessage().contains("too many concurrent requests");
+    }
+  }
+
+  private void assertRejected(ThriftCall call) {
+    ArcticException exception = Assert.assertThrows(ArcticException.class, call::call);
+    Assert.assertTrue(exception.getMessage().contains("too many concurrent requests"));
+  }
+
+  private void startServer() throws Exception {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    workers = Executors.newFixedThreadPool(WORKER_THREADS);
+    pollTimer = Executors.newSingleThreadScheduledExecutor();
+    service = new AsyncOptimizingService(optimizingService(), admission, pollTimer, workers);
+    server =
+        new TThreadedSelectorServer(
+            new TThreadedSelectorServer.Args(new TNonblockingServerSocket(port))
+                .processor(
+                    AsyncOptimizingService.processor(
+                        service, Constants.THRIFT_OPTIMIZING_SERVICE_NAME))
+                .transportFactory(new TFramedTransport.Factory())
+                .protocolFactory(new TBinaryProtocol.Factory())
+                .executorService(workers)
+                .selectorThreads(2));
+    Thread serving = new Thread(server::serve);
+    serving.setDaemon(true);
+    serving.start();
+    long deadline = System.currentTimeMillis() + 10000;
+    while (!server.isServing()) {
+      Assert.assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private OptimizingService.Iface connect() throws TException {
+    TTransport transport = new TFramedTransport(new TSocket("127.0.0.1", port, 30000));
+    transport.open();
+    return new OptimizingService.Client(
+        new TMultiplexedProtocol(
+            new TBinaryProtocol(transport), Constants.THRIFT_OPTIMIZING_SERVICE_NAME));
+  }
+
+  private void initTableWithFiles() {
+    ArcticTable arcticTable =
+        (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
+    appendData(arcticTable.asUnkeyedTable(), 1);
+    appendData(arcticTable.asUnkeyedTable(), 2);
+    TableRuntime runtime = tableService().getRuntime(serverTableIdentifier());
+    runtime.refresh(tableService().loadTable(serverTableIdentifier()));
+  }
+
+  private void appendData(UnkeyedTable table, int id) {
+    ArrayList<Record> newRecords =
+        Lists.newArrayList(
+            MixedDataTestHelpers.createRecord(
+                table.schema(), id, "111", 0L, "2022-01-01T12:00:00"));
+    List<DataFile> dataFiles = MixedDataTestHelpers.writeBaseStore(table, 0L, newRecords, false);
+    AppendFiles appendFiles = table.newAppend();
+    dataFiles.forEach(appendFiles::appendFile);
+    appendFiles.commit();
+  }
+
+  private OptimizerRegisterInfo buildRegisterInfo() {
+    return buildRegisterInfo(OPTIMIZER_THREADS);
+  }
+
+  private OptimizerRegisterInfo buildRegisterInfo(int threadCount) {
+    OptimizerRegisterInfo registerInfo = new OptimizerRegisterInfo();
+    Map<String, String> registerProperties = Maps.newHashMap();
+    registerProperties.put(OptimizerProperties.OPTIMIZER_HEART_BEAT_INTERVAL, "100");
+    registerInfo.setProperties(registerProperties);
+    registerInfo.setThreadCount(threadCount);
+    registerInfo.setMemoryMb(1024);
+    registerInfo.setGroupName(defaultResourceGroup().getName());
+    registerInfo.setResourceId("1");
+    registerInfo.setStartTime(System.currentTimeMillis());
+    return registerInfo;
+  }
+
+  private OptimizingTaskResult buildOptimizingTaskResult(OptimizingTask task, int threadId) {
+    TableOptimizing.OptimizingOutput output = new RewriteFilesOutput(null, null, null);
+    OptimizingTaskResult optimizingTaskResult =
+        new OptimizingTaskResult(task.getTaskId(), threadId);
+    optimizingTaskResult.setTaskOutput(SerializationUtil.simpleSerialize(output));
+    return optimizingTaskResult;
+  }
+
+  @FunctionalInterface
+  private interface ThriftCall {
+    void call() throws Exception;
+  }
+
+  private class TableRuntimeRefresher extends TableRuntimeRefreshExecutor {
+
+    public TableRuntimeRefresher() {
+      super(tableService(), 1, Integer.MAX_VALUE);
+    }
+
+    void refreshPending() {
+      execute(tableService().getRuntime(serverTableIdentifier()));
+    }
+  }
+}
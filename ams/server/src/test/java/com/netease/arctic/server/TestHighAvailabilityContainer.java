@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server;
+
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.ams.api.client.ArcticThriftUrl;
+import com.netease.arctic.server.table.ServerTableIdentifier;
+import com.netease.arctic.server.table.TableOwnership;
+import com.netease.arctic.server.utils.Configurations;
+import org.apache.curator.test.TestingServer;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+public class TestHighAvailabilityContainer {
+
+  private static final String CLUSTER_NAME = "test-sharding";
+  private static TestingServer ZK_SERVER;
+
+  @BeforeClass
+  public static void startZookeeper() throws Exception {
+    ZK_SERVER = new TestingServer(true);
+  }
+
+  @AfterClass
+  public static void stopZookeeper() throws Exception {
+    ZK_SERVER.close();
+  }
+
+  @Test
+  public void testTableOwnership() throws Exception {
+    List<ServerTableIdentifier> tables = new ArrayList<>();
+    for (long i = 0; i < 200; i++) {
+      tables.add(ServerTableIdentifier.of(i, "catalog", "db", "table" + i, TableFormat.ICEBERG));
+    }
+
+    HighAvailabilityContainer ams1 = new HighAvailabilityContainer(buildConfig(1261));
+    HighAvailabilityContainer ams2 = new HighAvailabilityContainer(buildConfig(1262));
+    boolean ams2Closed = false;
+    HighAvailabilityContainer ams3 = null;
+    try {
+      ams1.waitLeaderShip();
+      ams2.waitLeaderShip();
+      TableOwnership ownership1 = ams1.getTableOwnership();
+      TableOwnership ownership2 = ams2.getTableOwnership();
+      waitUntil(() -> ownership1.getMembers().size() == 2 && ownership2.getMembers().size() == 2);
+
+      // every table is owned by exactly one member
+      Set<ServerTableIdentifier> ownedBy1 = new HashSet<>();
+      for (ServerTableIdentifier table : tables) {
+        Assert.assertNotEquals(ownership1.isOwned(table), ownership2.isOwned(table));
+        if (ownership1.isOwned(table)) {
+          ownedBy1.add(table);
+        }
+      }
+      Assert.assertFalse(ownedBy1.isEmpty());
+      Assert.assertTrue(ownedBy1.size() < tables.size());
+
+      // the tables of the left member are taken over
+      ams2.close();
+      ams2Closed = true;
+      waitUntil(() -> ownership1.getMembers().size() == 1);
+      tables.forEach(table -> Assert.assertTrue(ownership1.isOwned(table)));
+
+      // only the tables owned by the new member are moved
+      ams3 = new HighAvailabilityContainer(buildConfig(1263));
+      ams3.waitLeaderShip();
+      TableOwnership ownership3 = ams3.getTableOwnership();
+      waitUntil(() -> ownership1.getMembers().size() == 2);
+      for (ServerTableIdentifier table : tables) {
+        Assert.assertNotEquals(ownership1.isOwned(table), ownership3.isOwned(table));
+      }
+      Assert.assertTrue(tables.stream().anyMatch(ownership3::isOwned));
+    } finally {
+      ams1.close();
+      if (!ams2Closed) {
+        ams2.close();
+      }
+      if (ams3 != null) {
+        ams3.close();
+      }
+    }
+  }
+
+  @Test
+  public void testTableLease() throws Exception {
+    ServerTableIdentifier table =
+        ServerTableIdentifier.of(1000L, "catalog", "db", "table", TableFormat.ICEBERG);
+    HighAvailabilityContainer ams1 = new HighAvailabilityContainer(buildConfig(1281));
+    HighAvailabilityContainer ams2 = new HighAvailabilityContainer(buildConfig(1282));
+    boolean ams1Closed = false;
+    try {
+      ams1.waitLeaderShip();
+      ams2.waitLeaderShip();
+      TableOwnership ownership1 = ams1.getTableOwnership();
+      TableOwnership ownership2 = ams2.getTableOwnership();
+
+      // the lease is held by one member at most
+      Assert.assertTrue(ownership1.acquireLease(table));
+      Assert.assertTrue(ownership1.acquireLease(table));
+      Assert.assertTrue(ownership1.holdsLease(table.getId()));
+      Assert.assertFalse(ownership2.acquireLease(table));
+      Assert.assertFalse(ownership2.holdsLease(table.getId()));
+
+      // the lease released by the former owner is taken by the new owner
+      ownership1.releaseLease(table);
+      Assert.assertFalse(ownership1.holdsLease(table.getId()));
+      Assert.assertTrue(ownership2.acquireLease(table));
+      Assert.assertFalse(ownership1.acquireLease(table));
+
+      // releasing a lease held by another member does nothing
+      ownership1.releaseLease(table);
+      Assert.assertFalse(ownership1.acquireLease(table));
+
+      // the lease is released once the session of its holder is closed
+      ownership2.releaseLease(table);
+      Assert.assertTrue(ownership1.acquireLease(table));
+      ams1.close();
+      ams1Closed = true;
+      waitUntil(() -> ownership2.acquireLease(table));
+    } finally {
+      if (!ams1Closed) {
+        ams1.close();
+      }
+      ams2.close();
+    }
+  }
+
+  @Test
+  public void testParseOptimizingServiceMembers() throws Exception {
+    HighAvailabilityContainer ams1 = new HighAvailabilityContainer(buildConfig(1271));
+    HighAvailabilityContainer ams2 = new HighAvailabilityContainer(buildConfig(1272));
+    try {
+      ams1.waitLeaderShip();
+      ams2.waitLeaderShip();
+      String url = "zookeeper://" + ZK_SERVER.getConnectString() + "/" + CLUSTER_NAME;
+      waitUntil(() -> ArcticThriftUrl.parseOptimizingServiceMembers(url).size() >= 2);
+      List<String> members = ArcticThriftUrl.parseOptimizingServiceMembers(url);
+      Assert.assertTrue(members.contains("thrift://127.0.0.1:1271/"));
+      Assert.assertTrue(members.contains("thrift://127.0.0.1:1272/"));
+    } finally {
+      ams1.close();
+      ams2.close();
+    }
+  }
+
+  private static Configurations buildConfig(int optimizingPort) {
+    Configurations config = new Configurations();
+    config.setBoolean(ArcticManagementConf.HA_ENABLE, true);
+    config.setBoolean(ArcticManagementConf.HA_SHARDING_ENABLED, true);
+    config.setString(ArcticManagementConf.HA_ZOOKEEPER_ADDRESS, ZK_SERVER.getConnectString());
+    config.setString(ArcticManagementConf.HA_CLUSTER_NAME, CLUSTER_NAME);
+    config.setString(ArcticManagementConf.SERVER_EXPOSE_HOST, "127.0.0.1");
+    config.setInteger(ArcticManagementConf.TABLE_SERVICE_THRIFT_BIND_PORT, optimizingPort + 100);
+    config.setInteger(ArcticManagementConf.OPTIMIZING_SERVICE_THRIFT_BIND_PORT, optimizingPort);
+    return config;
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 30000;
+    while (!condition.getAsBoolean()) {
+      Assert.assertTrue("Timeout waiting for the members", System.currentTimeMillis() < deadline);
+      Thread.sleep(100);
+    }
+  }
+}
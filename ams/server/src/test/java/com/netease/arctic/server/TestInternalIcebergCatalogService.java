@@ -50,6 +50,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -199,6 +201,37 @@ public class TestInternalIcebergCatalogService extends RestCatalogServiceTestBas
       Assertions.assertEquals(files.length, tasks.size());
     }
 
+    @Test
+    public void testLoadTableWithETag() throws IOException {
+      Table tbl = nsCatalog.createTable(identifier, schema);
+
+      HttpURLConnection conn = openLoadTable(null);
+      Assertions.assertEquals(200, conn.getResponseCode());
+      String etag = conn.getHeaderField("ETag");
+      Assertions.assertNotNull(etag);
+
+      conn = openLoadTable(etag);
+      Assertions.assertEquals(304, conn.getResponseCode());
+
+      tbl.updateProperties().set("k1", "v1").commit();
+      conn = openLoadTable(etag);
+      Assertions.assertEquals(200, conn.getResponseCode());
+      Assertions.assertNotEquals(etag, conn.getHeaderField("ETag"));
+      Assertions.assertEquals("v1", nsCatalog.loadTable(identifier).properties().get("k1"));
+    }
+
+    private HttpURLConnection openLoadTable(String ifNoneMatch) throws IOException {
+      String url =
+          String.format(
+              "%s%s/v1/catalogs/%s/namespaces/%s/tables/%s",
+              ams.getHttpUrl(), restCatalogUri, catalogName(), database, table);
+      HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+      if (ifNoneMatch != null) {
+        conn.setRequestProperty("If-None-Match", ifNoneMatch);
+      }
+      return conn;
+    }
+
     @Test
     public void testServerCatalogLoadTable() throws IOException {
       Table tbl = nsCatalog.createTable(identifier, schema, spec);
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.dashboard;
+
+import com.netease.arctic.server.dashboard.response.PageResult;
+import org.apache.iceberg.io.CloseableIterable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TestListingCache {
+
+  @Test
+  public void testPageLazily() {
+    ListingCache cache = new ListingCache(1000, Duration.ofMinutes(10));
+    AtomicInteger iterated = new AtomicInteger();
+    AtomicInteger loaded = new AtomicInteger();
+
+    PageResult<Integer> page =
+        cache.page("table/files", "1", "", 0, 10, () -> listing(100, loaded, iterated));
+    Assert.assertEquals(range(0, 10), page.getList());
+    Assert.assertNotNull(page.getNextCursor());
+    // only the items up to the page and one more are iterated
+    Assert.assertEquals(11, iterated.get());
+    Assert.assertEquals(11, page.getTotal());
+
+    // the next page continues the cached listing
+    page =
+        cache.page(
+            "table/files", "1", page.getNextCursor(), 0, 10, () -> listing(100, loaded, iterated));
+    Assert.assertEquals(range(10, 20), page.getList());
+    Assert.assertEquals(1, loaded.get());
+    Assert.assertEquals(21, iterated.get());
+
+    // the total is exact at the last page
+    for (int from = 20; from < 100; from += 10) {
+      page =
+          cache.page(
+              "table/files",
+              "1",
+              page.getNextCursor(),
+              0,
+              10,
+              () -> listing(100, loaded, iterated));
+      Assert.assertEquals(range(from, from + 10), page.getList());
+    }
+    Assert.assertNull(page.getNextCursor());
+    Assert.assertEquals(100, page.getTotal());
+    Assert.assertEquals(1, loaded.get());
+    Assert.assertEquals(100, cache.cachedItems());
+  }
+
+  @Test
+  public void testPageByOffsetNotCached() {
+    ListingCache cache = new ListingCache(1000, Duration.ofMinutes(10));
+    AtomicInteger iterated = new AtomicInteger();
+    AtomicInteger loaded = new AtomicInteger();
+
+    PageResult<Integer> page =
+        cache.page("table/files", "1", null, 20, 10, () -> listing(100, loaded, iterated));
+    Assert.assertEquals(range(20, 30), page.getList());
+    Assert.assertEquals(100, page.getTotal());
+    Assert.assertNull(page.getNextCursor());
+    Assert.assertEquals(100, iterated.get());
+
+    // the listing is counted in a single pass, nothing is held after the page
+    Assert.assertEquals(0, cache.cachedItems());
+    page = cache.page("table/files", "1", null, 95, 10, () -> listing(100, loaded, iterated));
+    Assert.assertEquals(range(95, 100), page.getList());
+    Assert.assertEquals(100, page.getTotal());
+    Assert.assertEquals(2, loaded.get());
+    Assert.assertEquals(0, cache.cachedItems());
+  }
+
+  @Test
+  public void testBoundedByItems() {
+    ListingCache cache = new ListingCache(30, Duration.ofMinutes(10));
+    AtomicInteger loaded = new AtomicInteger();
+    PageResult<Integer> page =
+        cache.page("table/files", "1", "", 0, 10, () -> listing(100, loaded, new AtomicInteger()));
+    page =
+        cache.page(
+            "table/files",
+            "1",
+            page.getNextCursor(),
+            0,
+            10,
+            () -> listing(100, loaded, new AtomicInteger()));
+    String cursor = page.getNextCursor();
+    Assert.assertEquals(21, cache.cachedItems());
+
+    // the listing of another table grows over the bound, the listings held are evicted
+    PageResult<Integer> other =
+        cache.page("table2/files", "1", "", 0, 10, () -> listing(100, loaded, new AtomicInteger()));
+    cache.page(
+        "table2/files",
+        "1",
+        other.getNextCursor(),
+        0,
+        10,
+        () -> listing(100, loaded, new AtomicInteger()));
+    Assert.assertTrue(cache.cachedItems() <= 30);
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            cache.page(
+                "table/files",
+                "1",
+                cursor,
+                0,
+                10,
+                () -> listing(100, loaded, new AtomicInteger())));
+  }
+
+  @Test
+  public void testRejectExpiredCursor() {
+    ListingCache cache = new ListingCache(1000, Duration.ofMinutes(10));
+    AtomicInteger loaded = new AtomicInteger();
+    PageResult<Integer> page =
+        cache.page("table/files", "1", "", 0, 5, () -> listing(20, loaded, new AtomicInteger()));
+    String cursor = page.getNextCursor();
+    Assert.assertNotNull(cursor);
+
+    // the evicted listing is not reloaded with the data of the current version
+    cache.invalidateAll();
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            cache.page(
+                "table/files", "2", cursor, 0, 5, () -> listing(30, loaded, new AtomicInteger())));
+    Assert.assertEquals(1, loaded.get());
+
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            cache.page(
+                "table/files",
+                "2",
+                "not-a-cursor",
+                0,
+                5,
+                () -> listing(30, loaded, new AtomicInteger())));
+  }
+
+  @Test
+  public void testCursorPinsVersion() {
+    ListingCache cache = new ListingCache(1000, Duration.ofMinutes(10));
+    AtomicInteger loaded = new AtomicInteger();
+    PageResult<Integer> page =
+        cache.page(
+            "table/snapshots", "1", "", 0, 5, () -> listing(10, loaded, new AtomicInteger()));
+    // the table is changed, but the cursor continues the listing of the previous version
+    page =
+        cache.page(
+            "table/snapshots",
+            "2",
+            page.getNextCursor(),
+            0,
+            5,
+            () -> listing(20, loaded, new AtomicInteger()));
+    Assert.assertEquals(range(5, 10), page.getList());
+    Assert.assertNull(page.getNextCursor());
+    Assert.assertEquals(1, loaded.get());
+
+    // a new listing is loaded for the new version without the cursor
+    page =
+        cache.page(
+            "table/snapshots", "2", "", 0, 5, () -> listing(20, loaded, new AtomicInteger()));
+    Assert.assertEquals(2, loaded.get());
+    String cursor = page.getNextCursor();
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            cache.page(
+                "table/files", "2", cursor, 0, 5, () -> listing(20, loaded, new AtomicInteger())));
+  }
+
+  private static List<Integer> range(int from, int to) {
+    return IntStream.range(from, to).boxed().collect(Collectors.toList());
+  }
+
+  private static CloseableIterable<Integer> listing(
+      int size, AtomicInteger loaded, AtomicInteger iterated) {
+    loaded.incrementAndGet();
+    Iterable<Integer> items =
+        () ->
+            new Iterator<Integer>() {
+              private int next = 0;
+
+              @Override
+              public boolean hasNext() {
+                return next < size;
+              }
+
+              @Override
+              public Integer next() {
+                iterated.incrementAndGet();
+                return next++;
+              }
+            };
+    return CloseableIterable.withNoopClose(items);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.dashboard;
+
+import org.apache.iceberg.util.ThreadPools;
+import org.apache.paimon.AbstractFileStore;
+import org.apache.paimon.Snapshot;
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.local.LocalFileIO;
+import org.apache.paimon.manifest.FileKind;
+import org.apache.paimon.manifest.ManifestEntry;
+import org.apache.paimon.manifest.ManifestFileMeta;
+import org.apache.paimon.schema.Schema;
+import org.apache.paimon.schema.SchemaManager;
+import org.apache.paimon.table.FileStoreTable;
+import org.apache.paimon.table.FileStoreTableFactory;
+import org.apache.paimon.table.sink.BatchTableCommit;
+import org.apache.paimon.table.sink.BatchTableWrite;
+import org.apache.paimon.table.sink.BatchWriteBuilder;
+import org.apache.paimon.types.DataTypes;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class TestPaimonManifestCache {
+
+  @Rule public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testReadThroughCache() throws Exception {
+    File location = temp.newFolder();
+    FileStoreTable table = createTable(location);
+    write(table, 1, "a");
+    write(table, 2, "b");
+    write(table, 3, "a");
+
+    AbstractFileStore<?> store = (AbstractFileStore<?>) table.store();
+    Snapshot snapshot = store.snapshotManager().latestSnapshot();
+    List<ManifestFileMeta> dataManifests =
+        snapshot.dataManifests(store.manifestListFactory().create());
+    Assert.assertTrue(dataManifests.size() > 1);
+
+    PaimonManifestCache cache =
+        new PaimonManifestCache(ThreadPools.getWorkerPool(), 1000, Duration.ofMinutes(10));
+    List<ManifestEntry> entries = cache.readParallel(store, dataManifests);
+    Assert.assertEquals(fileNames(store.newScan().plan().files(FileKind.ADD)), fileNames(entries));
+
+    // the entries are served from the cache once read
+    File[] manifestFiles = new File(location, "manifest").listFiles();
+    Assert.assertNotNull(manifestFiles);
+    for (File file : manifestFiles) {
+      if (file.getName().startsWith("manifest-") && !file.getName().startsWith("manifest-list")) {
+        Assert.assertTrue(file.delete());
+      }
+    }
+    Assert.assertEquals(entries, cache.read(store, dataManifests));
+    Assert.assertEquals(entries, cache.readParallel(store, dataManifests));
+
+    cache.invalidateAll();
+    Assert.assertThrows(RuntimeException.class, () -> cache.readParallel(store, dataManifests));
+  }
+
+  private static FileStoreTable createTable(File location) throws Exception {
+    Path path = new Path(location.toURI());
+    Schema schema =
+        Schema.newBuilder()
+            .column("id", DataTypes.INT())
+            .column("pt", DataTypes.STRING())
+            .partitionKeys("pt")
+            .build();
+    new SchemaManager(LocalFileIO.create(), path).createTable(schema);
+    return FileStoreTableFactory.create(LocalFileIO.create(), path);
+  }
+
+  private static void write(FileStoreTable table, int id, String partition) throws Exception {
+    BatchWriteBuilder builder = table.newBatchWriteBuilder();
+    try (BatchTableWrite write = builder.newWrite();
+        BatchTableCommit commit = builder.newCommit()) {
+      write.write(GenericRow.of(id, BinaryString.fromString(partition)));
+      commit.commit(write.prepareCommit());
+    }
+  }
+
+  private static Set<String> fileNames(List<ManifestEntry> entries) {
+    return entries.stream()
+        .filter(entry -> entry.kind() == FileKind.ADD)
+        .map(entry -> entry.file().fileName())
+        .collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.dashboard;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.TableTestBase;
+import com.netease.arctic.server.dashboard.model.PartitionBaseInfo;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.util.ThreadPools;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class TestPartitionStatsIndex extends TableTestBase {
+
+  private int fileSeq = 0;
+
+  public TestPartitionStatsIndex() {
+    super(new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, true));
+  }
+
+  @Test
+  public void testIncrementalUpdate() {
+    Table table = getArcticTable().asUnkeyedTable();
+    PartitionStatsIndex index =
+        new PartitionStatsIndex(ThreadPools.getWorkerPool(), 10, Duration.ofMinutes(10));
+    String key = table.name();
+    Assert.assertTrue(index.getPartitions(key, table).isEmpty());
+
+    DataFile file1 = newDataFile("op_time_day=2022-01-01", 10);
+    DataFile file2 = newDataFile("op_time_day=2022-01-01", 20);
+    DataFile file3 = newDataFile("op_time_day=2022-01-02", 30);
+    table.newAppend().appendFile(file1).appendFile(file2).appendFile(file3).commit();
+    assertPartitions(index.getPartitions(key, table), table);
+    Assert.assertEquals(table.currentSnapshot().snapshotId(), (long) index.indexedSnapshotId(key));
+
+    // the statistics are updated from the snapshots committed after the indexed one
+    DataFile file4 = newDataFile("op_time_day=2022-01-02", 40);
+    table.newAppend().appendFile(file4).commit();
+    table.newDelete().deleteFile(file1).commit();
+    table
+        .newRewrite()
+        .deleteFile(file2)
+        .addFile(newDataFile("op_time_day=2022-01-03", 50))
+        .commit();
+    List<PartitionBaseInfo> partitions = index.getPartitions(key, table);
+    assertPartitions(partitions, table);
+    Map<String, PartitionBaseInfo> partitionMap =
+        partitions.stream()
+            .collect(Collectors.toMap(PartitionBaseInfo::getPartition, info -> info));
+    Assert.assertFalse(partitionMap.containsKey("op_time_day=2022-01-01"));
+    Assert.assertEquals(2, partitionMap.get("op_time_day=2022-01-02").getFileCount());
+    Assert.assertEquals(70, partitionMap.get("op_time_day=2022-01-02").getFileSize());
+    Assert.assertEquals(1, partitionMap.get("op_time_day=2022-01-03").getFileCount());
+  }
+
+  @Test
+  public void testLastCommitTimeOfLiveFiles() {
+    Table table = getArcticTable().asUnkeyedTable();
+    PartitionStatsIndex index =
+        new PartitionStatsIndex(ThreadPools.getWorkerPool(), 10, Duration.ofMinutes(10));
+    String key = table.name();
+
+    table.newAppend().appendFile(newDataFile("op_time_day=2022-01-01", 10)).commit();
+    long firstCommitTime = table.currentSnapshot().timestampMillis();
+    DataFile file2 = newDataFile("op_time_day=2022-01-01", 20);
+    table.newAppend().appendFile(file2).commit();
+    Assert.assertEquals(
+        table.currentSnapshot().timestampMillis(),
+        index.getPartitions(key, table).get(0).getLastCommitTime());
+
+    // the last commit time goes back to the remaining file once the latest file is removed
+    table.newDelete().deleteFile(file2).commit();
+    List<PartitionBaseInfo> partitions = index.getPartitions(key, table);
+    assertPartitions(partitions, table);
+    Assert.assertEquals(firstCommitTime, partitions.get(0).getLastCommitTime());
+  }
+
+  @Test
+  public void testRebuildAfterRollback() {
+    Table table = getArcticTable().asUnkeyedTable();
+    PartitionStatsIndex index =
+        new PartitionStatsIndex(ThreadPools.getWorkerPool(), 10, Duration.ofMinutes(10));
+    String key = table.name();
+
+    table.newAppend().appendFile(newDataFile("op_time_day=2022-01-01", 10)).commit();
+    long firstSnapshotId = table.currentSnapshot().snapshotId();
+    table.newAppend().appendFile(newDataFile("op_time_day=2022-01-02", 20)).commit();
+    Assert.assertEquals(2, index.getPartitions(key, table).size());
+
+    // the indexed snapshot is no longer an ancestor of the current snapshot
+    table.manageSnapshots().rollbackTo(firstSnapshotId).commit();
+    List<PartitionBaseInfo> partitions = index.getPartitions(key, table);
+    Assert.assertEquals(1, partitions.size());
+    assertPartitions(partitions, table);
+  }
+
+  private void assertPartitions(List<PartitionBaseInfo> partitions, Table table) {
+    PartitionStatsIndex rebuilt =
+        new PartitionStatsIndex(ThreadPools.getWorkerPool(), 10, Duration.ofMinutes(10));
+    Map<String, PartitionBaseInfo> expected =
+        rebuilt.getPartitions(table.name(), table).stream()
+            .collect(Collectors.toMap(PartitionBaseInfo::getPartition, info -> info));
+    Assert.assertEquals(expected.size(), partitions.size());
+    for (PartitionBaseInfo info : partitions) {
+      PartitionBaseInfo expectedInfo = expected.get(info.getPartition());
+      Assert.assertNotNull(expectedInfo);
+      Assert.assertEquals(expectedInfo.getFileCount(), info.getFileCount());
+      Assert.assertEquals(expectedInfo.getFileSize(), info.getFileSize());
+      Assert.assertEquals(expectedInfo.getLastCommitTime(), info.getLastCommitTime());
+    }
+  }
+
+  private DataFile newDataFile(String partitionPath, long fileSize) {
+    return DataFiles.builder(getArcticTable().spec())
+        .withPath(String.format("data-%s.parquet", fileSeq++))
+        .withFileSizeInBytes(fileSize)
+        .withPartitionPath(partitionPath)
+        .withRecordCount(1)
+        .withFormat(FileFormat.PARQUET)
+        .build();
+  }
+}
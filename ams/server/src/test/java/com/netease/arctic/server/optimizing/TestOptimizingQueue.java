@@ -26,15 +26,20 @@ import static com.netease.arctic.server.optimizing.OptimizerGroupMetrics.OPTIMIZ
 import static com.netease.arctic.server.optimizing.OptimizerGroupMetrics.OPTIMIZER_GROUP_PENDING_TABLES;
 import static com.netease.arctic.server.optimizing.OptimizerGroupMetrics.OPTIMIZER_GROUP_PENDING_TASKS;
 import static com.netease.arctic.server.optimizing.OptimizerGroupMetrics.OPTIMIZER_GROUP_PLANING_TABLES;
+import static com.netease.arctic.server.optimizing.OptimizerGroupMetrics.OPTIMIZER_GROUP_SPECULATION_WASTED_TIME;
+import static com.netease.arctic.server.optimizing.OptimizerGroupMetrics.OPTIMIZER_GROUP_SPECULATIVE_TASKS;
 import static com.netease.arctic.server.optimizing.OptimizerGroupMetrics.OPTIMIZER_GROUP_THREADS;
 
 import com.google.common.collect.ImmutableMap;
+import com.netease.arctic.AmoroTable;
 import com.netease.arctic.BasicTableTestHelper;
 import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.OptimizerProperties;
 import com.netease.arctic.ams.api.OptimizerRegisterInfo;
 import com.netease.arctic.ams.api.OptimizingTaskId;
 import com.netease.arctic.ams.api.OptimizingTaskResult;
 import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.ams.api.metrics.Counter;
 import com.netease.arctic.ams.api.metrics.Gauge;
 import com.netease.arctic.ams.api.metrics.MetricKey;
 import com.netease.arctic.ams.api.resource.ResourceGroup;
@@ -45,10 +50,15 @@ import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.optimizing.TableOptimizing;
 import com.netease.arctic.server.manager.MetricManager;
 import com.netease.arctic.server.metrics.MetricRegistry;
+import com.netease.arctic.server.optimizing.plan.OptimizingEvaluator;
+import com.netease.arctic.server.persistence.PersistentBase;
+import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
+import com.netease.arctic.server.resource.OptimizerAutoscaler;
 import com.netease.arctic.server.resource.OptimizerInstance;
 import com.netease.arctic.server.resource.OptimizerThread;
 import com.netease.arctic.server.resource.QuotaProvider;
 import com.netease.arctic.server.table.AMSTableTestBase;
+import com.netease.arctic.server.table.ServerTableIdentifier;
 import com.netease.arctic.server.table.TableConfiguration;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableRuntimeMeta;
@@ -60,6 +70,7 @@ import org.apache.iceberg.AppendFiles;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -69,8 +80,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @RunWith(Parameterized.class)
 public class TestOptimizingQueue extends AMSTableTestBase {
@@ -78,6 +94,7 @@ public class TestOptimizingQueue extends AMSTableTestBase {
   private final Executor planExecutor = Executors.newSingleThreadExecutor();
   private final QuotaProvider quotaProvider = resourceGroup -> 1;
   private final long MAX_POLLING_TIME = 5000;
+  private final Persistency persistency = new Persistency();
 
   private final OptimizerThread optimizerThread =
       new OptimizerThread(1, null) {
@@ -165,6 +182,65 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     queue.dispose();
   }
 
+  @Test
+  public void testCollectBacklog() {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+    TaskRuntime task = queue.pollTask(MAX_POLLING_TIME);
+    Assert.assertNotNull(task);
+    int tasks = queue.collectTasks().size();
+
+    OptimizerAutoscaler.Backlog backlog = queue.collectBacklog();
+    Assert.assertEquals(0, backlog.getExecutingTasks());
+    Assert.assertEquals(tasks, backlog.getPendingTasks());
+    Assert.assertEquals(0, backlog.getAvgTaskCostTime());
+
+    task.schedule(optimizerThread);
+    task.ack(optimizerThread);
+    backlog = queue.collectBacklog();
+    Assert.assertEquals(1, backlog.getExecutingTasks());
+    Assert.assertEquals(tasks - 1, backlog.getPendingTasks());
+    queue.dispose();
+  }
+
+  @Test
+  public void testPollTaskAsync() throws Exception {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+    ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    // thousands of optimizer threads polling concurrently, all complete within the polling timeout
+    int optimizerThreads = 5000;
+    long start = System.currentTimeMillis();
+    List<CompletableFuture<TaskRuntime>> polls = new ArrayList<>();
+    for (int i = 0; i < optimizerThreads; i++) {
+      polls.add(queue.pollTaskAsync(MAX_POLLING_TIME, timer));
+    }
+    CompletableFuture.allOf(polls.toArray(new CompletableFuture[0]))
+        .get(MAX_POLLING_TIME * 2, TimeUnit.MILLISECONDS);
+    Assert.assertTrue(System.currentTimeMillis() - start < MAX_POLLING_TIME * 2);
+    List<TaskRuntime> tasks =
+        polls.stream()
+            .map(CompletableFuture::join)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    Assert.assertEquals(queue.collectTasks().size(), tasks.size());
+    Assert.assertEquals(
+        tasks.size(), tasks.stream().map(TaskRuntime::getTaskId).distinct().count());
+
+    // the waiting poll is woken up by the task to retry
+    CompletableFuture<TaskRuntime> poll = queue.pollTaskAsync(MAX_POLLING_TIME, timer);
+    Assert.assertFalse(poll.isDone());
+    queue.retryTask(tasks.get(0));
+    Assert.assertEquals(
+        tasks.get(0).getTaskId(), poll.get(MAX_POLLING_TIME, TimeUnit.MILLISECONDS).getTaskId());
+
+    // the waiting poll is expired with no task
+    Assert.assertNull(queue.pollTaskAsync(100, timer).get(MAX_POLLING_TIME, TimeUnit.MILLISECONDS));
+    timer.shutdownNow();
+    queue.dispose();
+  }
+
   @Test
   public void testRetryTask() {
     TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
@@ -234,6 +310,222 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     queue.dispose();
   }
 
+  @Test
+  public void testCommitFinishedPartitions() {
+    ArcticTable arcticTable =
+        (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
+    arcticTable
+        .updateProperties()
+        .set(TableProperties.SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE, "1")
+        .commit();
+    appendData(arcticTable.asUnkeyedTable(), 3, "2022-01-02T12:00:00");
+    appendData(arcticTable.asUnkeyedTable(), 4, "2022-01-02T12:00:00");
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+
+    TaskRuntime task1 = queue.pollTask(MAX_POLLING_TIME);
+    TaskRuntime task2 = queue.pollTask(MAX_POLLING_TIME);
+    Assert.assertNotNull(task1);
+    Assert.assertNotNull(task2);
+    Assert.assertNotEquals(task1.getPartition(), task2.getPartition());
+    OptimizingProcess optimizingProcess = tableRuntimeMeta.getTableRuntime().getOptimizingProcess();
+
+    // the partition of the first task is committed while the second task is still running
+    task1.schedule(optimizerThread);
+    task1.ack(optimizerThread);
+    task1.complete(
+        optimizerThread,
+        buildOptimizingTaskResult(task1.getTaskId(), optimizerThread.getThreadId()));
+    task2.schedule(optimizerThread);
+    long snapshotId = arcticTable.asUnkeyedTable().currentSnapshot().snapshotId();
+    optimizingProcess.commitFinishedPartitions();
+    arcticTable.refresh();
+    Assert.assertNotEquals(snapshotId, arcticTable.asUnkeyedTable().currentSnapshot().snapshotId());
+    Assert.assertNull(task1.getInput());
+    Assert.assertEquals(OptimizingProcess.Status.RUNNING, optimizingProcess.getStatus());
+    // the committed partitions are persisted to be excluded by the recovered process
+    OptimizingProcessMeta processMeta =
+        persistency.selectOptimizingProcesses(serverTableIdentifier()).stream()
+            .filter(meta -> meta.getProcessId() == optimizingProcess.getProcessId())
+            .findFirst()
+            .orElseThrow(IllegalStateException::new);
+    Assert.assertEquals(
+        Collections.singletonList(task1.getPartition()), processMeta.getCommittedPartitions());
+
+    // the last finished partition is left to the final commit
+    task2.ack(optimizerThread);
+    task2.complete(
+        optimizerThread,
+        buildOptimizingTaskResult(task2.getTaskId(), optimizerThread.getThreadId()));
+    snapshotId = arcticTable.asUnkeyedTable().currentSnapshot().snapshotId();
+    optimizingProcess.commitFinishedPartitions();
+    arcticTable.refresh();
+    Assert.assertEquals(snapshotId, arcticTable.asUnkeyedTable().currentSnapshot().snapshotId());
+    Assert.assertEquals(
+        OptimizingStatus.COMMITTING, tableRuntimeMeta.getTableRuntime().getOptimizingStatus());
+    optimizingProcess.commit();
+    Assert.assertEquals(OptimizingProcess.Status.SUCCESS, optimizingProcess.getStatus());
+    arcticTable.refresh();
+    Assert.assertFalse(arcticTable.asUnkeyedTable().newScan().planFiles().iterator().hasNext());
+    queue.dispose();
+  }
+
+  @Test
+  public void testSpeculateStragglerTask() throws InterruptedException {
+    ArcticTable arcticTable =
+        (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
+    appendData(arcticTable.asUnkeyedTable(), 3, "2022-01-02T12:00:00");
+    appendData(arcticTable.asUnkeyedTable(), 4, "2022-01-02T12:00:00");
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    ResourceGroup resourceGroup =
+        new ResourceGroup.Builder("test", "local")
+            .addProperty(OptimizerProperties.SPECULATION_ENABLED, "true")
+            .addProperty(OptimizerProperties.SPECULATION_MULTIPLIER, "0")
+            .addProperty(OptimizerProperties.SPECULATION_MIN_RUNTIME, "0")
+            .build();
+    OptimizingQueue queue =
+        new OptimizingQueue(
+            tableService(),
+            resourceGroup,
+            quotaProvider,
+            planExecutor,
+            Collections.singletonList(tableRuntimeMeta),
+            1);
+    OptimizerThread otherThread =
+        new OptimizerThread(1, null) {
+
+          @Override
+          public String getToken() {
+            return "bbb";
+          }
+        };
+
+    TaskRuntime task1 = queue.pollTask(MAX_POLLING_TIME);
+    TaskRuntime task2 = queue.pollTask(MAX_POLLING_TIME);
+    Assert.assertNotNull(task1);
+    Assert.assertNotNull(task2);
+    task2.schedule(optimizerThread);
+    task2.ack(optimizerThread);
+    Thread.sleep(10);
+    // no straggler is found before half of the tasks are finished
+    Assert.assertNull(queue.speculateTask(otherThread));
+
+    task1.schedule(optimizerThread);
+    task1.ack(optimizerThread);
+    task1.complete(
+        optimizerThread,
+        buildOptimizingTaskResult(task1.getTaskId(), optimizerThread.getThreadId()));
+    // the straggler is never speculated on the optimizer running it
+    Assert.assertNull(queue.speculateTask(optimizerThread));
+    Assert.assertEquals(task2, queue.speculateTask(otherThread));
+    Assert.assertTrue(task2.isSpeculating());
+    Assert.assertNull(queue.speculateTask(otherThread));
+
+    // the speculative attempt wins and the output of the original one is deleted
+    task2.complete(
+        otherThread, buildOptimizingTaskResult(task2.getTaskId(), otherThread.getThreadId()));
+    Assert.assertEquals(TaskRuntime.Status.SUCCESS, task2.getStatus());
+    Assert.assertFalse(task2.isSpeculating());
+    Assert.assertTrue(task2.hasAbandonedAttempts());
+    List<DataFile> abandonedFiles =
+        MixedDataTestHelpers.writeBaseStore(
+            arcticTable.asUnkeyedTable(),
+            0L,
+            Lists.newArrayList(
+                MixedDataTestHelpers.createRecord(
+                    arcticTable.schema(), 5, "111", 0L, "2022-01-02T12:00:00")),
+            false);
+    OptimizingTaskResult abandonedResult =
+        new OptimizingTaskResult(task2.getTaskId(), optimizerThread.getThreadId());
+    abandonedResult.setTaskOutput(
+        SerializationUtil.simpleSerialize(
+            new RewriteFilesOutput(abandonedFiles.toArray(new DataFile[0]), null, null)));
+    task2.complete(optimizerThread, abandonedResult);
+    Assert.assertFalse(task2.hasAbandonedAttempts());
+    Assert.assertFalse(arcticTable.io().exists(abandonedFiles.get(0).path().toString()));
+    Assert.assertEquals(
+        OptimizingStatus.COMMITTING, tableRuntimeMeta.getTableRuntime().getOptimizingStatus());
+
+    MetricRegistry registry = MetricManager.getInstance().getGlobalRegistry();
+    Map<String, String> tagValues = ImmutableMap.of(GROUP_TAG, resourceGroup.getName());
+    Counter speculativeTasks =
+        (Counter)
+            registry.getMetrics().get(new MetricKey(OPTIMIZER_GROUP_SPECULATIVE_TASKS, tagValues));
+    Counter wastedTime =
+        (Counter)
+            registry
+                .getMetrics()
+                .get(new MetricKey(OPTIMIZER_GROUP_SPECULATION_WASTED_TIME, tagValues));
+    Assert.assertEquals(1, speculativeTasks.getCount());
+    Assert.assertTrue(wastedTime.getCount() > 0);
+    queue.dispose();
+  }
+
+  @Test
+  public void testConcurrentProcesses() {
+    ArcticTable arcticTable =
+        (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
+    arcticTable
+        .updateProperties()
+        .set(TableProperties.SELF_OPTIMIZING_MAX_CONCURRENT_PROCESSES, "2")
+        .set(TableProperties.SELF_OPTIMIZING_MIN_PLAN_INTERVAL, "0")
+        .commit();
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    TableRuntime tableRuntime = tableRuntimeMeta.getTableRuntime();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+    TaskRuntime task1 = queue.pollTask(MAX_POLLING_TIME);
+    Assert.assertNotNull(task1);
+    OptimizingProcess process1 = tableRuntime.getOptimizingProcess();
+
+    // the new files of another partition are planned while the first process is running
+    appendData(arcticTable.asUnkeyedTable(), 3, "2022-01-02T12:00:00");
+    appendData(arcticTable.asUnkeyedTable(), 4, "2022-01-02T12:00:00");
+    AmoroTable<?> table = tableService().loadTable(serverTableIdentifier());
+    tableRuntime.refresh(table);
+    OptimizingEvaluator evaluator =
+        new OptimizingEvaluator(tableRuntime, (ArcticTable) table.originalTable());
+    Assert.assertTrue(evaluator.isNecessary());
+    Assert.assertEquals(1, evaluator.getPendingInput().getPartitions().get(0).size());
+    tableRuntime.setPendingInput(evaluator.getPendingInput());
+    TaskRuntime task2 = queue.pollTask(MAX_POLLING_TIME);
+    Assert.assertNotNull(task2);
+    Assert.assertNotEquals(task1.getPartition(), task2.getPartition());
+    Assert.assertEquals(process1, tableRuntime.getOptimizingProcess());
+    Assert.assertEquals(1, tableRuntime.getConcurrentProcesses().size());
+    OptimizingProcess process2 = tableRuntime.getConcurrentProcesses().get(0);
+    Assert.assertEquals(
+        Sets.newHashSet(task1.getPartition(), task2.getPartition()),
+        tableRuntime.getOptimizingPartitions());
+    Assert.assertFalse(tableRuntime.isConcurrentPlanningAllowed());
+
+    // the concurrent process is committed without waiting for the first process
+    task2.schedule(optimizerThread);
+    task2.ack(optimizerThread);
+    task2.complete(
+        optimizerThread,
+        buildOptimizingTaskResult(task2.getTaskId(), optimizerThread.getThreadId()));
+    Assert.assertTrue(process2.isPrepared());
+    Assert.assertNotEquals(OptimizingStatus.COMMITTING, tableRuntime.getOptimizingStatus());
+    process2.commit();
+    Assert.assertEquals(OptimizingProcess.Status.SUCCESS, process2.getStatus());
+    Assert.assertTrue(tableRuntime.getConcurrentProcesses().isEmpty());
+    Assert.assertEquals(process1, tableRuntime.getOptimizingProcess());
+    Assert.assertEquals(process2.getTargetSnapshotId(), tableRuntime.getLastOptimizedSnapshotId());
+
+    // the older process completed later does not roll back the last optimized snapshot
+    task1.schedule(optimizerThread);
+    task1.ack(optimizerThread);
+    task1.complete(
+        optimizerThread,
+        buildOptimizingTaskResult(task1.getTaskId(), optimizerThread.getThreadId()));
+    Assert.assertEquals(OptimizingStatus.COMMITTING, tableRuntime.getOptimizingStatus());
+    process1.commit();
+    Assert.assertEquals(OptimizingProcess.Status.SUCCESS, process1.getStatus());
+    Assert.assertEquals(OptimizingStatus.IDLE, tableRuntime.getOptimizingStatus());
+    Assert.assertEquals(process2.getTargetSnapshotId(), tableRuntime.getLastOptimizedSnapshotId());
+    queue.dispose();
+  }
+
   @Test
   public void testCollectingTasks() {
     TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
@@ -380,10 +672,13 @@ public class TestOptimizingQueue extends AMSTableTestBase {
   }
 
   private void appendData(UnkeyedTable table, int id) {
+    appendData(table, id, "2022-01-01T12:00:00");
+  }
+
+  private void appendData(UnkeyedTable table, int id, String opTime) {
     ArrayList<Record> newRecords =
         Lists.newArrayList(
-            MixedDataTestHelpers.createRecord(
-                table.schema(), id, "111", 0L, "2022-01-01T12:00:00"));
+            MixedDataTestHelpers.createRecord(table.schema(), id, "111", 0L, opTime));
     List<DataFile> dataFiles = MixedDataTestHelpers.writeBaseStore(table, 0L, newRecords, false);
     AppendFiles appendFiles = table.newAppend();
     dataFiles.forEach(appendFiles::appendFile);
@@ -397,6 +692,19 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     return optimizingTaskResult;
   }
 
+  private static class Persistency extends PersistentBase {
+    public List<OptimizingProcessMeta> selectOptimizingProcesses(
+        ServerTableIdentifier tableIdentifier) {
+      return getAs(
+          OptimizingMapper.class,
+          mapper ->
+              mapper.selectOptimizingProcesses(
+                  tableIdentifier.getCatalog(),
+                  tableIdentifier.getDatabase(),
+                  tableIdentifier.getTableName()));
+    }
+  }
+
   private OptimizingTaskResult buildOptimizingTaskFailed(OptimizingTaskId taskId, int threadId) {
     OptimizingTaskResult optimizingTaskResult = new OptimizingTaskResult(taskId, threadId);
     optimizingTaskResult.setErrorMessage("error");
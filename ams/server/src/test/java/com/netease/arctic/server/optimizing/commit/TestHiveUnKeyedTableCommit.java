@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.commit;
+
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.TableTestBase;
+import com.netease.arctic.hive.TestHMS;
+import com.netease.arctic.hive.catalog.HiveCatalogTestHelper;
+import com.netease.arctic.hive.catalog.HiveTableTestHelper;
+import com.netease.arctic.hive.io.HiveDataTestHelpers;
+import com.netease.arctic.hive.table.SupportHive;
+import com.netease.arctic.optimizing.OptimizingInputProperties;
+import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.optimizing.RewriteFilesOutput;
+import com.netease.arctic.server.exception.OptimizingCommitException;
+import com.netease.arctic.server.optimizing.TaskRuntime;
+import com.netease.arctic.server.optimizing.UnKeyedTableCommit;
+import com.netease.arctic.table.UnkeyedTable;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.thrift.TException;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class TestHiveUnKeyedTableCommit extends TableTestBase {
+
+  @ClassRule public static TestHMS TEST_HMS = new TestHMS();
+
+  public TestHiveUnKeyedTableCommit() {
+    super(
+        new HiveCatalogTestHelper(TableFormat.MIXED_HIVE, TEST_HMS.getHiveConf()),
+        new HiveTableTestHelper(false, true));
+  }
+
+  @Test
+  public void testMoveFilesToHive() throws OptimizingCommitException, IOException, TException {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    List<DataFile> inputFiles = writeAndAppend(table);
+    List<DataFile> outputFiles = HiveDataTestHelpers.writerOf(table).writeBase(records());
+
+    commit(table, inputFiles, outputFiles);
+
+    table.refresh();
+    String hiveLocation = ((SupportHive) table).hiveLocation();
+    Set<String> committedFiles = currentFiles(table);
+    Assert.assertEquals(outputFiles.size(), committedFiles.size());
+    for (String file : committedFiles) {
+      Assert.assertTrue(file.startsWith(hiveLocation));
+      Assert.assertTrue(table.io().exists(file));
+    }
+
+    // the files of the partitions existing in hive are moved to the hive partition locations
+    List<Partition> hivePartitions =
+        TEST_HMS
+            .getHiveClient()
+            .listPartitions(table.id().getDatabase(), table.id().getTableName(), Short.MAX_VALUE);
+    Assert.assertEquals(2, hivePartitions.size());
+    List<DataFile> newInputFiles = writeAndAppend(table);
+    List<DataFile> newOutputFiles = HiveDataTestHelpers.writerOf(table).writeBase(records());
+    commit(table, newInputFiles, newOutputFiles);
+    Set<String> hivePartitionLocations =
+        hivePartitions.stream().map(p -> p.getSd().getLocation()).collect(Collectors.toSet());
+    table.refresh();
+    Assert.assertEquals(outputFiles.size() + newOutputFiles.size(), currentFiles(table).size());
+    for (String file : currentFiles(table)) {
+      Assert.assertTrue(hivePartitionLocations.contains(file.substring(0, file.lastIndexOf('/'))));
+    }
+  }
+
+  @Test
+  public void testMoveFilesBackOnFailure() throws IOException {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    List<DataFile> inputFiles = writeAndAppend(table);
+    List<DataFile> outputFiles = HiveDataTestHelpers.writerOf(table).writeBase(records());
+    List<String> outputPaths =
+        outputFiles.stream().map(f -> f.path().toString()).collect(Collectors.toList());
+    List<DataFile> outputWithMissingFile = new ArrayList<>(outputFiles);
+    outputWithMissingFile.add(
+        DataFiles.builder(table.spec())
+            .copy(outputFiles.get(0))
+            .withPath(table.location() + "/data/not-exist.parquet")
+            .build());
+
+    Assert.assertThrows(
+        RuntimeException.class, () -> commit(table, inputFiles, outputWithMissingFile));
+    for (int i = 0; i < outputFiles.size(); i++) {
+      Assert.assertEquals(outputPaths.get(i), outputFiles.get(i).path().toString());
+      Assert.assertTrue(table.io().exists(outputPaths.get(i)));
+    }
+    table.refresh();
+    Assert.assertEquals(
+        inputFiles.stream().map(f -> f.path().toString()).collect(Collectors.toSet()),
+        currentFiles(table));
+  }
+
+  @Test
+  public void testDeleteMovedFilesOnFailureAfterMoving() throws IOException {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    List<DataFile> inputFiles = writeAndAppend(table);
+    List<DataFile> outputFiles = HiveDataTestHelpers.writerOf(table).writeBase(records());
+    List<TaskRuntime> tasks = buildTasks(table, inputFiles, outputFiles);
+    // fail collecting the input files, after the output files are moved
+    Mockito.when(tasks.get(0).getInput()).thenThrow(new IllegalStateException("broken input"));
+
+    Assert.assertThrows(
+        OptimizingCommitException.class,
+        () -> new UnKeyedTableCommit(table.currentSnapshot().snapshotId(), table, tasks).commit());
+    String hiveLocation = ((SupportHive) table).hiveLocation();
+    for (DataFile outputFile : outputFiles) {
+      Assert.assertTrue(outputFile.path().toString().startsWith(hiveLocation));
+      Assert.assertFalse(table.io().exists(outputFile.path().toString()));
+    }
+    table.refresh();
+    Assert.assertEquals(
+        inputFiles.stream().map(f -> f.path().toString()).collect(Collectors.toSet()),
+        currentFiles(table));
+  }
+
+  private List<Record> records() {
+    return Lists.newArrayList(
+        tableTestHelper().generateTestRecord(1, "aaa", 0, "2022-01-01T12:00:00"),
+        tableTestHelper().generateTestRecord(2, "bbb", 0, "2022-01-02T12:00:00"));
+  }
+
+  private List<DataFile> writeAndAppend(UnkeyedTable table) {
+    List<DataFile> files = HiveDataTestHelpers.writerOf(table).writeBase(records());
+    AppendFiles appendFiles = table.newAppend();
+    files.forEach(appendFiles::appendFile);
+    appendFiles.commit();
+    return files;
+  }
+
+  private void commit(UnkeyedTable table, List<DataFile> inputFiles, List<DataFile> outputFiles)
+      throws OptimizingCommitException {
+    List<TaskRuntime> tasks = buildTasks(table, inputFiles, outputFiles);
+    new UnKeyedTableCommit(table.currentSnapshot().snapshotId(), table, tasks).commit();
+  }
+
+  private List<TaskRuntime> buildTasks(
+      UnkeyedTable table, List<DataFile> inputFiles, List<DataFile> outputFiles) {
+    Map<String, String> properties =
+        new OptimizingInputProperties().needMoveFile2HiveLocation().getProperties();
+    List<TaskRuntime> tasks = new ArrayList<>();
+    Map<String, List<DataFile>> partitionInputs =
+        inputFiles.stream()
+            .collect(Collectors.groupingBy(f -> table.spec().partitionToPath(f.partition())));
+    Map<String, List<DataFile>> partitionOutputs =
+        outputFiles.stream()
+            .collect(Collectors.groupingBy(f -> table.spec().partitionToPath(f.partition())));
+    partitionInputs.forEach(
+        (partition, files) -> {
+          TaskRuntime taskRuntime = Mockito.mock(TaskRuntime.class);
+          Mockito.when(taskRuntime.getPartition()).thenReturn(partition);
+          Mockito.when(taskRuntime.getProperties()).thenReturn(properties);
+          Mockito.when(taskRuntime.getInput())
+              .thenReturn(
+                  new RewriteFilesInput(
+                      files.toArray(new DataFile[0]), null, null, null, getArcticTable()));
+          Mockito.when(taskRuntime.getOutput())
+              .thenReturn(
+                  new RewriteFilesOutput(
+                      partitionOutputs
+                          .getOrDefault(partition, Collections.emptyList())
+                          .toArray(new DataFile[0]),
+                      null,
+                      null));
+          tasks.add(taskRuntime);
+        });
+    return tasks;
+  }
+
+  private List<DataFile> currentDataFiles(UnkeyedTable table) throws IOException {
+    List<DataFile> files = new ArrayList<>();
+    try (CloseableIterable<FileScanTask> tasks = table.newScan().planFiles()) {
+      tasks.forEach(task -> files.add(task.file()));
+    }
+    return files;
+  }
+
+  private Set<String> currentFiles(UnkeyedTable table) throws IOException {
+    Set<String> files = new HashSet<>();
+    currentDataFiles(table).forEach(file -> files.add(file.path().toString()));
+    return files;
+  }
+}
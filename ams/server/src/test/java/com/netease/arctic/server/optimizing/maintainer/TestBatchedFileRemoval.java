@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.TableTestBase;
+import com.netease.arctic.server.optimizing.OptimizingTestHelpers;
+import com.netease.arctic.table.UnkeyedTable;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFiles;
+import org.apache.iceberg.RewriteFiles;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TestBatchedFileRemoval extends TableTestBase {
+
+  public TestBatchedFileRemoval() {
+    super(new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, false));
+  }
+
+  @Test
+  public void testRemoveInBatches() {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    List<DataFile> dataFiles = writeFiles(5);
+    long snapshotCount = Iterables.size(table.snapshots());
+
+    BatchedFileRemoval<DataFile> removal =
+        new BatchedFileRemoval<>(table.name(), batch -> deleteFiles(table, batch), 2);
+    Assert.assertEquals(5, removal.remove(dataFiles));
+    Assert.assertTrue(removal.allRemoved());
+    // 3 batches are committed separately
+    Assert.assertEquals(snapshotCount + 3, Iterables.size(table.snapshots()));
+    Assert.assertTrue(Iterables.isEmpty(table.newScan().planFiles()));
+  }
+
+  @Test
+  public void testSkipConflictFiles() {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    List<DataFile> dataFiles = writeFiles(4);
+    // remove a file by a concurrent writer
+    deleteFiles(table, dataFiles.subList(1, 2)).commit();
+
+    BatchedFileRemoval<DataFile> removal =
+        new BatchedFileRemoval<>(
+            table.name(),
+            batch -> {
+              RewriteFiles rewriteFiles = table.newRewrite();
+              rewriteFiles.rewriteFiles(Sets.newHashSet(batch), Collections.emptySet());
+              return rewriteFiles;
+            });
+    // the batch is split until the removed file is skipped
+    Assert.assertEquals(3, removal.remove(dataFiles));
+    Assert.assertFalse(removal.allRemoved());
+    Assert.assertTrue(Iterables.isEmpty(table.newScan().planFiles()));
+  }
+
+  private List<DataFile> writeFiles(int count) {
+    List<DataFile> dataFiles = Lists.newArrayList();
+    for (int i = 0; i < count; i++) {
+      dataFiles.addAll(
+          OptimizingTestHelpers.appendBase(
+              getArcticTable(),
+              tableTestHelper()
+                  .writeBaseStore(
+                      getArcticTable(),
+                      0L,
+                      OptimizingTestHelpers.generateRecord(
+                          tableTestHelper(), i, i, "2022-01-01T12:00:00"),
+                      false)));
+    }
+    return dataFiles;
+  }
+
+  private static DeleteFiles deleteFiles(UnkeyedTable table, List<DataFile> files) {
+    DeleteFiles delete = table.newDelete();
+    files.forEach(delete::deleteFile);
+    return delete;
+  }
+}
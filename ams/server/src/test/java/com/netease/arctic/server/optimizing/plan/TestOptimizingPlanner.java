@@ -24,16 +24,23 @@ import com.netease.arctic.ams.api.OptimizerProperties;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.optimizing.OptimizingInputProperties;
+import com.netease.arctic.server.optimizing.OptimizingTestHelpers;
 import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
+import com.netease.arctic.table.TableProperties;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.expressions.Expression;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RunWith(Parameterized.class)
@@ -93,6 +100,86 @@ public class TestOptimizingPlanner extends TestOptimizingEvaluator {
         Collections.emptyList());
   }
 
+  @Test
+  public void testStreamingPlanning() {
+    closeFullOptimizingInterval();
+    updateBaseHashBucket(1);
+    for (int i = 0; i < 3; i++) {
+      List<Record> newRecords =
+          OptimizingTestHelpers.generateRecord(
+              tableTestHelper(), i * 4 + 1, i * 4 + 4, "2022-01-01T12:00:00");
+      long transactionId = beginTransaction();
+      OptimizingTestHelpers.appendBase(
+          getArcticTable(),
+          tableTestHelper().writeBaseStore(getArcticTable(), transactionId, newRecords, false));
+    }
+
+    List<TaskDescriptor> tasks = buildOptimizingEvaluator().planTasks();
+    OptimizingPlanner streamingPlanner =
+        new OptimizingPlanner(
+            getTableRuntime(),
+            getArcticTable(),
+            1,
+            OptimizerProperties.MAX_INPUT_FILE_SIZE_PER_THREAD_DEFAULT,
+            true);
+    Assert.assertTrue(streamingPlanner.isNecessary());
+    Assert.assertEquals(
+        rewrittenDataFiles(tasks), rewrittenDataFiles(streamingPlanner.planTasks()));
+
+    if (getArcticTable().isUnkeyedTable()) {
+      // stop adding files once the input size reaches the limit
+      OptimizingPlanner limitedPlanner =
+          new OptimizingPlanner(getTableRuntime(), getArcticTable(), 1, 1, true);
+      Assert.assertTrue(limitedPlanner.isNecessary());
+      Assert.assertEquals(1, rewrittenDataFiles(limitedPlanner.planTasks()).size());
+    }
+  }
+
+  @Test
+  public void testRowLevelExpiration() {
+    closeFullOptimizingInterval();
+    updateBaseHashBucket(1);
+    List<Record> newRecords =
+        OptimizingTestHelpers.generateRecord(tableTestHelper(), 1, 4, "2022-01-01T12:00:00");
+    newRecords.addAll(
+        OptimizingTestHelpers.generateRecord(tableTestHelper(), 5, 8, "2030-01-01T12:00:00"));
+    long transactionId = beginTransaction();
+    OptimizingTestHelpers.appendBase(
+        getArcticTable(),
+        tableTestHelper().writeBaseStore(getArcticTable(), transactionId, newRecords, false));
+    // a single fragment file in each partition is not worth optimizing
+    Assert.assertFalse(buildOptimizingEvaluator().isNecessary());
+
+    updateTableProperty(TableProperties.ENABLE_DATA_EXPIRATION, "true");
+    updateTableProperty(TableProperties.DATA_EXPIRATION_FIELD, "op_time");
+    updateTableProperty(TableProperties.DATA_EXPIRATION_LEVEL, "row");
+    updateTableProperty(TableProperties.DATA_EXPIRATION_RETENTION_TIME, "1d");
+    updateTableProperty(TableProperties.DATA_EXPIRATION_BASE_ON_RULE, "CURRENT_TIME");
+
+    OptimizingPlanner planner = buildOptimizingEvaluator();
+    Assert.assertTrue(planner.isNecessary());
+    List<TaskDescriptor> tasks = planner.planTasks();
+    // the fully expired file of the partitioned table or the file straddling the expiration
+    // boundary of the unpartitioned table
+    Assert.assertEquals(1, rewrittenDataFiles(tasks).size());
+    for (TaskDescriptor task : tasks) {
+      Assert.assertNotEquals(
+          Expression.Operation.FALSE,
+          OptimizingInputProperties.parse(task.properties()).getExpiredRowsFilter().op());
+    }
+
+    // the estimated ratio of the expired rows never exceeds 1
+    updateTableProperty(TableProperties.DATA_EXPIRATION_ROW_RATIO, "1");
+    Assert.assertFalse(buildOptimizingEvaluator().isNecessary());
+  }
+
+  private Set<String> rewrittenDataFiles(List<TaskDescriptor> tasks) {
+    return tasks.stream()
+        .flatMap(task -> Arrays.stream(task.getInput().rewrittenDataFiles()))
+        .map(file -> file.path().toString())
+        .collect(Collectors.toSet());
+  }
+
   @Override
   protected OptimizingPlanner buildOptimizingEvaluator() {
     return new OptimizingPlanner(
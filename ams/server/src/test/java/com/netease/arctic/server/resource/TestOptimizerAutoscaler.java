@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.resource;
+
+import com.netease.arctic.ams.api.OptimizerProperties;
+import com.netease.arctic.ams.api.resource.Resource;
+import com.netease.arctic.ams.api.resource.ResourceGroup;
+import com.netease.arctic.ams.api.resource.ResourceType;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TestOptimizerAutoscaler {
+
+  private static final long MINUTE = 60 * 1000L;
+
+  private final List<Resource> resources = new ArrayList<>();
+  private final List<Integer> requestedThreads = new ArrayList<>();
+  private final List<String> releasedResources = new ArrayList<>();
+  private ResourceGroup group;
+  private OptimizerAutoscaler autoscaler;
+
+  @Before
+  public void setup() {
+    group =
+        new ResourceGroup.Builder("test", "localContainer")
+            .addProperty(OptimizerProperties.AUTOSCALING_ENABLED, "true")
+            .addProperty(OptimizerProperties.AUTOSCALING_MIN_PARALLELISM, "1")
+            .addProperty(OptimizerProperties.AUTOSCALING_MAX_PARALLELISM, "10")
+            .addProperty(OptimizerProperties.AUTOSCALING_STEP_PARALLELISM, "4")
+            .addProperty(OptimizerProperties.AUTOSCALING_TARGET_BACKLOG_TIME, "60000")
+            .addProperty(OptimizerProperties.AUTOSCALING_SCALE_OUT_COOLDOWN, "120000")
+            .addProperty(OptimizerProperties.AUTOSCALING_SCALE_IN_COOLDOWN, "600000")
+            .build();
+    autoscaler =
+        new OptimizerAutoscaler(
+            new OptimizerAutoscaler.Scaler() {
+              @Override
+              public void scaleOut(ResourceGroup group, int threadCount) {
+                requestedThreads.add(threadCount);
+                resources.add(
+                    new Resource.Builder(
+                            group.getContainer(), group.getName(), ResourceType.OPTIMIZER)
+                        .setThreadCount(threadCount)
+                        .build());
+              }
+
+              @Override
+              public void scaleIn(ResourceGroup group, Resource resource) {
+                releasedResources.add(resource.getResourceId());
+                resources.remove(resource);
+              }
+            });
+  }
+
+  @Test
+  public void testDesiredParallelism() {
+    Map<String, String> properties =
+        ImmutableMap.of(
+            OptimizerProperties.AUTOSCALING_MAX_PARALLELISM, "10",
+            OptimizerProperties.AUTOSCALING_TARGET_BACKLOG_TIME, "60000");
+    OptimizerAutoscaler.AutoscalingConfig config =
+        new OptimizerAutoscaler.AutoscalingConfig(properties);
+    // no task cost known, all the pending tasks are requested
+    Assert.assertEquals(
+        5,
+        OptimizerAutoscaler.desiredParallelism(
+            new OptimizerAutoscaler.Backlog(2, 3, 5, 0), config));
+    // 6 pending tasks of 20 seconds are cleared by 2 threads in a minute
+    Assert.assertEquals(
+        4,
+        OptimizerAutoscaler.desiredParallelism(
+            new OptimizerAutoscaler.Backlog(2, 6, 8, 20000), config));
+    // the tables over quota bound the threads
+    Assert.assertEquals(
+        3,
+        OptimizerAutoscaler.desiredParallelism(
+            new OptimizerAutoscaler.Backlog(2, 6, 3, 60000), config));
+    // bounded by the max parallelism
+    Assert.assertEquals(
+        10,
+        OptimizerAutoscaler.desiredParallelism(
+            new OptimizerAutoscaler.Backlog(0, 100, 100, 0), config));
+  }
+
+  @Test
+  public void testScaleOutAndIn() {
+    long now = 10 * MINUTE;
+    // the backlog of the peak is requested by steps
+    scale(new OptimizerAutoscaler.Backlog(0, 9, 9, 0), now);
+    Assert.assertEquals(Arrays.asList(4, 4, 1), requestedThreads);
+
+    // wait for the cooldown before requesting more
+    scale(new OptimizerAutoscaler.Backlog(9, 20, 29, 0), now + MINUTE);
+    Assert.assertEquals(3, requestedThreads.size());
+    scale(new OptimizerAutoscaler.Backlog(9, 20, 29, 0), now + 3 * MINUTE);
+    Assert.assertEquals(Arrays.asList(4, 4, 1, 1), requestedThreads);
+
+    // the idle optimizers are not released before the desired parallelism stays lower for the
+    // scale-in cooldown
+    now += 4 * MINUTE;
+    scale(new OptimizerAutoscaler.Backlog(0, 0, 0, 0), now);
+    scale(new OptimizerAutoscaler.Backlog(0, 0, 0, 0), now + 5 * MINUTE);
+    Assert.assertTrue(releasedResources.isEmpty());
+    // a peak resets the cooldown of scaling in
+    scale(new OptimizerAutoscaler.Backlog(10, 0, 10, 0), now + 6 * MINUTE);
+    scale(new OptimizerAutoscaler.Backlog(0, 0, 0, 0), now + 7 * MINUTE);
+    scale(new OptimizerAutoscaler.Backlog(0, 0, 0, 0), now + 12 * MINUTE);
+    Assert.assertTrue(releasedResources.isEmpty());
+
+    // the largest idle optimizer is released at a time, keeping the min parallelism
+    String busyResource = resources.get(0).getResourceId();
+    for (int i = 0; i < 10; i++) {
+      scale(
+          new OptimizerAutoscaler.Backlog(0, 0, 0, 0),
+          now + (17 + i * 10) * MINUTE,
+          Collections.singleton(busyResource));
+    }
+    Assert.assertEquals(3, releasedResources.size());
+    Assert.assertFalse(releasedResources.contains(busyResource));
+    Assert.assertEquals(1, resources.size());
+    Assert.assertEquals(busyResource, resources.get(0).getResourceId());
+  }
+
+  private void scale(OptimizerAutoscaler.Backlog backlog, long now) {
+    scale(backlog, now, Collections.emptySet());
+  }
+
+  private void scale(OptimizerAutoscaler.Backlog backlog, long now, Set<String> busyResourceIds) {
+    autoscaler.scale(
+        group, backlog, new ArrayList<>(resources), Collections.emptyList(), busyResourceIds, now);
+  }
+}
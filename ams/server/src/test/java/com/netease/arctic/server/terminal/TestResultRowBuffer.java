@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.terminal;
+
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestResultRowBuffer {
+
+  @Rule public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testInMemory() {
+    ResultRowBuffer buffer = new ResultRowBuffer(0, null);
+    List<List<String>> rows = rows(10);
+    rows.forEach(buffer::append);
+
+    Assert.assertEquals(10, buffer.size());
+    Assert.assertEquals(rows, buffer.rows());
+    Assert.assertEquals(rows.subList(3, 6), buffer.rows(3, 3));
+  }
+
+  @Test
+  public void testSpillAndReRead() throws Exception {
+    File spillDir = temp.newFolder();
+    ResultRowBuffer buffer = new ResultRowBuffer(4, spillDir);
+    List<List<String>> rows = rows(10);
+    rows.forEach(buffer::append);
+
+    Assert.assertEquals(1, spillDir.listFiles().length);
+    Assert.assertEquals(10, buffer.size());
+    Assert.assertEquals(rows, buffer.rows());
+    // pages across the memory and spilled rows
+    Assert.assertEquals(rows.subList(2, 6), buffer.rows(2, 4));
+    Assert.assertEquals(rows.subList(6, 8), buffer.rows(6, 2));
+    Assert.assertEquals(rows.subList(8, 10), buffer.rows(8, 5));
+    Assert.assertTrue(buffer.rows(12, 5).isEmpty());
+
+    buffer.append(Arrays.asList("10", null));
+    Assert.assertEquals(Arrays.asList("10", null), buffer.rows(10, 1).get(0));
+
+    buffer.close();
+    Assert.assertEquals(0, spillDir.listFiles().length);
+    // a released result reads as empty
+    Assert.assertEquals(0, buffer.size());
+    Assert.assertTrue(buffer.rows(0, 5).isEmpty());
+  }
+
+  private static List<List<String>> rows(int count) {
+    List<List<String>> rows = Lists.newArrayList();
+    for (int i = 0; i < count; i++) {
+      rows.add(Arrays.asList(String.valueOf(i), "name-" + i));
+    }
+    return rows;
+  }
+}
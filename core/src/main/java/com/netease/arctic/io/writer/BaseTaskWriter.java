@@ -33,16 +33,25 @@ import org.apache.iceberg.io.DataWriter;
 import org.apache.iceberg.io.FileAppenderFactory;
 import org.apache.iceberg.io.TaskWriter;
 import org.apache.iceberg.io.WriteResult;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.util.Tasks;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * Abstract implementation of writer for {@link com.netease.arctic.table.BaseTable}.
@@ -108,14 +117,17 @@ public abstract class BaseTaskWriter<T> implements TaskWriter<T> {
 
   @Override
   public void abort() throws IOException {
-    writerHolder.close();
-    List<DataFile> completedFiles = writerHolder.completedFiles();
-
-    // clean up files created by this writer
-    Tasks.foreach(completedFiles)
-        .throwFailureWhenFinished()
-        .noRetry()
-        .run(file -> io.deleteFile(file.path().toString()));
+    try {
+      writerHolder.close();
+    } finally {
+      List<DataFile> completedFiles = writerHolder.completedFiles();
+
+      // clean up files created by this writer, including the ones closed before a close failure
+      Tasks.foreach(completedFiles)
+          .throwFailureWhenFinished()
+          .noRetry()
+          .run(file -> io.deleteFile(file.path().toString()));
+    }
   }
 
   @Override
@@ -130,6 +142,19 @@ public abstract class BaseTaskWriter<T> implements TaskWriter<T> {
     writerHolder.close();
   }
 
+  /**
+   * Close the rolled and the remaining data writers on the executor instead of the writing thread,
+   * so that footer writing and flushing of many files overlap. All the data files are still
+   * completed before {@link #complete()} returns.
+   *
+   * @param closeExecutor the executor to close the data writers.
+   * @param maxInFlightBytes the maximum bytes of the data writers being closed, the writing thread
+   *     waits for the earliest ones to be closed once exceeded.
+   */
+  public void closeWritersAsync(Executor closeExecutor, long maxInFlightBytes) {
+    writerHolder.closeWritersAsync(closeExecutor, maxInFlightBytes);
+  }
+
   protected PrimaryKeyData getPrimaryKey() {
     return primaryKey;
   }
@@ -170,6 +195,10 @@ public abstract class BaseTaskWriter<T> implements TaskWriter<T> {
     protected final long targetFileSize;
     protected final List<DataFile> completedFiles = Lists.newArrayList();
     private boolean closed = false;
+    private Executor closeExecutor;
+    private long maxInFlightBytes;
+    private long inFlightBytes = 0;
+    private final Deque<PendingClose> pendingCloses = new ArrayDeque<>();
 
     public WriterHolder(
         FileFormat format,
@@ -195,11 +224,99 @@ public abstract class BaseTaskWriter<T> implements TaskWriter<T> {
 
     public void close() throws IOException {
       this.closed = true;
-      doClose();
+      try {
+        doClose();
+      } catch (IOException | RuntimeException e) {
+        try {
+          awaitPendingCloses();
+        } catch (IOException pendingFailure) {
+          e.addSuppressed(pendingFailure);
+        }
+        throw e;
+      }
+      awaitPendingCloses();
     }
 
     protected abstract void doClose() throws IOException;
 
+    public void closeWritersAsync(Executor closeExecutor, long maxInFlightBytes) {
+      Preconditions.checkArgument(maxInFlightBytes > 0, "maxInFlightBytes must be positive");
+      this.closeExecutor = closeExecutor;
+      this.maxInFlightBytes = maxInFlightBytes;
+    }
+
+    /**
+     * Close the data writer and collect its data file, the closing happens on the close executor if
+     * present.
+     */
+    protected void closeWriter(TaskDataWriter<T> dataWriter) throws IOException {
+      if (closeExecutor == null) {
+        dataWriter.close();
+        addCompletedFile(dataWriter.toDataFile());
+        return;
+      }
+
+      long length = dataWriter.length();
+      while (!pendingCloses.isEmpty() && inFlightBytes + length > maxInFlightBytes) {
+        awaitEarliestClose();
+      }
+      CompletableFuture<DataFile> future =
+          CompletableFuture.supplyAsync(
+              () -> {
+                dataWriter.close();
+                return dataWriter.toDataFile();
+              },
+              closeExecutor);
+      pendingCloses.add(new PendingClose(future, length));
+      inFlightBytes += length;
+    }
+
+    private void awaitPendingCloses() throws IOException {
+      while (!pendingCloses.isEmpty()) {
+        awaitEarliestClose();
+      }
+    }
+
+    /**
+     * Wait for the earliest pending close. If it fails, the other pending closes are still awaited,
+     * so that every produced data file is collected and can be cleaned up by abort.
+     */
+    private void awaitEarliestClose() throws IOException {
+      PendingClose pendingClose = pendingCloses.poll();
+      inFlightBytes -= pendingClose.length;
+      try {
+        addCompletedFile(pendingClose.future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        InterruptedIOException failure =
+            new InterruptedIOException("Interrupted while closing data writers");
+        collectPendingFiles(failure);
+        throw failure;
+      } catch (ExecutionException e) {
+        IOException failure = new IOException("Failed to close the data writer", e.getCause());
+        collectPendingFiles(failure);
+        throw failure;
+      }
+    }
+
+    private void collectPendingFiles(IOException failure) {
+      while (!pendingCloses.isEmpty()) {
+        PendingClose pendingClose = pendingCloses.poll();
+        inFlightBytes -= pendingClose.length;
+        try {
+          addCompletedFile(pendingClose.future.join());
+        } catch (CompletionException | CancellationException e) {
+          failure.addSuppressed(e.getCause() == null ? e : e.getCause());
+        }
+      }
+    }
+
+    private void addCompletedFile(DataFile dataFile) {
+      if (dataFile != null) {
+        completedFiles.add(dataFile);
+      }
+    }
+
     public List<DataFile> completedFiles() {
       return Lists.newArrayList(completedFiles);
     }
@@ -241,8 +358,7 @@ public abstract class BaseTaskWriter<T> implements TaskWriter<T> {
       TaskDataWriter<T> writer;
       writer = dataWriterMap.get(writerKey);
       if (writer != null && shouldRollToNewFile(writer)) {
-        writer.close();
-        completedFiles.add(writer.toDataFile());
+        closeWriter(writer);
         dataWriterMap.remove(writerKey);
       }
 
@@ -259,11 +375,7 @@ public abstract class BaseTaskWriter<T> implements TaskWriter<T> {
     @Override
     public void doClose() throws IOException {
       for (TaskDataWriter<T> dataWriter : dataWriterMap.values()) {
-        dataWriter.close();
-        DataFile dataFile = dataWriter.toDataFile();
-        if (dataFile != null) {
-          completedFiles.add(dataWriter.toDataFile());
-        }
+        closeWriter(dataWriter);
       }
       dataWriterMap.clear();
     }
@@ -314,11 +426,7 @@ public abstract class BaseTaskWriter<T> implements TaskWriter<T> {
 
     private void closeCurrentWriter() throws IOException {
       if (currentWriter != null) {
-        currentWriter.close();
-        DataFile dataFile = currentWriter.toDataFile();
-        if (dataFile != null) {
-          completedFiles.add(currentWriter.toDataFile());
-        }
+        closeWriter(currentWriter);
         currentWriter = null;
       }
     }
@@ -329,6 +437,16 @@ public abstract class BaseTaskWriter<T> implements TaskWriter<T> {
     }
   }
 
+  private static class PendingClose {
+    private final CompletableFuture<DataFile> future;
+    private final long length;
+
+    private PendingClose(CompletableFuture<DataFile> future, long length) {
+      this.future = future;
+      this.length = length;
+    }
+  }
+
   protected static class TaskDataWriter<T> {
     private final DataWriter<T> dataWriter;
     private long currentRows = 0;
@@ -83,6 +83,28 @@ public class LogDataJsonDeserialization<T> implements Serializable {
                 });
   }
 
+  /**
+   * Read the upstream id from the header of the message, without deserializing the row.
+   *
+   * @param message the serialized {@link LogData}
+   * @return the upstream id
+   */
+  public static String readUpstreamId(byte[] message) {
+    checkArgument(message != null && message.length >= ROW_BEGINNING_POS, "message is illegal.");
+    return new String(Bytes.subByte(message, 4, 4));
+  }
+
+  /**
+   * Read the epic number from the header of the message, without deserializing the row.
+   *
+   * @param message the serialized {@link LogData}
+   * @return the epic number
+   */
+  public static long readEpicNo(byte[] message) {
+    checkArgument(message != null && message.length >= ROW_BEGINNING_POS, "message is illegal.");
+    return Longs.fromByteArray(Bytes.subByte(message, 8, 8));
+  }
+
   public LogData<T> deserialize(byte[] message) throws IOException {
     try {
       checkArgument(message != null, "message is null.");
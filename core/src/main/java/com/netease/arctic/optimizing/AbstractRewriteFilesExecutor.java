@@ -38,9 +38,13 @@ import org.apache.iceberg.MetricsModes;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.data.GenericAppenderFactory;
+import org.apache.iceberg.data.InternalRecordWrapper;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.deletes.PositionDelete;
 import org.apache.iceberg.encryption.EncryptionManager;
+import org.apache.iceberg.expressions.Evaluator;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.io.CloseableIterator;
 import org.apache.iceberg.io.DeleteWriteResult;
 import org.apache.iceberg.io.FileAppenderFactory;
@@ -55,6 +59,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * An abstract OptimizingExecutor implementation that rewrites the rewrittenDataFiles in
@@ -75,12 +80,27 @@ public abstract class AbstractRewriteFilesExecutor
 
   protected StructLikeCollections structLikeCollections;
 
+  protected Expression expiredRowsFilter;
+
   public AbstractRewriteFilesExecutor(
       RewriteFilesInput input, ArcticTable table, StructLikeCollections structLikeCollections) {
+    this(input, table, structLikeCollections, Expressions.alwaysFalse());
+  }
+
+  /**
+   * @param expiredRowsFilter the rows matching the filter are expired, and they are not written to
+   *     the rewritten data files
+   */
+  public AbstractRewriteFilesExecutor(
+      RewriteFilesInput input,
+      ArcticTable table,
+      StructLikeCollections structLikeCollections,
+      Expression expiredRowsFilter) {
     this.input = input;
     this.table = table;
     this.io = table.io();
     this.structLikeCollections = structLikeCollections;
+    this.expiredRowsFilter = expiredRowsFilter;
     dataReader = dataReader();
   }
 
@@ -144,10 +164,16 @@ public abstract class AbstractRewriteFilesExecutor
   private List<DataFile> rewriterDataFiles() throws Exception {
     List<DataFile> result = Lists.newArrayList();
     TaskWriter<Record> writer = dataWriter();
+    Predicate<Record> expired = expiredRowsPredicate();
+    long expiredCount = 0;
 
     try (CloseableIterator<Record> records = dataReader.readData().iterator()) {
       while (records.hasNext()) {
         Record record = records.next();
+        if (expired.test(record)) {
+          expiredCount++;
+          continue;
+        }
         writer.write(record);
       }
     } finally {
@@ -155,10 +181,23 @@ public abstract class AbstractRewriteFilesExecutor
     }
 
     result.addAll(Arrays.asList(writer.dataFiles()));
+    if (expiredCount > 0) {
+      LOG.info("Skip writing {} expired records of table {}", expiredCount, table.id());
+    }
 
     return result;
   }
 
+  private Predicate<Record> expiredRowsPredicate() {
+    if (expiredRowsFilter.op() == Expression.Operation.FALSE) {
+      return record -> false;
+    }
+    // the records read may have some extra metadata columns after the table columns
+    InternalRecordWrapper wrapper = new InternalRecordWrapper(table.schema().asStruct());
+    Evaluator evaluator = new Evaluator(table.schema().asStruct(), expiredRowsFilter);
+    return record -> evaluator.eval(wrapper.wrap(record));
+  }
+
   protected FileFormat dataFileFormat() {
     String formatAsString =
         table.properties().getOrDefault(DEFAULT_FILE_FORMAT, DEFAULT_FILE_FORMAT_DEFAULT);
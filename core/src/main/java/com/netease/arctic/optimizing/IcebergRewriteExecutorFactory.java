@@ -35,6 +35,9 @@ public class IcebergRewriteExecutorFactory implements OptimizingExecutorFactory<
   public OptimizingExecutor createExecutor(RewriteFilesInput input) {
     OptimizingInputProperties optimizingConfig = OptimizingInputProperties.parse(properties);
     return new IcebergRewriteExecutor(
-        input, input.getTable(), optimizingConfig.getStructLikeCollections());
+        input,
+        input.getTable(),
+        optimizingConfig.getStructLikeCollections(),
+        optimizingConfig.getExpiredRowsFilter());
   }
 }
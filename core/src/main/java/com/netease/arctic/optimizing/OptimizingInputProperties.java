@@ -20,6 +20,9 @@ package com.netease.arctic.optimizing;
 
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.ExpressionParser;
+import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 
 import java.util.HashMap;
@@ -39,6 +42,8 @@ public class OptimizingInputProperties {
 
   public static final String TASK_EXECUTOR_FACTORY_IMPL = "task-executor-factory-impl";
 
+  public static final String EXPIRED_ROWS_FILTER = "expired-rows-filter";
+
   private final Map<String, String> properties;
 
   private OptimizingInputProperties(Map<String, String> properties) {
@@ -78,6 +83,16 @@ public class OptimizingInputProperties {
     return this;
   }
 
+  /**
+   * Set the filter of the expired rows, which are not written to the rewritten data files.
+   *
+   * @param expiredRowsFilter the unbound filter serialized by {@link ExpressionParser#toJson}
+   */
+  public OptimizingInputProperties setExpiredRowsFilter(String expiredRowsFilter) {
+    properties.put(EXPIRED_ROWS_FILTER, expiredRowsFilter);
+    return this;
+  }
+
   public OptimizingInputProperties needMoveFile2HiveLocation() {
     properties.put(MOVE_FILE_TO_HIVE_LOCATION, "true");
     return this;
@@ -103,6 +118,14 @@ public class OptimizingInputProperties {
     return properties.get(TASK_EXECUTOR_FACTORY_IMPL);
   }
 
+  public Expression getExpiredRowsFilter() {
+    String expiredRowsFilter = properties.get(EXPIRED_ROWS_FILTER);
+    if (StringUtils.isBlank(expiredRowsFilter)) {
+      return Expressions.alwaysFalse();
+    }
+    return ExpressionParser.fromJson(expiredRowsFilter);
+  }
+
   public boolean getMoveFile2HiveLocation() {
     String s = properties.get(MOVE_FILE_TO_HIVE_LOCATION);
     if (StringUtils.isBlank(s)) {
@@ -119,6 +119,16 @@ public class TableProperties {
       "self-optimizing.full.rewrite-all-files";
   public static final boolean SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES_DEFAULT = true;
 
+  public static final String SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE =
+      "self-optimizing.commit.partition-batch-size";
+
+  public static final int SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE_DEFAULT = 0;
+
+  public static final String SELF_OPTIMIZING_MAX_CONCURRENT_PROCESSES =
+      "self-optimizing.max-concurrent-processes";
+
+  public static final int SELF_OPTIMIZING_MAX_CONCURRENT_PROCESSES_DEFAULT = 1;
+
   /** deprecated table optimize related properties */
   @Deprecated public static final String ENABLE_OPTIMIZE = "optimize.enable";
 
@@ -168,6 +178,8 @@ public class TableProperties {
   public static final String DATA_EXPIRATION_RETENTION_TIME = "data-expire.retention-time";
   public static final String DATA_EXPIRATION_BASE_ON_RULE = "data-expire.base-on-rule";
   public static final String DATA_EXPIRATION_BASE_ON_RULE_DEFAULT = "LAST_COMMIT_TIME";
+  public static final String DATA_EXPIRATION_ROW_RATIO = "data-expire.row-ratio";
+  public static final double DATA_EXPIRATION_ROW_RATIO_DEFAULT = 0.1;
 
   public static final String ENABLE_DANGLING_DELETE_FILES_CLEAN =
       "clean-dangling-delete-files.enabled";
@@ -329,6 +329,31 @@ public class RocksDBBackend {
     }
   }
 
+  /**
+   * Retrieve the values of a batch of keys in a column family with a single multi-get call.
+   *
+   * @param columnFamilyHandle Column Family Handle
+   * @param keys Keys to be retrieved
+   * @return the values in the same order as the keys, a missing key results in a null element.
+   */
+  public List<byte[]> multiGet(ColumnFamilyHandle columnFamilyHandle, List<byte[]> keys) {
+    Preconditions.checkArgument(!closed);
+    try {
+      Preconditions.checkArgument(keys != null, "keys in rocksdb can not be null!");
+      Preconditions.checkNotNull(columnFamilyHandle, "Column Family Handle couldn't be null!");
+      if (keys.isEmpty()) {
+        return new ArrayList<>();
+      }
+      List<ColumnFamilyHandle> handles = new ArrayList<>(keys.size());
+      for (int i = 0; i < keys.size(); i++) {
+        handles.add(columnFamilyHandle);
+      }
+      return rocksDB.multiGetAsList(handles, keys);
+    } catch (Exception e) {
+      throw new ArcticIOException(e);
+    }
+  }
+
   public RocksDB getDB() {
     return rocksDB;
   }
@@ -28,6 +28,7 @@ import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.catalog.TableTestBase;
 import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.io.writer.GenericBaseTaskWriter;
 import com.netease.arctic.io.writer.GenericTaskWriters;
 import com.netease.arctic.io.writer.SortedPosDeleteWriter;
 import com.netease.arctic.scan.TableEntriesScan;
@@ -57,6 +58,8 @@ import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @RunWith(Parameterized.class)
@@ -135,6 +138,41 @@ public class TestTaskWriter extends TableTestBase {
     Assert.assertEquals(Sets.newHashSet(insertRecords), Sets.newHashSet(readRecords));
   }
 
+  @Test
+  public void testBaseWriterCloseWritersAsync() throws IOException {
+    List<Record> insertRecords = Lists.newArrayList();
+    insertRecords.add(tableTestHelper().generateTestRecord(1, "john", 0, "2022-01-01T12:00:00"));
+    insertRecords.add(tableTestHelper().generateTestRecord(2, "lily", 0, "2022-01-02T12:00:00"));
+    insertRecords.add(tableTestHelper().generateTestRecord(3, "jake", 0, "2022-01-03T12:00:00"));
+    insertRecords.add(tableTestHelper().generateTestRecord(4, "sam", 0, "2022-01-04T12:00:00"));
+
+    GenericTaskWriters.Builder builder = GenericTaskWriters.builderFor(getArcticTable());
+    if (isKeyedTable()) {
+      builder.withTransactionId(1L);
+    }
+    ExecutorService closeExecutor = Executors.newFixedThreadPool(2);
+    List<DataFile> files;
+    try (GenericBaseTaskWriter writer = builder.buildBaseWriter()) {
+      // a tiny in-flight bound forces waiting for the earliest closing writers
+      writer.closeWritersAsync(closeExecutor, 1L);
+      files = MixedDataTestHelpers.writeRecords(writer, insertRecords);
+    } finally {
+      closeExecutor.shutdown();
+    }
+    List<DataFile> syncFiles =
+        tableTestHelper().writeBaseStore(getArcticTable(), 1L, insertRecords, false);
+    Assert.assertEquals(syncFiles.size(), files.size());
+
+    UnkeyedTable baseStore = ArcticTableUtil.baseStore(getArcticTable());
+    AppendFiles appendFiles = baseStore.newAppend();
+    files.forEach(appendFiles::appendFile);
+    appendFiles.commit();
+
+    List<Record> readRecords =
+        tableTestHelper().readBaseStore(getArcticTable(), Expressions.alwaysTrue(), null, false);
+    Assert.assertEquals(Sets.newHashSet(insertRecords), Sets.newHashSet(readRecords));
+  }
+
   @Test
   public void testBasePosDeleteWriter() throws IOException {
     String fileFormat =
@@ -114,6 +114,9 @@ public class TestLogDataJsonSerialization extends FormatTestBase {
     LogData<UserPojo> result = logDataJsonDeserialization.deserialize(bytes);
     Assert.assertNotNull(result);
     check(logData, result);
+
+    assertEquals(logData.getUpstreamId(), LogDataJsonDeserialization.readUpstreamId(bytes));
+    assertEquals(logData.getEpicNo(), LogDataJsonDeserialization.readEpicNo(bytes));
   }
 
   private void check(LogData<UserPojo> expected, LogData<UserPojo> actual) {
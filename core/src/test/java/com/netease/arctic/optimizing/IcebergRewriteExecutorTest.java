@@ -228,6 +228,29 @@ public class IcebergRewriteExecutorTest extends TableTestBase {
     Assert.assertTrue(output.getDeleteFiles() == null || output.getDeleteFiles().length == 0);
   }
 
+  @Test
+  public void readDataWithExpiredRows() throws IOException {
+    IcebergRewriteExecutor executor =
+        new IcebergRewriteExecutor(
+            dataScanTask,
+            getArcticTable(),
+            StructLikeCollections.DEFAULT,
+            Expressions.lessThanOrEqual("id", 2));
+
+    RewriteFilesOutput output = executor.execute();
+
+    try (CloseableIterable<Record> records =
+        openFile(
+            output.getDataFiles()[0].path().toString(),
+            output.getDataFiles()[0].format(),
+            getArcticTable().schema(),
+            new HashMap<>())) {
+      Assert.assertEquals(1, Iterables.size(records));
+      Record record = Iterables.getFirst(records, null);
+      Assert.assertEquals(record.get(0), 3);
+    }
+  }
+
   private CloseableIterable<Record> openFile(
       String path, FileFormat fileFormat, Schema fileProjection, Map<Integer, ?> idToConstant) {
     InputFile input = getArcticTable().io().newInputFile(path);
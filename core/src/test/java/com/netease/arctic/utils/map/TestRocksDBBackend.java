@@ -22,6 +22,7 @@ import com.netease.arctic.ArcticIOException;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.rocksdb.ColumnFamilyHandle;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -74,6 +75,24 @@ public class TestRocksDBBackend {
     }
   }
 
+  @Test
+  public void testMultiGet() {
+    RocksDBBackend rocksDBBackend = RocksDBBackend.getOrCreateInstance();
+    rocksDBBackend.addColumnFamily(CF_NAME);
+    ColumnFamilyHandle handle = rocksDBBackend.getColumnFamilyHandle(CF_NAME);
+    rocksDBBackend.put(handle, new byte[] {1}, new byte[] {11});
+    rocksDBBackend.put(handle, new byte[] {3}, new byte[] {33});
+    List<byte[]> values =
+        rocksDBBackend.multiGet(
+            handle, Arrays.asList(new byte[] {1}, new byte[] {2}, new byte[] {3}));
+    Assert.assertEquals(3, values.size());
+    Assert.assertArrayEquals(new byte[] {11}, values.get(0));
+    Assert.assertNull(values.get(1));
+    Assert.assertArrayEquals(new byte[] {33}, values.get(2));
+    Assert.assertTrue(rocksDBBackend.multiGet(handle, Collections.emptyList()).isEmpty());
+    rocksDBBackend.dropColumnFamily(CF_NAME);
+  }
+
   @Test
   public void testIterator() {
     RocksDBBackend rocksDBBackend = RocksDBBackend.getOrCreateInstance();
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import static com.netease.arctic.flink.lookup.LookupMetrics.GROUP_NAME_LOOKUP;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncLookupFunction;
+import org.apache.flink.table.functions.FunctionContext;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An asynchronous lookup function for {@link RowData} type. The keys are served by a {@link
+ * BatchLookupExecutor}, which gathers the concurrent keys into batches, so the keys missed in the
+ * memory cache are fetched from RocksDB with multi-get calls instead of one by one on the task
+ * thread.
+ *
+ * <p>Whether the results are emitted in order is decided by the planner option
+ * 'table.exec.async-lookup.output-mode'.
+ */
+public class ArcticRowDataAsyncLookupFunction extends AsyncLookupFunction {
+  private static final long serialVersionUID = -3240497315733458451L;
+  private final BasicLookupFunction<RowData> basicLookupFunction;
+  private final int threadNum;
+  private final int batchSize;
+  private transient BatchLookupExecutor<RowData> batchLookupExecutor;
+
+  public ArcticRowDataAsyncLookupFunction(
+      BasicLookupFunction<RowData> basicLookupFunction, int threadNum, int batchSize) {
+    this.basicLookupFunction = basicLookupFunction;
+    this.threadNum = threadNum;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void open(FunctionContext context) throws IOException {
+    basicLookupFunction.open(context);
+    batchLookupExecutor =
+        new BatchLookupExecutor<>(basicLookupFunction::lookupAll, threadNum, batchSize);
+    batchLookupExecutor.open(context.getMetricGroup().addGroup(GROUP_NAME_LOOKUP));
+  }
+
+  @Override
+  public CompletableFuture<Collection<RowData>> asyncLookup(RowData keyRow) {
+    return batchLookupExecutor.submit(keyRow);
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (batchLookupExecutor != null) {
+      batchLookupExecutor.close();
+    }
+    basicLookupFunction.close();
+  }
+}
@@ -20,6 +20,7 @@ package com.netease.arctic.flink.lookup;
 
 import static com.netease.arctic.flink.lookup.LookupMetrics.GROUP_NAME_LOOKUP;
 import static com.netease.arctic.flink.lookup.LookupMetrics.LOADING_TIME_MS;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_SHARED;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_RELOADING_INTERVAL;
 import static com.netease.arctic.flink.util.ArcticUtils.loadArcticTable;
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -49,6 +50,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -77,8 +79,14 @@ public class BasicLookupFunction<T> implements Serializable {
   private final TableFactory<T> kvTableFactory;
   private final AbstractAdaptHiveKeyedDataReader<T> flinkArcticMORDataReader;
   private final DataIteratorReaderFunction<T> readerFunction;
+  private final String tableIdentifier;
 
   private transient ScheduledExecutorService executor;
+  /** The key of the shared lookup table, null if the lookup table is owned by this function. */
+  private transient String sharedKey;
+  /** The function owning the lookup table, may be this function or a shared one. */
+  private transient BasicLookupFunction<T> delegate;
+
   private final AtomicReference<Throwable> failureThrowable = new AtomicReference<>();
 
   public BasicLookupFunction(
@@ -108,6 +116,7 @@ public class BasicLookupFunction<T> implements Serializable {
     this.predicate = predicate;
     this.flinkArcticMORDataReader = flinkArcticMORDataReader;
     this.readerFunction = readerFunction;
+    this.tableIdentifier = arcticTable.id().toString();
   }
 
   /**
@@ -116,8 +125,37 @@ public class BasicLookupFunction<T> implements Serializable {
    * @throws IOException If serialize or deserialize failed
    */
   public void open(FunctionContext context) throws IOException {
-    init(context);
-    start();
+    if (config.get(LOOKUP_CACHE_SHARED)) {
+      sharedKey = sharedKey();
+      delegate =
+          SharedKVTableRegistry.acquire(
+              sharedKey,
+              () -> {
+                init(context);
+                start();
+                return this;
+              });
+    } else {
+      init(context);
+      start();
+      delegate = this;
+    }
+  }
+
+  /**
+   * The key identifying the lookup table in the {@link SharedKVTableRegistry}, the lookup functions
+   * with the same table, join keys, projection, filters and options could share one lookup table.
+   */
+  private String sharedKey() {
+    return String.join(
+        "|",
+        tableIdentifier,
+        joinKeys.toString(),
+        projectSchema.asStruct().toString(),
+        String.valueOf(filters),
+        String.valueOf(predicate),
+        // sort the options, so that the key doesn't depend on the iteration order of the map
+        new TreeMap<>(config.toMap()).toString());
   }
 
   /**
@@ -179,6 +217,9 @@ public class BasicLookupFunction<T> implements Serializable {
   }
 
   public List<T> lookup(RowData lookupKey) {
+    if (delegate != null && delegate != this) {
+      return delegate.lookup(lookupKey);
+    }
     checkErrorAndRethrow();
     try {
       return kvTable.get(lookupKey);
@@ -187,6 +228,23 @@ public class BasicLookupFunction<T> implements Serializable {
     }
   }
 
+  /**
+   * Lookup a batch of keys at once, the results are in the same order as the keys.
+   *
+   * @param lookupKeys the keys to lookup.
+   */
+  public List<List<T>> lookupAll(List<RowData> lookupKeys) {
+    if (delegate != null && delegate != this) {
+      return delegate.lookupAll(lookupKeys);
+    }
+    checkErrorAndRethrow();
+    try {
+      return kvTable.getAll(lookupKeys);
+    } catch (Exception e) {
+      throw new FlinkRuntimeException(e);
+    }
+  }
+
   /**
    * Check whether it is time to periodically load data to kvTable. Support to use {@link
    * Expression} filters to filter the data.
@@ -230,10 +288,21 @@ public class BasicLookupFunction<T> implements Serializable {
   }
 
   public KVTable<T> getKVTable() {
-    return kvTable;
+    return delegate != null ? delegate.kvTable : kvTable;
   }
 
   public void close() throws Exception {
+    if (sharedKey != null) {
+      SharedKVTableRegistry.release(sharedKey);
+      sharedKey = null;
+      delegate = null;
+      return;
+    }
+    closeOwnedResources();
+  }
+
+  /** Close the lookup table and the loader owned by this function. */
+  void closeOwnedResources() throws Exception {
     if (kvTable != null) {
       kvTable.close();
     }
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import static com.netease.arctic.flink.lookup.LookupMetrics.ASYNC_BATCH_LATENCY_MS;
+import static com.netease.arctic.flink.lookup.LookupMetrics.ASYNC_BATCH_SIZE;
+import static com.netease.arctic.flink.lookup.LookupMetrics.ASYNC_PENDING_REQUESTS;
+
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Serve the lookup requests on a small I/O thread pool. Each thread takes the pending keys from a
+ * shared queue, gathers the concurrent keys up to the batch size and fetches them with one batch
+ * call, e.g.: {@link KVTable#getAll(List)} which results in a RocksDB multi-get call.
+ *
+ * @param <T> the type of the lookup results.
+ */
+public class BatchLookupExecutor<T> implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchLookupExecutor.class);
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final int HISTOGRAM_WINDOW_SIZE = 1024;
+
+  private final Function<List<RowData>, List<List<T>>> batchLookup;
+  private final int threadNum;
+  private final int batchSize;
+  private final BlockingQueue<LookupRequest<T>> pendingRequests = new LinkedBlockingQueue<>();
+  private ExecutorService executor;
+  private volatile boolean running;
+  private Histogram batchSizeHistogram;
+  private Histogram batchLatencyHistogram;
+
+  public BatchLookupExecutor(
+      Function<List<RowData>, List<List<T>>> batchLookup, int threadNum, int batchSize) {
+    Preconditions.checkArgument(threadNum > 0, "threadNum must be greater than 0");
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be greater than 0");
+    this.batchLookup = batchLookup;
+    this.threadNum = threadNum;
+    this.batchSize = batchSize;
+  }
+
+  public void open(MetricGroup metricGroup) {
+    batchSizeHistogram =
+        metricGroup.histogram(
+            ASYNC_BATCH_SIZE, new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW_SIZE));
+    batchLatencyHistogram =
+        metricGroup.histogram(
+            ASYNC_BATCH_LATENCY_MS, new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW_SIZE));
+    metricGroup.gauge(ASYNC_PENDING_REQUESTS, pendingRequests::size);
+
+    running = true;
+    executor =
+        Executors.newFixedThreadPool(
+            threadNum, new ExecutorThreadFactory("Arctic-lookup-async-io"));
+    for (int i = 0; i < threadNum; i++) {
+      executor.execute(this::runLoop);
+    }
+    LOG.info(
+        "Started the batch lookup executor with {} threads, batch size {}.", threadNum, batchSize);
+  }
+
+  /** Submit a key to lookup, the future is completed once the batch containing it is fetched. */
+  public CompletableFuture<Collection<T>> submit(RowData key) {
+    CompletableFuture<Collection<T>> future = new CompletableFuture<>();
+    if (!running) {
+      future.completeExceptionally(
+          new IllegalStateException("The batch lookup executor is not running."));
+      return future;
+    }
+    pendingRequests.add(new LookupRequest<>(key, future));
+    return future;
+  }
+
+  private void runLoop() {
+    List<LookupRequest<T>> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        LookupRequest<T> first = pendingRequests.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        pendingRequests.drainTo(batch, batchSize - 1);
+        lookupBatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void lookupBatch(List<LookupRequest<T>> batch) {
+    long start = System.currentTimeMillis();
+    List<RowData> keys = new ArrayList<>(batch.size());
+    for (LookupRequest<T> request : batch) {
+      keys.add(request.key);
+    }
+    try {
+      List<List<T>> results = batchLookup.apply(keys);
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).future.complete(results.get(i));
+      }
+    } catch (Throwable t) {
+      LOG.error("Failed to lookup a batch of {} keys.", batch.size(), t);
+      for (LookupRequest<T> request : batch) {
+        request.future.completeExceptionally(t);
+      }
+    }
+    batchSizeHistogram.update(batch.size());
+    batchLatencyHistogram.update(System.currentTimeMillis() - start);
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    LookupRequest<T> request;
+    while ((request = pendingRequests.poll()) != null) {
+      request.future.completeExceptionally(
+          new CancellationException("The batch lookup executor has been closed."));
+    }
+  }
+
+  private static class LookupRequest<T> {
+    private final RowData key;
+    private final CompletableFuture<Collection<T>> future;
+
+    private LookupRequest(RowData key, CompletableFuture<Collection<T>> future) {
+      this.key = key;
+      this.future = future;
+    }
+  }
+}
@@ -24,4 +24,7 @@ public class LookupMetrics {
   public static final String LOADING_TIME_MS = "lookup_loading_cost_ms";
   public static final String UNIQUE_CACHE_SIZE = "lookup_unique_index_cache_size";
   public static final String SECONDARY_CACHE_SIZE = "lookup_secondary_index_cache_size";
+  public static final String ASYNC_PENDING_REQUESTS = "lookup_async_pending_requests";
+  public static final String ASYNC_BATCH_SIZE = "lookup_async_batch_size";
+  public static final String ASYNC_BATCH_LATENCY_MS = "lookup_async_batch_latency_ms";
 }
@@ -27,6 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /** A class used to store the state of a lookup record. For {@link UniqueIndexTable}. */
@@ -91,6 +93,47 @@ public class RocksDBRecordState extends RocksDBCacheState<byte[]> {
     return Optional.ofNullable(deserializeValue(recordBytes));
   }
 
+  /**
+   * Retrieve a batch of RowData. The keys missed in the guava cache are fetched from the rocksDB
+   * with a single multi-get call.
+   *
+   * @param keyBytesList the serialized keys.
+   * @return the records in the same order as the keys, a missing key results in a null element.
+   * @throws IOException if deserialize the records failed.
+   */
+  public List<RowData> getAll(List<byte[]> keyBytesList) throws IOException {
+    byte[][] recordBytesArray = new byte[keyBytesList.size()][];
+    List<Integer> missedIndexes = new ArrayList<>();
+    List<byte[]> missedKeys = new ArrayList<>();
+    for (int i = 0; i < keyBytesList.size(); i++) {
+      byte[] keyBytes = keyBytesList.get(i);
+      byte[] recordBytes = guavaCache.getIfPresent(wrap(keyBytes));
+      if (recordBytes == null) {
+        missedIndexes.add(i);
+        missedKeys.add(keyBytes);
+      } else {
+        recordBytesArray[i] = recordBytes;
+      }
+    }
+
+    if (!missedKeys.isEmpty()) {
+      List<byte[]> fetched = rocksDB.multiGet(columnFamilyHandle, missedKeys);
+      for (int i = 0; i < fetched.size(); i++) {
+        byte[] recordBytes = fetched.get(i);
+        if (recordBytes != null) {
+          guavaCache.put(wrap(missedKeys.get(i)), recordBytes);
+          recordBytesArray[missedIndexes.get(i)] = recordBytes;
+        }
+      }
+    }
+
+    List<RowData> result = new ArrayList<>(recordBytesArray.length);
+    for (byte[] recordBytes : recordBytesArray) {
+      result.add(deserializeValue(recordBytes));
+    }
+    return result;
+  }
+
   /**
    * Putting the serialized RowData key and value into the rocksDB and cache.
    *
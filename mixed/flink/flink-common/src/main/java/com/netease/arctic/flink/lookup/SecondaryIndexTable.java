@@ -99,6 +99,38 @@ public class SecondaryIndexTable extends UniqueIndexTable {
     return Collections.emptyList();
   }
 
+  @Override
+  public List<List<RowData>> getAll(List<RowData> keys) throws IOException {
+    List<List<ByteArrayWrapper>> uniqueKeysPerJoinKey = new ArrayList<>(keys.size());
+    List<byte[]> uniqueKeyBytesList = new ArrayList<>();
+    for (RowData key : keys) {
+      // copy the unique keys, the cached set may be updated by the reloading thread concurrently.
+      List<ByteArrayWrapper> uniqueKeys = new ArrayList<>(setState.get(key));
+      uniqueKeysPerJoinKey.add(uniqueKeys);
+      for (ByteArrayWrapper uniqueKey : uniqueKeys) {
+        uniqueKeyBytesList.add(uniqueKey.bytes);
+      }
+    }
+
+    Iterator<RowData> records = recordState.getAll(uniqueKeyBytesList).iterator();
+    List<List<RowData>> results = new ArrayList<>(keys.size());
+    for (List<ByteArrayWrapper> uniqueKeys : uniqueKeysPerJoinKey) {
+      if (uniqueKeys.isEmpty()) {
+        results.add(Collections.emptyList());
+        continue;
+      }
+      List<RowData> result = new ArrayList<>(uniqueKeys.size());
+      for (int i = 0; i < uniqueKeys.size(); i++) {
+        RowData record = records.next();
+        if (record != null) {
+          result.add(record);
+        }
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
   @Override
   public void upsert(Iterator<RowData> dataStream) throws IOException {
     while (dataStream.hasNext()) {
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.util.function.SupplierWithException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A TaskManager-scoped, reference-counted registry of the lookup tables. The lookup functions of
+ * the co-located subtasks joining the same table with the same projection and filters acquire one
+ * shared {@link BasicLookupFunction}, so the {@link KVTable} is built in one RocksDB and fed by one
+ * scheduled loader, while all the subtasks read it concurrently.
+ *
+ * <p>The first acquirer opens the shared table, the last releaser closes it.
+ */
+public class SharedKVTableRegistry {
+  private static final Logger LOG = LoggerFactory.getLogger(SharedKVTableRegistry.class);
+
+  private static final Map<String, SharedEntry> TABLES = new HashMap<>();
+
+  private SharedKVTableRegistry() {}
+
+  /**
+   * Acquire the shared lookup function of the key, open one by the opener if absent.
+   *
+   * @param key identifies the table, projection and filters of the lookup function.
+   * @param opener opens a new lookup function, only called by the first acquirer.
+   * @throws IOException if the opener failed.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> BasicLookupFunction<T> acquire(
+      String key, SupplierWithException<BasicLookupFunction<T>, IOException> opener)
+      throws IOException {
+    SharedEntry entry;
+    boolean owner = false;
+    synchronized (TABLES) {
+      entry = TABLES.get(key);
+      if (entry == null) {
+        entry = new SharedEntry();
+        TABLES.put(key, entry);
+        owner = true;
+      }
+      entry.refCount++;
+    }
+
+    if (owner) {
+      LOG.info("Open the shared lookup table {}.", key);
+      try {
+        entry.function.complete(opener.get());
+      } catch (Throwable t) {
+        entry.function.completeExceptionally(t);
+      }
+    } else {
+      LOG.info("Reuse the shared lookup table {}.", key);
+    }
+
+    try {
+      return (BasicLookupFunction<T>) entry.function.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      releaseQuietly(key);
+      throw new IOException("Interrupted while waiting for the shared lookup table " + key, e);
+    } catch (ExecutionException e) {
+      releaseQuietly(key);
+      throw new IOException("Failed to open the shared lookup table " + key, e.getCause());
+    }
+  }
+
+  /**
+   * Release the shared lookup function of the key, and close it if it is no longer referenced.
+   *
+   * @param key identifies the table, projection and filters of the lookup function.
+   */
+  public static void release(String key) throws Exception {
+    SharedEntry entry;
+    synchronized (TABLES) {
+      entry = TABLES.get(key);
+      if (entry == null || --entry.refCount > 0) {
+        return;
+      }
+      TABLES.remove(key);
+    }
+
+    if (entry.function.isDone() && !entry.function.isCompletedExceptionally()) {
+      LOG.info("Close the shared lookup table {}.", key);
+      entry.function.join().closeOwnedResources();
+    }
+  }
+
+  private static void releaseQuietly(String key) {
+    try {
+      release(key);
+    } catch (Exception e) {
+      LOG.warn("Failed to release the shared lookup table {}.", key, e);
+    }
+  }
+
+  @VisibleForTesting
+  static int refCount(String key) {
+    synchronized (TABLES) {
+      SharedEntry entry = TABLES.get(key);
+      return entry == null ? 0 : entry.refCount;
+    }
+  }
+
+  private static class SharedEntry {
+    private final CompletableFuture<BasicLookupFunction<?>> function = new CompletableFuture<>();
+    private int refCount;
+  }
+}
@@ -133,7 +133,9 @@ public class LogSourceHelper implements Serializable {
 
   public void suspendRetracting(TopicPartition tp) {
     EpicRetractingInfo info = retractingInfo.remove(tp);
-    clearEpicStartOffsetsBeforeOrEqual(tp, info.upstreamId, info.epicNo);
+    // the epics after the flip have been retracted, and they would be initialized again by the data
+    // written after the flip.
+    clearEpicStartOffsets(tp, info.upstreamId);
   }
 
   public void suspendRetracting(Collection<TopicPartition> tps) {
@@ -162,17 +164,30 @@ public class LogSourceHelper implements Serializable {
   }
 
   /**
+   * clear all the epic start offsets of the upstream in the topicPartition.
+   *
+   * @param tp
+   * @param upstreamId
+   */
+  public void clearEpicStartOffsets(TopicPartition tp, String upstreamId) {
+    String prefix = combineTopicPartitionAndUpstreamId(tp, upstreamId) + "_";
+    upstreamEpicStartOffsets.tailMap(prefix, true).keySet().removeIf(k -> k.startsWith(prefix));
+  }
+
+  /**
+   * The retraction stops at the start offset of the first epic after the flip epicNo, instead of
+   * the start offset of the flip epicNo, as the data of the flip epicNo should not be retracted.
+   *
    * @param revertStartingOffset the offset where job revert to normal read starts from. It should
    *     skip the flip which has been read.
    */
   public void startRetracting(
       TopicPartition tp, String upstreamId, long epicNo, long revertStartingOffset) {
-    String key = combineTopicPartitionAndUpstreamIdAndEpicNo(tp, upstreamId, epicNo);
-    if (!upstreamEpicStartOffsets.containsKey(key)) {
-      // data have not been read, so that it's unnecessary to retract
+    Long retractStoppingOffset = findFirstOffsetAfterEpic(tp, upstreamId, epicNo);
+    if (retractStoppingOffset == null) {
+      // data after the epic have not been read, so that it's unnecessary to retract
       return;
     }
-    long retractStoppingOffset = upstreamEpicStartOffsets.get(key);
 
     retractingInfo.put(
         tp,
@@ -185,6 +200,34 @@ public class LogSourceHelper implements Serializable {
     upstreamEpicStartOffsets.putIfAbsent(key, startOffset);
   }
 
+  /**
+   * @return the minimum start offset of the epics after the epicNo of the upstream in the
+   *     topicPartition, or null if none of them has been read.
+   */
+  private Long findFirstOffsetAfterEpic(TopicPartition tp, String upstreamId, long epicNo) {
+    String prefix = combineTopicPartitionAndUpstreamId(tp, upstreamId) + "_";
+    Long firstOffset = null;
+    for (Map.Entry<String, Long> entry :
+        upstreamEpicStartOffsets.tailMap(prefix, true).entrySet()) {
+      String key = entry.getKey();
+      if (!key.startsWith(prefix)) {
+        break;
+      }
+      String epic = key.substring(prefix.length());
+      if (!isEpicNo(epic) || Long.parseLong(epic) <= epicNo) {
+        continue;
+      }
+      if (firstOffset == null || entry.getValue() < firstOffset) {
+        firstOffset = entry.getValue();
+      }
+    }
+    return firstOffset;
+  }
+
+  private static boolean isEpicNo(String s) {
+    return !s.isEmpty() && s.chars().allMatch(Character::isDigit);
+  }
+
   private String combineTopicPartitionAndUpstreamIdAndEpicNo(
       TopicPartition tp, String upstreamId, long epicNo) {
     return combineTopicPartitionAndUpstreamId(tp, upstreamId) + "_" + epicNo;
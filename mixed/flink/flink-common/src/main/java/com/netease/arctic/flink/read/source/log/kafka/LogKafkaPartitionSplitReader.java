@@ -75,14 +75,18 @@ import java.util.Set;
  *    - handle normal data like {@link KafkaPartitionSplitReader}
  * 2. read data reversely {@link #readReversely} if some topic partitions come into Flip,
  *  i.e. {@link LogSourceHelper#getRetractTopicPartitions()}
- *    - record the offsets that consumer's current positions, stoppingOffsetsFromConsumer.
- *    - reset consumer to the offset: current position - batchSize
- *    - poll data until stoppingOffsetsFromConsumer {@link #pollToDesignatedPositions}
- *    - locate the stop offset in the batch data {@link #findIndexOfOffset(List, long)}, and start from it to read
- *    reversely, stop at {@link LogSourceHelper.EpicRetractingInfo#getRetractStoppingOffset()}
- *    - suspend retract {@link LogSourceHelper#suspendRetracting(TopicPartition)} when it comes to
- *    {@link LogSourceHelper.EpicRetractingInfo#getRetractStoppingOffset()}, else repeat {@link #readReversely} in next
- *    {@link #fetch()}
+ *    - the retract stopping offset is the start offset of the first epic after the flip, which is
+ *    looked up in the epic start offsets rather than found by scanning.
+ *    - take the window ending before the current position or the flip, and starting at most
+ *    {@link #RETRACT_SIZE} offsets earlier but not before
+ *    {@link LogSourceHelper.EpicRetractingInfo#getRetractStoppingOffset()}
+ *    - seek consumer to the window start and poll data until the window end {@link #pollToDesignatedPositions}
+ *    - read the window reversely, only the data of the retracting upstream and epics are deserialized, which is
+ *    filtered by the message header {@link LogDataJsonDeserialization#readUpstreamId(byte[])} and
+ *    {@link LogDataJsonDeserialization#readEpicNo(byte[])}
+ *    - suspend retract {@link LogSourceHelper#suspendRetracting(TopicPartition)} when the window starts at
+ *    {@link LogSourceHelper.EpicRetractingInfo#getRetractStoppingOffset()}, else seek consumer to the window start
+ *    and read the preceding window in next {@link #fetch()}
  * 3. write offset and retract info into splitState in
  * {@link LogKafkaPartitionSplitState#updateState(LogRecordWithRetractInfo)}
  * 4. initialize state from state {@link LogSourceHelper#initializedState}
@@ -235,84 +239,111 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader {
     return new ConsumerRecords<>(records);
   }
 
-  /** read reversely in retracting mode */
+  /**
+   * read reversely in retracting mode. Every fetch reads a window of at most {@link #RETRACT_SIZE}
+   * offsets before the current position, and the consumer is left at the start of the window, so
+   * that the next fetch continues with the preceding window until the retract stopping offset.
+   */
   private KafkaPartitionSplitRecords readReversely(Set<TopicPartition> retractTps)
       throws IOException {
-    Set<TopicPartition> origin = consumer.assignment();
-    consumer.assign(retractTps);
+    Set<TopicPartition> others = new HashSet<>(consumer.assignment());
+    others.removeAll(retractTps);
+    consumer.pause(others);
+    try {
+      return readReverselyInWindows(retractTps);
+    } finally {
+      consumer.resume(others);
+    }
+  }
 
-    // stop in current offsets, the msg in the offset would be read
-    Map<TopicPartition, Long> stoppingOffsetsFromConsumer = new HashMap<>();
+  private KafkaPartitionSplitRecords readReverselyInWindows(Set<TopicPartition> retractTps)
+      throws IOException {
+    Set<TopicPartition> finishRetract = new HashSet<>();
+    // the window [windowStart, windowEnd] of each topic partition to read in this fetch
+    Map<TopicPartition, Long> windowStarts = new HashMap<>();
+    Map<TopicPartition, Long> windowEnds = new HashMap<>();
     for (TopicPartition tp : retractTps) {
-      // the next poll offset
-      long offset = consumer.position(tp);
-      stoppingOffsetsFromConsumer.put(tp, Math.max(0, offset - 1));
-      long startFrom = Math.max(0, offset - RETRACT_SIZE);
-      LOG.info("consumer reset offset to: {}", startFrom);
-      consumer.seek(tp, startFrom);
+      LogSourceHelper.EpicRetractingInfo retractingInfo = logReadHelper.getRetractInfo(tp);
+      // the position of consumer may be larger than flip offset because kafka poll batch records
+      // every time. revertStartingOffset is the offset after flip, so it should minus 2 to get the
+      // offset before flip.
+      long windowEnd =
+          Math.min(consumer.position(tp) - 1, retractingInfo.getRevertStartingOffset() - 2);
+      if (windowEnd < retractingInfo.getRetractStoppingOffset()) {
+        finishRetract.add(tp);
+        continue;
+      }
+      long windowStart =
+          Math.max(retractingInfo.getRetractStoppingOffset(), windowEnd - RETRACT_SIZE + 1);
+      LOG.info("consumer reset offset to: {}, tp: {}", windowStart, tp);
+      consumer.seek(tp, windowStart);
+      windowStarts.put(tp, windowStart);
+      windowEnds.put(tp, windowEnd);
     }
-    Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> records =
-        pollToDesignatedPositions(stoppingOffsetsFromConsumer);
 
-    Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> logRecords = new HashMap<>();
+    Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> records;
+    try {
+      records = pollToDesignatedPositions(windowEnds);
+    } catch (WakeupException we) {
+      LOG.warn("consume reversely is woken up, the windows would be read in the next fetch");
+      windowEnds.forEach((tp, windowEnd) -> consumer.seek(tp, windowEnd + 1));
+      suspendRetracting(finishRetract);
+      return new KafkaPartitionSplitRecords(ConsumerRecords.empty(), kafkaSourceReaderMetrics);
+    }
 
-    Set<TopicPartition> finishRetract = new HashSet<>();
-    for (Map.Entry<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> entry :
-        records.entrySet()) {
+    Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> logRecords = new HashMap<>();
+    for (Map.Entry<TopicPartition, Long> entry : windowEnds.entrySet()) {
       TopicPartition tp = entry.getKey();
-      List<ConsumerRecord<byte[], byte[]>> consumerRecords = entry.getValue();
+      long windowEnd = entry.getValue();
+      List<ConsumerRecord<byte[], byte[]>> consumerRecords =
+          records.getOrDefault(tp, Collections.emptyList());
 
-      List<ConsumerRecord<byte[], byte[]>> recordsForSplit =
-          new ArrayList<>(consumerRecords.size());
+      List<ConsumerRecord<byte[], byte[]>> recordsForSplit = new ArrayList<>();
       logRecords.put(tp, recordsForSplit);
 
-      long stoppingOffsetFromConsumer = stoppingOffsetsFromConsumer.get(tp);
       LogSourceHelper.EpicRetractingInfo retractingInfo = logReadHelper.getRetractInfo(tp);
-      // stoppingOffsetFromConsumer is the offset queried from consumer, it may be larger than flip
-      // offset because
-      // kafka poll batch records every time.
-      // revertStartingOffset is the offset after flip, so it should minus 2 to get the offset
-      // before flip.
-      long stoppingOffset =
-          Math.min(stoppingOffsetFromConsumer, retractingInfo.getRevertStartingOffset() - 2);
-      int startIndex = findIndexOfOffset(consumerRecords, stoppingOffset);
-
-      for (int i = startIndex; i >= 0; i--) {
+      for (int i = consumerRecords.size() - 1; i >= 0; i--) {
         ConsumerRecord<byte[], byte[]> r = consumerRecords.get(i);
-
-        if (r.offset() < retractingInfo.getRetractStoppingOffset()) {
-          finishRetract.add(tp);
-          break;
+        if (r.offset() > windowEnd) {
+          continue;
         }
-        LogData<RowData> logData = logDataJsonDeserialization.deserialize(r.value());
-
-        if (!Objects.equals(logData.getUpstreamId(), retractingInfo.getUpstreamId())
-            || logData.getEpicNo() <= retractingInfo.getEpicNo()) {
+        // filter by the header of the message, the row would be deserialized only if it should be
+        // retracted.
+        String upstreamId = LogDataJsonDeserialization.readUpstreamId(r.value());
+        long epicNo = LogDataJsonDeserialization.readEpicNo(r.value());
+        if (!Objects.equals(upstreamId, retractingInfo.getUpstreamId())
+            || epicNo <= retractingInfo.getEpicNo()) {
           LOG.debug(
               "won't retract other job or the success ckp epic data, upstreamId: {}, epicNo: {}",
-              logData.getUpstreamId(),
-              logData.getEpicNo());
-        } else {
-          RowData actualValue = logReadHelper.turnRowKind(logData.getActualValue());
-          recordsForSplit.add(
-              LogRecordWithRetractInfo.ofRetract(
-                  r,
-                  retractingInfo.getRetractStoppingOffset(),
-                  retractingInfo.getRevertStartingOffset(),
-                  retractingInfo.getEpicNo(),
-                  logData,
-                  actualValue));
+              upstreamId,
+              epicNo);
+          continue;
         }
-
-        if (r.offset() == retractingInfo.getRetractStoppingOffset()) {
-          finishRetract.add(tp);
-          break;
+        LogData<RowData> logData = logDataJsonDeserialization.deserialize(r.value());
+        if (logData.getFlip()) {
+          continue;
         }
+        RowData actualValue = logReadHelper.turnRowKind(logData.getActualValue());
+        recordsForSplit.add(
+            LogRecordWithRetractInfo.ofRetract(
+                r,
+                retractingInfo.getRetractStoppingOffset(),
+                retractingInfo.getRevertStartingOffset(),
+                retractingInfo.getEpicNo(),
+                logData,
+                actualValue));
+      }
+
+      long windowStart = windowStarts.get(tp);
+      if (windowStart <= retractingInfo.getRetractStoppingOffset()) {
+        finishRetract.add(tp);
+      } else {
+        // the next fetch reads the preceding window
+        consumer.seek(tp, windowStart);
       }
     }
 
     suspendRetracting(finishRetract);
-    consumer.assign(origin);
 
     return new KafkaPartitionSplitRecords(
         new ConsumerRecords<>(logRecords), kafkaSourceReaderMetrics);
@@ -332,92 +363,54 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader {
     }
   }
 
-  /**
-   * @param records should be in order of kafka.
-   * @param offset Kafka offset
-   * @return the index in records
-   */
-  private int findIndexOfOffset(List<ConsumerRecord<byte[], byte[]>> records, long offset) {
-    int last = records.size() - 1;
-    int idx = Math.min(RETRACT_SIZE, last);
-
-    long diff = -1;
-    while (idx >= 0 && idx <= last && (diff = records.get(idx).offset() - offset) != 0) {
-      if (diff > 0) {
-        idx--;
-      } else {
-        idx++;
-      }
-    }
-    if (diff == 0) {
-      LOG.debug("start index is: {}", idx);
-      return idx;
-    }
-    LOG.info(
-        "topic: {}, partition: {}, records' offset range: [{}, {}], need to find: {}",
-        records.get(0).topic(),
-        records.get(0).partition(),
-        records.get(0).offset(),
-        records.get(last).offset(),
-        offset);
-    throw new IllegalStateException("can not find offset in records");
-  }
-
   /**
    * @param stoppingOffsets the stopping offset is the position which should be read.
    * @return value in map may contain some useless records. It should be filtered.
    */
   private Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> pollToDesignatedPositions(
       Map<TopicPartition, Long> stoppingOffsets) {
-    ConsumerRecords<byte[], byte[]> consumerRecords;
-    try {
-      consumerRecords = consumer.poll(Duration.ofMillis(POLL_TIMEOUT));
-    } catch (WakeupException we) {
-      LOG.error("consume reversely error");
-      return Collections.EMPTY_MAP;
-    }
-
     Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> recordsForTps = new HashMap<>();
 
-    int unfinished = stoppingOffsets.size();
+    Set<TopicPartition> unfinishedTps = new HashSet<>(stoppingOffsets.keySet());
+    Set<TopicPartition> finishedTps = new HashSet<>();
     int round = 0;
+    try {
+      while (!unfinishedTps.isEmpty() && round++ < RETRACT_FETCH_MAX_ROUND) {
+        ConsumerRecords<byte[], byte[]> consumerRecords =
+            consumer.poll(Duration.ofMillis(POLL_TIMEOUT));
+        for (TopicPartition tp : consumerRecords.partitions()) {
+          recordsForTps
+              .computeIfAbsent(tp, k -> new ArrayList<>(RETRACT_SIZE))
+              .addAll(consumerRecords.records(tp));
+        }
 
-    Set<TopicPartition> unfinishedTps = new HashSet<>();
-    while (unfinished > 0 && round++ < RETRACT_FETCH_MAX_ROUND) {
-      unfinishedTps.clear();
-
-      for (TopicPartition tp : consumerRecords.partitions()) {
-        recordsForTps.putIfAbsent(tp, new ArrayList<>(RETRACT_SIZE));
-        List<ConsumerRecord<byte[], byte[]>> records = recordsForTps.get(tp);
-
-        records.addAll(consumerRecords.records(tp));
-
-        long stoppingOffset = stoppingOffsets.get(tp);
-        if (records.get(records.size() - 1).offset() >= stoppingOffset) {
-          unfinished--;
-          LOG.info(
-              "reach the stopping offset. stopping offset: {}, tp: {}. data size:{}",
-              stoppingOffset,
-              tp,
-              records.size());
-        } else {
-          unfinishedTps.add(tp);
+        for (TopicPartition tp : unfinishedTps) {
+          // the position is used rather than the offset of the last record, as there may be gaps
+          // in offsets, e.g. the markers of transactions.
+          if (consumer.position(tp) > stoppingOffsets.get(tp)) {
+            finishedTps.add(tp);
+            LOG.info(
+                "reach the stopping offset. stopping offset: {}, tp: {}. data size:{}",
+                stoppingOffsets.get(tp),
+                tp,
+                recordsForTps.getOrDefault(tp, Collections.emptyList()).size());
+          }
         }
+        unfinishedTps.removeAll(finishedTps);
+        // stop fetching the finished topic partitions
+        consumer.pause(finishedTps);
       }
-      if (unfinished == 0) {
-        break;
-      }
-      consumer.assign(unfinishedTps);
+    } finally {
+      consumer.resume(finishedTps);
     }
 
-    if (unfinished > 0) {
+    if (!unfinishedTps.isEmpty()) {
       LOG.error("can not poll msg to designated positions. unfinished: {}", unfinishedTps);
       for (TopicPartition tp : unfinishedTps) {
-        List<ConsumerRecord<byte[], byte[]>> records = recordsForTps.get(tp);
         LOG.info(
-            "tp: {}, polled offset:{}, stopping offset: {}",
+            "tp: {}, position:{}, stopping offset: {}",
             tp,
-            records.get(records.size() - 1).offset(),
+            consumer.position(tp),
             stoppingOffsets.get(tp));
       }
       throw new UnsupportedOperationException("poll msg reversely error");
@@ -75,15 +75,24 @@ public class LogKafkaPartitionSplitState extends KafkaPartitionSplitState {
       retractingEpicNo = record.getRetractingEpicNo();
       retractingUpstreamId = record.getLogData().getUpstreamId();
     } else {
+      if (retracting) {
+        // the retraction has finished, the epic start offsets of the retracted upstream are
+        // useless, and they would be initialized again by the data written after the flip.
+        clearEpicStartOffsets(retractingUpstreamId);
+      }
       setCurrentOffset(record.offset() + 1);
     }
     initEpicStartOffsetIfEmpty(
         record.getLogData().getUpstreamId(), record.getLogData().getEpicNo(), record.offset());
 
-    // todo: clear useless epic start offset in state
     retracting = record.isRetracting();
   }
 
+  private void clearEpicStartOffsets(String upstreamId) {
+    String prefix = upstreamId + "_";
+    upstreamEpicStartOffsets.tailMap(prefix, true).keySet().removeIf(k -> k.startsWith(prefix));
+  }
+
   public boolean isRetracting() {
     return retracting;
   }
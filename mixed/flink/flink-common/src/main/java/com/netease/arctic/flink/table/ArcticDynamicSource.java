@@ -18,7 +18,13 @@
 
 package com.netease.arctic.flink.table;
 
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_BATCH_SIZE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_THREAD_NUMBER;
+
+import com.netease.arctic.flink.lookup.ArcticRowDataAsyncLookupFunction;
 import com.netease.arctic.flink.lookup.ArcticRowDataLookupFunction;
+import com.netease.arctic.flink.lookup.BasicLookupFunction;
 import com.netease.arctic.flink.lookup.KVTableFactory;
 import com.netease.arctic.flink.lookup.filter.RowDataPredicate;
 import com.netease.arctic.flink.lookup.filter.RowDataPredicateExpressionVisitor;
@@ -42,10 +48,12 @@ import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsWatermarkPushDown;
+import org.apache.flink.table.connector.source.lookup.AsyncLookupFunctionProvider;
 import org.apache.flink.table.connector.source.lookup.LookupFunctionProvider;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.expressions.CallExpression;
 import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.functions.AsyncLookupFunction;
 import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
 import org.apache.flink.table.functions.FunctionIdentifier;
 import org.apache.flink.table.functions.LookupFunction;
@@ -247,6 +255,11 @@ public class ArcticDynamicSource
       joinKeys[i] = context.getKeys()[i][0];
     }
 
+    Configuration config = new Configuration();
+    properties.forEach(config::setString);
+    if (config.get(LOOKUP_ASYNC)) {
+      return AsyncLookupFunctionProvider.of(getAsyncLookupFunction(joinKeys, config));
+    }
     return LookupFunctionProvider.of(getLookupFunction(joinKeys));
   }
 
@@ -279,6 +292,33 @@ public class ArcticDynamicSource
         readerFunction);
   }
 
+  protected AsyncLookupFunction getAsyncLookupFunction(int[] joinKeys, Configuration config) {
+    Schema projectedSchema = getProjectedSchema();
+
+    List<String> joinKeyNames = getJoinKeyNames(joinKeys, projectedSchema);
+
+    Optional<RowDataPredicate> rowDataPredicate =
+        generatePredicate(projectedSchema, flinkExpression);
+
+    BasicLookupFunction<RowData> basicLookupFunction =
+        new BasicLookupFunction<>(
+            KVTableFactory.INSTANCE,
+            arcticTable,
+            joinKeyNames,
+            projectedSchema,
+            filters,
+            tableLoader,
+            config,
+            rowDataPredicate.orElse(null),
+            generateMORReader(arcticTable, projectedSchema),
+            generateReaderFunction(arcticTable, projectedSchema));
+
+    return new ArcticRowDataAsyncLookupFunction(
+        basicLookupFunction,
+        config.get(LOOKUP_ASYNC_THREAD_NUMBER),
+        config.get(LOOKUP_ASYNC_BATCH_SIZE));
+  }
+
   protected DataIteratorReaderFunction<RowData> generateReaderFunction(
       ArcticTable arcticTable, Schema projectedSchema) {
     return new RowDataReaderFunction(
@@ -69,6 +69,14 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
   public static final String ARCTIC_WRITE_MAX_OPEN_FILE_SIZE = "write.open-files.size.max";
   public static final long ARCTIC_WRITE_MAX_OPEN_FILE_SIZE_DEFAULT = 671088640L; // 640M = 5 * 128M
 
+  /** The threads closing the data files asynchronously, 0 means closing on the task thread. */
+  public static final String ARCTIC_WRITE_ASYNC_CLOSE_THREADS = "write.close-files.async.threads";
+
+  public static final int ARCTIC_WRITE_ASYNC_CLOSE_THREADS_DEFAULT = 0;
+  public static final String ARCTIC_WRITE_ASYNC_CLOSE_MAX_IN_FLIGHT_SIZE =
+      "write.close-files.async.in-flight-size.max";
+  public static final long ARCTIC_WRITE_ASYNC_CLOSE_MAX_IN_FLIGHT_SIZE_DEFAULT = 268435456L; // 256M
+
   // log.consumer.changelog.mode
   public static final String LOG_CONSUMER_CHANGELOG_MODE_APPEND_ONLY = "append-only";
   public static final String LOG_CONSUMER_CHANGELOG_MODE_ALL_KINDS = "all-kinds";
@@ -237,6 +245,15 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
           .defaultValue(Duration.ZERO)
           .withDescription("The TTL after which the row will expire in the lookup cache.");
 
+  public static final ConfigOption<Boolean> LOOKUP_CACHE_SHARED =
+      ConfigOptions.key("lookup.cache.shared")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether to share the lookup cache among the co-located subtasks in one TaskManager."
+                  + " The subtasks joining the same table with the same projection and filters read"
+                  + " one RocksDB, which is reloaded by one loader.");
+
   public static final ConfigOption<Duration> LOOKUP_RELOADING_INTERVAL =
       ConfigOptions.key("lookup.reloading.interval")
           .durationType()
@@ -245,6 +262,30 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
               "Configuration option for specifying the interval in seconds to reload lookup data in RocksDB."
                   + "\nThe default value is 10 seconds.");
 
+  public static final ConfigOption<Boolean> LOOKUP_ASYNC =
+      ConfigOptions.key("lookup.async")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether to serve the lookup join asynchronously. The concurrent keys are gathered into"
+                  + " batches and fetched from RocksDB with multi-get calls by an I/O thread pool."
+                  + "\nThe result order follows the 'table.exec.async-lookup.output-mode' option,"
+                  + " ORDERED by default and ALLOW_UNORDERED for a higher throughput.");
+
+  public static final ConfigOption<Integer> LOOKUP_ASYNC_THREAD_NUMBER =
+      ConfigOptions.key("lookup.async.thread-number")
+          .intType()
+          .defaultValue(4)
+          .withDescription("The number of I/O threads serving the asynchronous lookup join.");
+
+  public static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE =
+      ConfigOptions.key("lookup.async.batch-size")
+          .intType()
+          .defaultValue(128)
+          .withDescription(
+              "The maximum number of keys fetched by one multi-get call in the asynchronous lookup"
+                  + " join.");
+
   public static final ConfigOption<Boolean> ROCKSDB_AUTO_COMPACTIONS =
       ConfigOptions.key("rocksdb.auto-compactions")
           .booleanType()
@@ -18,11 +18,15 @@
 
 package com.netease.arctic.flink.write;
 
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_WRITE_ASYNC_CLOSE_MAX_IN_FLIGHT_SIZE_DEFAULT;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_WRITE_ASYNC_CLOSE_THREADS_DEFAULT;
+
 import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.flink.shuffle.ShuffleKey;
 import com.netease.arctic.flink.shuffle.ShuffleRulePolicy;
 import com.netease.arctic.flink.table.ArcticTableLoader;
 import com.netease.arctic.flink.util.ArcticUtils;
+import com.netease.arctic.io.writer.BaseTaskWriter;
 import com.netease.arctic.table.ArcticTable;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.flink.annotation.VisibleForTesting;
@@ -33,6 +37,7 @@ import org.apache.flink.streaming.api.operators.BoundedOneInput;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
 import org.apache.iceberg.flink.sink.TaskWriterFactory;
 import org.apache.iceberg.io.TaskWriter;
 import org.apache.iceberg.io.WriteResult;
@@ -42,6 +47,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -58,8 +65,13 @@ public class ArcticFileWriter extends AbstractStreamOperator<WriteResult>
   private final int minFileSplitCount;
   private final ArcticTableLoader tableLoader;
   private final boolean submitEmptySnapshot;
+  private final int asyncCloseThreads;
+  private final long asyncCloseMaxInFlightBytes;
 
   private transient TaskWriter<RowData> writer;
+  /** Closes the data files off the task thread, null if closing on the task thread. */
+  private transient ExecutorService closeExecutor;
+
   private transient int subTaskId;
   private transient int attemptId;
   /**
@@ -77,16 +89,40 @@ public class ArcticFileWriter extends AbstractStreamOperator<WriteResult>
       ArcticTableLoader tableLoader,
       boolean upsert,
       boolean submitEmptySnapshot) {
+    this(
+        shuffleRule,
+        taskWriterFactory,
+        minFileSplitCount,
+        tableLoader,
+        upsert,
+        submitEmptySnapshot,
+        ARCTIC_WRITE_ASYNC_CLOSE_THREADS_DEFAULT,
+        ARCTIC_WRITE_ASYNC_CLOSE_MAX_IN_FLIGHT_SIZE_DEFAULT);
+  }
+
+  public ArcticFileWriter(
+      ShuffleRulePolicy<RowData, ShuffleKey> shuffleRule,
+      TaskWriterFactory<RowData> taskWriterFactory,
+      int minFileSplitCount,
+      ArcticTableLoader tableLoader,
+      boolean upsert,
+      boolean submitEmptySnapshot,
+      int asyncCloseThreads,
+      long asyncCloseMaxInFlightBytes) {
     this.shuffleRule = shuffleRule;
     this.taskWriterFactory = taskWriterFactory;
     this.minFileSplitCount = minFileSplitCount;
     this.tableLoader = tableLoader;
     this.submitEmptySnapshot = submitEmptySnapshot;
+    this.asyncCloseThreads = asyncCloseThreads;
+    this.asyncCloseMaxInFlightBytes = asyncCloseMaxInFlightBytes;
     LOG.info(
-        "ArcticFileWriter is created with minFileSplitCount: {}, upsert: {}, submitEmptySnapshot: {}",
+        "ArcticFileWriter is created with minFileSplitCount: {}, upsert: {}, submitEmptySnapshot: {},"
+            + " asyncCloseThreads: {}",
         minFileSplitCount,
         upsert,
-        submitEmptySnapshot);
+        submitEmptySnapshot,
+        asyncCloseThreads);
   }
 
   @Override
@@ -97,7 +133,27 @@ public class ArcticFileWriter extends AbstractStreamOperator<WriteResult>
     long mask = getMask(subTaskId);
     initTaskWriterFactory(mask);
 
-    this.writer = table.io().doAs(taskWriterFactory::create);
+    if (asyncCloseThreads > 0) {
+      this.closeExecutor =
+          Executors.newFixedThreadPool(
+              asyncCloseThreads,
+              new ExecutorThreadFactory("arctic-file-closer-" + table.name() + "-" + subTaskId));
+    }
+    this.writer = table.io().doAs(this::createWriter);
+  }
+
+  /**
+   * Create a task writer, whose rolled and remaining data files are closed on the close executor if
+   * present. The writer still waits for all the files in {@link TaskWriter#complete()}, so the
+   * WriteResult emitted before the checkpoint barrier covers every file written before it.
+   */
+  private TaskWriter<RowData> createWriter() {
+    TaskWriter<RowData> taskWriter = taskWriterFactory.create();
+    if (closeExecutor != null && taskWriter instanceof BaseTaskWriter) {
+      ((BaseTaskWriter<RowData>) taskWriter)
+          .closeWritersAsync(closeExecutor, asyncCloseMaxInFlightBytes);
+    }
+    return taskWriter;
   }
 
   @Override
@@ -179,7 +235,7 @@ public class ArcticFileWriter extends AbstractStreamOperator<WriteResult>
         .doAs(
             () -> {
               if (writer == null) {
-                this.writer = taskWriterFactory.create();
+                this.writer = createWriter();
               }
               writer.write(row);
               return null;
@@ -199,6 +255,10 @@ public class ArcticFileWriter extends AbstractStreamOperator<WriteResult>
               });
       writer = null;
     }
+    if (closeExecutor != null) {
+      closeExecutor.shutdownNow();
+      closeExecutor = null;
+    }
   }
 
   private void emit(WriteResult writeResult) {
@@ -23,6 +23,10 @@ import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_EMIT_MODE;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_THROUGHPUT_METRIC_ENABLE;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_THROUGHPUT_METRIC_ENABLE_DEFAULT;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_WRITE_ASYNC_CLOSE_MAX_IN_FLIGHT_SIZE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_WRITE_ASYNC_CLOSE_MAX_IN_FLIGHT_SIZE_DEFAULT;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_WRITE_ASYNC_CLOSE_THREADS;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_WRITE_ASYNC_CLOSE_THREADS_DEFAULT;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_WRITE_MAX_OPEN_FILE_SIZE;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_WRITE_MAX_OPEN_FILE_SIZE_DEFAULT;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.AUTO_EMIT_LOGSTORE_WATERMARK_GAP;
@@ -397,6 +401,16 @@ public class FlinkSink {
             arcticTable.properties(),
             SUBMIT_EMPTY_SNAPSHOTS.key(),
             SUBMIT_EMPTY_SNAPSHOTS.defaultValue());
+    int asyncCloseThreads =
+        PropertyUtil.propertyAsInt(
+            arcticTable.properties(),
+            ARCTIC_WRITE_ASYNC_CLOSE_THREADS,
+            ARCTIC_WRITE_ASYNC_CLOSE_THREADS_DEFAULT);
+    long asyncCloseMaxInFlightBytes =
+        PropertyUtil.propertyAsLong(
+            arcticTable.properties(),
+            ARCTIC_WRITE_ASYNC_CLOSE_MAX_IN_FLIGHT_SIZE,
+            ARCTIC_WRITE_ASYNC_CLOSE_MAX_IN_FLIGHT_SIZE_DEFAULT);
 
     return new ArcticFileWriter(
         shufflePolicy,
@@ -404,7 +418,9 @@ public class FlinkSink {
         minFileSplitCount,
         tableLoader,
         upsert,
-        submitEmptySnapshot);
+        submitEmptySnapshot,
+        asyncCloseThreads,
+        asyncCloseMaxInFlightBytes);
   }
 
   private static TaskWriterFactory<RowData> createTaskWriterFactory(
@@ -43,12 +43,15 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * This is hidden log queue kafka producer that serializes {@link LogData<T>} and emits to the kafka
- * topic.
+ * topic. The kafka producer is shared with the other writers in the same TaskManager by {@link
+ * HiddenKafkaProducerPool}, while errors and flushes are still scoped to this writer. The
+ * transactional producer is only created when flips are sent, i.e. by the global flip committer.
  */
 public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   private static final Logger LOG = LoggerFactory.getLogger(HiddenKafkaProducer.class);
@@ -64,6 +67,10 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   /** Errors encountered in the async producer are stored here. */
   @Nullable protected transient volatile Exception asyncException;
 
+  /** The number of records sent by this writer but not acknowledged yet. */
+  private final AtomicLong pendingRecords = new AtomicLong();
+
+  private transient HiddenKafkaProducerPool.SharedProducer sharedProducer;
   private transient FlinkKafkaInternalProducer<byte[], byte[]> producer;
   private transient FlinkKafkaInternalProducer<byte[], byte[]> transactionalProducer;
 
@@ -91,8 +98,6 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
           acknowledgeMessage();
         };
     producer = createProducer();
-    transactionalProducer = createTransactionalProducer();
-    transactionalProducer.initTransactions();
     partitions = getPartitionsByTopic(topic, producer);
     LOG.info("HiddenKafkaPartition topic:{}, partitions:{}.", topic, partitions);
   }
@@ -104,7 +109,13 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
     int partition = arcticLogPartitioner.partition(logData, partitions);
     ProducerRecord<byte[], byte[]> producerRecord =
         new ProducerRecord<>(topic, partition, null, null, message);
-    producer.send(producerRecord, callback);
+    pendingRecords.incrementAndGet();
+    try {
+      producer.send(producerRecord, callback);
+    } catch (Exception e) {
+      pendingRecords.decrementAndGet();
+      throw e;
+    }
   }
 
   @Override
@@ -117,10 +128,15 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
             .collect(Collectors.toList());
     LOG.info("sending {} partitions with flip message={}.", recordList.size(), logData);
     long start = System.currentTimeMillis();
+    if (transactionalProducer == null) {
+      transactionalProducer = createTransactionalProducer();
+      transactionalProducer.initTransactions();
+    }
     try {
       transactionalProducer.beginTransaction();
       for (ProducerRecord<byte[], byte[]> producerRecord : recordList) {
         checkErroneous();
+        pendingRecords.incrementAndGet();
         transactionalProducer.send(producerRecord, callback);
       }
       transactionalProducer.commitTransaction();
@@ -134,16 +150,23 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
 
   @Override
   public void flush() {
-    producer.flush();
+    // the producer is shared, so it's unnecessary to flush when the records of this writer have
+    // been acknowledged.
+    if (pendingRecords.get() > 0) {
+      producer.flush();
+    }
   }
 
   @Override
   public void close() throws Exception {
     try {
-      if (producer != null) {
-        producer.close(Duration.ofSeconds(0));
+      if (sharedProducer != null) {
+        HiddenKafkaProducerPool.release(sharedProducer);
+        sharedProducer = null;
+      }
+      if (transactionalProducer != null) {
+        transactionalProducer.close(Duration.ofSeconds(0));
       }
-      transactionalProducer.close(Duration.ofSeconds(0));
     } catch (Exception e) {
       asyncException = ExceptionUtils.firstOrSuppressed(e, asyncException);
     } finally {
@@ -160,7 +183,8 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   }
 
   protected FlinkKafkaInternalProducer<byte[], byte[]> createProducer() {
-    return new FlinkKafkaInternalProducer<>(producerConfig);
+    sharedProducer = HiddenKafkaProducerPool.acquire(producerConfig);
+    return sharedProducer.producer();
   }
 
   public static int[] getPartitionsByTopic(
@@ -190,5 +214,7 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
    * {@code super.acknowledgeMessage()} to keep the invariants of the internal bookkeeping of the
    * producer. If not, be sure to know what you are doing.
    */
-  protected void acknowledgeMessage() {}
+  protected void acknowledgeMessage() {
+    pendingRecords.decrementAndGet();
+  }
 }
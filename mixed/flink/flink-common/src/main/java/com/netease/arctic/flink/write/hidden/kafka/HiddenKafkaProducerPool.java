@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.write.hidden.kafka;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.streaming.connectors.kafka.internals.FlinkKafkaInternalProducer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * A pool of the kafka producers shared by the hidden log writers in the same TaskManager, precisely
+ * the same user code class loader. Producers are keyed by the producer properties, which contain
+ * the kafka cluster, so that the writers of the same cluster share batching, metadata and
+ * connections. A producer is reference-counted, and closed when it is released by the last writer.
+ */
+public class HiddenKafkaProducerPool {
+
+  private static final Map<String, SharedProducer> PRODUCERS = new HashMap<>();
+
+  private HiddenKafkaProducerPool() {}
+
+  public static synchronized SharedProducer acquire(Properties producerConfig) {
+    String key = keyOf(producerConfig);
+    SharedProducer shared =
+        PRODUCERS.computeIfAbsent(
+            key, k -> new SharedProducer(k, new FlinkKafkaInternalProducer<>(producerConfig)));
+    shared.refCount++;
+    return shared;
+  }
+
+  public static synchronized void release(SharedProducer shared) {
+    if (shared.refCount <= 0) {
+      return;
+    }
+    shared.refCount--;
+    if (shared.refCount == 0) {
+      PRODUCERS.remove(shared.key, shared);
+      shared.producer.close(Duration.ofSeconds(0));
+    }
+  }
+
+  @VisibleForTesting
+  static synchronized int referenceCount(Properties producerConfig) {
+    SharedProducer shared = PRODUCERS.get(keyOf(producerConfig));
+    return shared == null ? 0 : shared.refCount;
+  }
+
+  private static String keyOf(Properties producerConfig) {
+    Map<String, String> sorted = new TreeMap<>();
+    producerConfig.forEach((k, v) -> sorted.put(String.valueOf(k), String.valueOf(v)));
+    return sorted.toString();
+  }
+
+  /** A kafka producer with the count of writers referencing it. */
+  public static class SharedProducer {
+    private final String key;
+    private final FlinkKafkaInternalProducer<byte[], byte[]> producer;
+    private int refCount;
+
+    private SharedProducer(String key, FlinkKafkaInternalProducer<byte[], byte[]> producer) {
+      this.key = key;
+      this.producer = producer;
+    }
+
+    public FlinkKafkaInternalProducer<byte[], byte[]> producer() {
+      return producer;
+    }
+  }
+}
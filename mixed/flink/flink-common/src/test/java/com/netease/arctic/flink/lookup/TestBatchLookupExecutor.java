@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestBatchLookupExecutor {
+
+  @Test
+  public void testLookupInBatches() throws Exception {
+    AtomicInteger maxBatchSize = new AtomicInteger();
+    try (BatchLookupExecutor<Integer> executor =
+        new BatchLookupExecutor<>(
+            keys -> {
+              maxBatchSize.accumulateAndGet(keys.size(), Math::max);
+              List<List<Integer>> results = new ArrayList<>(keys.size());
+              for (RowData key : keys) {
+                int id = key.getInt(0);
+                results.add(id % 2 == 0 ? Collections.singletonList(id) : Collections.emptyList());
+              }
+              return results;
+            },
+            2,
+            8)) {
+      executor.open(new UnregisteredMetricsGroup());
+
+      List<CompletableFuture<Collection<Integer>>> futures = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        futures.add(executor.submit(GenericRowData.of(i)));
+      }
+      for (int i = 0; i < 100; i++) {
+        Collection<Integer> result = futures.get(i).get(10, TimeUnit.SECONDS);
+        if (i % 2 == 0) {
+          Assert.assertEquals(Collections.singletonList(i), result);
+        } else {
+          Assert.assertTrue(result.isEmpty());
+        }
+      }
+      Assert.assertTrue(maxBatchSize.get() <= 8);
+    }
+  }
+
+  @Test
+  public void testLookupFailed() throws Exception {
+    try (BatchLookupExecutor<Integer> executor =
+        new BatchLookupExecutor<>(
+            keys -> {
+              throw new IllegalStateException("lookup failed");
+            },
+            1,
+            4)) {
+      executor.open(new UnregisteredMetricsGroup());
+      CompletableFuture<Collection<Integer>> future = executor.submit(GenericRowData.of(1));
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        Assert.fail();
+      } catch (ExecutionException e) {
+        Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+      }
+    }
+  }
+
+  @Test
+  public void testSubmitAfterClose() {
+    BatchLookupExecutor<Integer> executor =
+        new BatchLookupExecutor<>(keys -> Collections.emptyList(), 1, 4);
+    executor.open(new UnregisteredMetricsGroup());
+    executor.close();
+    Assert.assertTrue(executor.submit(GenericRowData.of(1)).isCompletedExceptionally());
+  }
+}
@@ -263,6 +263,47 @@ public class TestKVTable extends TestRowDataPredicateBase {
     }
   }
 
+  @Test
+  public void testGetAll() throws IOException {
+    try (KVTable<RowData> uniqueIndexTable = createTable(Lists.newArrayList("id", "grade"))) {
+      openAndInitTable(uniqueIndexTable);
+
+      List<List<RowData>> results =
+          uniqueIndexTable.getAll(Lists.newArrayList(row(2, "3"), row(5, "5"), row(1, "1")));
+      Assert.assertEquals(3, results.size());
+      assertRecord(row(2, "3", 3), results.get(0).get(0));
+      Assert.assertTrue(results.get(1).isEmpty());
+      assertRecord(row(1, "1", 1), results.get(2).get(0));
+    }
+
+    try (KVTable<RowData> secondaryIndexTable = createTable(Lists.newArrayList("id"))) {
+      openAndInitTable(secondaryIndexTable);
+
+      List<List<RowData>> results =
+          secondaryIndexTable.getAll(Lists.newArrayList(row(2), row(5), row(1)));
+      Assert.assertEquals(3, results.size());
+      List<RowData> values = results.get(0).stream().sorted(compare()).collect(Collectors.toList());
+      Assert.assertEquals(2, values.size());
+      assertRecord(row(2, "2", 2), values.get(0));
+      assertRecord(row(2, "3", 3), values.get(1));
+      Assert.assertTrue(results.get(1).isEmpty());
+      assertRecord(row(1, "1", 1), results.get(2).get(0));
+    }
+  }
+
+  private void openAndInitTable(KVTable<RowData> table) throws IOException {
+    table.open();
+    initTable(
+        table,
+        upsertStream(
+            row(RowKind.INSERT, 1, "1", 1),
+            row(RowKind.INSERT, 2, "2", 2),
+            row(RowKind.INSERT, 2, "3", 3)));
+    if (!table.initialized()) {
+      table.waitInitializationCompleted();
+    }
+  }
+
   private void writeAndAssert(SecondaryIndexTable secondaryIndexTable) throws IOException {
     secondaryIndexTable.open();
 
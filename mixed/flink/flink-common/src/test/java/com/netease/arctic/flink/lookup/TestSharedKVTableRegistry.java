@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.apache.flink.table.data.RowData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestSharedKVTableRegistry {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testAcquireAndRelease() throws Exception {
+    String key = "catalog.db.table|testAcquireAndRelease";
+    BasicLookupFunction<RowData> function = mock(BasicLookupFunction.class);
+    AtomicInteger openTimes = new AtomicInteger();
+
+    BasicLookupFunction<RowData> first =
+        SharedKVTableRegistry.acquire(
+            key,
+            () -> {
+              openTimes.incrementAndGet();
+              return function;
+            });
+    BasicLookupFunction<RowData> second =
+        SharedKVTableRegistry.acquire(
+            key,
+            () -> {
+              openTimes.incrementAndGet();
+              return mock(BasicLookupFunction.class);
+            });
+    Assert.assertSame(function, first);
+    Assert.assertSame(function, second);
+    Assert.assertEquals(1, openTimes.get());
+    Assert.assertEquals(2, SharedKVTableRegistry.refCount(key));
+
+    SharedKVTableRegistry.release(key);
+    verify(function, never()).closeOwnedResources();
+    SharedKVTableRegistry.release(key);
+    verify(function, times(1)).closeOwnedResources();
+    Assert.assertEquals(0, SharedKVTableRegistry.refCount(key));
+  }
+
+  @Test
+  public void testOpenFailed() {
+    String key = "catalog.db.table|testOpenFailed";
+    try {
+      SharedKVTableRegistry.acquire(
+          key,
+          () -> {
+            throw new IOException("open failed");
+          });
+      Assert.fail();
+    } catch (IOException e) {
+      Assert.assertEquals("open failed", e.getCause().getMessage());
+    }
+    Assert.assertEquals(0, SharedKVTableRegistry.refCount(key));
+  }
+}
@@ -25,6 +25,7 @@ import static com.netease.arctic.flink.write.hidden.kafka.TestBaseLog.createLogD
 import static com.netease.arctic.flink.write.hidden.kafka.TestBaseLog.userSchema;
 import static com.netease.arctic.flink.write.hidden.kafka.TestHiddenLogOperators.createRowData;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import com.netease.arctic.flink.kafka.testutils.KafkaConfigGenerate;
 import com.netease.arctic.flink.kafka.testutils.KafkaContainerTest;
@@ -37,6 +38,7 @@ import com.netease.arctic.log.LogData;
 import com.netease.arctic.log.LogDataJsonDeserialization;
 import com.netease.arctic.log.LogDataJsonSerialization;
 import com.netease.arctic.utils.IdGenerator;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
@@ -47,9 +49,12 @@ import org.apache.flink.connector.testutils.source.reader.TestingReaderContext;
 import org.apache.flink.metrics.groups.SourceReaderMetricGroup;
 import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
 import org.apache.flink.table.data.RowData;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.AfterClass;
@@ -61,13 +66,18 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class TestLogKafkaPartitionSplitReader {
 
@@ -79,6 +89,7 @@ public class TestLogKafkaPartitionSplitReader {
   public static final String TOPIC2 = "topic2";
   private static Map<Integer, Map<String, KafkaPartitionSplit>> splitsByOwners;
   private static final byte[] JOB_ID = IdGenerator.generateUpstreamId();
+  private static final int MAX_FETCHES = 100;
 
   @BeforeClass
   public static void prepare() throws Exception {
@@ -110,17 +121,173 @@ public class TestLogKafkaPartitionSplitReader {
     assignSplitsAndFetchUntilFinish(reader, 1, 20);
   }
 
+  @Test
+  public void testRetractInMultipleWindows() throws Exception {
+    String topic = "topic-retract-windows";
+    // |0 1 2 3 4 5 6 7 8 9 Flip 10 11 12 13 14| 15 16 17 18 19
+    write(topic, 0);
+
+    int retractSize = LogKafkaPartitionSplitReader.RETRACT_SIZE;
+    LogKafkaPartitionSplitReader.RETRACT_SIZE = 2;
+    try {
+      List<List<LogRecordWithRetractInfo<RowData>>> fetches =
+          fetchUntilFinish(
+              createReader(new Properties(), new LogSourceHelper()),
+              split(topic, 0, TOPIC1_STOP_OFFSET));
+
+      assertEquals(Arrays.asList(9, 8, 7, 6, 5), values(fetches, true));
+      assertEquals(range(0, 15), values(fetches, false));
+      // the offsets 5-9 are retracted in the windows [8, 9], [6, 7] and [5, 5]
+      assertEquals(
+          3,
+          fetches.stream()
+              .filter(f -> f.stream().anyMatch(LogRecordWithRetractInfo::isRetracting))
+              .count());
+    } finally {
+      LogKafkaPartitionSplitReader.RETRACT_SIZE = retractSize;
+    }
+  }
+
+  @Test
+  public void testRetractOverTransactionMarkers() throws Exception {
+    String topic = "topic-retract-transactional";
+    // every message is committed in its own transaction, so the data are at the even offsets and
+    // the transaction markers are at the odd offsets
+    writeTransactional(topic);
+
+    int retractSize = LogKafkaPartitionSplitReader.RETRACT_SIZE;
+    LogKafkaPartitionSplitReader.RETRACT_SIZE = 3;
+    try {
+      Properties properties = new Properties();
+      properties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+      // the 16th message is at offset 30
+      List<List<LogRecordWithRetractInfo<RowData>>> fetches =
+          fetchUntilFinish(createReader(properties, new LogSourceHelper()), split(topic, 0, 31));
+
+      assertEquals(Arrays.asList(9, 8, 7, 6, 5), values(fetches, true));
+      assertEquals(range(0, 15), values(fetches, false));
+    } finally {
+      LogKafkaPartitionSplitReader.RETRACT_SIZE = retractSize;
+    }
+  }
+
+  @Test
+  public void testRetractInterleavedUpstreams() throws Exception {
+    String topic = "topic-retract-interleaved";
+    byte[] otherJobId = IdGenerator.generateUpstreamId();
+    LogDataJsonSerialization<RowData> serialization =
+        new LogDataJsonSerialization<>(userSchema, LogRecordV1.fieldGetterFactory);
+    try (KafkaProducer<byte[], byte[]> producer = KafkaContainerTest.getProducer()) {
+      // offset: 0 1 2 3 | 4 5 6 7 | 8 | 9 10
+      producer.send(createLogData(topic, 0, JOB_ID, 1, false, serialization));
+      producer.send(createLogData(topic, 100, otherJobId, 1, false, serialization));
+      producer.send(createLogData(topic, 1, JOB_ID, 1, false, serialization));
+      producer.send(createLogData(topic, 101, otherJobId, 1, false, serialization));
+      // the epics 2 and 3 of the job fail, while the other job goes on
+      producer.send(createLogData(topic, 2, JOB_ID, 2, false, serialization));
+      producer.send(createLogData(topic, 102, otherJobId, 2, false, serialization));
+      producer.send(createLogData(topic, 3, JOB_ID, 3, false, serialization));
+      producer.send(createLogData(topic, 103, otherJobId, 2, false, serialization));
+      producer.send(createLogData(topic, 8, JOB_ID, 1, true, serialization));
+      producer.send(createLogData(topic, 20, JOB_ID, 2, false, serialization));
+      producer.send(createLogData(topic, 104, otherJobId, 3, false, serialization));
+      producer.flush();
+    }
+
+    List<List<LogRecordWithRetractInfo<RowData>>> fetches =
+        fetchUntilFinish(
+            createReader(new Properties(), new LogSourceHelper()), split(topic, 0, 11));
+
+    // only the failed epics of the job are retracted
+    assertEquals(Arrays.asList(3, 2), values(fetches, true));
+    assertEquals(Arrays.asList(0, 100, 1, 101, 2, 102, 3, 103, 20, 104), values(fetches, false));
+  }
+
+  @Test
+  public void testWakeUpDuringRetraction() throws Exception {
+    String topic = "topic-retract-wakeup";
+    write(topic, 0);
+
+    int retractSize = LogKafkaPartitionSplitReader.RETRACT_SIZE;
+    LogKafkaPartitionSplitReader.RETRACT_SIZE = 2;
+    try {
+      LogSourceHelper helper = new LogSourceHelper();
+      LogKafkaPartitionSplitReader reader = createReader(new Properties(), helper);
+      KafkaPartitionSplit split = split(topic, 0, TOPIC1_STOP_OFFSET);
+      assignSplits(reader, ImmutableMap.of(split.splitId(), split));
+
+      List<List<LogRecordWithRetractInfo<RowData>>> fetches = new ArrayList<>();
+      while (helper.getRetractTopicPartitions().isEmpty()) {
+        fetches.add(fetch(reader).f0);
+        assertTrue(fetches.size() < MAX_FETCHES);
+      }
+
+      // the window being read is given up, and it would be read again in the next fetch
+      reader.wakeUp();
+      assertTrue(fetch(reader).f0.isEmpty());
+      assertEquals(
+          Collections.singleton(split.getTopicPartition()), helper.getRetractTopicPartitions());
+
+      fetches.addAll(fetchUntilFinish(reader, split.splitId()));
+      assertEquals(Arrays.asList(9, 8, 7, 6, 5), values(fetches, true));
+      assertEquals(range(0, 15), values(fetches, false));
+    } finally {
+      LogKafkaPartitionSplitReader.RETRACT_SIZE = retractSize;
+    }
+  }
+
+  @Test
+  public void testStateAfterRetraction() throws Exception {
+    String topic = "topic-retract-state";
+    write(topic, 0);
+
+    LogSourceHelper helper = new LogSourceHelper();
+    KafkaPartitionSplit split = split(topic, 0, TOPIC1_STOP_OFFSET);
+    List<List<LogRecordWithRetractInfo<RowData>>> fetches =
+        fetchUntilFinish(createReader(new Properties(), helper), split);
+
+    // the retracted rows carry the retracting state of the flip at offset 10
+    fetches.stream()
+        .flatMap(List::stream)
+        .filter(LogRecordWithRetractInfo::isRetracting)
+        .forEach(
+            record -> {
+              assertEquals(5L, (long) record.getRetractStoppingOffset());
+              assertEquals(11L, (long) record.getRevertStartingOffset());
+              assertEquals(1L, (long) record.getRetractingEpicNo());
+            });
+
+    // the retraction is finished, and the epic start offsets before the flip are cleared, so that
+    // a later flip only retracts the epics read after the first flip
+    TopicPartition tp = split.getTopicPartition();
+    assertTrue(helper.getRetractTopicPartitions().isEmpty());
+    String upstreamId =
+        fetches.stream().flatMap(List::stream).findFirst().get().getLogData().getUpstreamId();
+    helper.startRetracting(tp, upstreamId, 1, TOPIC1_STOP_OFFSET);
+    assertEquals(11L, helper.getRetractInfo(tp).getRetractStoppingOffset());
+  }
+
   private ProducerRecord<byte[], byte[]> createLogData(
       String topic,
       int i,
       int epicNo,
       boolean flip,
       LogDataJsonSerialization<RowData> serialization) {
+    return createLogData(topic, i, JOB_ID, epicNo, flip, serialization);
+  }
+
+  private ProducerRecord<byte[], byte[]> createLogData(
+      String topic,
+      int i,
+      byte[] jobId,
+      int epicNo,
+      boolean flip,
+      LogDataJsonSerialization<RowData> serialization) {
     RowData rowData = createRowData(i);
     LogData<RowData> logData =
         new LogRecordV1(
             FormatVersion.FORMAT_VERSION_V1,
-            JOB_ID,
+            jobId,
             epicNo,
             flip,
             transformFromFlinkRowKind(rowData.getRowKind()),
@@ -164,6 +331,36 @@ public class TestLogKafkaPartitionSplitReader {
     printDataInTopic(topic);
   }
 
+  private void writeTransactional(String topic) {
+    Properties properties = KafkaConfigGenerate.getPropertiesWithByteArray();
+    properties.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, topic + "-" + UUID.randomUUID());
+    LogDataJsonSerialization<RowData> serialization =
+        new LogDataJsonSerialization<>(userSchema, LogRecordV1.fieldGetterFactory);
+    List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>();
+    int i = 0;
+    for (; i < 5; i++) {
+      records.add(createLogData(topic, i, 1, false, serialization));
+    }
+    for (; i < 10; i++) {
+      records.add(createLogData(topic, i, 2, false, serialization));
+    }
+    records.add(createLogData(topic, i, 1, true, serialization));
+    for (; i < 15; i++) {
+      records.add(createLogData(topic, i, 2, false, serialization));
+    }
+    for (; i < 20; i++) {
+      records.add(createLogData(topic, i, 3, false, serialization));
+    }
+    try (KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(properties)) {
+      producer.initTransactions();
+      for (ProducerRecord<byte[], byte[]> record : records) {
+        producer.beginTransaction();
+        producer.send(record);
+        producer.commitTransaction();
+      }
+    }
+  }
+
   public static void printDataInTopic(String topic) {
     ConsumerRecords<byte[], byte[]> consumerRecords = readRecordsBytes(topic);
     LogDataJsonDeserialization<RowData> deserialization = createLogDataDeserialization();
@@ -228,6 +425,59 @@ public class TestLogKafkaPartitionSplitReader {
         });
   }
 
+  private List<List<LogRecordWithRetractInfo<RowData>>> fetchUntilFinish(
+      LogKafkaPartitionSplitReader reader, KafkaPartitionSplit split) throws IOException {
+    assignSplits(reader, ImmutableMap.of(split.splitId(), split));
+    return fetchUntilFinish(reader, split.splitId());
+  }
+
+  /** @return the records of every fetch until the split is finished */
+  private List<List<LogRecordWithRetractInfo<RowData>>> fetchUntilFinish(
+      LogKafkaPartitionSplitReader reader, String splitId) throws IOException {
+    List<List<LogRecordWithRetractInfo<RowData>>> fetches = new ArrayList<>();
+    boolean finished = false;
+    while (!finished) {
+      Tuple2<List<LogRecordWithRetractInfo<RowData>>, Set<String>> fetched = fetch(reader);
+      fetches.add(fetched.f0);
+      finished = fetched.f1.contains(splitId);
+      assertTrue(
+          "the split is not finished in " + MAX_FETCHES + " fetches", fetches.size() < MAX_FETCHES);
+    }
+    return fetches;
+  }
+
+  /** @return the records and the finished splits of a fetch */
+  @SuppressWarnings("unchecked")
+  private Tuple2<List<LogRecordWithRetractInfo<RowData>>, Set<String>> fetch(
+      LogKafkaPartitionSplitReader reader) throws IOException {
+    RecordsWithSplitIds<ConsumerRecord<byte[], byte[]>> recordsBySplitIds = reader.fetch();
+    List<LogRecordWithRetractInfo<RowData>> records = new ArrayList<>();
+    while (recordsBySplitIds.nextSplit() != null) {
+      ConsumerRecord<byte[], byte[]> record;
+      while ((record = recordsBySplitIds.nextRecordFromSplit()) != null) {
+        records.add((LogRecordWithRetractInfo<RowData>) record);
+      }
+    }
+    return Tuple2.of(records, recordsBySplitIds.finishedSplits());
+  }
+
+  private static List<Integer> values(
+      List<List<LogRecordWithRetractInfo<RowData>>> fetches, boolean retracting) {
+    return fetches.stream()
+        .flatMap(List::stream)
+        .filter(record -> record.isRetracting() == retracting)
+        .map(record -> record.getActualValue().getInt(1))
+        .collect(Collectors.toList());
+  }
+
+  private static List<Integer> range(int start, int end) {
+    return IntStream.range(start, end).boxed().collect(Collectors.toList());
+  }
+
+  private static KafkaPartitionSplit split(String topic, long startingOffset, long stoppingOffset) {
+    return new KafkaPartitionSplit(new TopicPartition(topic, 0), startingOffset, stoppingOffset);
+  }
+
   public static Map<Integer, Map<String, KafkaPartitionSplit>> getSplitsByOwners(
       Map<TopicPartition, Long> earliestOffsets) {
     final Map<Integer, Map<String, KafkaPartitionSplit>> splitsByOwners = new HashMap<>();
@@ -263,6 +513,11 @@ public class TestLogKafkaPartitionSplitReader {
   }
 
   private LogKafkaPartitionSplitReader createReader(Properties additionalProperties) {
+    return createReader(additionalProperties, new LogSourceHelper());
+  }
+
+  private LogKafkaPartitionSplitReader createReader(
+      Properties additionalProperties, LogSourceHelper logSourceHelper) {
     Properties props = KafkaConfigGenerate.getPropertiesWithByteArray();
     props.put("group.id", "test");
     props.put("auto.offset.reset", "earliest");
@@ -277,7 +532,7 @@ public class TestLogKafkaPartitionSplitReader {
         new KafkaSourceReaderMetrics(sourceReaderMetricGroup),
         userSchema,
         true,
-        new LogSourceHelper(),
+        logSourceHelper,
         "all-kinds");
   }
 
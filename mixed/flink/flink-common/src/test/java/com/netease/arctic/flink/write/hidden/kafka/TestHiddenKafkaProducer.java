@@ -132,6 +132,36 @@ public class TestHiddenKafkaProducer extends TestBaseLog {
     assertThat(count).isEqualTo(numPartitions * recoverNum);
   }
 
+  @Test
+  public void testShareProducer() throws Exception {
+    final String topic = "test-share-producer";
+    KafkaContainerTest.createTopics(3, 1, topic);
+    LogDataJsonSerialization<RowData> logDataJsonSerialization =
+        new LogDataJsonSerialization<>(
+            checkNotNull(userSchema), checkNotNull(LogRecordV1.fieldGetterFactory));
+    Properties properties = new Properties();
+    properties.put(BOOTSTRAP_SERVERS_CONFIG, KAFKA_CONTAINER.getBootstrapServers());
+    properties = getPropertiesWithByteArray(KafkaConfigGenerate.getStandardProperties(properties));
+
+    HiddenKafkaFactory<RowData> factory = new HiddenKafkaFactory<>();
+    LogMsgFactory.Producer<RowData> producer0 =
+        factory.createProducer(properties, topic, logDataJsonSerialization, null);
+    LogMsgFactory.Producer<RowData> producer1 =
+        factory.createProducer(properties, topic, logDataJsonSerialization, null);
+    producer0.open();
+    producer1.open();
+    assertEquals(2, HiddenKafkaProducerPool.referenceCount(properties));
+
+    producer0.sendToAllPartitions(FLIP_LOG);
+    producer0.close();
+    assertEquals(1, HiddenKafkaProducerPool.referenceCount(properties));
+
+    producer1.sendToAllPartitions(FLIP_LOG);
+    producer1.close();
+    assertEquals(0, HiddenKafkaProducerPool.referenceCount(properties));
+    assertThat(KafkaContainerTest.countAllRecords(topic, properties)).isEqualTo(6);
+  }
+
   @Test
   public void testLogDataNullValueSerialize() throws IOException {
 
@@ -97,6 +97,12 @@ public class HMSClientImpl implements HMSClient {
     return getClient().listPartitionNames(dbName, tblName, maxParts);
   }
 
+  @Override
+  public List<Partition> getPartitionsByNames(String dbName, String tblName, List<String> partNames)
+      throws TException {
+    return getClient().getPartitionsByNames(dbName, tblName, partNames);
+  }
+
   @Override
   public void createDatabase(Database db) throws TException {
     getClient().createDatabase(db);
@@ -52,6 +52,16 @@ public class HiveTableProperties {
   public static final String REFRESH_HIVE_INTERVAL = "base.hive.refresh-interval";
   public static final long REFRESH_HIVE_INTERVAL_DEFAULT = -1L;
 
+  // the number of hive partitions fetched from the metastore in one call while syncing data.
+  public static final String SYNC_HIVE_PARTITION_PAGE_SIZE = "base.hive.sync.partition-page-size";
+  public static final int SYNC_HIVE_PARTITION_PAGE_SIZE_DEFAULT = 500;
+
+  // the max number of changed partitions committed to the arctic table in one commit while syncing
+  // data.
+  public static final String SYNC_HIVE_COMMIT_PARTITION_BATCH_SIZE =
+      "base.hive.sync.commit.partition-batch-size";
+  public static final int SYNC_HIVE_COMMIT_PARTITION_BATCH_SIZE_DEFAULT = 1000;
+
   public static final String HIVE_CONSISTENT_WRITE_ENABLED = "base.hive.consistent-write.enabled";
   public static final boolean HIVE_CONSISTENT_WRITE_ENABLED_DEFAULT = true;
 
@@ -30,6 +30,7 @@ import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.deletes.PositionDelete;
+import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.DeleteWriteResult;
 import org.apache.iceberg.io.FileAppenderFactory;
 import org.apache.iceberg.io.FileWriter;
@@ -51,6 +52,16 @@ public class MixFormatRewriteExecutor extends AbstractRewriteFilesExecutor {
     this.outputDir = outputDir;
   }
 
+  public MixFormatRewriteExecutor(
+      RewriteFilesInput input,
+      ArcticTable table,
+      StructLikeCollections structLikeCollections,
+      String outputDir,
+      Expression expiredRowsFilter) {
+    super(input, table, structLikeCollections, expiredRowsFilter);
+    this.outputDir = outputDir;
+  }
+
   @Override
   protected OptimizingDataReader dataReader() {
     return new MixFormatOptimizingDataReader(table, structLikeCollections, input);
@@ -44,6 +44,7 @@ public class MixFormatRewriteExecutorFactory
         input,
         input.getTable(),
         optimizingConfig.getStructLikeCollections(),
-        optimizingConfig.getOutputDir());
+        optimizingConfig.getOutputDir(),
+        optimizingConfig.getExpiredRowsFilter());
   }
 }
@@ -27,10 +27,9 @@ import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.TableIdentifier;
 import com.netease.arctic.table.TableProperties;
 import com.netease.arctic.table.UnkeyedTable;
+import com.netease.arctic.utils.ExpressionUtil;
 import com.netease.arctic.utils.TablePropertyUtil;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.hadoop.hive.metastore.Warehouse;
-import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.iceberg.DataFile;
@@ -40,17 +39,22 @@ import org.apache.iceberg.OverwriteFiles;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.StructLike;
-import org.apache.iceberg.TableScan;
 import org.apache.iceberg.UpdateSchema;
 import org.apache.iceberg.data.TableMigrationUtil;
+import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.mapping.NameMappingParser;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.types.TypeUtil;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.PropertyUtil;
 import org.apache.iceberg.util.StructLikeMap;
+import org.apache.iceberg.util.StructLikeSet;
+import org.apache.iceberg.util.Tasks;
+import org.apache.iceberg.util.ThreadPools;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,7 +62,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -205,65 +209,139 @@ public class HiveMetaSynchronizer {
           overwriteTable(table, deleteFiles, hiveDataFiles);
         }
       } else {
-        // list all hive partitions.
-        List<Partition> hivePartitions =
-            hiveClient.run(
-                client ->
-                    client.listPartitions(
-                        table.id().getDatabase(), table.id().getTableName(), Short.MAX_VALUE));
-        // group arctic files by partition.
-        StructLikeMap<Collection<DataFile>> filesGroupedByPartition =
-            StructLikeMap.create(table.spec().partitionType());
-        TableScan tableScan = baseStore.newScan();
-        try (CloseableIterable<FileScanTask> fileScanTasks = tableScan.planFiles()) {
-          for (org.apache.iceberg.FileScanTask fileScanTask : fileScanTasks) {
-            filesGroupedByPartition
-                .computeIfAbsent(fileScanTask.file().partition(), k -> Lists.newArrayList())
-                .add(fileScanTask.file());
-          }
-        } catch (IOException e) {
-          throw new UncheckedIOException("Failed to close table scan of " + table.name(), e);
+        syncHivePartitionsToArctic(table, baseStore, hiveClient, force);
+      }
+    } catch (TException | InterruptedException e) {
+      throw new RuntimeException("Failed to get hive table:" + table.id(), e);
+    }
+  }
+
+  /**
+   * Synchronize the data change of the hive partitions to arctic table incrementally:
+   *
+   * <ul>
+   *   <li>page through the hive partitions, and find out the changed ones by transient_lastDdlTime
+   *       and location;
+   *   <li>find out the partitions dropped from hive by the partition properties of arctic;
+   *   <li>scan the arctic base store filtered by the changed and dropped partitions, and skip the
+   *       scan when there are none;
+   *   <li>list the files of the changed partitions in parallel, and commit them in bounded batches.
+   * </ul>
+   */
+  private static void syncHivePartitionsToArctic(
+      SupportHive table, UnkeyedTable baseStore, HMSClientPool hiveClient, boolean force)
+      throws TException, InterruptedException {
+    PartitionSpec spec = table.spec();
+    int commitBatchSize =
+        PropertyUtil.propertyAsInt(
+            table.properties(),
+            HiveTableProperties.SYNC_HIVE_COMMIT_PARTITION_BATCH_SIZE,
+            HiveTableProperties.SYNC_HIVE_COMMIT_PARTITION_BATCH_SIZE_DEFAULT);
+    StructLikeMap<Map<String, String>> partitionProperty = baseStore.partitionProperty();
+
+    // find out the changed hive partitions page by page.
+    StructLikeSet hivePartitions = StructLikeSet.create(spec.partitionType());
+    StructLikeMap<Partition> changedPartitions = StructLikeMap.create(spec.partitionType());
+    List<String> hivePartitionNames = listHivePartitionNames(table, hiveClient);
+    for (List<Partition> page : listHivePartitions(table, hiveClient, hivePartitionNames)) {
+      for (Partition hivePartition : page) {
+        StructLike partitionData =
+            HivePartitionUtil.buildPartitionData(hivePartition.getValues(), spec);
+        hivePartitions.add(partitionData);
+        if (force || partitionHasModified(partitionProperty, hivePartition, partitionData)) {
+          changedPartitions.put(partitionData, hivePartition);
         }
-        List<DataFile> filesToDelete = Lists.newArrayList();
-        List<DataFile> filesToAdd = Lists.newArrayList();
-        List<StructLike> icebergPartitions = Lists.newArrayList(filesGroupedByPartition.keySet());
-        for (Partition hivePartition : hivePartitions) {
-          StructLike partitionData =
-              HivePartitionUtil.buildPartitionData(hivePartition.getValues(), table.spec());
-          icebergPartitions.remove(partitionData);
-          if (force || partitionHasModified(baseStore, hivePartition, partitionData)) {
-            List<DataFile> hiveDataFiles =
-                listHivePartitionFiles(
-                    table,
-                    buildPartitionValueMap(hivePartition.getValues(), table.spec()),
-                    hivePartition.getSd().getLocation());
-            if (filesGroupedByPartition.get(partitionData) != null) {
-              filesToDelete.addAll(filesGroupedByPartition.get(partitionData));
-              filesToAdd.addAll(hiveDataFiles);
-              // make sure new partition is not created by arctic
-            } else if (hivePartition.getParameters().get(HiveTableProperties.ARCTIC_TABLE_FLAG)
-                    == null
-                && hivePartition.getParameters().get(HiveTableProperties.ARCTIC_TABLE_FLAG_LEGACY)
-                    == null) {
-              filesToAdd.addAll(hiveDataFiles);
-            }
+      }
+    }
+
+    // arctic records the hive location of every partition it commits to hive, so the partitions
+    // dropped from hive are the recorded ones which hive no longer has.
+    StructLikeSet droppedCandidates = StructLikeSet.create(spec.partitionType());
+    partitionProperty.forEach(
+        (partition, property) -> {
+          if (property.containsKey(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION)
+              && !hivePartitions.contains(partition)) {
+            droppedCandidates.add(partition);
           }
+        });
+    LOG.info(
+        "Table {} has {} hive partitions, {} of them changed and {} of them may be dropped",
+        table.id(),
+        hivePartitionNames.size(),
+        changedPartitions.size(),
+        droppedCandidates.size());
+    if (changedPartitions.isEmpty() && droppedCandidates.isEmpty()) {
+      return;
+    }
+
+    // group the arctic files of the changed partitions and the partitions dropped from hive.
+    List<StructLike> partitionsToScan = Lists.newArrayList(changedPartitions.keySet());
+    partitionsToScan.addAll(droppedCandidates);
+    Expression partitionFilter =
+        ExpressionUtil.convertPartitionDataToDataFilter(table, spec.specId(), partitionsToScan);
+    StructLikeMap<List<DataFile>> filesGroupedByPartition =
+        StructLikeMap.create(spec.partitionType());
+    try (CloseableIterable<FileScanTask> fileScanTasks =
+        baseStore.newScan().filter(partitionFilter).planFiles()) {
+      for (FileScanTask fileScanTask : fileScanTasks) {
+        StructLike partition = fileScanTask.file().partition();
+        if (changedPartitions.containsKey(partition) || droppedCandidates.contains(partition)) {
+          filesGroupedByPartition
+              .computeIfAbsent(partition, k -> Lists.newArrayList())
+              .add(fileScanTask.file());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to close table scan of " + table.name(), e);
+    }
+
+    for (List<StructLike> batch :
+        Lists.partition(Lists.newArrayList(changedPartitions.keySet()), commitBatchSize)) {
+      StructLikeMap<List<DataFile>> hiveFilesGroupedByPartition =
+          listHivePartitionFiles(table, batch, changedPartitions);
+      List<DataFile> filesToDelete = Lists.newArrayList();
+      List<DataFile> filesToAdd = Lists.newArrayList();
+      for (StructLike partitionData : batch) {
+        Partition hivePartition = changedPartitions.get(partitionData);
+        List<DataFile> hiveDataFiles = hiveFilesGroupedByPartition.get(partitionData);
+        if (filesGroupedByPartition.get(partitionData) != null) {
+          filesToDelete.addAll(filesGroupedByPartition.get(partitionData));
+          filesToAdd.addAll(hiveDataFiles);
+          // make sure new partition is not created by arctic
+        } else if (hivePartition.getParameters().get(HiveTableProperties.ARCTIC_TABLE_FLAG) == null
+            && hivePartition.getParameters().get(HiveTableProperties.ARCTIC_TABLE_FLAG_LEGACY)
+                == null) {
+          filesToAdd.addAll(hiveDataFiles);
         }
+      }
+      overwriteTable(table, filesToDelete, filesToAdd);
+    }
 
-        icebergPartitions.forEach(
-            partition -> {
-              List<DataFile> dataFiles = Lists.newArrayList(filesGroupedByPartition.get(partition));
-              if (dataFiles.size() > 0) {
-                // make sure dropped partition with no files
-                if (!table.io().exists(dataFiles.get(0).path().toString())) {
-                  filesToDelete.addAll(filesGroupedByPartition.get(partition));
-                }
-              }
+    // make sure dropped partition with no files
+    List<StructLike> droppedPartitions =
+        filesGroupedByPartition.keySet().stream()
+            .filter(droppedCandidates::contains)
+            .collect(Collectors.toList());
+    boolean[] dropped = new boolean[droppedPartitions.size()];
+    Tasks.range(droppedPartitions.size())
+        .executeWith(ThreadPools.getWorkerPool())
+        .stopOnFailure()
+        .throwFailureWhenFinished()
+        .run(
+            i -> {
+              List<DataFile> dataFiles = filesGroupedByPartition.get(droppedPartitions.get(i));
+              dropped[i] = !table.io().exists(dataFiles.get(0).path().toString());
             });
-        overwriteTable(table, filesToDelete, filesToAdd);
+    List<StructLike> partitionsToDelete = Lists.newArrayList();
+    for (int i = 0; i < dropped.length; i++) {
+      if (dropped[i]) {
+        partitionsToDelete.add(droppedPartitions.get(i));
       }
-    } catch (TException | InterruptedException e) {
-      throw new RuntimeException("Failed to get hive table:" + table.id(), e);
+    }
+    for (List<StructLike> batch : Lists.partition(partitionsToDelete, commitBatchSize)) {
+      List<DataFile> filesToDelete = Lists.newArrayList();
+      batch.forEach(partition -> filesToDelete.addAll(filesGroupedByPartition.get(partition)));
+      overwriteTable(table, filesToDelete, Collections.emptyList());
     }
   }
 
@@ -347,35 +425,9 @@ public class HiveMetaSynchronizer {
     for (StructLike structLike : partitionProperty.keySet()) {
       icebergPartitionMap.put(table.spec().partitionToPath(structLike), structLike);
     }
-    List<String> icebergPartitions = new ArrayList<>(icebergPartitionMap.keySet());
-    List<Partition> hivePartitions =
-        table
-            .getHMSClient()
-            .run(
-                client ->
-                    client.listPartitions(
-                        table.id().getDatabase(), table.id().getTableName(), Short.MAX_VALUE));
-    List<String> hivePartitionNames =
-        table
-            .getHMSClient()
-            .run(
-                client ->
-                    client.listPartitionNames(
-                        table.id().getDatabase(), table.id().getTableName(), Short.MAX_VALUE));
-    List<FieldSchema> partitionKeys =
-        table
-            .getHMSClient()
-            .run(
-                client -> {
-                  Table hiveTable =
-                      client.getTable(table.id().getDatabase(), table.id().getTableName());
-                  return hiveTable.getPartitionKeys();
-                });
-    Map<String, Partition> hivePartitionMap = new HashMap<>();
-    for (Partition hivePartition : hivePartitions) {
-      hivePartitionMap.put(
-          Warehouse.makePartName(partitionKeys, hivePartition.getValues()), hivePartition);
-    }
+    Set<String> icebergPartitions = icebergPartitionMap.keySet();
+    Set<String> hivePartitionNames =
+        new HashSet<>(listHivePartitionNames(table, table.getHMSClient()));
 
     Set<String> inIcebergNotInHive =
         icebergPartitions.stream()
@@ -393,12 +445,11 @@ public class HiveMetaSynchronizer {
     }
 
     if (CollectionUtils.isNotEmpty(inHiveNotInIceberg)) {
-      handleInHivePartitions(table, inHiveNotInIceberg, hivePartitionMap);
+      handleInHivePartitions(table, inHiveNotInIceberg);
     }
 
     if (CollectionUtils.isNotEmpty(inBoth)) {
-      handleInBothPartitions(
-          table, inBoth, hivePartitionMap, icebergPartitionMap, partitionProperty);
+      handleInBothPartitions(table, inBoth, icebergPartitionMap, partitionProperty);
     }
   }
 
@@ -408,101 +459,131 @@ public class HiveMetaSynchronizer {
       Set<String> inIcebergNotInHive,
       Map<String, StructLike> icebergPartitionMap,
       StructLikeMap<Map<String, String>> partitionProperty) {
-    inIcebergNotInHive.forEach(
+    List<String> partitionsToCreate =
+        inIcebergNotInHive.stream()
+            .filter(
+                partition -> {
+                  String currentLocation =
+                      hiveLocation(partitionProperty, icebergPartitionMap.get(partition));
+                  return currentLocation != null && arcticTable.io().exists(currentLocation);
+                })
+            .collect(Collectors.toList());
+    StructLikeMap<List<DataFile>> partitionFiles =
+        getIcebergPartitionFiles(
+            arcticTable,
+            partitionsToCreate.stream().map(icebergPartitionMap::get).collect(Collectors.toList()));
+    partitionsToCreate.forEach(
         partition -> {
-          Map<String, String> property = partitionProperty.get(icebergPartitionMap.get(partition));
-          if (property == null
-              || property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION) == null) {
-            return;
-          }
-          String currentLocation =
-              property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION);
-
-          if (arcticTable.io().exists(currentLocation)) {
-            int transientTime =
-                Integer.parseInt(
-                    property.getOrDefault(
-                        HiveTableProperties.PARTITION_PROPERTIES_KEY_TRANSIENT_TIME, "0"));
-            List<DataFile> dataFiles =
-                getIcebergPartitionFiles(arcticTable, icebergPartitionMap.get(partition));
-            HivePartitionUtil.createPartitionIfAbsent(
-                ((SupportHive) arcticTable).getHMSClient(),
-                arcticTable,
-                HivePartitionUtil.partitionValuesAsList(
-                    icebergPartitionMap.get(partition), arcticTable.spec().partitionType()),
-                currentLocation,
-                dataFiles,
-                transientTime);
-          }
+          StructLike partitionData = icebergPartitionMap.get(partition);
+          Map<String, String> property = partitionProperty.get(partitionData);
+          int transientTime =
+              Integer.parseInt(
+                  property.getOrDefault(
+                      HiveTableProperties.PARTITION_PROPERTIES_KEY_TRANSIENT_TIME, "0"));
+          HivePartitionUtil.createPartitionIfAbsent(
+              ((SupportHive) arcticTable).getHMSClient(),
+              arcticTable,
+              HivePartitionUtil.partitionValuesAsList(
+                  partitionData, arcticTable.spec().partitionType()),
+              property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION),
+              partitionFiles.getOrDefault(partitionData, Collections.emptyList()),
+              transientTime);
         });
   }
 
   private static void handleInHivePartitions(
-      ArcticTable arcticTable,
-      Set<String> inHiveNotInIceberg,
-      Map<String, Partition> hivePartitionMap) {
-    inHiveNotInIceberg.forEach(
-        partition -> {
-          Partition hivePartition = hivePartitionMap.get(partition);
-          boolean isArctic =
-              CompatibleHivePropertyUtil.propertyAsBoolean(
-                  hivePartition.getParameters(), HiveTableProperties.ARCTIC_TABLE_FLAG, false);
-          if (isArctic) {
-            HivePartitionUtil.dropPartition(
-                ((SupportHive) arcticTable).getHMSClient(), arcticTable, hivePartition);
-          }
-        });
+      SupportHive arcticTable, Set<String> inHiveNotInIceberg) {
+    for (List<Partition> page :
+        listHivePartitions(
+            arcticTable, arcticTable.getHMSClient(), Lists.newArrayList(inHiveNotInIceberg))) {
+      for (Partition hivePartition : page) {
+        boolean isArctic =
+            CompatibleHivePropertyUtil.propertyAsBoolean(
+                hivePartition.getParameters(), HiveTableProperties.ARCTIC_TABLE_FLAG, false);
+        if (isArctic) {
+          HivePartitionUtil.dropPartition(arcticTable.getHMSClient(), arcticTable, hivePartition);
+        }
+      }
+    }
   }
 
   private static void handleInBothPartitions(
-      ArcticTable arcticTable,
+      SupportHive arcticTable,
       Set<String> inBoth,
-      Map<String, Partition> hivePartitionMap,
       Map<String, StructLike> icebergPartitionMap,
       StructLikeMap<Map<String, String>> partitionProperty) {
     Set<String> inHiveNotInIceberg = new HashSet<>();
+    List<String> partitionsWithLocation = Lists.newArrayList();
     inBoth.forEach(
         partition -> {
-          Map<String, String> property = partitionProperty.get(icebergPartitionMap.get(partition));
-          if (property == null
-              || property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION) == null) {
+          if (hiveLocation(partitionProperty, icebergPartitionMap.get(partition)) == null) {
             inHiveNotInIceberg.add(partition);
-            return;
+          } else {
+            partitionsWithLocation.add(partition);
           }
+        });
 
-          String currentLocation =
-              property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION);
-          Partition hivePartition = hivePartitionMap.get(partition);
-
-          if (!Objects.equals(currentLocation, hivePartition.getSd().getLocation())) {
-            int transientTime =
-                Integer.parseInt(
-                    property.getOrDefault(
-                        HiveTableProperties.PARTITION_PROPERTIES_KEY_TRANSIENT_TIME, "0"));
-            List<DataFile> dataFiles =
-                getIcebergPartitionFiles(arcticTable, icebergPartitionMap.get(partition));
-            HivePartitionUtil.updatePartitionLocation(
-                ((SupportHive) arcticTable).getHMSClient(),
-                arcticTable,
-                hivePartition,
-                currentLocation,
-                dataFiles,
-                transientTime);
-          }
+    StructLikeMap<Partition> partitionsToUpdate =
+        StructLikeMap.create(arcticTable.spec().partitionType());
+    for (List<Partition> page :
+        listHivePartitions(arcticTable, arcticTable.getHMSClient(), partitionsWithLocation)) {
+      for (Partition hivePartition : page) {
+        StructLike partitionData =
+            HivePartitionUtil.buildPartitionData(hivePartition.getValues(), arcticTable.spec());
+        String currentLocation = hiveLocation(partitionProperty, partitionData);
+        if (!Objects.equals(currentLocation, hivePartition.getSd().getLocation())) {
+          partitionsToUpdate.put(partitionData, hivePartition);
+        }
+      }
+    }
+
+    StructLikeMap<List<DataFile>> partitionFiles =
+        getIcebergPartitionFiles(arcticTable, Lists.newArrayList(partitionsToUpdate.keySet()));
+    partitionsToUpdate.forEach(
+        (partitionData, hivePartition) -> {
+          Map<String, String> property = partitionProperty.get(partitionData);
+          int transientTime =
+              Integer.parseInt(
+                  property.getOrDefault(
+                      HiveTableProperties.PARTITION_PROPERTIES_KEY_TRANSIENT_TIME, "0"));
+          HivePartitionUtil.updatePartitionLocation(
+              arcticTable.getHMSClient(),
+              arcticTable,
+              hivePartition,
+              property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION),
+              partitionFiles.getOrDefault(partitionData, Collections.emptyList()),
+              transientTime);
         });
 
-    handleInHivePartitions(arcticTable, inHiveNotInIceberg, hivePartitionMap);
+    if (!inHiveNotInIceberg.isEmpty()) {
+      handleInHivePartitions(arcticTable, inHiveNotInIceberg);
+    }
+  }
+
+  private static String hiveLocation(
+      StructLikeMap<Map<String, String>> partitionProperty, StructLike partition) {
+    Map<String, String> property = partitionProperty.get(partition);
+    return property == null
+        ? null
+        : property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION);
   }
 
-  private static List<DataFile> getIcebergPartitionFiles(
-      ArcticTable arcticTable, StructLike partition) {
+  /** Group the files of the partitions with one scan of the base store. */
+  private static StructLikeMap<List<DataFile>> getIcebergPartitionFiles(
+      ArcticTable arcticTable, List<StructLike> partitions) {
+    StructLikeMap<List<DataFile>> partitionFiles =
+        StructLikeMap.create(arcticTable.spec().partitionType());
+    if (partitions.isEmpty()) {
+      return partitionFiles;
+    }
+    StructLikeSet partitionSet = StructLikeSet.create(arcticTable.spec().partitionType());
+    partitionSet.addAll(partitions);
     UnkeyedTable baseStore;
     baseStore =
         arcticTable.isKeyedTable()
             ? arcticTable.asKeyedTable().baseTable()
             : arcticTable.asUnkeyedTable();
 
-    List<DataFile> partitionFiles = new ArrayList<>();
     arcticTable
         .io()
         .doAs(
@@ -510,8 +591,11 @@ public class HiveMetaSynchronizer {
               try (CloseableIterable<FileScanTask> fileScanTasks =
                   baseStore.newScan().planFiles()) {
                 for (FileScanTask fileScanTask : fileScanTasks) {
-                  if (fileScanTask.file().partition().equals(partition)) {
-                    partitionFiles.add(fileScanTask.file());
+                  StructLike partition = fileScanTask.file().partition();
+                  if (partitionSet.contains(partition)) {
+                    partitionFiles
+                        .computeIfAbsent(partition, k -> Lists.newArrayList())
+                        .add(fileScanTask.file());
                   }
                 }
               }
@@ -525,21 +609,23 @@ public class HiveMetaSynchronizer {
   @VisibleForTesting
   static boolean partitionHasModified(
       UnkeyedTable arcticTable, Partition hivePartition, StructLike partitionData) {
+    return partitionHasModified(arcticTable.partitionProperty(), hivePartition, partitionData);
+  }
+
+  private static boolean partitionHasModified(
+      StructLikeMap<Map<String, String>> partitionProperty,
+      Partition hivePartition,
+      StructLike partitionData) {
+    Map<String, String> property = partitionProperty.get(partitionData);
     String hiveTransientTime = hivePartition.getParameters().get("transient_lastDdlTime");
     String arcticTransientTime =
-        arcticTable.partitionProperty().containsKey(partitionData)
-            ? arcticTable
-                .partitionProperty()
-                .get(partitionData)
-                .get(HiveTableProperties.PARTITION_PROPERTIES_KEY_TRANSIENT_TIME)
+        property != null
+            ? property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_TRANSIENT_TIME)
             : null;
     String hiveLocation = hivePartition.getSd().getLocation();
     String arcticPartitionLocation =
-        arcticTable.partitionProperty().containsKey(partitionData)
-            ? arcticTable
-                .partitionProperty()
-                .get(partitionData)
-                .get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION)
+        property != null
+            ? property.get(HiveTableProperties.PARTITION_PROPERTIES_KEY_HIVE_LOCATION)
             : null;
 
     // hive partition location is modified only in arctic full optimize, So if the hive partition
@@ -590,6 +676,69 @@ public class HiveMetaSynchronizer {
     return arcticTransientTime == null || !arcticTransientTime.equals(hiveTransientTime);
   }
 
+  private static List<String> listHivePartitionNames(SupportHive table, HMSClientPool hiveClient)
+      throws TException, InterruptedException {
+    return hiveClient.run(
+        client ->
+            client.listPartitionNames(
+                table.id().getDatabase(), table.id().getTableName(), (short) -1));
+  }
+
+  /**
+   * Lazily fetch the hive partitions of the names page by page, so only one page of the partitions
+   * is requested from the metastore and held in memory at a time.
+   */
+  private static Iterable<List<Partition>> listHivePartitions(
+      SupportHive table, HMSClientPool hiveClient, List<String> partitionNames) {
+    int pageSize =
+        PropertyUtil.propertyAsInt(
+            table.properties(),
+            HiveTableProperties.SYNC_HIVE_PARTITION_PAGE_SIZE,
+            HiveTableProperties.SYNC_HIVE_PARTITION_PAGE_SIZE_DEFAULT);
+    return Iterables.transform(
+        Lists.partition(partitionNames, pageSize),
+        page -> {
+          try {
+            return hiveClient.run(
+                client ->
+                    client.getPartitionsByNames(
+                        table.id().getDatabase(), table.id().getTableName(), page));
+          } catch (TException e) {
+            throw new RuntimeException("Failed to get hive partitions of " + table.id(), e);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted in call to getPartitionsByNames", e);
+          }
+        });
+  }
+
+  /** List the files of the hive partitions in parallel, the footers are read to collect metrics. */
+  private static StructLikeMap<List<DataFile>> listHivePartitionFiles(
+      SupportHive table, List<StructLike> partitions, StructLikeMap<Partition> hivePartitions) {
+    List<List<DataFile>> partitionFiles = Lists.newArrayList();
+    partitions.forEach(partition -> partitionFiles.add(null));
+    Tasks.range(partitions.size())
+        .executeWith(ThreadPools.getWorkerPool())
+        .stopOnFailure()
+        .throwFailureWhenFinished()
+        .run(
+            i -> {
+              Partition hivePartition = hivePartitions.get(partitions.get(i));
+              partitionFiles.set(
+                  i,
+                  listHivePartitionFiles(
+                      table,
+                      buildPartitionValueMap(hivePartition.getValues(), table.spec()),
+                      hivePartition.getSd().getLocation()));
+            });
+    StructLikeMap<List<DataFile>> filesGroupedByPartition =
+        StructLikeMap.create(table.spec().partitionType());
+    for (int i = 0; i < partitions.size(); i++) {
+      filesGroupedByPartition.put(partitions.get(i), partitionFiles.get(i));
+    }
+    return filesGroupedByPartition;
+  }
+
   private static List<DataFile> listHivePartitionFiles(
       SupportHive arcticTable, Map<String, String> partitionValueMap, String partitionLocation) {
     return arcticTable
@@ -626,10 +775,17 @@ public class HiveMetaSynchronizer {
       ArcticTable table, List<DataFile> filesToDelete, List<DataFile> filesToAdd) {
     if (filesToDelete.size() > 0 || filesToAdd.size() > 0) {
       LOG.info(
-          "Table {} sync hive data change to arctic, delete files: {}, add files {}",
+          "Table {} sync hive data change to arctic, delete {} files, add {} files",
           table.id(),
-          filesToDelete.stream().map(DataFile::path).collect(Collectors.toList()),
-          filesToAdd.stream().map(DataFile::path).collect(Collectors.toList()));
+          filesToDelete.size(),
+          filesToAdd.size());
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(
+            "Table {} sync hive data change to arctic, delete files: {}, add files {}",
+            table.id(),
+            filesToDelete.stream().map(DataFile::path).collect(Collectors.toList()),
+            filesToAdd.stream().map(DataFile::path).collect(Collectors.toList()));
+      }
       if (table.isKeyedTable()) {
         long txId = table.asKeyedTable().beginTransaction(null);
         OverwriteBaseFiles overwriteBaseFiles = table.asKeyedTable().newOverwriteBaseFiles();
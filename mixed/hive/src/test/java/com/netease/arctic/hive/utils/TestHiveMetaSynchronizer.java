@@ -39,9 +39,13 @@ import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.iceberg.AppendFiles;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.data.Record;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.OutputFile;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.util.StructLikeMap;
 import org.junit.Assert;
 import org.junit.Assume;
@@ -54,6 +58,8 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RunWith(Parameterized.class)
 public class TestHiveMetaSynchronizer extends TableTestBase {
@@ -438,6 +444,104 @@ public class TestHiveMetaSynchronizer extends TableTestBase {
     Assert.assertEquals(newPartitionLocation, hivePartition.getSd().getLocation());
   }
 
+  @Test
+  public void testSyncHiveDataToArcticInPages() throws Exception {
+    Assume.assumeTrue(isPartitionedTable());
+    getArcticTable()
+        .updateProperties()
+        .set(HiveTableProperties.SYNC_HIVE_PARTITION_PAGE_SIZE, "1")
+        .set(HiveTableProperties.SYNC_HIVE_COMMIT_PARTITION_BATCH_SIZE, "1")
+        .commit();
+    UnkeyedTable baseTable =
+        isKeyedTable()
+            ? getArcticTable().asKeyedTable().baseTable()
+            : getArcticTable().asUnkeyedTable();
+
+    // write files to two hive partitions, which are not committed to arctic.
+    List<DataFile> dataFiles =
+        HiveDataTestHelpers.writerOf(getArcticTable())
+            .transactionId(1L)
+            .customHiveLocation(HiveTableUtil.newHiveSubdirectory(1L))
+            .consistentWriteEnabled(false)
+            .writeHive(createRecords(1, 100));
+    StructLikeMap<List<DataFile>> filesGroupedByPartition =
+        StructLikeMap.create(getArcticTable().spec().partitionType());
+    dataFiles.forEach(
+        file ->
+            filesGroupedByPartition
+                .computeIfAbsent(file.partition(), k -> Lists.newArrayList())
+                .add(file));
+    Assert.assertEquals(2, filesGroupedByPartition.size());
+    for (List<DataFile> partitionFiles : filesGroupedByPartition.values()) {
+      getArcticTable()
+          .getHMSClient()
+          .run(
+              client -> {
+                Table hiveTable =
+                    client.getTable(
+                        getArcticTable().id().getDatabase(), getArcticTable().id().getTableName());
+                int lastAccessTime = (int) (System.currentTimeMillis() / 1000);
+                Partition p = new Partition();
+                p.setValues(
+                    HivePartitionUtil.partitionValuesAsList(
+                        partitionFiles.get(0).partition(),
+                        getArcticTable().spec().partitionType()));
+                p.setDbName(hiveTable.getDbName());
+                p.setTableName(hiveTable.getTableName());
+                p.setCreateTime(lastAccessTime);
+                p.setLastAccessTime(lastAccessTime);
+                StorageDescriptor sd = hiveTable.getSd().deepCopy();
+                sd.setLocation(TableFileUtil.getFileDir(partitionFiles.get(0).path().toString()));
+                p.setSd(sd);
+                p.putToParameters("transient_lastDdlTime", lastAccessTime + "");
+                return client.addPartition(p);
+              });
+    }
+
+    HiveMetaSynchronizer.syncHiveDataToArctic(getArcticTable(), getArcticTable().getHMSClient());
+
+    baseTable.refresh();
+    Set<String> syncedFiles = Sets.newHashSet();
+    try (CloseableIterable<FileScanTask> fileScanTasks = baseTable.newScan().planFiles()) {
+      fileScanTasks.forEach(task -> syncedFiles.add(task.file().path().toString()));
+    }
+    Assert.assertEquals(
+        dataFiles.stream().map(file -> file.path().toString()).collect(Collectors.toSet()),
+        syncedFiles);
+
+    // nothing changed in hive, so no commit happens.
+    long snapshotId = baseTable.currentSnapshot().snapshotId();
+    HiveMetaSynchronizer.syncHiveDataToArctic(getArcticTable(), getArcticTable().getHMSClient());
+    baseTable.refresh();
+    Assert.assertEquals(snapshotId, baseTable.currentSnapshot().snapshotId());
+
+    // drop one partition with its files from hive.
+    List<DataFile> droppedFiles = filesGroupedByPartition.values().iterator().next();
+    List<String> droppedPartitionValues =
+        HivePartitionUtil.partitionValuesAsList(
+            droppedFiles.get(0).partition(), getArcticTable().spec().partitionType());
+    HivePartitionUtil.dropPartition(
+        getArcticTable().getHMSClient(),
+        getArcticTable(),
+        HivePartitionUtil.getPartition(
+            getArcticTable().getHMSClient(), getArcticTable(), droppedPartitionValues));
+    droppedFiles.forEach(file -> getArcticTable().io().deleteFile(file.path().toString()));
+
+    HiveMetaSynchronizer.syncHiveDataToArctic(getArcticTable(), getArcticTable().getHMSClient());
+
+    baseTable.refresh();
+    syncedFiles.clear();
+    try (CloseableIterable<FileScanTask> fileScanTasks = baseTable.newScan().planFiles()) {
+      fileScanTasks.forEach(task -> syncedFiles.add(task.file().path().toString()));
+    }
+    Assert.assertEquals(
+        dataFiles.stream()
+            .filter(file -> !droppedFiles.contains(file))
+            .map(file -> file.path().toString())
+            .collect(Collectors.toSet()),
+        syncedFiles);
+  }
+
   private String createEmptyLocationForHive(ArcticTable arcticTable) {
     // create a new empty location for hive
     String newLocation =
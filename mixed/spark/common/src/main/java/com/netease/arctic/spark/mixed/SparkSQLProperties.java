@@ -37,4 +37,12 @@ public class SparkSQLProperties {
 
   public static final String OPTIMIZE_WRITE_ENABLED = "spark.sql.arctic.optimize-write-enabled";
   public static final String OPTIMIZE_WRITE_ENABLED_DEFAULT = "true";
+
+  public static final String READ_KEY_GROUPED_PARTITIONING_ENABLED =
+      "spark.sql.arctic.read.key-grouped-partitioning.enabled";
+  public static final String READ_KEY_GROUPED_PARTITIONING_ENABLED_DEFAULT = "false";
+
+  public static final String READ_AGGREGATE_PUSH_DOWN_ENABLED =
+      "spark.sql.arctic.read.aggregate-push-down.enabled";
+  public static final String READ_AGGREGATE_PUSH_DOWN_ENABLED_DEFAULT = "true";
 }
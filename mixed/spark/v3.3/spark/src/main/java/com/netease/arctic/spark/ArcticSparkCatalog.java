@@ -23,6 +23,7 @@ import static com.netease.arctic.spark.mixed.SparkSQLProperties.USE_TIMESTAMP_WI
 import static org.apache.iceberg.spark.SparkSQLProperties.HANDLE_TIMESTAMP_WITHOUT_TIMEZONE;
 
 import com.netease.arctic.hive.utils.CatalogUtil;
+import com.netease.arctic.spark.functions.ArcticFunctions;
 import com.netease.arctic.spark.mixed.MixedSparkCatalogBase;
 import com.netease.arctic.spark.mixed.MixedTableStoreType;
 import com.netease.arctic.spark.table.ArcticSparkChangeTable;
@@ -44,10 +45,12 @@ import org.apache.iceberg.spark.Spark3Util;
 import org.apache.iceberg.spark.SparkSchemaUtil;
 import org.apache.iceberg.types.Types;
 import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.catalyst.analysis.NoSuchFunctionException;
 import org.apache.spark.sql.catalyst.analysis.NoSuchNamespaceException;
 import org.apache.spark.sql.catalyst.analysis.NoSuchTableException;
 import org.apache.spark.sql.catalyst.analysis.NonEmptyNamespaceException;
 import org.apache.spark.sql.catalyst.analysis.TableAlreadyExistsException;
+import org.apache.spark.sql.connector.catalog.FunctionCatalog;
 import org.apache.spark.sql.connector.catalog.Identifier;
 import org.apache.spark.sql.connector.catalog.Table;
 import org.apache.spark.sql.connector.catalog.TableCatalog;
@@ -55,6 +58,7 @@ import org.apache.spark.sql.connector.catalog.TableChange;
 import org.apache.spark.sql.connector.catalog.TableChange.ColumnChange;
 import org.apache.spark.sql.connector.catalog.TableChange.RemoveProperty;
 import org.apache.spark.sql.connector.catalog.TableChange.SetProperty;
+import org.apache.spark.sql.connector.catalog.functions.UnboundFunction;
 import org.apache.spark.sql.connector.expressions.Transform;
 import org.apache.spark.sql.types.StructType;
 import scala.Option;
@@ -65,7 +69,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class ArcticSparkCatalog extends MixedSparkCatalogBase {
+public class ArcticSparkCatalog extends MixedSparkCatalogBase implements FunctionCatalog {
 
   @Override
   public Table loadTable(Identifier ident) throws NoSuchTableException {
@@ -88,6 +92,16 @@ public class ArcticSparkCatalog extends MixedSparkCatalogBase {
     return ArcticSparkTable.ofArcticTable(table, catalog, name());
   }
 
+  @Override
+  public Identifier[] listFunctions(String[] namespace) {
+    return ArcticFunctions.list(namespace);
+  }
+
+  @Override
+  public UnboundFunction loadFunction(Identifier ident) throws NoSuchFunctionException {
+    return ArcticFunctions.load(ident);
+  }
+
   private Table loadInnerTable(ArcticTable table, MixedTableStoreType type) {
     if (type != null) {
       switch (type) {
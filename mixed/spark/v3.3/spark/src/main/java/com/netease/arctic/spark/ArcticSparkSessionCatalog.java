@@ -18,6 +18,7 @@
 
 package com.netease.arctic.spark;
 
+import com.netease.arctic.spark.functions.ArcticFunctions;
 import com.netease.arctic.spark.mixed.MixedSessionCatalogBase;
 import com.netease.arctic.spark.mixed.MixedSparkCatalogBase;
 import org.apache.spark.sql.catalyst.analysis.NoSuchFunctionException;
@@ -54,6 +55,9 @@ public class ArcticSparkSessionCatalog<
 
   @Override
   public UnboundFunction loadFunction(Identifier ident) throws NoSuchFunctionException {
+    if (ArcticFunctions.contains(ident)) {
+      return ArcticFunctions.load(ident);
+    }
     return getSessionCatalog().loadFunction(ident);
   }
 
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.spark.functions;
+
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.spark.sql.catalyst.analysis.NoSuchFunctionException;
+import org.apache.spark.sql.connector.catalog.Identifier;
+import org.apache.spark.sql.connector.catalog.functions.UnboundFunction;
+
+import java.util.Locale;
+import java.util.Map;
+
+/** The functions provided by the arctic catalogs, loaded from the empty namespace. */
+public class ArcticFunctions {
+
+  private static final Map<String, UnboundFunction> FUNCTIONS =
+      ImmutableMap.of("bucket", new BucketFunction());
+
+  private ArcticFunctions() {}
+
+  public static Identifier[] list(String[] namespace) {
+    if (namespace.length > 0) {
+      return new Identifier[0];
+    }
+    return FUNCTIONS.keySet().stream()
+        .map(name -> Identifier.of(namespace, name))
+        .toArray(Identifier[]::new);
+  }
+
+  public static boolean contains(Identifier ident) {
+    return ident.namespace().length == 0
+        && FUNCTIONS.containsKey(ident.name().toLowerCase(Locale.ROOT));
+  }
+
+  public static UnboundFunction load(Identifier ident) throws NoSuchFunctionException {
+    if (!contains(ident)) {
+      throw new NoSuchFunctionException(ident);
+    }
+    return FUNCTIONS.get(ident.name().toLowerCase(Locale.ROOT));
+  }
+}
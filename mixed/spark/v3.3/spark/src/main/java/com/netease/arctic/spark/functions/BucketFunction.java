@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.spark.functions;
+
+import com.netease.arctic.data.PrimaryKeyData;
+import com.netease.arctic.spark.SparkInternalRowWrapper;
+import com.netease.arctic.table.PrimaryKeySpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.spark.SparkSchemaUtil;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.connector.catalog.functions.BoundFunction;
+import org.apache.spark.sql.connector.catalog.functions.ScalarFunction;
+import org.apache.spark.sql.connector.catalog.functions.UnboundFunction;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.IntegerType;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+
+/**
+ * The bucket function of arctic keyed tables, bucket(N, key) returns the index of the data tree
+ * node the key is hashed to with the mask N - 1, which is how the rows of keyed tables are bucketed
+ * into files. It differs from the bucket transform of iceberg, so the canonical name is prefixed by
+ * arctic to keep the tables bucketed by the two functions from being regarded as compatible.
+ */
+public class BucketFunction implements UnboundFunction {
+
+  @Override
+  public BoundFunction bind(StructType inputType) {
+    if (inputType.size() != 2) {
+      throw new UnsupportedOperationException(
+          "Wrong number of inputs (expected numBuckets and primary key)");
+    }
+    StructField numBucketsField = inputType.fields()[0];
+    if (!(numBucketsField.dataType() instanceof IntegerType)) {
+      throw new UnsupportedOperationException(
+          "Expected number of buckets to be int but got " + numBucketsField.dataType());
+    }
+    return new BoundBucketFunction(inputType.fields()[1]);
+  }
+
+  @Override
+  public String description() {
+    return name()
+        + "(numBuckets, key) - Returns the index of the data tree node of arctic keyed tables the"
+        + " key is hashed to";
+  }
+
+  @Override
+  public String name() {
+    return "bucket";
+  }
+
+  private static class BoundBucketFunction implements ScalarFunction<Integer> {
+
+    private final DataType keyType;
+    private final StructType keyStruct;
+    private final PrimaryKeyData primaryKeyData;
+    private transient SparkInternalRowWrapper keyWrapper;
+
+    BoundBucketFunction(StructField keyField) {
+      this.keyType = keyField.dataType();
+      this.keyStruct = new StructType(new StructField[] {keyField});
+      Schema keySchema = SparkSchemaUtil.convert(keyStruct);
+      PrimaryKeySpec keySpec =
+          PrimaryKeySpec.builderFor(keySchema).addColumn(keyField.name()).build();
+      this.primaryKeyData = new PrimaryKeyData(keySpec, keySchema);
+    }
+
+    @Override
+    public DataType[] inputTypes() {
+      return new DataType[] {DataTypes.IntegerType, keyType};
+    }
+
+    @Override
+    public DataType resultType() {
+      return DataTypes.IntegerType;
+    }
+
+    @Override
+    public Integer produceResult(InternalRow input) {
+      if (input.isNullAt(0)) {
+        return null;
+      }
+      if (keyWrapper == null) {
+        keyWrapper = new SparkInternalRowWrapper(keyStruct);
+      }
+      int numBuckets = input.getInt(0);
+      InternalRow key = new GenericInternalRow(new Object[] {input.get(1, keyType)});
+      primaryKeyData.primaryKey(keyWrapper.wrap(key));
+      return (int) primaryKeyData.treeNode(numBuckets - 1).index();
+    }
+
+    @Override
+    public String name() {
+      return "bucket";
+    }
+
+    @Override
+    public String canonicalName() {
+      return "arctic.bucket(" + keyType.catalogString() + ")";
+    }
+  }
+}
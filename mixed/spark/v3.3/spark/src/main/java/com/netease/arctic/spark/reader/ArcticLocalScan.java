@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.spark.reader;
+
+import com.netease.arctic.table.ArcticTable;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.connector.read.LocalScan;
+import org.apache.spark.sql.types.StructType;
+
+/** A scan of the rows computed on the driver, like the aggregations answered from metadata. */
+class ArcticLocalScan implements LocalScan {
+  private final ArcticTable table;
+  private final StructType readSchema;
+  private final InternalRow[] rows;
+
+  ArcticLocalScan(ArcticTable table, StructType readSchema, InternalRow[] rows) {
+    this.table = table;
+    this.readSchema = readSchema;
+    this.rows = rows;
+  }
+
+  @Override
+  public InternalRow[] rows() {
+    return rows;
+  }
+
+  @Override
+  public StructType readSchema() {
+    return readSchema;
+  }
+
+  @Override
+  public String description() {
+    return String.format("%s [aggregates=%s]", table, readSchema.simpleString());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ArcticLocalScan(table=%s, type=%s)", table, readSchema.simpleString());
+  }
+}
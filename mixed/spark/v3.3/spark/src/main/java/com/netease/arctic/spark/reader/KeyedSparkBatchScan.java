@@ -18,67 +18,110 @@
 
 package com.netease.arctic.spark.reader;
 
-import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.scan.ArcticFileScanTask;
+import com.netease.arctic.scan.BaseCombinedScanTask;
 import com.netease.arctic.scan.CombinedScanTask;
 import com.netease.arctic.scan.KeyedTableScan;
 import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.scan.NodeFileScanTask;
 import com.netease.arctic.spark.util.Stats;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.table.PrimaryKeySpec;
+import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
-import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.expressions.Evaluator;
 import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.expressions.Projections;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.CloseableIterator;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.spark.Spark3Util;
+import org.apache.iceberg.spark.SparkFilters;
 import org.apache.iceberg.spark.SparkSchemaUtil;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.util.ByteBuffers;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.connector.expressions.NamedReference;
 import org.apache.spark.sql.connector.read.Batch;
+import org.apache.spark.sql.connector.read.HasPartitionKey;
 import org.apache.spark.sql.connector.read.InputPartition;
 import org.apache.spark.sql.connector.read.PartitionReader;
 import org.apache.spark.sql.connector.read.PartitionReaderFactory;
 import org.apache.spark.sql.connector.read.Scan;
 import org.apache.spark.sql.connector.read.Statistics;
+import org.apache.spark.sql.connector.read.SupportsReportPartitioning;
 import org.apache.spark.sql.connector.read.SupportsReportStatistics;
+import org.apache.spark.sql.connector.read.SupportsRuntimeFiltering;
+import org.apache.spark.sql.connector.read.partitioning.KeyGroupedPartitioning;
+import org.apache.spark.sql.connector.read.partitioning.Partitioning;
+import org.apache.spark.sql.connector.read.partitioning.UnknownPartitioning;
+import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.sql.types.Decimal;
 import org.apache.spark.sql.types.StructType;
 import org.apache.spark.sql.util.CaseInsensitiveStringMap;
+import org.apache.spark.unsafe.types.UTF8String;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistics {
+public class KeyedSparkBatchScan
+    implements Scan,
+        Batch,
+        SupportsReportStatistics,
+        SupportsReportPartitioning,
+        SupportsRuntimeFiltering {
   private static final Logger LOG = LoggerFactory.getLogger(KeyedSparkBatchScan.class);
 
   private final KeyedTable table;
+  private final JavaSparkContext sparkContext;
   private final boolean caseSensitive;
   private final Schema expectedSchema;
   private final List<Expression> filterExpressions;
+  private final boolean keyGroupedPartitioningEnabled;
+  private final List<Expression> runtimeFilterExpressions = Lists.newArrayList();
   private StructType readSchema = null;
   private List<CombinedScanTask> tasks = null;
+  private Broadcast<TableReadContext> readContext = null;
+  private KeyGroupedTasks keyGroupedTasks = null;
 
   KeyedSparkBatchScan(
+      JavaSparkContext sparkContext,
       KeyedTable table,
       boolean caseSensitive,
       Schema expectedSchema,
       List<Expression> filters,
-      CaseInsensitiveStringMap options) {
+      CaseInsensitiveStringMap options,
+      boolean keyGroupedPartitioningEnabled) {
     Preconditions.checkNotNull(table, "table must not be null");
     Preconditions.checkNotNull(expectedSchema, "expectedSchema must not be null");
     Preconditions.checkNotNull(filters, "filters must not be null");
 
+    this.sparkContext = sparkContext;
     this.table = table;
     this.caseSensitive = caseSensitive;
     this.expectedSchema = expectedSchema;
     this.filterExpressions = filters;
+    this.keyGroupedPartitioningEnabled = keyGroupedPartitioningEnabled;
   }
 
   @Override
@@ -96,18 +139,133 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
 
   @Override
   public InputPartition[] planInputPartitions() {
+    KeyGroupedTasks groupedTasks = keyGroupedTasks();
+    if (groupedTasks.isGrouped()) {
+      return groupedTasks.groups.entrySet().stream()
+          .map(
+              group ->
+                  new KeyGroupedInputPartition(
+                      new BaseCombinedScanTask(group.getValue()),
+                      new GenericInternalRow(group.getKey().toArray())))
+          .toArray(InputPartition[]::new);
+    }
     List<CombinedScanTask> scanTasks = tasks();
     ArcticInputPartition[] readTasks = new ArcticInputPartition[scanTasks.size()];
     for (int i = 0; i < scanTasks.size(); i++) {
-      readTasks[i] =
-          new ArcticInputPartition(scanTasks.get(i), table, expectedSchema, caseSensitive);
+      readTasks[i] = new ArcticInputPartition(scanTasks.get(i));
     }
     return readTasks;
   }
 
+  /**
+   * Report the rows are clustered by the identity partition fields and the bucket of the primary
+   * key, so the joins and aggregations on the key of the tables bucketed in the same way need no
+   * shuffle.
+   */
+  @Override
+  public Partitioning outputPartitioning() {
+    KeyGroupedTasks groupedTasks = keyGroupedTasks();
+    if (!groupedTasks.isGrouped()) {
+      return new UnknownPartitioning(0);
+    }
+    return new KeyGroupedPartitioning(groupedTasks.keys, groupedTasks.groups.size());
+  }
+
+  @Override
+  public NamedReference[] filterAttributes() {
+    Set<String> partitionColumns = Sets.newLinkedHashSet();
+    for (PartitionField field : table.spec().fields()) {
+      partitionColumns.add(table.schema().findColumnName(field.sourceId()));
+    }
+    return partitionColumns.stream()
+        .map(org.apache.spark.sql.connector.expressions.Expressions::column)
+        .toArray(NamedReference[]::new);
+  }
+
+  /**
+   * Prune the planned tasks by the runtime filters on the partition columns, like the dynamic
+   * partition pruning filters of the joins. The groups of the key grouped tasks are kept even
+   * though all their tasks are pruned, since Spark requires the partition values reported before
+   * the runtime filtering preserved.
+   */
+  @Override
+  public void filter(Filter[] filters) {
+    List<Expression> expressions = Lists.newArrayList();
+    for (Filter filter : filters) {
+      Expression expr = SparkFilters.convert(filter);
+      if (expr != null) {
+        expressions.add(expr);
+      }
+    }
+    if (expressions.isEmpty()) {
+      return;
+    }
+    runtimeFilterExpressions.addAll(expressions);
+    Expression runtimeFilter =
+        expressions.stream().reduce(Expressions.alwaysTrue(), Expressions::and);
+
+    PartitionSpec spec = table.spec();
+    Evaluator evaluator =
+        new Evaluator(
+            spec.partitionType(),
+            Projections.inclusive(spec, caseSensitive).project(runtimeFilter),
+            caseSensitive);
+    KeyGroupedTasks groupedTasks = keyGroupedTasks();
+
+    List<CombinedScanTask> filteredTasks = Lists.newArrayList();
+    int prunedTasks = 0;
+    for (CombinedScanTask combinedScanTask : tasks()) {
+      List<NodeFileScanTask> nodeTasks = Lists.newArrayList();
+      for (KeyedTableScanTask task : combinedScanTask.tasks()) {
+        if (!(task instanceof NodeFileScanTask)) {
+          nodeTasks = null;
+          break;
+        }
+        if (partitionMatches(evaluator, task)) {
+          nodeTasks.add((NodeFileScanTask) task);
+        } else {
+          prunedTasks++;
+        }
+      }
+      if (nodeTasks == null) {
+        filteredTasks.add(combinedScanTask);
+      } else if (!nodeTasks.isEmpty()) {
+        filteredTasks.add(new BaseCombinedScanTask(nodeTasks));
+      }
+    }
+    this.tasks = filteredTasks;
+
+    if (groupedTasks.isGrouped()) {
+      Map<List<Object>, List<NodeFileScanTask>> filteredGroups = Maps.newLinkedHashMap();
+      groupedTasks.groups.forEach(
+          (key, nodeTasks) ->
+              filteredGroups.put(
+                  key,
+                  nodeTasks.stream()
+                      .filter(task -> partitionMatches(evaluator, task))
+                      .collect(Collectors.toList())));
+      this.keyGroupedTasks = new KeyGroupedTasks(groupedTasks.keys, filteredGroups);
+    }
+    LOG.info("{} tasks of {} are pruned by runtime filter {}", prunedTasks, table, runtimeFilter);
+  }
+
+  private static boolean partitionMatches(Evaluator evaluator, KeyedTableScanTask task) {
+    List<ArcticFileScanTask> fileTasks =
+        task.dataTasks().isEmpty() ? task.arcticEquityDeletes() : task.dataTasks();
+    return fileTasks.isEmpty() || evaluator.eval(fileTasks.get(0).file().partition());
+  }
+
   @Override
   public PartitionReaderFactory createReaderFactory() {
-    return new ReaderFactory();
+    return new ReaderFactory(readContext());
+  }
+
+  private Broadcast<TableReadContext> readContext() {
+    if (readContext == null) {
+      this.readContext =
+          sparkContext.broadcast(new TableReadContext(table, expectedSchema, caseSensitive));
+    }
+    return readContext;
   }
 
   @Override
@@ -140,7 +298,8 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     return table.id().equals(that.table.id())
         && readSchema().equals(that.readSchema())
         && // compare Spark schemas to ignore field ids
-        filterExpressions.toString().equals(that.filterExpressions.toString());
+        filterExpressions.toString().equals(that.filterExpressions.toString())
+        && runtimeFilterExpressions.toString().equals(that.runtimeFilterExpressions.toString());
   }
 
   @Override
@@ -170,11 +329,114 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     return tasks;
   }
 
+  /**
+   * Group the node tasks by the identity partition values and the bucket of the primary key. The
+   * files of a keyed table are hashed into data tree nodes by the primary key, and the nodes are
+   * grouped into buckets at the coarsest level of the scan, since a key hashed into a node is
+   * hashed into the ancestor of the node at any coarser level. Only the tables with a single
+   * primary key field and identity partition fields are grouped, whose partitioning Spark could
+   * resolve.
+   */
+  private KeyGroupedTasks keyGroupedTasks() {
+    if (keyGroupedTasks == null) {
+      this.keyGroupedTasks = groupTasksByKey();
+    }
+    return keyGroupedTasks;
+  }
+
+  private KeyGroupedTasks groupTasksByKey() {
+    PrimaryKeySpec keySpec = table.primaryKeySpec();
+    PartitionSpec spec = table.spec();
+    if (!keyGroupedPartitioningEnabled
+        || keySpec.fields().size() != 1
+        || spec.fields().stream().anyMatch(field -> !field.transform().isIdentity())) {
+      return KeyGroupedTasks.UNGROUPED;
+    }
+    List<NodeFileScanTask> nodeTasks = Lists.newArrayList();
+    for (CombinedScanTask combinedScanTask : tasks()) {
+      for (KeyedTableScanTask task : combinedScanTask.tasks()) {
+        if (!(task instanceof NodeFileScanTask) || task.dataTasks().isEmpty()) {
+          return KeyGroupedTasks.UNGROUPED;
+        }
+        nodeTasks.add((NodeFileScanTask) task);
+      }
+    }
+    long mask =
+        nodeTasks.stream()
+            .mapToLong(task -> task.dataTasks().get(0).file().node().mask())
+            .min()
+            .orElse(0L);
+
+    Map<List<Object>, List<NodeFileScanTask>> groups = Maps.newLinkedHashMap();
+    for (NodeFileScanTask task : nodeTasks) {
+      PrimaryKeyedFile file = task.dataTasks().get(0).file();
+      List<Object> key = Lists.newArrayList();
+      for (int i = 0; i < spec.fields().size(); i++) {
+        Type type = spec.partitionType().fields().get(i).type();
+        key.add(toSparkValue(type, file.partition().get(i, Object.class)));
+      }
+      key.add((int) (file.node().index() & mask));
+      groups.computeIfAbsent(key, ignored -> Lists.newArrayList()).add(task);
+    }
+
+    List<org.apache.spark.sql.connector.expressions.Expression> keys = Lists.newArrayList();
+    for (PartitionField field : spec.fields()) {
+      keys.add(
+          org.apache.spark.sql.connector.expressions.Expressions.identity(
+              table.schema().findColumnName(field.sourceId())));
+    }
+    keys.add(
+        org.apache.spark.sql.connector.expressions.Expressions.bucket(
+            (int) mask + 1, keySpec.fields().get(0).fieldName()));
+    return new KeyGroupedTasks(
+        keys.toArray(new org.apache.spark.sql.connector.expressions.Expression[0]), groups);
+  }
+
+  private static Object toSparkValue(Type type, Object value) {
+    if (value == null) {
+      return null;
+    }
+    switch (type.typeId()) {
+      case STRING:
+      case UUID:
+        return UTF8String.fromString(value.toString());
+      case DECIMAL:
+        return Decimal.apply((BigDecimal) value);
+      case BINARY:
+      case FIXED:
+        return value instanceof ByteBuffer ? ByteBuffers.toByteArray((ByteBuffer) value) : value;
+      default:
+        return value;
+    }
+  }
+
+  private static class KeyGroupedTasks {
+    static final KeyGroupedTasks UNGROUPED = new KeyGroupedTasks(null, null);
+
+    final org.apache.spark.sql.connector.expressions.Expression[] keys;
+    final Map<List<Object>, List<NodeFileScanTask>> groups;
+
+    KeyGroupedTasks(
+        org.apache.spark.sql.connector.expressions.Expression[] keys,
+        Map<List<Object>, List<NodeFileScanTask>> groups) {
+      this.keys = keys;
+      this.groups = groups;
+    }
+
+    boolean isGrouped() {
+      return groups != null;
+    }
+  }
+
   @Override
   public String description() {
     String filters =
         filterExpressions.stream().map(Spark3Util::describe).collect(Collectors.joining(", "));
-    return String.format("%s [filters=%s]", table, filters);
+    String runtimeFilters =
+        runtimeFilterExpressions.stream()
+            .map(Spark3Util::describe)
+            .collect(Collectors.joining(", "));
+    return String.format("%s [filters=%s, runtimeFilters=%s]", table, filters, runtimeFilters);
   }
 
   @Override
@@ -185,10 +447,16 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
   }
 
   private static class ReaderFactory implements PartitionReaderFactory {
+    private final Broadcast<TableReadContext> readContext;
+
+    ReaderFactory(Broadcast<TableReadContext> readContext) {
+      this.readContext = readContext;
+    }
+
     @Override
     public PartitionReader<InternalRow> createReader(InputPartition partition) {
       if (partition instanceof ArcticInputPartition) {
-        return new RowReader((ArcticInputPartition) partition);
+        return new RowReader(readContext.value(), (ArcticInputPartition) partition);
       } else {
         throw new UnsupportedOperationException("Incorrect input partition type: " + partition);
       }
@@ -203,15 +471,15 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     CloseableIterator<InternalRow> currentIterator = CloseableIterator.empty();
     InternalRow current;
 
-    RowReader(ArcticInputPartition task) {
+    RowReader(TableReadContext context, ArcticInputPartition task) {
       reader =
           new ArcticSparkKeyedDataReader(
-              task.io,
-              task.tableSchema,
-              task.expectedSchema,
-              task.keySpec,
-              task.nameMapping,
-              task.caseSensitive);
+              context.io,
+              context.tableSchema,
+              context.expectedSchema,
+              context.keySpec,
+              context.nameMapping,
+              context.caseSensitive);
       scanTasks = task.combinedScanTask.tasks().iterator();
     }
 
@@ -246,27 +514,26 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     }
   }
 
+  private static class KeyGroupedInputPartition extends ArcticInputPartition
+      implements HasPartitionKey {
+    final InternalRow partitionKey;
+
+    KeyGroupedInputPartition(CombinedScanTask combinedScanTask, InternalRow partitionKey) {
+      super(combinedScanTask);
+      this.partitionKey = partitionKey;
+    }
+
+    @Override
+    public InternalRow partitionKey() {
+      return partitionKey;
+    }
+  }
+
   private static class ArcticInputPartition implements InputPartition, Serializable {
     final CombinedScanTask combinedScanTask;
-    final ArcticFileIO io;
-    final boolean caseSensitive;
-    final Schema expectedSchema;
-    final Schema tableSchema;
-    final PrimaryKeySpec keySpec;
-    final String nameMapping;
-
-    ArcticInputPartition(
-        CombinedScanTask combinedScanTask,
-        KeyedTable table,
-        Schema expectedSchema,
-        boolean caseSensitive) {
+
+    ArcticInputPartition(CombinedScanTask combinedScanTask) {
       this.combinedScanTask = combinedScanTask;
-      this.expectedSchema = expectedSchema;
-      this.tableSchema = table.schema();
-      this.caseSensitive = caseSensitive;
-      this.io = table.io();
-      this.keySpec = table.primaryKeySpec();
-      this.nameMapping = table.properties().get(TableProperties.DEFAULT_NAME_MAPPING);
     }
   }
 }
@@ -18,30 +18,53 @@
 
 package com.netease.arctic.spark.reader;
 
+import com.netease.arctic.scan.ArcticFileScanTask;
+import com.netease.arctic.scan.CombinedScanTask;
+import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.spark.mixed.SparkSQLProperties;
 import com.netease.arctic.spark.table.SupportsExtendIdentColumns;
+import com.netease.arctic.spark.util.ArcticSparkUtils;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.UnkeyedTable;
+import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.MetadataColumns;
+import org.apache.iceberg.MetricsConfig;
+import org.apache.iceberg.MetricsModes;
 import org.apache.iceberg.Schema;
+import org.apache.iceberg.StructLike;
 import org.apache.iceberg.exceptions.ValidationException;
+import org.apache.iceberg.expressions.AggregateEvaluator;
 import org.apache.iceberg.expressions.Binder;
+import org.apache.iceberg.expressions.BoundAggregate;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.spark.SparkAggregates;
 import org.apache.iceberg.spark.SparkFilters;
 import org.apache.iceberg.spark.SparkSchemaUtil;
+import org.apache.iceberg.types.Type;
 import org.apache.iceberg.types.TypeUtil;
 import org.apache.iceberg.types.Types;
+import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.connector.expressions.aggregate.AggregateFunc;
+import org.apache.spark.sql.connector.expressions.aggregate.Aggregation;
 import org.apache.spark.sql.connector.read.Scan;
 import org.apache.spark.sql.connector.read.ScanBuilder;
+import org.apache.spark.sql.connector.read.SupportsPushDownAggregates;
 import org.apache.spark.sql.connector.read.SupportsPushDownFilters;
 import org.apache.spark.sql.connector.read.SupportsPushDownRequiredColumns;
 import org.apache.spark.sql.sources.Filter;
 import org.apache.spark.sql.types.StructType;
 import org.apache.spark.sql.util.CaseInsensitiveStringMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -49,9 +72,12 @@ public class SparkScanBuilder
     implements ScanBuilder,
         SupportsExtendIdentColumns,
         SupportsPushDownFilters,
-        SupportsPushDownRequiredColumns {
+        SupportsPushDownRequiredColumns,
+        SupportsPushDownAggregates {
+  private static final Logger LOG = LoggerFactory.getLogger(SparkScanBuilder.class);
   private static final Filter[] NO_FILTERS = new Filter[0];
 
+  private final JavaSparkContext sparkContext;
   private final ArcticTable table;
   private final CaseInsensitiveStringMap options;
 
@@ -60,21 +86,54 @@ public class SparkScanBuilder
   private Schema schema = null;
   private StructType requestedProjection;
   private final boolean caseSensitive;
+  private final boolean keyGroupedPartitioningEnabled;
+  private final boolean aggregatePushDownEnabled;
   private List<Expression> filterExpressions = Lists.newArrayList();
   private Filter[] pushedFilters = NO_FILTERS;
+  private Scan localScan = null;
 
   public SparkScanBuilder(SparkSession spark, ArcticTable table, CaseInsensitiveStringMap options) {
+    this.sparkContext = JavaSparkContext.fromSparkContext(spark.sparkContext());
     this.table = table;
     this.options = options;
     this.caseSensitive = Boolean.parseBoolean(spark.conf().get("spark.sql.caseSensitive"));
+    this.keyGroupedPartitioningEnabled =
+        Boolean.parseBoolean(
+            spark
+                .conf()
+                .get(
+                    SparkSQLProperties.READ_KEY_GROUPED_PARTITIONING_ENABLED,
+                    SparkSQLProperties.READ_KEY_GROUPED_PARTITIONING_ENABLED_DEFAULT));
+    this.aggregatePushDownEnabled =
+        Boolean.parseBoolean(
+            spark
+                .conf()
+                .get(
+                    SparkSQLProperties.READ_AGGREGATE_PUSH_DOWN_ENABLED,
+                    SparkSQLProperties.READ_AGGREGATE_PUSH_DOWN_ENABLED_DEFAULT));
   }
 
   public SparkScanBuilder(
       SparkSession spark, ArcticTable table, CaseInsensitiveStringMap options, Schema schema) {
+    this.sparkContext = JavaSparkContext.fromSparkContext(spark.sparkContext());
     this.table = table;
     this.options = options;
     this.schema = schema;
     this.caseSensitive = Boolean.parseBoolean(spark.conf().get("spark.sql.caseSensitive"));
+    this.keyGroupedPartitioningEnabled =
+        Boolean.parseBoolean(
+            spark
+                .conf()
+                .get(
+                    SparkSQLProperties.READ_KEY_GROUPED_PARTITIONING_ENABLED,
+                    SparkSQLProperties.READ_KEY_GROUPED_PARTITIONING_ENABLED_DEFAULT));
+    this.aggregatePushDownEnabled =
+        Boolean.parseBoolean(
+            spark
+                .conf()
+                .get(
+                    SparkSQLProperties.READ_AGGREGATE_PUSH_DOWN_ENABLED,
+                    SparkSQLProperties.READ_AGGREGATE_PUSH_DOWN_ENABLED_DEFAULT));
   }
 
   private Schema lazySchemaWithRowIdent() {
@@ -153,20 +212,152 @@ public class SparkScanBuilder
     this.requestedProjection = requestedSchema;
   }
 
+  /**
+   * Answer the count, min and max aggregations without group by from the column stats of the data
+   * files, which is only exact when no delete applies to the files: the unkeyed tables without
+   * delete files, or the keyed tables whose change files have all been optimized into the base
+   * store.
+   */
+  @Override
+  public boolean pushAggregation(Aggregation aggregation) {
+    if (!aggregatePushDownEnabled
+        || aggregation.groupByExpressions().length > 0
+        || !filterExpressions.isEmpty()) {
+      return false;
+    }
+
+    List<BoundAggregate<?, ?>> aggregates = Lists.newArrayList();
+    for (AggregateFunc aggregateFunc : aggregation.aggregateExpressions()) {
+      Expression expr = SparkAggregates.convert(aggregateFunc);
+      if (expr == null) {
+        LOG.info("Skip pushing down aggregation {}, which could not be converted", aggregateFunc);
+        return false;
+      }
+      try {
+        aggregates.add(
+            (BoundAggregate<?, ?>) Binder.bind(table.schema().asStruct(), expr, caseSensitive));
+      } catch (ValidationException | IllegalArgumentException e) {
+        LOG.info("Skip pushing down aggregation {}, which could not be bound", aggregateFunc, e);
+        return false;
+      }
+    }
+
+    UnkeyedTable dataTable =
+        table.isKeyedTable() ? table.asKeyedTable().baseTable() : table.asUnkeyedTable();
+    if (!metricsSupportAggregates(dataTable, aggregates)) {
+      return false;
+    }
+    if (table.isKeyedTable() && !changeFilesOptimized()) {
+      LOG.info("Skip pushing down aggregation of {}, which has unoptimized change files", table);
+      return false;
+    }
+
+    AggregateEvaluator evaluator = AggregateEvaluator.create(aggregates);
+    try (CloseableIterable<FileScanTask> fileScanTasks =
+        dataTable.newScan().includeColumnStats().planFiles()) {
+      for (FileScanTask task : fileScanTasks) {
+        if (!task.deletes().isEmpty()) {
+          LOG.info("Skip pushing down aggregation of {}, which has delete files", table);
+          return false;
+        }
+        evaluator.update(task.file());
+      }
+    } catch (IOException e) {
+      LOG.info("Skip pushing down aggregation of {}", table, e);
+      return false;
+    }
+    if (!evaluator.allAggregatorsValid()) {
+      return false;
+    }
+
+    Types.StructType resultType = evaluator.resultType();
+    StructLike result = evaluator.result();
+    Object[] values = new Object[resultType.fields().size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] =
+          ArcticSparkUtils.convertConstant(
+              resultType.fields().get(i).type(), result.get(i, Object.class));
+    }
+    this.localScan =
+        new ArcticLocalScan(
+            table,
+            SparkSchemaUtil.convert(new Schema(resultType.fields())),
+            new InternalRow[] {new GenericInternalRow(values)});
+    return true;
+  }
+
+  /**
+   * The min and max could be answered only from the untruncated bounds, and the bounds of floating
+   * point columns exclude NaN, which Spark takes as the greatest value.
+   */
+  private static boolean metricsSupportAggregates(
+      UnkeyedTable dataTable, List<BoundAggregate<?, ?>> aggregates) {
+    MetricsConfig metricsConfig = MetricsConfig.forTable(dataTable);
+    for (BoundAggregate<?, ?> aggregate : aggregates) {
+      if (aggregate.op() == Expression.Operation.COUNT_STAR) {
+        continue;
+      }
+      MetricsModes.MetricsMode mode = metricsConfig.columnMode(aggregate.columnName());
+      if (mode instanceof MetricsModes.None) {
+        return false;
+      }
+      if (aggregate.op() == Expression.Operation.MIN
+          || aggregate.op() == Expression.Operation.MAX) {
+        Type.TypeID typeId = aggregate.type().typeId();
+        if (mode instanceof MetricsModes.Counts
+            || typeId == Type.TypeID.FLOAT
+            || typeId == Type.TypeID.DOUBLE
+            || (mode instanceof MetricsModes.Truncate
+                && (typeId == Type.TypeID.STRING || typeId == Type.TypeID.BINARY))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean changeFilesOptimized() {
+    try (CloseableIterable<CombinedScanTask> combinedScanTasks =
+        table.asKeyedTable().newScan().planTasks()) {
+      for (CombinedScanTask combinedScanTask : combinedScanTasks) {
+        for (KeyedTableScanTask task : combinedScanTask.tasks()) {
+          if (!task.insertTasks().isEmpty() || !task.arcticEquityDeletes().isEmpty()) {
+            return false;
+          }
+          for (ArcticFileScanTask baseTask : task.baseTasks()) {
+            if (!baseTask.deletes().isEmpty()) {
+              return false;
+            }
+          }
+        }
+      }
+    } catch (IOException e) {
+      LOG.info("Failed to plan the change files of {}", table, e);
+      return false;
+    }
+    return true;
+  }
+
   @Override
   public Scan build() {
+    if (localScan != null) {
+      return localScan;
+    }
     Preconditions.checkArgument(
         table.isKeyedTable() || table.isUnkeyedTable(),
         "Unable to build scan for table: " + table.id().toString() + ", unknown table " + "type");
     if (table.isKeyedTable()) {
       return new KeyedSparkBatchScan(
+          sparkContext,
           table.asKeyedTable(),
           caseSensitive,
           lazySchemaWithRowIdent(),
           filterExpressions,
-          options);
+          options,
+          keyGroupedPartitioningEnabled);
     } else if (table.isUnkeyedTable()) {
       return new UnkeyedSparkBatchScan(
+          sparkContext,
           table.asUnkeyedTable(),
           caseSensitive,
           lazySchemaWithRowIdent(),
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.spark.reader;
+
+import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.PrimaryKeySpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.TableProperties;
+
+import java.io.Serializable;
+
+/**
+ * The table states shared by all the input partitions of a scan. It is broadcast to the executors
+ * once by the reader factory, so the input partitions carry only their scan tasks.
+ */
+class TableReadContext implements Serializable {
+  final ArcticFileIO io;
+  final Schema tableSchema;
+  final Schema expectedSchema;
+  final PrimaryKeySpec keySpec;
+  final String nameMapping;
+  final boolean caseSensitive;
+
+  TableReadContext(ArcticTable table, Schema expectedSchema, boolean caseSensitive) {
+    this.io = table.io();
+    this.tableSchema = table.schema();
+    this.expectedSchema = expectedSchema;
+    this.keySpec = table.isKeyedTable() ? table.asKeyedTable().primaryKeySpec() : null;
+    this.nameMapping = table.properties().get(TableProperties.DEFAULT_NAME_MAPPING);
+    this.caseSensitive = caseSensitive;
+  }
+}
@@ -18,24 +18,34 @@
 
 package com.netease.arctic.spark.reader;
 
-import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.spark.util.Stats;
 import com.netease.arctic.table.UnkeyedTable;
+import org.apache.iceberg.BaseCombinedScanTask;
 import org.apache.iceberg.CombinedScanTask;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.SnapshotSummary;
-import org.apache.iceberg.TableProperties;
 import org.apache.iceberg.TableScan;
+import org.apache.iceberg.expressions.Evaluator;
 import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.expressions.Projections;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.CloseableIterator;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.spark.Spark3Util;
+import org.apache.iceberg.spark.SparkFilters;
 import org.apache.iceberg.spark.SparkSchemaUtil;
 import org.apache.iceberg.util.PropertyUtil;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.connector.expressions.NamedReference;
 import org.apache.spark.sql.connector.read.Batch;
 import org.apache.spark.sql.connector.read.InputPartition;
 import org.apache.spark.sql.connector.read.PartitionReader;
@@ -43,6 +53,8 @@ import org.apache.spark.sql.connector.read.PartitionReaderFactory;
 import org.apache.spark.sql.connector.read.Scan;
 import org.apache.spark.sql.connector.read.Statistics;
 import org.apache.spark.sql.connector.read.SupportsReportStatistics;
+import org.apache.spark.sql.connector.read.SupportsRuntimeFiltering;
+import org.apache.spark.sql.sources.Filter;
 import org.apache.spark.sql.types.StructType;
 import org.apache.spark.sql.util.CaseInsensitiveStringMap;
 import org.slf4j.Logger;
@@ -53,10 +65,13 @@ import java.io.Serializable;
 import java.io.UncheckedIOException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistics {
+public class UnkeyedSparkBatchScan
+    implements Scan, Batch, SupportsReportStatistics, SupportsRuntimeFiltering {
   private static final Logger LOG = LoggerFactory.getLogger(UnkeyedSparkBatchScan.class);
 
   public static final String FILE_NAME_COL = "_file";
@@ -64,14 +79,18 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
   public static final List<String> rowIdColumns = Lists.newArrayList(FILE_NAME_COL, ROW_POS_COL);
 
   private final UnkeyedTable table;
+  private final JavaSparkContext sparkContext;
   private final boolean caseSensitive;
   private final Schema expectedSchema;
   private final List<Expression> filterExpressions;
+  private final List<Expression> runtimeFilterExpressions = Lists.newArrayList();
 
   private StructType readSchema = null;
   private List<CombinedScanTask> tasks = null;
+  private Broadcast<TableReadContext> readContext = null;
 
   UnkeyedSparkBatchScan(
+      JavaSparkContext sparkContext,
       UnkeyedTable table,
       boolean caseSensitive,
       Schema expectedSchema,
@@ -81,6 +100,7 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
     Preconditions.checkNotNull(expectedSchema, "expectedSchema must not be null");
     Preconditions.checkNotNull(filters, "filters must not be null");
 
+    this.sparkContext = sparkContext;
     this.table = table;
     this.caseSensitive = caseSensitive;
     this.expectedSchema = expectedSchema;
@@ -92,15 +112,86 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
     List<CombinedScanTask> scanTasks = tasks();
     ArcticInputPartition[] readTasks = new ArcticInputPartition[scanTasks.size()];
     for (int i = 0; i < scanTasks.size(); i++) {
-      readTasks[i] =
-          new ArcticInputPartition(scanTasks.get(i), table, expectedSchema, caseSensitive);
+      readTasks[i] = new ArcticInputPartition(scanTasks.get(i));
     }
     return readTasks;
   }
 
+  @Override
+  public NamedReference[] filterAttributes() {
+    Set<String> partitionColumns = Sets.newLinkedHashSet();
+    for (PartitionSpec spec : table.specs().values()) {
+      for (PartitionField field : spec.fields()) {
+        String column = table.schema().findColumnName(field.sourceId());
+        if (column != null) {
+          partitionColumns.add(column);
+        }
+      }
+    }
+    return partitionColumns.stream()
+        .map(org.apache.spark.sql.connector.expressions.Expressions::column)
+        .toArray(NamedReference[]::new);
+  }
+
+  /**
+   * Prune the planned files by the runtime filters on the partition columns, like the dynamic
+   * partition pruning filters of the joins.
+   */
+  @Override
+  public void filter(Filter[] filters) {
+    List<Expression> expressions = Lists.newArrayList();
+    for (Filter filter : filters) {
+      Expression expr = SparkFilters.convert(filter);
+      if (expr != null) {
+        expressions.add(expr);
+      }
+    }
+    if (expressions.isEmpty()) {
+      return;
+    }
+    runtimeFilterExpressions.addAll(expressions);
+    Expression runtimeFilter =
+        expressions.stream().reduce(Expressions.alwaysTrue(), Expressions::and);
+
+    Map<Integer, Evaluator> evaluators = Maps.newHashMap();
+    List<CombinedScanTask> filteredTasks = Lists.newArrayList();
+    int prunedFiles = 0;
+    for (CombinedScanTask combinedScanTask : tasks()) {
+      List<FileScanTask> files = Lists.newArrayList();
+      for (FileScanTask file : combinedScanTask.files()) {
+        Evaluator evaluator =
+            evaluators.computeIfAbsent(
+                file.spec().specId(),
+                specId ->
+                    new Evaluator(
+                        file.spec().partitionType(),
+                        Projections.inclusive(file.spec(), caseSensitive).project(runtimeFilter),
+                        caseSensitive));
+        if (evaluator.eval(file.file().partition())) {
+          files.add(file);
+        } else {
+          prunedFiles++;
+        }
+      }
+      if (!files.isEmpty()) {
+        filteredTasks.add(new BaseCombinedScanTask(files));
+      }
+    }
+    this.tasks = filteredTasks;
+    LOG.info("{} files of {} are pruned by runtime filter {}", prunedFiles, table, runtimeFilter);
+  }
+
   @Override
   public PartitionReaderFactory createReaderFactory() {
-    return new ReaderFactory();
+    return new ReaderFactory(readContext());
+  }
+
+  private Broadcast<TableReadContext> readContext() {
+    if (readContext == null) {
+      this.readContext =
+          sparkContext.broadcast(new TableReadContext(table, expectedSchema, caseSensitive));
+    }
+    return readContext;
   }
 
   @Override
@@ -166,10 +257,16 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
   }
 
   private static class ReaderFactory implements PartitionReaderFactory {
+    private final Broadcast<TableReadContext> readContext;
+
+    ReaderFactory(Broadcast<TableReadContext> readContext) {
+      this.readContext = readContext;
+    }
+
     @Override
     public PartitionReader<InternalRow> createReader(InputPartition partition) {
       if (partition instanceof ArcticInputPartition) {
-        return new RowReader((ArcticInputPartition) partition);
+        return new RowReader(readContext.value(), (ArcticInputPartition) partition);
       } else {
         throw new UnsupportedOperationException("Incorrect input partition type: " + partition);
       }
@@ -184,10 +281,14 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
     CloseableIterator<InternalRow> currentIterator = CloseableIterator.empty();
     InternalRow current;
 
-    RowReader(ArcticInputPartition task) {
+    RowReader(TableReadContext context, ArcticInputPartition task) {
       reader =
           new ArcticSparkUnkeyedDataReader(
-              task.io, task.tableSchema, task.expectedSchema, task.nameMapping, task.caseSensitive);
+              context.io,
+              context.tableSchema,
+              context.expectedSchema,
+              context.nameMapping,
+              context.caseSensitive);
       scanTasks = task.combinedScanTask.files().iterator();
     }
 
@@ -224,23 +325,9 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
 
   private static class ArcticInputPartition implements InputPartition, Serializable {
     final CombinedScanTask combinedScanTask;
-    final ArcticFileIO io;
-    final boolean caseSensitive;
-    final Schema expectedSchema;
-    final Schema tableSchema;
-    final String nameMapping;
-
-    ArcticInputPartition(
-        CombinedScanTask combinedScanTask,
-        UnkeyedTable table,
-        Schema expectedSchema,
-        boolean caseSensitive) {
+
+    ArcticInputPartition(CombinedScanTask combinedScanTask) {
       this.combinedScanTask = combinedScanTask;
-      this.expectedSchema = expectedSchema;
-      this.tableSchema = table.schema();
-      this.caseSensitive = caseSensitive;
-      this.io = table.io();
-      this.nameMapping = table.properties().get(TableProperties.DEFAULT_NAME_MAPPING);
     }
   }
 
@@ -256,7 +343,8 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
     UnkeyedSparkBatchScan that = (UnkeyedSparkBatchScan) o;
     return table.id().equals(that.table.id())
         && readSchema().equals(that.readSchema())
-        && filterExpressions.toString().equals(that.filterExpressions.toString());
+        && filterExpressions.toString().equals(that.filterExpressions.toString())
+        && runtimeFilterExpressions.toString().equals(that.runtimeFilterExpressions.toString());
   }
 
   @Override
@@ -268,7 +356,11 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
   public String description() {
     String filters =
         filterExpressions.stream().map(Spark3Util::describe).collect(Collectors.joining(", "));
-    return String.format("%s [filters=%s]", table, filters);
+    String runtimeFilters =
+        runtimeFilterExpressions.stream()
+            .map(Spark3Util::describe)
+            .collect(Collectors.joining(", "));
+    return String.format("%s [filters=%s, runtimeFilters=%s]", table, filters, runtimeFilters);
   }
 
   @Override
@@ -20,6 +20,10 @@ package com.netease.arctic.spark.test.suites.sql;
 
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.io.writer.GenericTaskWriters;
+import com.netease.arctic.io.writer.SortedPosDeleteWriter;
+import com.netease.arctic.spark.mixed.SparkSQLProperties;
+import com.netease.arctic.spark.reader.SparkScanBuilder;
 import com.netease.arctic.spark.test.MixedTableTestBase;
 import com.netease.arctic.spark.test.extensions.EnableCatalogSelect;
 import com.netease.arctic.spark.test.utils.DataComparator;
@@ -27,20 +31,37 @@ import com.netease.arctic.spark.test.utils.RecordGenerator;
 import com.netease.arctic.spark.test.utils.TestTable;
 import com.netease.arctic.spark.test.utils.TestTableUtil;
 import com.netease.arctic.spark.test.utils.TestTables;
+import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.table.MetadataColumns;
 import com.netease.arctic.table.TableProperties;
+import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.RowDelta;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.util.SerializationUtil;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.connector.read.Batch;
+import org.apache.spark.sql.connector.read.InputPartition;
+import org.apache.spark.sql.connector.read.PartitionReader;
+import org.apache.spark.sql.connector.read.PartitionReaderFactory;
+import org.apache.spark.sql.connector.read.Scan;
+import org.apache.spark.sql.execution.SparkPlan;
+import org.apache.spark.sql.execution.datasources.v2.BatchScanExec;
+import org.apache.spark.sql.execution.exchange.ShuffleExchangeExec;
+import org.apache.spark.sql.util.CaseInsensitiveStringMap;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import scala.collection.JavaConverters;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
@@ -52,6 +73,8 @@ import java.util.stream.Stream;
 @EnableCatalogSelect.SelectCatalog(byTableFormat = true)
 public class TestSelectSQL extends MixedTableTestBase {
 
+  private static final int MAX_SERIALIZED_PARTITION_SIZE = 16 * 1024;
+
   public static Stream<Arguments> testKeyedTableQuery() {
     List<TestTable> tests =
         Lists.newArrayList(
@@ -134,4 +157,259 @@ public class TestSelectSQL extends MixedTableTestBase {
                   ((Long) r.getField(MetadataColumns.TRANSACTION_ID_FILED_NAME)) > 0);
             });
   }
+
+  public static Stream<Arguments> testKeyGroupedKeyedTableQuery() {
+    return Stream.of(TestTables.MixedIceberg.PK_PT, TestTables.MixedIceberg.PK_NoPT)
+        .map(t -> Arguments.of(t.format, t));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  public void testKeyGroupedKeyedTableQuery(TableFormat format, TestTable table) {
+    createTarget(
+        table.schema,
+        builder ->
+            builder
+                .withPrimaryKeySpec(table.keySpec)
+                .withPartitionSpec(table.ptSpec)
+                .withProperty(TableProperties.BASE_FILE_INDEX_HASH_BUCKET, "4")
+                .withProperty(TableProperties.CHANGE_FILE_INDEX_HASH_BUCKET, "2"));
+    KeyedTable tbl = loadTable().asKeyedTable();
+    RecordGenerator dataGen = table.newDateGen();
+    List<Record> expects = Lists.newArrayList(dataGen.records(10));
+    TestTableUtil.writeToBase(tbl, expects);
+    List<Record> changeInsert = dataGen.records(5);
+    TestTableUtil.writeToChange(tbl, changeInsert, ChangeAction.INSERT);
+    expects.addAll(changeInsert);
+
+    // the key grouped partitioning clusters the rows by the partition fields and the key bucket
+    String joinCondition =
+        tbl.spec().isPartitioned() ? "a.pt = b.pt AND a.id = b.id" : "a.id = b.id";
+    String joinQuery =
+        "SELECT count(*) FROM " + target() + " a JOIN " + target() + " b ON " + joinCondition;
+    spark().conf().set("spark.sql.autoBroadcastJoinThreshold", "-1");
+    spark().conf().set("spark.sql.adaptive.enabled", "false");
+    spark().conf().set("spark.sql.sources.v2.bucketing.enabled", "true");
+    try {
+      spark().conf().set(SparkSQLProperties.READ_KEY_GROUPED_PARTITIONING_ENABLED, "true");
+      // the nodes of base and change files are grouped at the coarsest level
+      List<Record> actual =
+          sql("SELECT * FROM " + target() + " ORDER BY id").collectAsList().stream()
+              .map(r -> TestTableUtil.rowToRecord(r, table.schema.asStruct()))
+              .collect(Collectors.toList());
+      expects.sort(Comparator.comparing(r -> r.get(0, Integer.class)));
+      DataComparator.build(expects, actual).assertRecordsEqual();
+
+      Dataset<Row> joined = sql(joinQuery);
+      Assertions.assertEquals(expects.size(), joined.collectAsList().get(0).getLong(0));
+      Assertions.assertFalse(containsShuffle(joined.queryExecution().executedPlan()));
+
+      spark().conf().set(SparkSQLProperties.READ_KEY_GROUPED_PARTITIONING_ENABLED, "false");
+      joined = sql(joinQuery);
+      Assertions.assertEquals(expects.size(), joined.collectAsList().get(0).getLong(0));
+      Assertions.assertTrue(containsShuffle(joined.queryExecution().executedPlan()));
+    } finally {
+      spark().conf().unset(SparkSQLProperties.READ_KEY_GROUPED_PARTITIONING_ENABLED);
+      spark().conf().unset("spark.sql.autoBroadcastJoinThreshold");
+      spark().conf().unset("spark.sql.adaptive.enabled");
+      spark().conf().unset("spark.sql.sources.v2.bucketing.enabled");
+    }
+  }
+
+  private static boolean containsShuffle(SparkPlan plan) {
+    return !collectPlans(plan, ShuffleExchangeExec.class).isEmpty();
+  }
+
+  private static <T extends SparkPlan> List<T> collectPlans(SparkPlan plan, Class<T> planClass) {
+    List<T> plans = Lists.newArrayList();
+    if (planClass.isInstance(plan)) {
+      plans.add(planClass.cast(plan));
+    }
+    JavaConverters.seqAsJavaList(plan.children())
+        .forEach(child -> plans.addAll(collectPlans(child, planClass)));
+    return plans;
+  }
+
+  public static Stream<Arguments> testAggregatePushDown() {
+    return Stream.of(TestTables.MixedIceberg.PK_PT, TestTables.MixedIceberg.NoPK_PT)
+        .map(t -> Arguments.of(t.format, t));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  public void testAggregatePushDown(TableFormat format, TestTable table) throws IOException {
+    createTarget(
+        table.schema,
+        builder -> builder.withPrimaryKeySpec(table.keySpec).withPartitionSpec(table.ptSpec));
+    ArcticTable tbl = loadTable();
+    RecordGenerator dataGen = table.newDateGen();
+    List<Record> expects = Lists.newArrayList(dataGen.records(10));
+    expects.get(0).setField("data", null);
+    expects.get(1).setField("data", null);
+    List<DataFile> dataFiles = TestTableUtil.writeToBase(tbl, expects);
+
+    String query = "SELECT count(*), min(id), max(id) FROM " + target();
+    Dataset<Row> ds = sql(query);
+    assertAggregates(expects, ds.collectAsList().get(0));
+    // answered from the column stats of the data files
+    Assertions.assertTrue(ds.queryExecution().executedPlan().toString().contains("LocalTableScan"));
+
+    // the null values are excluded by the null value counts
+    ds = sql("SELECT count(data) FROM " + target());
+    Assertions.assertEquals(expects.size() - 2, ds.collectAsList().get(0).getLong(0));
+    Assertions.assertTrue(ds.queryExecution().executedPlan().toString().contains("LocalTableScan"));
+
+    if (tbl.isKeyedTable()) {
+      List<Record> changeInsert = dataGen.records(5);
+      TestTableUtil.writeToChange(tbl.asKeyedTable(), changeInsert, ChangeAction.INSERT);
+      expects.addAll(changeInsert);
+      // the change files are merged on read
+      ds = sql(query);
+      assertAggregates(expects, ds.collectAsList().get(0));
+      Assertions.assertFalse(
+          ds.queryExecution().executedPlan().toString().contains("LocalTableScan"));
+    } else {
+      DataFile dataFile = dataFiles.get(0);
+      try (SortedPosDeleteWriter<Record> writer =
+          GenericTaskWriters.builderFor(tbl.asUnkeyedTable())
+              .buildBasePosDeleteWriter(0, 0, dataFile.partition())) {
+        writer.delete(dataFile.path(), 0);
+        RowDelta rowDelta = tbl.asUnkeyedTable().newRowDelta();
+        writer.complete().forEach(rowDelta::addDeletes);
+        rowDelta.commit();
+      }
+      expects = TestTableUtil.tableRecords(loadTable());
+      Assertions.assertEquals(9, expects.size());
+      // the rows deleted by the delete files are still counted in the column stats
+      ds = sql(query);
+      assertAggregates(expects, ds.collectAsList().get(0));
+      Assertions.assertFalse(
+          ds.queryExecution().executedPlan().toString().contains("LocalTableScan"));
+    }
+  }
+
+  private static void assertAggregates(List<Record> expects, Row actual) {
+    Assertions.assertEquals(expects.size(), actual.getLong(0));
+    Assertions.assertEquals(
+        expects.stream().mapToInt(r -> r.get(0, Integer.class)).min().getAsInt(), actual.getInt(1));
+    Assertions.assertEquals(
+        expects.stream().mapToInt(r -> r.get(0, Integer.class)).max().getAsInt(), actual.getInt(2));
+  }
+
+  public static Stream<Arguments> testRuntimeFilteredJoin() {
+    return Stream.of(TestTables.MixedIceberg.PK_PT, TestTables.MixedIceberg.NoPK_PT)
+        .map(t -> Arguments.of(t.format, t));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  public void testRuntimeFilteredJoin(TableFormat format, TestTable table) throws IOException {
+    createTarget(
+        table.schema,
+        builder -> builder.withPrimaryKeySpec(table.keySpec).withPartitionSpec(table.ptSpec));
+    ArcticTable tbl = loadTable();
+    RecordGenerator dataGen =
+        RecordGenerator.buildFor(table.schema)
+            .withSequencePrimaryKey(table.keySpec)
+            .withRoundRobinValues("pt", "pt0", "pt1", "pt2", "pt3")
+            .build();
+    List<Record> records = dataGen.records(20);
+    TestTableUtil.writeToBase(tbl, records);
+
+    Record selected = records.get(0);
+    long expectCount =
+        records.stream().filter(r -> r.getField("pt").equals(selected.getField("pt"))).count();
+    spark().conf().set("spark.sql.adaptive.enabled", "false");
+    try {
+      // the partitions not joined are pruned at runtime by the filter on the other side
+      Dataset<Row> joined =
+          sql(
+              "SELECT count(*) FROM "
+                  + target()
+                  + " a JOIN (SELECT DISTINCT pt FROM "
+                  + target()
+                  + " WHERE id = "
+                  + selected.getField("id")
+                  + ") b ON a.pt = b.pt");
+      Assertions.assertEquals(expectCount, joined.collectAsList().get(0).getLong(0));
+
+      List<BatchScanExec> filteredScans =
+          collectPlans(joined.queryExecution().executedPlan(), BatchScanExec.class).stream()
+              .filter(scan -> !scan.runtimeFilters().isEmpty())
+              .collect(Collectors.toList());
+      Assertions.assertEquals(1, filteredScans.size());
+      Scan scan = filteredScans.get(0).scan();
+      Assertions.assertFalse(scan.description().endsWith("runtimeFilters=]"));
+      // only the rows of the joined partition are left in the tasks of the scan
+      Batch batch = scan.toBatch();
+      Assertions.assertEquals(
+          expectCount, readRows(batch.planInputPartitions(), batch.createReaderFactory()));
+    } finally {
+      spark().conf().unset("spark.sql.adaptive.enabled");
+    }
+  }
+
+  public static Stream<Arguments> testSerializedInputPartitions() {
+    return Stream.of(TestTables.MixedIceberg.PK_PT, TestTables.MixedIceberg.NoPK_PT)
+        .map(t -> Arguments.of(t.format, t));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  public void testSerializedInputPartitions(TableFormat format, TestTable table)
+      throws IOException {
+    createTarget(
+        table.schema,
+        builder ->
+            builder
+                .withPrimaryKeySpec(table.keySpec)
+                .withPartitionSpec(table.ptSpec)
+                .withProperty(TableProperties.BASE_FILE_INDEX_HASH_BUCKET, "1"));
+    ArcticTable tbl = loadTable();
+    // all the rows are written into a single file, which is planned as a single task
+    RecordGenerator dataGen =
+        RecordGenerator.buildFor(table.schema)
+            .withSequencePrimaryKey(table.keySpec)
+            .withRoundRobinValues("pt", "pt0")
+            .build();
+    List<Record> records = dataGen.records(20);
+    TestTableUtil.writeToBase(tbl, records);
+
+    Batch batch =
+        new SparkScanBuilder(spark(), tbl, CaseInsensitiveStringMap.empty()).build().toBatch();
+    InputPartition[] partitions = batch.planInputPartitions();
+    PartitionReaderFactory readerFactory = batch.createReaderFactory();
+    String ioClass = tbl.io().getClass().getName();
+    // the table io is broadcast once, the reader factory only carries the broadcast handle
+    Assertions.assertFalse(serializedContains(readerFactory, ioClass));
+    InputPartition[] deserialized = new InputPartition[partitions.length];
+    for (int i = 0; i < partitions.length; i++) {
+      byte[] serialized = SerializationUtil.serializeToBytes(partitions[i]);
+      // a partition of a single file task stays small however large the hadoop configuration is
+      Assertions.assertTrue(
+          serialized.length < MAX_SERIALIZED_PARTITION_SIZE,
+          "Serialized input partition of " + serialized.length + " bytes");
+      Assertions.assertFalse(serializedContains(partitions[i], ioClass));
+      deserialized[i] = SerializationUtil.deserializeFromBytes(serialized);
+    }
+    Assertions.assertEquals(records.size(), readRows(deserialized, readerFactory));
+  }
+
+  private static long readRows(InputPartition[] partitions, PartitionReaderFactory readerFactory)
+      throws IOException {
+    long rows = 0;
+    for (InputPartition partition : partitions) {
+      try (PartitionReader<InternalRow> reader = readerFactory.createReader(partition)) {
+        while (reader.next()) {
+          rows++;
+        }
+      }
+    }
+    return rows;
+  }
+
+  private static boolean serializedContains(Object object, String className) {
+    byte[] serialized = SerializationUtil.serializeToBytes(object);
+    return new String(serialized, StandardCharsets.ISO_8859_1).contains(className);
+  }
 }
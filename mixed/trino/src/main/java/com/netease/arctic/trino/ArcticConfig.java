@@ -31,6 +31,8 @@ public class ArcticConfig {
 
   private boolean enableSplitTaskByDeleteRatio = true;
 
+  private int splitPlanningThreads = Runtime.getRuntime().availableProcessors();
+
   public String getCatalogUrl() {
     return catalogUrl;
   }
@@ -51,6 +53,10 @@ public class ArcticConfig {
     return enableSplitTaskByDeleteRatio;
   }
 
+  public int getSplitPlanningThreads() {
+    return splitPlanningThreads;
+  }
+
   @Config("arctic.url")
   public void setCatalogUrl(String catalogUrl) {
     this.catalogUrl = catalogUrl;
@@ -76,4 +82,10 @@ public class ArcticConfig {
   public void setSplitTaskByDeleteRatio(double splitTaskByDeleteRatio) {
     this.splitTaskByDeleteRatio = splitTaskByDeleteRatio;
   }
+
+  @Config("arctic.split-planning-threads")
+  @ConfigDescription("Number of threads shared by the queries to plan the splits of keyed tables")
+  public void setSplitPlanningThreads(int splitPlanningThreads) {
+    this.splitPlanningThreads = splitPlanningThreads;
+  }
 }
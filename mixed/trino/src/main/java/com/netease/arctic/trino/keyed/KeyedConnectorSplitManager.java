@@ -18,20 +18,17 @@
 
 package com.netease.arctic.trino.keyed;
 
-import static io.trino.plugin.iceberg.ExpressionConverter.toIcebergExpression;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.plugin.iceberg.IcebergSessionProperties.getDynamicFilteringWaitTimeout;
 
-import com.netease.arctic.scan.ArcticFileScanTask;
-import com.netease.arctic.scan.CombinedScanTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netease.arctic.scan.KeyedTableScan;
-import com.netease.arctic.scan.KeyedTableScanTask;
 import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.trino.ArcticConfig;
 import com.netease.arctic.trino.ArcticSessionProperties;
 import com.netease.arctic.trino.ArcticTransactionManager;
-import com.netease.arctic.trino.util.MetricUtil;
-import com.netease.arctic.trino.util.ObjectSerializerUtil;
+import io.trino.plugin.base.classloader.ClassLoaderSafeConnectorSplitSource;
 import io.trino.plugin.iceberg.IcebergTableHandle;
-import io.trino.plugin.iceberg.PartitionData;
-import io.trino.spi.classloader.ThreadContextClassLoader;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.ConnectorSplitManager;
 import io.trino.spi.connector.ConnectorSplitSource;
@@ -39,32 +36,63 @@ import io.trino.spi.connector.ConnectorTableHandle;
 import io.trino.spi.connector.ConnectorTransactionHandle;
 import io.trino.spi.connector.Constraint;
 import io.trino.spi.connector.DynamicFilter;
-import io.trino.spi.connector.FixedSplitSource;
 import io.trino.spi.connector.SchemaTableName;
 import io.trino.spi.connector.TableNotFoundException;
-import org.apache.iceberg.PartitionSpecParser;
-import org.apache.iceberg.io.CloseableIterable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.trino.spi.type.TypeManager;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /** ConnectorSplitManager for Keyed Table */
 public class KeyedConnectorSplitManager implements ConnectorSplitManager {
 
   public static final int ARCTIC_DOMAIN_COMPACTION_THRESHOLD = 1000;
 
-  private static final Logger LOG = LoggerFactory.getLogger(KeyedConnectorSplitManager.class);
+  /** The maximum number of planned node tasks buffered by a split source before served. */
+  public static final int MAX_BUFFERED_TASKS = 10000;
 
   private final ArcticTransactionManager arcticTransactionManager;
 
+  private final TypeManager typeManager;
+
+  /**
+   * Shared by all the split sources, the planning of the queries beyond the pool size waits in the
+   * queue until a planner thread is released.
+   */
+  private final ExecutorService planningExecutor;
+
   @Inject
-  public KeyedConnectorSplitManager(ArcticTransactionManager arcticTransactionManager) {
+  public KeyedConnectorSplitManager(
+      ArcticTransactionManager arcticTransactionManager,
+      TypeManager typeManager,
+      ArcticConfig arcticConfig) {
     this.arcticTransactionManager = arcticTransactionManager;
+    this.typeManager = typeManager;
+    int planningThreads = arcticConfig.getSplitPlanningThreads();
+    checkArgument(planningThreads > 0, "arctic.split-planning-threads must be positive");
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            planningThreads,
+            planningThreads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("arctic-keyed-split-planner-%d")
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    this.planningExecutor = executor;
+  }
+
+  @PreDestroy
+  public void destroy() {
+    planningExecutor.shutdownNow();
   }
 
   @Override
@@ -88,14 +116,8 @@ public class KeyedConnectorSplitManager implements ConnectorSplitManager {
               icebergTableHandle.getSchemaName(), icebergTableHandle.getTableName()));
     }
 
-    KeyedTableScan tableScan =
-        arcticTable
-            .newScan()
-            .filter(
-                toIcebergExpression(
-                    icebergTableHandle
-                        .getEnforcedPredicate()
-                        .intersect(icebergTableHandle.getUnenforcedPredicate())));
+    // the predicates are pushed down to the scan once the dynamic filter is collected
+    KeyedTableScan tableScan = arcticTable.newScan();
 
     if (ArcticSessionProperties.enableSplitTaskByDeleteRatio(session)) {
       tableScan.enableSplitTaskByDeleteRatio(
@@ -103,32 +125,17 @@ public class KeyedConnectorSplitManager implements ConnectorSplitManager {
     }
 
     ClassLoader pluginClassloader = arcticTable.getClass().getClassLoader();
-
-    try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(pluginClassloader)) {
-      // 优化
-      CloseableIterable<CombinedScanTask> combinedScanTasks =
-          MetricUtil.duration(tableScan::planTasks, "plan tasks");
-
-      List<KeyedTableScanTask> fileScanTaskList = new ArrayList<>();
-      for (CombinedScanTask combinedScanTask : combinedScanTasks) {
-        fileScanTaskList.addAll(combinedScanTask.tasks());
-      }
-
-      List<KeyedConnectorSplit> keyedConnectorSplits =
-          fileScanTaskList.stream()
-              .map(
-                  s -> {
-                    ArcticFileScanTask arcticFileScanTask = s.dataTasks().get(0);
-                    KeyedConnectorSplit keyedConnectorSplit =
-                        new KeyedConnectorSplit(
-                            ObjectSerializerUtil.write(s),
-                            PartitionSpecParser.toJson(arcticFileScanTask.spec()),
-                            PartitionData.toJson(arcticFileScanTask.file().partition()));
-                    return keyedConnectorSplit;
-                  })
-              .collect(Collectors.toList());
-
-      return new FixedSplitSource(keyedConnectorSplits);
-    }
+    KeyedConnectorSplitSource splitSource =
+        new KeyedConnectorSplitSource(
+            icebergTableHandle,
+            tableScan,
+            arcticTable.schema(),
+            dynamicFilter,
+            getDynamicFilteringWaitTimeout(session),
+            typeManager,
+            planningExecutor,
+            pluginClassloader,
+            MAX_BUFFERED_TASKS);
+    return new ClassLoaderSafeConnectorSplitSource(splitSource, pluginClassloader);
   }
 }
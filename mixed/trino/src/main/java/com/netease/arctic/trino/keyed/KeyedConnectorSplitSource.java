@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.keyed;
+
+import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.trino.plugin.iceberg.ExpressionConverter.toIcebergExpression;
+import static io.trino.plugin.iceberg.IcebergUtil.deserializePartitionValue;
+import static io.trino.plugin.iceberg.IcebergUtil.getColumnHandle;
+import static io.trino.plugin.iceberg.IcebergUtil.getPartitionKeys;
+import static io.trino.plugin.iceberg.IcebergUtil.primitiveFieldTypes;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.netease.arctic.scan.ArcticFileScanTask;
+import com.netease.arctic.scan.CombinedScanTask;
+import com.netease.arctic.scan.KeyedTableScan;
+import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.trino.unkeyed.IcebergSplitSource;
+import com.netease.arctic.trino.util.ObjectSerializerUtil;
+import io.airlift.units.Duration;
+import io.trino.plugin.iceberg.IcebergColumnHandle;
+import io.trino.plugin.iceberg.IcebergTableHandle;
+import io.trino.plugin.iceberg.PartitionData;
+import io.trino.spi.classloader.ThreadContextClassLoader;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.connector.ConnectorSplitSource;
+import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.predicate.NullableValue;
+import io.trino.spi.predicate.TupleDomain;
+import io.trino.spi.type.TypeManager;
+import org.apache.iceberg.PartitionSpecParser;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.types.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * ConnectorSplitSource for Keyed Table, which plans the node tasks in the background and serves
+ * them in batches on demand, so the first splits are scheduled before the planning finishes. The
+ * pending node tasks are checked against the dynamic filter when they are served, and the tasks of
+ * the partitions filtered out are skipped.
+ */
+public class KeyedConnectorSplitSource implements ConnectorSplitSource {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KeyedConnectorSplitSource.class);
+
+  private static final ConnectorSplitBatch EMPTY_BATCH =
+      new ConnectorSplitBatch(ImmutableList.of(), false);
+  private static final ConnectorSplitBatch NO_MORE_SPLITS_BATCH =
+      new ConnectorSplitBatch(ImmutableList.of(), true);
+
+  private final IcebergTableHandle tableHandle;
+  private final KeyedTableScan tableScan;
+  private final Schema schema;
+  private final Map<Integer, Type.PrimitiveType> fieldIdToType;
+  private final DynamicFilter dynamicFilter;
+  private final long dynamicFilteringWaitTimeoutMillis;
+  private final Stopwatch dynamicFilterWaitStopwatch;
+  private final TypeManager typeManager;
+  private final ExecutorService executor;
+  private final ClassLoader pluginClassLoader;
+  private final int maxBufferedTasks;
+
+  // guarded by this
+  private final Queue<KeyedTableScanTask> pendingTasks = new ArrayDeque<>();
+  private CompletableFuture<?> pendingTasksChanged = new CompletableFuture<>();
+  private boolean planningFinished;
+  private Throwable planningFailure;
+  private boolean closed;
+
+  private Future<?> planning;
+  // partitions checked against the last dynamic filter predicate
+  private TupleDomain<IcebergColumnHandle> checkedPredicate = TupleDomain.all();
+  private final Map<String, Boolean> checkedPartitions = new HashMap<>();
+
+  public KeyedConnectorSplitSource(
+      IcebergTableHandle tableHandle,
+      KeyedTableScan tableScan,
+      Schema schema,
+      DynamicFilter dynamicFilter,
+      Duration dynamicFilteringWaitTimeout,
+      TypeManager typeManager,
+      ExecutorService executor,
+      ClassLoader pluginClassLoader,
+      int maxBufferedTasks) {
+    this.tableHandle = requireNonNull(tableHandle, "tableHandle is null");
+    this.tableScan = requireNonNull(tableScan, "tableScan is null");
+    this.schema = requireNonNull(schema, "schema is null");
+    this.fieldIdToType = primitiveFieldTypes(schema);
+    this.dynamicFilter = requireNonNull(dynamicFilter, "dynamicFilter is null");
+    this.dynamicFilteringWaitTimeoutMillis = dynamicFilteringWaitTimeout.toMillis();
+    this.dynamicFilterWaitStopwatch = Stopwatch.createStarted();
+    this.typeManager = requireNonNull(typeManager, "typeManager is null");
+    this.executor = requireNonNull(executor, "executor is null");
+    this.pluginClassLoader = requireNonNull(pluginClassLoader, "pluginClassLoader is null");
+    this.maxBufferedTasks = maxBufferedTasks;
+  }
+
+  @Override
+  public CompletableFuture<ConnectorSplitBatch> getNextBatch(int maxSize) {
+    long timeLeft =
+        dynamicFilteringWaitTimeoutMillis - dynamicFilterWaitStopwatch.elapsed(MILLISECONDS);
+    if (planning == null && dynamicFilter.isAwaitable() && timeLeft > 0) {
+      return dynamicFilter
+          .isBlocked()
+          .thenApply(ignored -> EMPTY_BATCH)
+          .completeOnTimeout(EMPTY_BATCH, timeLeft, MILLISECONDS);
+    }
+
+    TupleDomain<IcebergColumnHandle> dynamicFilterPredicate =
+        dynamicFilter.getCurrentPredicate().transformKeys(IcebergColumnHandle.class::cast);
+    if (dynamicFilterPredicate.isNone()) {
+      close();
+      return completedFuture(NO_MORE_SPLITS_BATCH);
+    }
+    if (planning == null) {
+      startPlanning(dynamicFilterPredicate);
+    }
+
+    List<KeyedTableScanTask> tasks = new ArrayList<>();
+    CompletableFuture<?> changed;
+    boolean finished;
+    synchronized (this) {
+      if (planningFailure != null) {
+        CompletableFuture<ConnectorSplitBatch> failed = new CompletableFuture<>();
+        failed.completeExceptionally(planningFailure);
+        return failed;
+      }
+      while (tasks.size() < maxSize && !pendingTasks.isEmpty()) {
+        tasks.add(pendingTasks.poll());
+      }
+      if (!tasks.isEmpty()) {
+        // wake up the planning blocked by the full buffer
+        notifyPendingTasksChanged();
+      }
+      changed = pendingTasksChanged;
+      finished = planningFinished && pendingTasks.isEmpty();
+    }
+    if (tasks.isEmpty() && !finished) {
+      return changed.thenApply(ignored -> EMPTY_BATCH);
+    }
+    List<ConnectorSplit> splits =
+        tasks.stream()
+            .filter(task -> matches(task, dynamicFilterPredicate))
+            .map(this::toKeyedConnectorSplit)
+            .collect(toImmutableList());
+    return completedFuture(new ConnectorSplitBatch(splits, finished));
+  }
+
+  private void startPlanning(TupleDomain<IcebergColumnHandle> dynamicFilterPredicate) {
+    TupleDomain<IcebergColumnHandle> predicate =
+        tableHandle
+            .getEnforcedPredicate()
+            .intersect(tableHandle.getUnenforcedPredicate())
+            .intersect(dynamicFilterPredicate)
+            .simplify(KeyedConnectorSplitManager.ARCTIC_DOMAIN_COMPACTION_THRESHOLD);
+    KeyedTableScan scan = tableScan.filter(toIcebergExpression(predicate));
+    planning = executor.submit(() -> plan(scan));
+  }
+
+  private void plan(KeyedTableScan scan) {
+    long startTime = System.currentTimeMillis();
+    int planned = 0;
+    try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(pluginClassLoader);
+        CloseableIterable<CombinedScanTask> combinedScanTasks = scan.planTasks()) {
+      for (CombinedScanTask combinedScanTask : combinedScanTasks) {
+        for (KeyedTableScanTask task : combinedScanTask.tasks()) {
+          if (!offer(task)) {
+            return;
+          }
+          planned++;
+        }
+      }
+      LOG.info(
+          "Planned {} tasks of table {} in {}ms",
+          planned,
+          tableHandle.getSchemaTableName(),
+          System.currentTimeMillis() - startTime);
+      synchronized (this) {
+        planningFinished = true;
+        notifyPendingTasksChanged();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable t) {
+      synchronized (this) {
+        if (!closed) {
+          LOG.error("Failed to plan tasks of table {}", tableHandle.getSchemaTableName(), t);
+          planningFailure = t;
+        }
+        notifyPendingTasksChanged();
+      }
+    }
+  }
+
+  /**
+   * Buffer the task planned, blocking while the buffer is full.
+   *
+   * @return false if the split source has been closed
+   */
+  private synchronized boolean offer(KeyedTableScanTask task) throws InterruptedException {
+    while (pendingTasks.size() >= maxBufferedTasks && !closed) {
+      wait();
+    }
+    if (closed) {
+      return false;
+    }
+    pendingTasks.add(task);
+    notifyPendingTasksChanged();
+    return true;
+  }
+
+  private void notifyPendingTasksChanged() {
+    CompletableFuture<?> changed = pendingTasksChanged;
+    pendingTasksChanged = new CompletableFuture<>();
+    changed.complete(null);
+    notifyAll();
+  }
+
+  private boolean matches(
+      KeyedTableScanTask task, TupleDomain<IcebergColumnHandle> dynamicFilterPredicate) {
+    if (dynamicFilterPredicate.isAll() || task.dataTasks().isEmpty()) {
+      return true;
+    }
+    if (!dynamicFilterPredicate.equals(checkedPredicate)) {
+      // the dynamic filter is narrowed, all the partitions are checked again
+      checkedPredicate = dynamicFilterPredicate;
+      checkedPartitions.clear();
+    }
+    ArcticFileScanTask firstTask = task.dataTasks().get(0);
+    String partition = PartitionData.toJson(firstTask.file().partition());
+    boolean partitionMatches =
+        checkedPartitions.computeIfAbsent(
+            partition, ignored -> partitionMatches(firstTask, dynamicFilterPredicate));
+    if (!partitionMatches) {
+      return false;
+    }
+    return task.dataTasks().stream()
+        .anyMatch(
+            dataTask ->
+                IcebergSplitSource.fileMatchesPredicate(
+                    fieldIdToType,
+                    dynamicFilterPredicate,
+                    dataTask.file().lowerBounds(),
+                    dataTask.file().upperBounds(),
+                    dataTask.file().nullValueCounts()));
+  }
+
+  private boolean partitionMatches(
+      ArcticFileScanTask task, TupleDomain<IcebergColumnHandle> dynamicFilterPredicate) {
+    Map<Integer, Optional<String>> partitionKeys = getPartitionKeys(task);
+    Set<IcebergColumnHandle> identityPartitionColumns =
+        partitionKeys.keySet().stream()
+            .map(fieldId -> getColumnHandle(schema.findField(fieldId), typeManager))
+            .collect(toImmutableSet());
+    Supplier<Map<ColumnHandle, NullableValue>> partitionValues =
+        memoize(
+            () -> {
+              Map<ColumnHandle, NullableValue> bindings = new HashMap<>();
+              for (IcebergColumnHandle partitionColumn : identityPartitionColumns) {
+                Object partitionValue =
+                    deserializePartitionValue(
+                        partitionColumn.getType(),
+                        partitionKeys.get(partitionColumn.getId()).orElse(null),
+                        partitionColumn.getName());
+                bindings.put(
+                    partitionColumn, new NullableValue(partitionColumn.getType(), partitionValue));
+              }
+              return bindings;
+            });
+    return IcebergSplitSource.partitionMatchesPredicate(
+        identityPartitionColumns, partitionValues, dynamicFilterPredicate);
+  }
+
+  private KeyedConnectorSplit toKeyedConnectorSplit(KeyedTableScanTask task) {
+    ArcticFileScanTask arcticFileScanTask = task.dataTasks().get(0);
+    return new KeyedConnectorSplit(
+        ObjectSerializerUtil.write(task),
+        PartitionSpecParser.toJson(arcticFileScanTask.spec()),
+        PartitionData.toJson(arcticFileScanTask.file().partition()));
+  }
+
+  @Override
+  public synchronized boolean isFinished() {
+    return closed || planningFailure == null && planningFinished && pendingTasks.isEmpty();
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      pendingTasks.clear();
+      notifyPendingTasksChanged();
+    }
+    if (planning != null) {
+      planning.cancel(true);
+    }
+  }
+}
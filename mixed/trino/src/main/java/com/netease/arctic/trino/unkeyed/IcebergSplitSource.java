@@ -357,7 +357,7 @@ public class IcebergSplitSource implements ConnectorSplitSource {
   }
 
   @VisibleForTesting
-  static boolean fileMatchesPredicate(
+  public static boolean fileMatchesPredicate(
       Map<Integer, Type.PrimitiveType> primitiveTypeForFieldId,
       TupleDomain<IcebergColumnHandle> dynamicFilterPredicate,
       @Nullable Map<Integer, ByteBuffer> lowerBounds,
@@ -439,7 +439,7 @@ public class IcebergSplitSource implements ConnectorSplitSource {
   }
 
   @VisibleForTesting
-  static boolean partitionMatchesPredicate(
+  public static boolean partitionMatchesPredicate(
       Set<IcebergColumnHandle> identityPartitionColumns,
       Supplier<Map<ColumnHandle, NullableValue>> partitionValues,
       TupleDomain<IcebergColumnHandle> dynamicFilterPredicate) {
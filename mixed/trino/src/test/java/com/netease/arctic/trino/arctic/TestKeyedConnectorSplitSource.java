@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.trino.arctic;
+
+import static com.netease.arctic.ams.api.MockArcticMetastoreServer.TEST_CATALOG_NAME;
+import static io.trino.plugin.iceberg.IcebergUtil.getColumnHandle;
+import static io.trino.spi.connector.RetryMode.NO_RETRIES;
+import static io.trino.type.InternalTypeManager.TESTING_TYPE_MANAGER;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.netease.arctic.TestedCatalogs;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.scan.CombinedScanTask;
+import com.netease.arctic.trino.keyed.KeyedConnectorSplit;
+import com.netease.arctic.trino.keyed.KeyedConnectorSplitSource;
+import io.airlift.units.Duration;
+import io.trino.plugin.iceberg.IcebergColumnHandle;
+import io.trino.plugin.iceberg.IcebergTableHandle;
+import io.trino.plugin.iceberg.PartitionData;
+import io.trino.plugin.iceberg.TableType;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.connector.ConnectorSplitSource.ConnectorSplitBatch;
+import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.TupleDomain;
+import io.trino.spi.type.IntegerType;
+import io.trino.testing.QueryRunner;
+import org.apache.iceberg.PartitionSpecParser;
+import org.apache.iceberg.SchemaParser;
+import org.apache.iceberg.io.CloseableIterable;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TestKeyedConnectorSplitSource extends TableTestBaseWithInitDataForTrino {
+
+  @Override
+  protected QueryRunner createQueryRunner() throws Exception {
+    CatalogTestHelper testCatalog = TestedCatalogs.hadoopCatalog(TableFormat.MIXED_ICEBERG);
+    setupCatalog(testCatalog);
+
+    setupTables();
+    initData();
+    return ArcticQueryRunner.builder()
+        .setIcebergProperties(
+            ImmutableMap.of(
+                "arctic.url",
+                String.format("thrift://localhost:%s/%s", AMS.port(), TEST_CATALOG_NAME)))
+        .build();
+  }
+
+  @Test
+  public void testServeInBatches() throws Exception {
+    int plannedTasks = plannedTasks();
+    assertThat(plannedTasks).isGreaterThan(1);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (KeyedConnectorSplitSource splitSource =
+        newSplitSource(new TestingDynamicFilter(), executor, 1)) {
+      List<ConnectorSplit> splits = new ArrayList<>();
+      ConnectorSplitBatch batch;
+      do {
+        batch = splitSource.getNextBatch(1).get(10, SECONDS);
+        assertThat(batch.getSplits().size()).isLessThanOrEqualTo(1);
+        splits.addAll(batch.getSplits());
+      } while (!batch.isNoMoreSplits());
+
+      assertThat(splits).hasSize(plannedTasks);
+      assertThat(splitSource.isFinished()).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPruneByLateDynamicFilter() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    TestingDynamicFilter dynamicFilter = new TestingDynamicFilter();
+    try (KeyedConnectorSplitSource splitSource = newSplitSource(dynamicFilter, executor, 1)) {
+      // the planning starts with no predicate and the first task is served unfiltered
+      List<ConnectorSplit> firstSplits = new ArrayList<>();
+      ConnectorSplitBatch batch;
+      do {
+        batch = splitSource.getNextBatch(1).get(10, SECONDS);
+        firstSplits.addAll(batch.getSplits());
+      } while (firstSplits.isEmpty() && !batch.isNoMoreSplits());
+      assertThat(firstSplits).hasSize(1);
+
+      // the dynamic filter collected later prunes the tasks still pending
+      dynamicFilter.setCurrentPredicate(
+          TupleDomain.withColumnDomains(
+              ImmutableMap.of(idColumn(), Domain.singleValue(IntegerType.INTEGER, 4L))));
+      List<ConnectorSplit> splits = new ArrayList<>();
+      while (!batch.isNoMoreSplits()) {
+        batch = splitSource.getNextBatch(1).get(10, SECONDS);
+        splits.addAll(batch.getSplits());
+      }
+
+      String matchedPartition =
+          PartitionData.toJson(
+              partitionData(TABLE_SCHEMA, SPEC, LocalDateTime.of(2022, 1, 4, 12, 0, 0)));
+      assertThat(splits.size() + firstSplits.size()).isLessThan(plannedTasks());
+      assertThat(splits)
+          .allMatch(
+              split ->
+                  ((KeyedConnectorSplit) split).getPartitionDataJson().equals(matchedPartition));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCloseDuringPlanning() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    KeyedConnectorSplitSource splitSource =
+        newSplitSource(new TestingDynamicFilter(), executor, 1);
+    try {
+      // no task is taken, so the planning blocks once the first task is buffered
+      splitSource.getNextBatch(0).get(10, SECONDS);
+      assertThat(splitSource.isFinished()).isFalse();
+      CompletableFuture<ConnectorSplitBatch> pending = splitSource.getNextBatch(0);
+      assertThat(pending).isNotDone();
+
+      splitSource.close();
+
+      // the waiting batch is released and the blocked planning stops
+      assertThat(splitSource.isFinished()).isTrue();
+      assertThat(pending.get(10, SECONDS).getSplits()).isEmpty();
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private KeyedConnectorSplitSource newSplitSource(
+      DynamicFilter dynamicFilter, ExecutorService executor, int maxBufferedTasks) {
+    IcebergTableHandle tableHandle =
+        new IcebergTableHandle(
+            PK_TABLE_ID.getDatabase(),
+            PK_TABLE_ID.getTableName(),
+            TableType.DATA,
+            Optional.empty(),
+            SchemaParser.toJson(testKeyedTable.schema()),
+            Optional.of(testKeyedTable.spec()).map(PartitionSpecParser::toJson),
+            2,
+            TupleDomain.all(),
+            TupleDomain.all(),
+            ImmutableSet.of(),
+            Optional.empty(),
+            testKeyedTable.location(),
+            testKeyedTable.properties(),
+            NO_RETRIES,
+            ImmutableList.of(),
+            false,
+            Optional.empty());
+    return new KeyedConnectorSplitSource(
+        tableHandle,
+        testKeyedTable.newScan(),
+        testKeyedTable.schema(),
+        dynamicFilter,
+        new Duration(0, SECONDS),
+        TESTING_TYPE_MANAGER,
+        executor,
+        getClass().getClassLoader(),
+        maxBufferedTasks);
+  }
+
+  private int plannedTasks() throws IOException {
+    int tasks = 0;
+    try (CloseableIterable<CombinedScanTask> combinedScanTasks =
+        testKeyedTable.newScan().planTasks()) {
+      for (CombinedScanTask combinedScanTask : combinedScanTasks) {
+        tasks += combinedScanTask.tasks().size();
+      }
+    }
+    return tasks;
+  }
+
+  private IcebergColumnHandle idColumn() {
+    return getColumnHandle(testKeyedTable.schema().findField("id"), TESTING_TYPE_MANAGER);
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void clear() {
+    clearTable();
+  }
+
+  private class TestingDynamicFilter implements DynamicFilter {
+    private volatile TupleDomain<ColumnHandle> currentPredicate = TupleDomain.all();
+
+    void setCurrentPredicate(TupleDomain<IcebergColumnHandle> currentPredicate) {
+      this.currentPredicate = currentPredicate.transformKeys(ColumnHandle.class::cast);
+    }
+
+    @Override
+    public Set<ColumnHandle> getColumnsCovered() {
+      return ImmutableSet.of(idColumn());
+    }
+
+    @Override
+    public CompletableFuture<?> isBlocked() {
+      return NOT_BLOCKED;
+    }
+
+    @Override
+    public boolean isComplete() {
+      return false;
+    }
+
+    @Override
+    public boolean isAwaitable() {
+      return false;
+    }
+
+    @Override
+    public TupleDomain<ColumnHandle> getCurrentPredicate() {
+      return currentPredicate;
+    }
+  }
+}